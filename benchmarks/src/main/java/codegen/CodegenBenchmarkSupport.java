@@ -0,0 +1,154 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import codegen.CustomCodegen.Artifact;
+import codegen.CustomCodegen.ColumnInfo;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenBenchmarkSupport<br>
+ *	作 業 名 稱 ：Codegen Benchmark Support<br>
+ *	程 式 代 號 ：CodegenBenchmarkSupport.java<br>
+ *	描 述 ：JMH量測共用的合成表格、Codegen設定及不輸出內容的Writer<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+final class CodegenBenchmarkSupport {
+
+	/** 不保留內容只計算字元數的輸出, 避免量測到檔案系統 */
+	static class NullWriter extends Writer {
+
+		private long count;
+
+		@Override
+		public void write( char[] cbuf, int off, int len ) {
+			count += len;
+		}
+
+		@Override
+		public void write( String str, int off, int len ) {
+			count += len;
+		}
+
+		@Override
+		public void write( int c ) {
+			count++;
+		}
+
+		@Override
+		public void flush() {}
+
+		@Override
+		public void close() {}
+
+		public long getCount() {
+			return count;
+		}
+
+	}
+
+	private CodegenBenchmarkSupport() {}
+
+	/**
+	 * silenceOut 說明：System.out 導向空輸出, 避免產檔訊息影響量測結果<br>
+	 *
+	 * @return PrintStream 原本的System.out, 量測結束時還原
+	 * @author Alan Hsu
+	 */
+	static PrintStream silenceOut() {
+		PrintStream console = System.out;
+		System.setOut( new PrintStream( new OutputStream() {
+			@Override
+			public void write( int b ) {}
+
+			@Override
+			public void write( byte[] b, int off, int len ) {}
+		} ) );
+		return console;
+	}
+
+	/**
+	 * newSyntheticTable 說明：產生合成表格, 欄位型別、主鍵及備註輪流分布<br>
+	 *
+	 * @param String tableName
+	 * @param int columnCount
+	 * @return TableInfo tableInfo
+	 * @author Alan Hsu
+	 */
+	static TableInfo newSyntheticTable( String tableName, int columnCount ) {
+		String[][] types = { { "VARCHAR2", "String" }, { "NUMBER", "BigDecimal" },
+				{ "DATE", "Timestamp" }, { "NUMBER", "Integer" } };
+		TableInfo tableInfo = new TableInfo( tableName );
+		Map<String,ColumnInfo> columnMap = new LinkedHashMap<>();
+		for( int i = 0; i < columnCount; i++ ) {
+			ColumnInfo column = new ColumnInfo();
+			column.setColumnName( i == 0 ? "ID" : "COLUMN_NAME_" + i );
+			column.setColumnType( types[ i % types.length ][0] );
+			column.setJavaType( types[ i % types.length ][1] );
+			column.setRemarks( i % 2 == 0 ? "欄位說明" + i : null );
+			column.setPrimaryKey( i == 0 );
+			columnMap.put( column.getColumnName(), column );
+		}
+		tableInfo.setColumns( columnMap );
+		tableInfo.setColumnCount( columnCount );
+		tableInfo.setHasPrimaryKey( true );
+		return tableInfo;
+	}
+
+	/**
+	 * newGenerator 說明：取得已套用表格資訊及套件路徑的Codegen<br>
+	 *
+	 * @param TableInfo tableInfo
+	 * @return CustomCodegen gen
+	 * @author Alan Hsu
+	 */
+	static CustomCodegen newGenerator( TableInfo tableInfo ) {
+		CustomCodegen setting = new CustomCodegen();
+		setting.setAuthor( "Benchmark" );
+		setting.setNewFileTargetFolder( System.getProperty( "java.io.tmpdir" ) );
+		setting.setTargetBeanPath( "bench.entity" );
+		setting.setTargetDaoPath( "bench.dao.impl" );
+		setting.setTargetIDaoPath( "bench.dao" );
+		setting.setMappedTypeByCode( 1 );
+		setting.setNeedDao( true );
+		setting.setNeedToString( true );
+		setting.setCurrentTime( CustomCodegen.getCurrentTimeStr() );
+		return setting.copySetting( tableInfo );
+	}
+
+	/**
+	 * newArtifactMap 說明：決定所有產出檔案的名稱及套件, 量測樣板輸出時不含此階段<br>
+	 *
+	 * @param CustomCodegen gen
+	 * @return Map<String,Artifact> 產檔類型 > 產出檔案
+	 * @author Alan Hsu
+	 */
+	static Map<String,Artifact> newArtifactMap( CustomCodegen gen ) {
+		PrintStream console = silenceOut();
+		try {
+			return CustomCodegen.toArtifactMap( gen.getArtifacts() );
+		} finally {
+			System.setOut( console );
+		}
+	}
+
+	static void deleteFolder( Path folder ) throws IOException {
+		try( Stream<Path> paths = Files.walk( folder ) ) {
+			paths.sorted( Comparator.reverseOrder() ).forEach( p -> p.toFile().delete() );
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package codegen;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import codegen.CodegenBenchmarkSupport.NullWriter;
+import codegen.CustomCodegen.Artifact;
+import codegen.CustomCodegen.ColumnInfo;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenEmitBenchmark<br>
+ *	作 業 名 稱 ：Codegen Emit Benchmark<br>
+ *	程 式 代 號 ：CodegenEmitBenchmark.java<br>
+ *	描 述 ：以10/100/1,000欄位的合成表格量測欄位及方法說明產製與Bean樣板輸出, 輸出至不保留內容的Writer<br>
+ *			renderLegacy 為改用樣板前StringBuilder產製Bean/IDao/Dao的凍結副本(CodegenLegacyEmitter), 與 renderTemplate / renderTemplateAll 對照<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CodegenEmitBenchmark {
+
+	private final static String[] TYPES = { "bean", "idao", "dao" };
+
+	@Param( { "10", "100", "1000" } )
+	private int columnCount;
+
+	private TableInfo tableInfo;
+
+	private CustomCodegen gen;
+
+	private Map<String,Artifact> artifactMap;
+
+	private final NullWriter out = new NullWriter();
+
+	@Setup
+	public void setup() {
+		tableInfo = CodegenBenchmarkSupport.newSyntheticTable( "BENCH_" + columnCount, columnCount );
+		gen = CodegenBenchmarkSupport.newGenerator( tableInfo );
+		artifactMap = CodegenBenchmarkSupport.newArtifactMap( gen );
+	}
+
+	@Benchmark
+	public void emitFields( Blackhole bh ) {
+		for( ColumnInfo column : tableInfo.getColumns().values() ) {
+			bh.consume( gen.getFieldDescription( column.getColumnName(), column.getRemarks() ) );
+			bh.consume( gen.getMethodSetterDescription( column.getColumnName() ) );
+			bh.consume( gen.getMethodGetterDescription( column.getColumnName() ) );
+		}
+	}
+
+	@Benchmark
+	public long renderTemplate() throws IOException {
+		Artifact bean = artifactMap.get( "bean" );
+		bean.getGenerator().render( out, bean, artifactMap, tableInfo, gen );
+		return out.getCount();
+	}
+
+	@Benchmark
+	public long renderTemplateAll() throws IOException {
+		for( String type : TYPES ) {
+			Artifact artifact = artifactMap.get( type );
+			artifact.getGenerator().render( out, artifact, artifactMap, tableInfo, gen );
+		}
+		return out.getCount();
+	}
+
+	@Benchmark
+	public long renderLegacyBean() throws IOException {
+		CodegenLegacyEmitter.renderBean( out, gen, artifactMap, tableInfo );
+		return out.getCount();
+	}
+
+	@Benchmark
+	public long renderLegacyAll() throws IOException {
+		CodegenLegacyEmitter.renderBean( out, gen, artifactMap, tableInfo );
+		CodegenLegacyEmitter.renderIDao( out, gen, artifactMap );
+		CodegenLegacyEmitter.renderDao( out, gen, artifactMap );
+		return out.getCount();
+	}
+
+}
@@ -0,0 +1,481 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ *	作 業 代 碼 ：CodegenEndToEndBenchmark<br>
+ *	作 業 名 稱 ：Codegen End To End Benchmark<br>
+ *	程 式 代 號 ：CodegenEndToEndBenchmark.java<br>
+ *	描 述 ：以合成Schema量測完整產檔流程(getTableInfo > Bean & IDao & Dao 寫檔), 輸出每秒表格數、各階段耗時及記憶體配置速率<br>
+ *			合成Schema依資料庫種類產生DDL, 可設定表格數、欄位數、主鍵型態(single|composite|none)及有備註的欄位比例<br>
+ *			預設於記憶體中的 H2 (依 -db 使用 MODE=Oracle 或 MODE=MySQL) 建立表格後經JDBC取得表格資訊, 量測包含連線及查詢表格資訊<br>
+ *			設定 -url 時改用該資料庫(例如 Derby、實際的 Oracle/MySQL); -source ddl 時以 CodegenDdlMetadataSource 解析DDL, 不經JDBC<br>
+ *			經JDBC時另建立含各種欄位型別的比對表格, 以 CodegenDdlMetadataSource.compare 比對DDL解析與JDBC取得的表格資訊並輸出差異<br>
+ *			執行參數：[-db Oracle|MySQL] [-tables 表格數] [-columns 欄位數] [-pk 主鍵型態] [-comments 備註比例] [-wi 暖機回合] [-i 量測回合]<br>
+ *					[-source h2|ddl] [-url JDBC URL -driver 驅動程式 -user 帳號 -password 密碼] [-csv 各表格耗時CSV檔]<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenEndToEndBenchmark {
+
+	private final static int DEFAULT_TABLES = 200;
+
+	private final static int DEFAULT_COLUMNS = 30;
+
+	private final static double DEFAULT_COMMENT_RATIO = 0.5d;
+
+	private final static int DEFAULT_WARMUP_ITERATIONS = 1;
+
+	private final static int DEFAULT_MEASURE_ITERATIONS = 3;
+
+	private final static String TABLE_PREFIX = "BENCH_T";
+
+	/** 預設的記憶體資料庫, MODE 依資料庫種類 */
+	private final static String H2_URL = "jdbc:h2:mem:codegen_e2e;MODE=%s;DB_CLOSE_DELAY=-1";
+
+	private final static String H2_DRIVER = "org.h2.Driver";
+
+	/** DDL解析與JDBC對應比對用的表格 */
+	private final static String CHECK_TABLE = "BENCH_TYPES";
+
+	/** 比對用的欄位型別, 另含 Connector/J 有特殊對應的型別 */
+	private final static String[] MYSQL_CHECK_TYPES = { "INT UNSIGNED", "BIGINT UNSIGNED", "BIT(1)", "BIT(8)", "TINYINT(1)",
+			"SMALLINT UNSIGNED", "MEDIUMINT UNSIGNED", "YEAR" };
+
+	/** 欄位型別依序輪流使用, 與正式環境常見型別分布相近 */
+	private final static String[] ORACLE_TYPES = { "VARCHAR2(100)", "NUMBER(10)", "NUMBER(12,2)", "DATE",
+			"VARCHAR2(20)", "TIMESTAMP", "CHAR(1)", "NUMBER(19)" };
+
+	private final static String[] MYSQL_TYPES = { "VARCHAR(100)", "INT", "DECIMAL(12,2)", "DATETIME",
+			"VARCHAR(20)", "TIMESTAMP NULL", "CHAR(1)", "BIGINT" };
+
+	/** MYSQL 或 ORACLE */
+	private String dbName = "ORACLE";
+
+	private int tableCount = DEFAULT_TABLES;
+
+	private int columnCount = DEFAULT_COLUMNS;
+
+	/** 主鍵型態 single:第一個欄位, composite:前兩個欄位, none:無主鍵 */
+	private String primaryKeyShape = "single";
+
+	/** 有備註的欄位比例, 0 ~ 1 */
+	private double commentRatio = DEFAULT_COMMENT_RATIO;
+
+	private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+
+	private int measureIterations = DEFAULT_MEASURE_ITERATIONS;
+
+	/** 表格資訊來源 h2:記憶體中的H2, ddl:解析DDL; 設定 -url 時為該資料庫 */
+	private String source = "h2";
+
+	private String url;
+
+	private String driverClassName;
+
+	private String user = "";
+
+	private String password = "";
+
+	private String csvPath;
+
+	/**
+	 * main 說明：建立合成Schema, 暖機後執行多個量測回合並輸出結果<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public static void main( String[] args ) throws Exception {
+		CodegenEndToEndBenchmark benchmark = new CodegenEndToEndBenchmark();
+		for( int i = 0; i + 1 < args.length; i += 2 ) {
+			String value = args[i + 1];
+			switch( args[i] ) {
+				case "-db":
+					benchmark.dbName = value.toUpperCase();
+					break;
+				case "-tables":
+					benchmark.tableCount = Integer.parseInt( value );
+					break;
+				case "-columns":
+					benchmark.columnCount = Integer.parseInt( value );
+					break;
+				case "-pk":
+					benchmark.primaryKeyShape = value.toLowerCase();
+					break;
+				case "-comments":
+					benchmark.commentRatio = Double.parseDouble( value );
+					break;
+				case "-wi":
+					benchmark.warmupIterations = Integer.parseInt( value );
+					break;
+				case "-i":
+					benchmark.measureIterations = Integer.parseInt( value );
+					break;
+				case "-source":
+					benchmark.source = value.toLowerCase();
+					break;
+				case "-url":
+					benchmark.url = value;
+					break;
+				case "-driver":
+					benchmark.driverClassName = value;
+					break;
+				case "-user":
+					benchmark.user = value;
+					break;
+				case "-password":
+					benchmark.password = value;
+					break;
+				case "-csv":
+					benchmark.csvPath = value;
+					break;
+				default:
+					System.err.println( "### Unknown option " + args[i] + " ###");
+					return;
+			}
+		}
+		if( !"ORACLE".equals( benchmark.dbName ) && !"MYSQL".equals( benchmark.dbName ) ) {
+			System.err.println( "### -db must be Oracle or MySQL [" + benchmark.dbName + "] ###");
+			return;
+		}
+		if( !"single".equals( benchmark.primaryKeyShape ) && !"composite".equals( benchmark.primaryKeyShape )
+				&& !"none".equals( benchmark.primaryKeyShape ) ) {
+			System.err.println( "### -pk must be single, composite or none [" + benchmark.primaryKeyShape + "] ###");
+			return;
+		}
+		if( !"h2".equals( benchmark.source ) && !"ddl".equals( benchmark.source ) ) {
+			System.err.println( "### -source must be h2 or ddl [" + benchmark.source + "] ###");
+			return;
+		}
+		if( benchmark.url == null && "h2".equals( benchmark.source ) ) {
+			benchmark.url = String.format( H2_URL, "MYSQL".equals( benchmark.dbName ) ? "MySQL" : "Oracle" );
+			benchmark.driverClassName = H2_DRIVER;
+			benchmark.user = "sa";
+		}
+		benchmark.run();
+	}
+
+	/**
+	 * run 說明：建立表格資訊來源後依序執行暖機及量測回合, 各階段耗時只統計量測回合<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	void run() throws Exception {
+		List<String> statements = getSchemaStatements();
+		CustomCodegen setting = newSetting();
+		System.out.println( "### Synthetic schema " + dbName + " tables:" + tableCount + " columns:" + columnCount
+				+ " pk:" + primaryKeyShape + " comments:" + commentRatio + " source:" + ( url == null ? "ddl" : url ) + " ###");
+
+		long start = System.nanoTime();
+		if( url == null ) {
+			CodegenDdlMetadataSource source = new CodegenDdlMetadataSource( dbName );
+			source.parse( new StringReader( String.join( ";" + System.lineSeparator(), statements ) + ";" ) );
+			setting.setMetadataSource( source );
+		} else {
+			CodegenConnectionPool pool = new CodegenConnectionPool( url, user, password, driverClassName );
+			setting.setConnectionPool( pool );
+			/** 嵌入式資料庫沒有Oracle/MySQL的資料字典, 直接使用JDBC DatabaseMetaData */
+			setting.setDictionaryMetadata( !url.startsWith( "jdbc:h2:" ) && !url.startsWith( "jdbc:derby:" ) );
+			createSchema( pool, statements );
+			compareMetadata( setting );
+		}
+		System.out.println( String.format( Locale.ROOT, "### Schema prepared in %.1f ms ###", ( System.nanoTime() - start ) / 1e6 ) );
+
+		System.out.println( String.format( "%-10s %8s %12s %12s %14s %14s", "Iteration", "Tables", "Time(ms)", "Tables/s", "Alloc(MB/s)", "Alloc(KB/tbl)" ) );
+		try {
+			for( int i = 0; i < warmupIterations; i++ ) {
+				print( "warmup" + ( i + 1 ), iteration( setting ) );
+			}
+			setting.setMetrics( new CodegenMetrics() );
+			double[] rates = new double[ measureIterations ];
+			for( int i = 0; i < measureIterations; i++ ) {
+				double[] result = iteration( setting );
+				print( "measure" + ( i + 1 ), result );
+				rates[i] = result[0] / result[1] * 1e9;
+			}
+			printSummary( rates, setting.getMetrics() );
+		} finally {
+			if( url != null ) {
+				dropSchema( setting.getConnectionPool() );
+				setting.closeConnectionPool();
+			}
+		}
+	}
+
+	/**
+	 * iteration 說明：逐一表格取得表格資訊並產製所有檔案至暫存資料夾, 產檔訊息導向空輸出<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @return double[] { 成功表格數, 耗時(ns), 配置記憶體(bytes) }
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	private double[] iteration( CustomCodegen setting ) throws Exception {
+		Path outFolder = Files.createTempDirectory( "codegen-e2e" );
+		setting.setNewFileTargetFolder( outFolder.toString() );
+		PrintStream console = System.out;
+		System.setOut( new PrintStream( new OutputStream() {
+			@Override
+			public void write( int b ) {}
+
+			@Override
+			public void write( byte[] b, int off, int len ) {}
+		} ) );
+		int success = 0;
+		long allocatedStart = getTotalAllocatedBytes();
+		long start = System.nanoTime();
+		try {
+			for( int i = 1; i <= tableCount; i++ ) {
+				CustomCodegen gen = setting.copySetting( null );
+				gen.setTableName( getTableName( i ) );
+				gen.setDomainObjectName( gen.convertCase( gen.getTableName(), "pascal" ) );
+				if( gen.getTableInfo() && gen.generateAll() ) {
+					success++;
+				}
+			}
+		} finally {
+			System.setOut( console );
+		}
+		long elapsed = System.nanoTime() - start;
+		long allocated = getTotalAllocatedBytes() - allocatedStart;
+		if( success < tableCount ) {
+			System.err.println( "### " + ( tableCount - success ) + " tables failed ###");
+		}
+		try( java.util.stream.Stream<Path> paths = Files.walk( outFolder ) ) {
+			paths.sorted( java.util.Comparator.reverseOrder() ).forEach( p -> p.toFile().delete() );
+		}
+		return new double[] { success, elapsed, allocatedStart < 0 ? Double.NaN : allocated };
+	}
+
+	private void print( String name, double[] result ) {
+		double seconds = result[1] / 1e9;
+		System.out.println( String.format( Locale.ROOT, "%-10s %8.0f %12.1f %12.1f %14.1f %14.1f", name, result[0], result[1] / 1e6,
+				result[0] / seconds, result[2] / 1048576d / seconds, result[2] / 1024d / Math.max( 1d, result[0] ) ) );
+	}
+
+	/**
+	 * printSummary 說明：輸出量測回合的平均每秒表格數及範圍, 以及所有表格合計的各階段耗時<br>
+	 *
+	 * @param double[] rates
+	 * @param CodegenMetrics metrics
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private void printSummary( double[] rates, CodegenMetrics metrics ) throws IOException {
+		double mean = 0, min = Double.MAX_VALUE, max = 0;
+		for( double rate : rates ) {
+			mean += rate;
+			min = Math.min( min, rate );
+			max = Math.max( max, rate );
+		}
+		mean /= Math.max( 1, rates.length );
+		System.out.println( String.format( Locale.ROOT, "### Tables/s mean:%.1f min:%.1f max:%.1f ###", mean, rates.length == 0 ? 0d : min, max ) );
+		System.out.println( "### Phase timing, measured iterations ###" );
+		System.out.print( metrics.getSummary( 0 ) );
+		if( csvPath != null ) {
+			metrics.writeReport( Paths.get( csvPath ) );
+			System.out.println( "### Phase timing saved to " + csvPath + " ###");
+		}
+	}
+
+	/**
+	 * getSchemaStatements 說明：產生合成Schema的DDL, Oracle 備註以 COMMENT ON COLUMN, MySQL 以欄位的 COMMENT<br>
+	 *
+	 * @return List<String> statements
+	 * @author Alan Hsu
+	 */
+	List<String> getSchemaStatements() {
+		boolean isMySQL = "MYSQL".equals( dbName );
+		String[] types = isMySQL ? MYSQL_TYPES : ORACLE_TYPES;
+		int keyColumns = "none".equals( primaryKeyShape ) ? 0 : "composite".equals( primaryKeyShape ) ? Math.min( 2, columnCount ) : 1;
+		List<String> statements = new ArrayList<>();
+		for( int t = 1; t <= tableCount; t++ ) {
+			String tableName = getTableName( t );
+			List<String> commentList = new ArrayList<>();
+			StringBuilder sb = new StringBuilder( "CREATE TABLE " ).append( tableName ).append( " (" );
+			for( int c = 0; c < columnCount; c++ ) {
+				String columnName = getColumnName( c );
+				String type = c < keyColumns ? types[ c % 2 == 0 ? 1 : 4 ] : types[ c % types.length ];
+				sb.append( c == 0 ? "" : "," ).append( System.lineSeparator() ).append( "\t" ).append( columnName ).append( " " ).append( type );
+				if( c < keyColumns ) {
+					sb.append( " NOT NULL" );
+				}
+				/** 依比例平均分布有備註的欄位 */
+				if( (int) ( ( c + 1 ) * commentRatio ) > (int) ( c * commentRatio ) ) {
+					String remarks = "欄位說明 " + tableName + "." + columnName;
+					if( isMySQL ) {
+						sb.append( " COMMENT '" ).append( remarks ).append( "'" );
+					} else {
+						commentList.add( "COMMENT ON COLUMN " + tableName + "." + columnName + " IS '" + remarks + "'" );
+					}
+				}
+			}
+			if( keyColumns > 0 ) {
+				sb.append( "," ).append( System.lineSeparator() ).append( "\tCONSTRAINT PK_" ).append( tableName ).append( " PRIMARY KEY (" );
+				for( int c = 0; c < keyColumns; c++ ) {
+					sb.append( c == 0 ? " " : ", " ).append( getColumnName( c ) );
+				}
+				sb.append( " )" );
+			}
+			sb.append( System.lineSeparator() ).append( ")" );
+			statements.add( sb.toString() );
+			statements.addAll( commentList );
+		}
+		return statements;
+	}
+
+	/**
+	 * compareMetadata 說明：建立含各種欄位型別的比對表格, 比對DDL解析與JDBC取得的表格資訊, 輸出差異後刪除比對表格<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @return boolean 是否一致
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	boolean compareMetadata( CustomCodegen setting ) throws Exception {
+		boolean isMySQL = "MYSQL".equals( dbName );
+		List<String> typeList = new ArrayList<>( Arrays.asList( isMySQL ? MYSQL_TYPES : ORACLE_TYPES ) );
+		if( isMySQL ) {
+			typeList.addAll( Arrays.asList( MYSQL_CHECK_TYPES ) );
+		}
+		StringBuilder sb = new StringBuilder( "CREATE TABLE " ).append( CHECK_TABLE ).append( " (" );
+		for( int c = 0; c < typeList.size(); c++ ) {
+			sb.append( c == 0 ? "" : "," ).append( System.lineSeparator() ).append( "	" ).append( getColumnName( c ) ).append( " " ).append( typeList.get( c ) );
+			if( c == 0 ) {
+				sb.append( " NOT NULL PRIMARY KEY" );
+			}
+		}
+		String ddl = sb.append( System.lineSeparator() ).append( ")" ).toString();
+
+		CodegenDdlMetadataSource source = new CodegenDdlMetadataSource( dbName );
+		source.parse( new StringReader( ddl + ";" ) );
+		CodegenConnectionPool pool = setting.getConnectionPool();
+		try( Connection conn = pool.getConnection(); Statement stmt = conn.createStatement() ) {
+			try {
+				stmt.execute( "DROP TABLE " + CHECK_TABLE );
+			} catch( SQLException e ) {
+				/** 表格不存在 */
+			}
+			stmt.execute( ddl );
+		}
+		try {
+			CustomCodegen gen = setting.copySetting( null );
+			gen.setTableName( CHECK_TABLE );
+			PrintStream console = System.out;
+			System.setOut( new PrintStream( new OutputStream() {
+				@Override
+				public void write( int b ) {}
+			} ) );
+			boolean found;
+			try {
+				found = gen.getTableInfo();
+			} finally {
+				System.setOut( console );
+			}
+			if( !found ) {
+				System.err.println( "### Metadata check table " + CHECK_TABLE + " not readable through JDBC ###");
+				return false;
+			}
+			List<String> diffList = CodegenDdlMetadataSource.compare( source.getTableInfo( null, CHECK_TABLE ), gen.getCurrentTableInfo() );
+			if( diffList.isEmpty() ) {
+				System.out.println( "### DDL and JDBC metadata match for " + typeList.size() + " column types ###");
+			} else {
+				System.err.println( "### DDL and JDBC metadata differ ###");
+				diffList.forEach( diff -> System.err.println( "  " + diff ) );
+			}
+			return diffList.isEmpty();
+		} finally {
+			try( Connection conn = pool.getConnection(); Statement stmt = conn.createStatement() ) {
+				stmt.execute( "DROP TABLE " + CHECK_TABLE );
+			}
+		}
+	}
+
+	private void createSchema( CodegenConnectionPool pool, List<String> statements ) throws SQLException {
+		dropSchema( pool );
+		try( Connection conn = pool.getConnection(); Statement stmt = conn.createStatement() ) {
+			for( String sql : statements ) {
+				stmt.execute( sql );
+			}
+		}
+	}
+
+	/** 刪除前次中斷時遺留的表格, 不存在時忽略 */
+	private void dropSchema( CodegenConnectionPool pool ) {
+		try( Connection conn = pool.getConnection(); Statement stmt = conn.createStatement() ) {
+			for( int t = 1; t <= tableCount; t++ ) {
+				try {
+					stmt.execute( "DROP TABLE " + getTableName( t ) );
+				} catch( SQLException e ) {
+					/** 表格不存在 */
+				}
+			}
+		} catch( SQLException e ) {
+			System.err.println( "### Drop synthetic schema failed due to " + e.getMessage() + " ###");
+		}
+	}
+
+	/**
+	 * newSetting 說明：取得量測用的產檔設定, 與JMH量測(benchmarks)相同的套件路徑<br>
+	 *
+	 * @return CustomCodegen setting
+	 * @author Alan Hsu
+	 */
+	private CustomCodegen newSetting() {
+		CustomCodegen setting = new CustomCodegen();
+		setting.setDbName( dbName );
+		setting.setAuthor( "Benchmark" );
+		setting.setTargetBeanPath( "bench.entity" );
+		setting.setTargetDaoPath( "bench.dao.impl" );
+		setting.setTargetIDaoPath( "bench.dao" );
+		setting.setMappedTypeByCode( 1 );
+		setting.setNeedDao( true );
+		setting.setNeedToString( true );
+		setting.setCurrentTime( CustomCodegen.getCurrentTimeStr() );
+		return setting;
+	}
+
+	/**
+	 * getTotalAllocatedBytes 說明：取得所有存活執行緒累計配置的記憶體(含產製IDao及Dao的執行緒), JVM不支援時回傳-1<br>
+	 *
+	 * @return long allocatedBytes
+	 * @author Alan Hsu
+	 */
+	private static long getTotalAllocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if( !( bean instanceof com.sun.management.ThreadMXBean ) ) {
+			return -1;
+		}
+		long total = 0;
+		for( long allocated : ( (com.sun.management.ThreadMXBean) bean ).getThreadAllocatedBytes( bean.getAllThreadIds() ) ) {
+			total += Math.max( 0, allocated );
+		}
+		return total;
+	}
+
+	private static String getTableName( int index ) {
+		return String.format( "%s%05d", TABLE_PREFIX, index );
+	}
+
+	private static String getColumnName( int index ) {
+		return index == 0 ? "ID" : "COL_" + index;
+	}
+
+}
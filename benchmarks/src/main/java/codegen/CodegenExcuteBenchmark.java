@@ -0,0 +1,76 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenExcuteBenchmark<br>
+ *	作 業 名 稱 ：Codegen Excute Benchmark<br>
+ *	程 式 代 號 ：CodegenExcuteBenchmark.java<br>
+ *	描 述 ：量測完整的 excute 產檔流程(取得表格資訊、產製及寫入Bean / IDao / Dao)<br>
+ *			表格資訊由記憶體(CodegenMemoryMetadataSource)提供, 不需連線資料庫<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CodegenExcuteBenchmark {
+
+	@Param( { "10", "100", "1000" } )
+	private int columnCount;
+
+	private Path outFolder;
+
+	private CustomCodegen gen;
+
+	private PrintStream console;
+
+	@Setup
+	public void setup() throws IOException {
+		TableInfo tableInfo = CodegenBenchmarkSupport.newSyntheticTable( "BENCH_" + columnCount, columnCount );
+		CodegenMemoryMetadataSource source = new CodegenMemoryMetadataSource();
+		source.put( null, tableInfo );
+		outFolder = Files.createTempDirectory( "codegen-bench" );
+		gen = CodegenBenchmarkSupport.newGenerator( tableInfo );
+		gen.setNewFileTargetFolder( outFolder.toString() );
+		gen.setMetadataSource( source );
+		console = CodegenBenchmarkSupport.silenceOut();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		System.setOut( console );
+		CodegenBenchmarkSupport.deleteFolder( outFolder );
+	}
+
+	@Benchmark
+	public void excute() throws Exception {
+		gen.excute();
+	}
+
+}
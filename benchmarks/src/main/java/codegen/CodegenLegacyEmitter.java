@@ -0,0 +1,343 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import codegen.CustomCodegen.Artifact;
+import codegen.CustomCodegen.ColumnInfo;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenLegacyEmitter<br>
+ *	作 業 名 稱 ：Codegen Legacy Emitter<br>
+ *	程 式 代 號 ：CodegenLegacyEmitter.java<br>
+ *	描 述 ：改用樣板前以StringBuilder組字串的 generateBean / generateIDao / generateDao 凍結副本, 僅供量測比較, 不再修改<br>
+ *			類別名稱及套件改由 Artifact 取得, 輸出改為Writer, 其餘與原實作相同; 命名轉換沿用 CustomCodegen, 比較範圍僅為輸出方式<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+final class CodegenLegacyEmitter {
+
+	private CodegenLegacyEmitter() {}
+
+	/**
+	 * renderBean 說明：以原 generateBean 的方式輸出Bean<br>
+	 *
+	 * @param Writer out
+	 * @param CustomCodegen gen
+	 * @param Map<String,Artifact> artifacts
+	 * @param TableInfo tableInfo
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	static void renderBean( Writer out, CustomCodegen gen, Map<String,Artifact> artifacts, TableInfo tableInfo ) throws IOException {
+		Artifact bean = artifacts.get( "bean" );
+		String beanName = bean.getClassName();
+
+		List<String> lines = new ArrayList<>();
+		lines.add( getPackageStr( bean ) );
+		String beanImport = getBeanImportStr( gen );
+		if( !"".equals( beanImport ) ) {
+			lines.add( beanImport );
+		}
+		lines.add( getBasicBeanImportStr( gen, tableInfo ) );
+		lines.add( getClassInfoBlockStr( gen, bean ) );
+		lines.add( getBeanClassStartStr( gen, beanName ) );
+
+		String fieldsSpace = "\t";
+
+		Map<String,ColumnInfo> column = tableInfo.getColumns();
+
+		StringBuilder fields = new StringBuilder( fieldsSpace + System.lineSeparator() );
+		for( Map.Entry<String, ColumnInfo> entry : column.entrySet() ) {
+
+			String columnName = entry.getKey();
+			ColumnInfo columnData = entry.getValue();
+
+			String cColumnName = "";
+			if( gen.getColumns() != null && !"".equals( gen.getColumns() ) ) {
+				cColumnName = columnData.getSelfColumnName();
+			} else {
+				cColumnName = gen.convertCase( columnName, "camel" );
+			}
+
+			fields.append( getFieldDescription( gen, columnName, columnData.getRemarks() ) );
+			if( columnData.isPrimaryKey() ) {
+				fields.append( fieldsSpace + "@Id" + System.lineSeparator() );
+				if( "@Column".equals( gen.getMappedType() ) ) {
+					fields.append( fieldsSpace + "@GeneratedValue(strategy=GenerationType.IDENTITY)" + System.lineSeparator() );
+					fields.append( fieldsSpace + "@Column(name=\"" + columnName + "\")" + System.lineSeparator() );
+				}
+				fields.append( fieldsSpace + "private " + columnData.getJavaType() + " " + cColumnName + ';' + System.lineSeparator() );
+				fields.append( fieldsSpace + System.lineSeparator() );
+			} else {
+				if( "@Column".equals( gen.getMappedType() ) ) {
+					fields.append( fieldsSpace + "@Column(name=\"" + columnName + "\")" + System.lineSeparator() );
+				} else {
+					fields.append( fieldsSpace + "@Basic" + System.lineSeparator() );
+				}
+				fields.append( fieldsSpace + "private " + columnData.getJavaType() + " " + cColumnName + ';' + System.lineSeparator() );
+				fields.append( fieldsSpace + System.lineSeparator() );
+			}
+		}
+		lines.add( fields.toString() );
+		fields = null;
+
+		StringBuilder methods = new StringBuilder( fieldsSpace + System.lineSeparator()  );
+		for( Map.Entry<String, ColumnInfo> entry : column.entrySet() ) {
+
+			String columnName = entry.getKey();
+			ColumnInfo columnData = entry.getValue();
+
+			String cColumnName = "";
+			if( gen.getColumns() != null && !"".equals( gen.getColumns() ) ) {
+				cColumnName = columnData.getSelfColumnName();
+			} else {
+				cColumnName = gen.convertCase( columnName, "camel" );
+			}
+			String pColumnName = "";
+			if( gen.getColumns() != null && !"".equals( gen.getColumns() ) ) {
+				pColumnName = gen.convertCase( columnData.getSelfColumnName(), "capitalizeOnlyFirst" );
+			} else {
+				pColumnName = gen.convertCase( columnName, "pascal" );
+			}
+
+			if( columnData.isPrimaryKey() ) {
+				methods.append( getMethodGetterDescription( gen, columnName ) );
+				methods.append( fieldsSpace + "public " + columnData.getJavaType() + " get" + pColumnName + "() {" + System.lineSeparator() );
+				methods.append( fieldsSpace + fieldsSpace + "return " + cColumnName + ';' + System.lineSeparator() );
+				methods.append( fieldsSpace + '}' + System.lineSeparator() );
+				methods.append( fieldsSpace + System.lineSeparator() );
+				methods.append( getMethodSetterDescription( gen, columnName ) );
+				methods.append( fieldsSpace + "public void set" + pColumnName + "( ");
+				methods.append( columnData.getJavaType() + " " + cColumnName + " ) {" + System.lineSeparator() );
+				methods.append( fieldsSpace + fieldsSpace + "this." + cColumnName + " = " + cColumnName + ';' + System.lineSeparator() );
+				methods.append( fieldsSpace + '}' + System.lineSeparator() );
+				methods.append( fieldsSpace + System.lineSeparator() );
+			} else {
+				methods.append( getMethodGetterDescription( gen, columnName ) );
+				methods.append( fieldsSpace + "public " + columnData.getJavaType() + " get" + pColumnName + "() {" + System.lineSeparator() );
+				methods.append( fieldsSpace + fieldsSpace + "return " + cColumnName + ';' + System.lineSeparator() );
+				methods.append( fieldsSpace + '}' + System.lineSeparator() );
+				methods.append( fieldsSpace + System.lineSeparator() );
+				methods.append( getMethodSetterDescription( gen, columnName ) );
+				methods.append( fieldsSpace + "public void set" + pColumnName + "( ");
+				methods.append( columnData.getJavaType() + " " + cColumnName + " ) {" + System.lineSeparator() );
+				methods.append( fieldsSpace + fieldsSpace + "this." + cColumnName + " = " + cColumnName + ';' + System.lineSeparator() );
+				methods.append( fieldsSpace + '}' + System.lineSeparator() );
+				methods.append( fieldsSpace + System.lineSeparator() );
+			}
+		}
+		lines.add( methods.toString() );
+		methods = null;
+
+		if( gen.getNeedToString() ) {
+			String doubleFieldsSpace = "\t\t";
+			StringBuilder toStringSB = new StringBuilder( fieldsSpace + System.lineSeparator()  );
+			toStringSB.append( fieldsSpace + "@Override" + System.lineSeparator() );
+			toStringSB.append( fieldsSpace + "public String toString() {" + System.lineSeparator() );
+			toStringSB.append( doubleFieldsSpace + "return this.getClass().getSimpleName() + " );
+			String lineSepStr = "System.lineSeparator()";
+			toStringSB.append( "\" [\" + " + lineSepStr + " + " );
+			for( Map.Entry<String, ColumnInfo> entry : column.entrySet() ) {
+				toStringSB.append( System.lineSeparator() + doubleFieldsSpace + fieldsSpace );
+				ColumnInfo columnData = entry.getValue();
+
+				String cColumnName = "";
+				if( gen.getColumns() != null && !"".equals( gen.getColumns() ) ) {
+					cColumnName = columnData.getSelfColumnName();
+				} else {
+					cColumnName = gen.convertCase( columnData.getColumnName(), "camel" );
+				}
+				String remarks = columnData.getRemarks() == null ? "" : '(' + columnData.getRemarks() + ')';
+				toStringSB.append( "\"" + cColumnName + remarks + ':' + "\" + " + cColumnName + " + ',' + " );
+				toStringSB.append( lineSepStr + " + " );
+			}
+			toStringSB.append( System.lineSeparator() );
+			toStringSB.append( doubleFieldsSpace + fieldsSpace + "']';" );
+			toStringSB.append( System.lineSeparator() );
+			toStringSB.append( fieldsSpace + '}' + System.lineSeparator() );
+			lines.add( toStringSB.toString() );
+		}
+
+		lines.add( getClassEndStr() );
+		writeLines( out, lines );
+	}
+
+	/**
+	 * renderIDao 說明：以原 generateIDao 的方式輸出IDao<br>
+	 *
+	 * @param Writer out
+	 * @param CustomCodegen gen
+	 * @param Map<String,Artifact> artifacts
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	static void renderIDao( Writer out, CustomCodegen gen, Map<String,Artifact> artifacts ) throws IOException {
+		Artifact iDao = artifacts.get( "idao" );
+		Artifact bean = artifacts.get( "bean" );
+
+		List<String> lines = new ArrayList<>();
+		lines.add( getPackageStr( iDao ) );
+		lines.add( System.lineSeparator() + getImportStr( bean ) );
+		lines.add( getClassInfoBlockStr( gen, iDao ) );
+		lines.add( "public interface " + iDao.getClassName() + " {" + System.lineSeparator() );
+		lines.add( getClassEndStr() );
+		writeLines( out, lines );
+	}
+
+	/**
+	 * renderDao 說明：以原 generateDao 的方式輸出Dao<br>
+	 *
+	 * @param Writer out
+	 * @param CustomCodegen gen
+	 * @param Map<String,Artifact> artifacts
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	static void renderDao( Writer out, CustomCodegen gen, Map<String,Artifact> artifacts ) throws IOException {
+		Artifact dao = artifacts.get( "dao" );
+		Artifact iDao = artifacts.get( "idao" );
+		Artifact bean = artifacts.get( "bean" );
+
+		List<String> lines = new ArrayList<>();
+		lines.add( getPackageStr( dao ) );
+		lines.add( System.lineSeparator() + getImportStr( iDao ) + getImportStr( bean ) );
+		lines.add( getClassInfoBlockStr( gen, dao ) );
+		lines.add( "public class " + dao.getClassName() + " implements " + iDao.getClassName() + " {" + System.lineSeparator() );
+		lines.add( getClassEndStr() );
+		writeLines( out, lines );
+	}
+
+	/** 與原 Files.write( file, lines ) 相同, 每行後接換行 */
+	private static void writeLines( Writer out, List<String> lines ) throws IOException {
+		for( String line : lines ) {
+			out.write( line );
+			out.write( System.lineSeparator() );
+		}
+	}
+
+	private static String getPackageStr( Artifact artifact ) {
+		return "package " + artifact.getPackageName() + ';' + System.lineSeparator() ;
+	}
+
+	private static String getImportStr( Artifact artifact ) {
+		return "import " + artifact.getPackageName() + '.' + artifact.getClassName() + ';' + System.lineSeparator();
+	}
+
+	private static String getBasicBeanImportStr( CustomCodegen gen, TableInfo tableInfo ) {
+		StringBuilder sb = new StringBuilder("");
+
+		if( "@Column".equals( gen.getMappedType() ) ) {
+			sb.append("import javax.persistence.Column;" + System.lineSeparator() );
+		} else {
+			sb.append("import javax.persistence.Basic;" + System.lineSeparator() );
+		}
+		sb.append("import javax.persistence.Entity;" + System.lineSeparator() );
+		if( tableInfo.getHasPrimaryKey() ) {
+			if( "@Column".equals( gen.getMappedType() ) ) {
+				sb.append("import javax.persistence.GeneratedValue;" + System.lineSeparator() );
+				sb.append("import javax.persistence.GenerationType;" + System.lineSeparator() );
+			}
+			sb.append("import javax.persistence.Id;" + System.lineSeparator() );
+		}
+		sb.append("import javax.persistence.Table;" + System.lineSeparator() );
+		return sb.toString();
+	}
+
+	private static String getClassInfoBlockStr( CustomCodegen gen, Artifact artifact ) {
+		StringBuilder sb = new StringBuilder("");
+		sb.append("/**" + System.lineSeparator() );
+		sb.append(" *	作 業 代 碼 ：" + gen.toCleanString( gen.getTaskId() ) + "<br>" + System.lineSeparator() );
+		sb.append(" *	作 業 名 稱 ：" + gen.toCleanString( gen.getTaskName() ) + "<br>" + System.lineSeparator() );
+		sb.append(" *	程 式 代 號 ：" + artifact.getClassName() + ".java<br>" + System.lineSeparator() );
+		sb.append(" *	描	   述 ：" + gen.toCleanString( gen.getTaskDescription() ) + "<br>" + System.lineSeparator() );
+		sb.append(" *	公	   司 ：Tenpastten Studio<br>" + System.lineSeparator() );
+		sb.append(" *	【 資 料 來 源】 ：" + gen.getSourceDescription() + "<br>" + System.lineSeparator() );
+		sb.append(" *	【 異 動 紀 錄】 ：<br>" + System.lineSeparator() );
+		sb.append(" *" + System.lineSeparator() );
+		sb.append(" *	@author : " + gen.getAuthor() + "<br>" + System.lineSeparator() );
+		sb.append(" *	@version : 1.0.0  " + gen.getCurrentTime() + "<br>" + System.lineSeparator() );
+		sb.append(" */");
+		return sb.toString();
+	}
+
+	private static String getBeanClassStartStr( CustomCodegen gen, String entityName ) {
+		StringBuilder sb = new StringBuilder("");
+		sb.append("@Entity");
+		sb.append( System.lineSeparator() );
+		sb.append("@Table(name=\"" + gen.getTableName().toUpperCase() + "\")");
+		sb.append( System.lineSeparator() );
+		sb.append("public class " + entityName + " {" );
+		sb.append( System.lineSeparator() );
+		return sb.toString();
+	}
+
+	private static String getClassEndStr() {
+		StringBuilder sb = new StringBuilder("");
+		sb.append( '}' ).append( System.lineSeparator() );
+		return sb.toString();
+	}
+
+	private static String getBeanImportStr( CustomCodegen gen ) {
+		StringBuilder sb = new StringBuilder("");
+		if( gen.getHasBigDecimal() ) {
+			sb.append("import java.math.BigDecimal;" + System.lineSeparator() );
+		}
+		if( gen.getHasTimeStamp() ) {
+			sb.append("import java.sql.Timestamp;" + System.lineSeparator() );
+		}
+		if( gen.getHasDate() ) {
+			sb.append("import java.util.Date;" + System.lineSeparator() );
+		}
+		return sb.toString();
+	}
+
+	private static String getFieldDescription( CustomCodegen gen, String columnsName, String remarks ) {
+		String fieldsSpace = "\t";
+		StringBuilder sb = new StringBuilder( "" );
+		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * This field was generated by CustomCodegen Generator. ");
+		sb.append( "This field corresponds to the database column " + gen.getTableName().toUpperCase() );
+		sb.append( '.' + columnsName + "" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * Remarks: " + ( remarks == null ? "NONE" : remarks )+ System.lineSeparator() );
+		sb.append( fieldsSpace + " * cusg.generated  " + gen.getCurrentTime() + System.lineSeparator() );
+		sb.append( fieldsSpace + " */" + System.lineSeparator() );
+		return sb.toString();
+	}
+
+	private static String getMethodSetterDescription( CustomCodegen gen, String columnsName ) {
+		String fieldsSpace = "\t";
+		String correspondsCol = gen.getTableName().toUpperCase() + '.' + columnsName;
+		StringBuilder sb = new StringBuilder( "" );
+		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * This method was generated by CustomCodegen Generator. ");
+		sb.append( "This method sets the value of the database column " + correspondsCol + System.lineSeparator() );
+		sb.append( fieldsSpace + " * @param " + gen.toCamelCase( columnsName ) );
+		sb.append( "  the value for " + correspondsCol + System.lineSeparator() );
+		sb.append( fieldsSpace + " * cusg.generated  " + gen.getCurrentTime() + System.lineSeparator() );
+		sb.append( fieldsSpace + " */" + System.lineSeparator() );
+		return sb.toString();
+	}
+
+	private static String getMethodGetterDescription( CustomCodegen gen, String columnsName ) {
+		String fieldsSpace = "\t";
+		String correspondsCol = gen.getTableName().toUpperCase() + '.' + columnsName;
+		StringBuilder sb = new StringBuilder( "" );
+		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * This method was generated by CustomCodegen Generator. ");
+		sb.append( "This method returns the value of the database column " + correspondsCol + System.lineSeparator() );
+		sb.append( fieldsSpace + " * @return " + gen.toCamelCase( columnsName ) );
+		sb.append( "  the value of " + correspondsCol + System.lineSeparator() );
+		sb.append( fieldsSpace + " * cusg.generated  " + gen.getCurrentTime() + System.lineSeparator() );
+		sb.append( fieldsSpace + " */" + System.lineSeparator() );
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,79 @@
+package codegen;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenMetadataBenchmark<br>
+ *	作 業 名 稱 ：Codegen Metadata Benchmark<br>
+ *	程 式 代 號 ：CodegenMetadataBenchmark.java<br>
+ *	描 述 ：以實際資料庫比較資料字典與JDBC DatabaseMetaData取得整個Schema表格資訊的耗時, 兩者使用各自的連線池<br>
+ *			需連線資料庫, 連線設定同 CustomCodegen, 以 -p dbName=Oracle|MySQL -p schema=Schema 指定<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CodegenMetadataBenchmark {
+
+	@Param( { "Oracle" } )
+	private String dbName;
+
+	@Param( { "" } )
+	private String schema;
+
+	@Param( { "false", "true" } )
+	private boolean dictionary;
+
+	private CustomCodegen gen;
+
+	private PrintStream console;
+
+	@Setup
+	public void setup() {
+		gen = new CustomCodegen();
+		gen.setDbName( dbName );
+		gen.setTableSchema( schema );
+		gen.setDictionaryMetadata( dictionary );
+		console = CodegenBenchmarkSupport.silenceOut();
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.setOut( console );
+		gen.getConnectionPool().close();
+	}
+
+	@Benchmark
+	public Map<String,TableInfo> getSchemaTableInfo() {
+		Map<String,TableInfo> tableInfoMap = gen.getSchemaTableInfo();
+		if( tableInfoMap == null ) {
+			throw new IllegalStateException( "Query schema " + schema + " failed" );
+		}
+		return tableInfoMap;
+	}
+
+}
@@ -0,0 +1,75 @@
+package codegen;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import codegen.CustomCodegen.Artifact;
+
+/**
+ *	作 業 代 碼 ：CodegenNamingBenchmark<br>
+ *	作 業 名 稱 ：Codegen Naming Benchmark<br>
+ *	程 式 代 號 ：CodegenNamingBenchmark.java<br>
+ *	描 述 ：量測命名轉換(toCamelCase / toPascalCase / convertCase)及產出檔案名稱、套件、輸出位置的推導(getArtifacts)<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CodegenNamingBenchmark {
+
+	private final static String[] IDENTIFIERS = { "ID", "CREATE_USER", "UPDATE_TIME", "SC_TYPE_CODE",
+			"menu_parent_id", "ORDER_DETAIL_AMOUNT_TWD", "X", "remark" };
+
+	private CustomCodegen gen;
+
+	@Setup
+	public void setup() {
+		gen = CodegenBenchmarkSupport.newGenerator( CodegenBenchmarkSupport.newSyntheticTable( "BENCH_NAMING", 1 ) );
+	}
+
+	@Benchmark
+	public void toCamelCase( Blackhole bh ) {
+		for( String id : IDENTIFIERS ) {
+			bh.consume( gen.toCamelCase( id ) );
+		}
+	}
+
+	@Benchmark
+	public void toPascalCase( Blackhole bh ) {
+		for( String id : IDENTIFIERS ) {
+			bh.consume( gen.toPascalCase( id ) );
+		}
+	}
+
+	@Benchmark
+	public void convertCase( Blackhole bh ) {
+		for( String id : IDENTIFIERS ) {
+			bh.consume( gen.convertCase( id ) );
+		}
+	}
+
+	@Benchmark
+	public List<Artifact> getArtifacts() {
+		return gen.getArtifacts();
+	}
+
+}
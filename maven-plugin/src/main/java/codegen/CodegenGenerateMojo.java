@@ -0,0 +1,71 @@
+package codegen;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ *	作 業 代 碼 ：CodegenGenerateMojo<br>
+ *	作 業 名 稱 ：Codegen Generate Mojo<br>
+ *	程 式 代 號 ：CodegenGenerateMojo.java<br>
+ *	描 述 ：Maven codegen:generate, 於 generate-sources 依工作檔產檔<br>
+ *			工作檔設定 upToDateStamp 時以 CodegenUpToDateCheck 判斷, 輸入(設定、DDL檔、離線快照檔、Codegen版本、產生器、樣板)及產製檔案皆未變更時略過產檔<br>
+ *			工作檔內的相對檔案路徑(ddlScripts, upToDateStamp, snapshotPath...)以模組資料夾(project.basedir)為準, 多模組建置時亦同<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+@Mojo( name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true )
+public class CodegenGenerateMojo extends AbstractMojo {
+
+	/** 工作檔 */
+	@Parameter( property = "codegen.jobFile", defaultValue = "${project.basedir}/codegen-job.properties", required = true )
+	private File jobFile;
+
+	/** 產製檔案的資料夾, 設定時加入編譯的原始碼資料夾 */
+	@Parameter( property = "codegen.sourceRoot" )
+	private File sourceRoot;
+
+	/** 略過產檔 */
+	@Parameter( property = "codegen.skip", defaultValue = "false" )
+	private boolean skip;
+
+	@Parameter( defaultValue = "${project}", readonly = true, required = true )
+	private MavenProject project;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if( skip ) {
+			getLog().info( "Codegen skipped" );
+			return;
+		}
+		if( !jobFile.isFile() ) {
+			throw new MojoExecutionException( "Codegen job file " + jobFile + " not found" );
+		}
+		boolean succeeded;
+		try {
+			System.out.println( "### Codegen job file " + jobFile + " ###");
+			CodegenJobFile job = CodegenJobFile.load( jobFile.toPath() );
+			job.resolvePaths( project.getBasedir().toPath() );
+			succeeded = job.run();
+		} catch( IOException e ) {
+			throw new MojoExecutionException( "Codegen job file " + jobFile + " failed due to " + e.getMessage(), e );
+		}
+		if( !succeeded ) {
+			throw new MojoFailureException( "Codegen job file " + jobFile + " failed, see ### messages above" );
+		}
+		if( sourceRoot != null ) {
+			project.addCompileSourceRoot( sourceRoot.getAbsolutePath() );
+		}
+	}
+
+}
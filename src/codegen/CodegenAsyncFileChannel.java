@@ -0,0 +1,149 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ *	作 業 代 碼 ：CodegenAsyncFileChannel<br>
+ *	作 業 名 稱 ：Codegen Async File Channel<br>
+ *	程 式 代 號 ：CodegenAsyncFileChannel.java<br>
+ *	描 述 ：以AsynchronousFileChannel非同步寫檔, 兩個緩衝區輪替使用<br>
+ *			前一段內容寫入檔案的同時繼續產製下一段, 網路磁碟等寫入延遲高的輸出位置不需等待每次寫入完成<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenAsyncFileChannel implements WritableByteChannel {
+
+	private final static int BUFFER_SIZE = 24 * 1024;
+
+	/** 每條執行緒重複使用的兩個緩衝區 */
+	private final static ThreadLocal<ByteBuffer[]> BUFFERS = ThreadLocal.withInitial(
+			() -> new ByteBuffer[] { ByteBuffer.allocateDirect( BUFFER_SIZE ), ByteBuffer.allocateDirect( BUFFER_SIZE ) } );
+
+	private final static ThreadLocal<Boolean> BUFFERS_IN_USE = ThreadLocal.withInitial( () -> Boolean.FALSE );
+
+	private final AsynchronousFileChannel channel;
+
+	private final boolean sharedBuffers;
+
+	/** 寫入中的緩衝區 */
+	private ByteBuffer pending;
+
+	/** 可供下一段內容使用的緩衝區 */
+	private ByteBuffer spare;
+
+	private Future<Integer> pendingWrite;
+
+	private long pendingPosition;
+
+	/** 下一段內容的檔案位置 */
+	private long position;
+
+	private CodegenAsyncFileChannel( AsynchronousFileChannel channel ) {
+		this.channel = channel;
+		/** 同一執行緒同時開啟兩個檔案時不共用緩衝區 */
+		this.sharedBuffers = !BUFFERS_IN_USE.get();
+		ByteBuffer[] buffers = sharedBuffers ? BUFFERS.get()
+				: new ByteBuffer[] { ByteBuffer.allocateDirect( BUFFER_SIZE ), ByteBuffer.allocateDirect( BUFFER_SIZE ) };
+		if( sharedBuffers ) {
+			BUFFERS_IN_USE.set( Boolean.TRUE );
+		}
+		this.pending = buffers[0];
+		this.spare = buffers[1];
+	}
+
+	/**
+	 * open 說明：開啟(覆寫)檔案, 使用完須close, close時等待所有寫入完成<br>
+	 *
+	 * @param Path file
+	 * @return CodegenAsyncFileChannel channel
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public static CodegenAsyncFileChannel open( Path file ) throws IOException {
+		return new CodegenAsyncFileChannel( AsynchronousFileChannel.open( file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) );
+	}
+
+	/**
+	 * write 說明：複製內容至空閒緩衝區, 等待前一次寫入完成後送出非同步寫入<br>
+	 *
+	 * @param ByteBuffer src
+	 * @return int 已接收的位元組數
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	@Override
+	public int write( ByteBuffer src ) throws IOException {
+		int length = src.remaining();
+		if( spare.capacity() < length ) {
+			spare = ByteBuffer.allocateDirect( length );
+		}
+		spare.clear();
+		spare.put( src );
+		spare.flip();
+
+		await();
+
+		ByteBuffer buffer = spare;
+		spare = pending;
+		pending = buffer;
+		pendingPosition = position;
+		pendingWrite = channel.write( pending, pendingPosition );
+		position += length;
+		return length;
+	}
+
+	/**
+	 * await 說明：等待寫入中的內容全部寫入檔案<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private void await() throws IOException {
+		while( pendingWrite != null ) {
+			int written;
+			try {
+				written = pendingWrite.get();
+			} catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException( "Interrupted while writing" );
+			} catch( ExecutionException e ) {
+				pendingWrite = null;
+				throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException( e.getCause() );
+			}
+			pendingPosition += written;
+			pendingWrite = pending.hasRemaining() ? channel.write( pending, pendingPosition ) : null;
+		}
+	}
+
+	@Override
+	public boolean isOpen() {
+		return channel.isOpen();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			await();
+		} finally {
+			if( sharedBuffers ) {
+				BUFFERS.get()[0] = pending;
+				BUFFERS.get()[1] = spare;
+				BUFFERS_IN_USE.set( Boolean.FALSE );
+			}
+			channel.close();
+		}
+	}
+
+}
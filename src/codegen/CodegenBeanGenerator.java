@@ -0,0 +1,42 @@
+package codegen;
+
+import java.util.Map;
+
+import codegen.CustomCodegen.Artifact;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenBeanGenerator<br>
+ *	作 業 名 稱 ：Codegen Bean Generator<br>
+ *	程 式 代 號 ：CodegenBeanGenerator.java<br>
+ *	描 述 ：內建的Bean(Entity)產生器, 以 entity 樣板產製<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenBeanGenerator extends CodegenTemplateGenerator {
+
+	public CodegenBeanGenerator() {
+		super( "bean", "Entity", "entity", 100 );
+	}
+
+	@Override
+	protected String newClassName( CustomCodegen setting ) {
+		return setting.getDomainObjectName() + "Entity";
+	}
+
+	@Override
+	protected String getTargetPath( CustomCodegen setting ) {
+		return setting.getTargetBeanPath();
+	}
+
+	@Override
+	public Map<String,Object> getModel( CustomCodegen setting, Artifact artifact, Map<String,Artifact> artifacts, TableInfo table ) {
+		Map<String,Object> model = super.getModel( setting, artifact, artifacts, table );
+		model.put( "columns", setting.getColumnModel( table ) );
+		return model;
+	}
+
+}
@@ -0,0 +1,384 @@
+package codegen;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *	作 業 代 碼 ：CodegenConnectionPool<br>
+ *	作 業 名 稱 ：Codegen Connection Pool<br>
+ *	程 式 代 號 ：CodegenConnectionPool.java<br>
+ *	描 述 ：Codegen 自有的 JDBC 連線池, 同一JVM內的多個表格及批次執行緒共用已建立的連線<br>
+ *			借出時檢核連線有效性, 閒置超過時間的連線由背景執行緒回收, 但保留最小連線數<br>
+ *			借出的連線 close() 時歸還連線池, 可直接使用 try-with-resources<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenConnectionPool implements AutoCloseable {
+
+	private final static int DEFAULT_MIN_SIZE = 1;
+
+	private final static int DEFAULT_MAX_SIZE = 8;
+
+	private final static long DEFAULT_BORROW_TIMEOUT_MILLIS = 30_000L;
+
+	private final static long DEFAULT_IDLE_TIMEOUT_MILLIS = 300_000L;
+
+	private final static int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 5;
+
+	/** 閒置中的連線 */
+	class PooledConnection {
+
+		private final Connection connection;
+
+		private long lastUsedTime;
+
+		PooledConnection( Connection connection ) {
+			this.connection = connection;
+			this.lastUsedTime = System.currentTimeMillis();
+		}
+
+	}
+
+	/** 連線URL */
+	private final String url;
+
+	/** 連線帳號 */
+	private final String account;
+
+	/** 連線密碼 */
+	private final String password;
+
+	/** JDBC Driver 類別名稱, 為空即由DriverManager自行載入 */
+	private final String driverClassName;
+
+	/** 最小保留連線數 */
+	private int minSize = DEFAULT_MIN_SIZE;
+
+	/** 最大連線數 */
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	/** 等待可用連線的最長時間(毫秒) */
+	private long borrowTimeoutMillis = DEFAULT_BORROW_TIMEOUT_MILLIS;
+
+	/** 連線閒置回收時間(毫秒) */
+	private long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+	/** 借出時檢核連線的逾時秒數 */
+	private int validationTimeoutSeconds = DEFAULT_VALIDATION_TIMEOUT_SECONDS;
+
+	private final LinkedBlockingDeque<PooledConnection> idleDeque = new LinkedBlockingDeque<>();
+
+	private Semaphore permits;
+
+	private ScheduledExecutorService evictor;
+
+	private final AtomicBoolean started = new AtomicBoolean( false );
+
+	private final AtomicBoolean closed = new AtomicBoolean( false );
+
+	public CodegenConnectionPool( String url, String account, String password, String driverClassName ) {
+		this.url = url;
+		this.account = account;
+		this.password = password;
+		this.driverClassName = driverClassName;
+	}
+
+	/**
+	 * getConnection 說明：借出連線, 連線池未啟動時先建立最小連線數<br>
+	 *
+	 * @return Connection 歸還連線池用的代理連線
+	 * @author Alan Hsu
+	 * @throws SQLException
+	 */
+	public Connection getConnection() throws SQLException {
+		if( closed.get() ) {
+			throw new SQLException( "Connection pool already closed" );
+		}
+		start();
+
+		boolean acquired = false;
+		try {
+			acquired = permits.tryAcquire( borrowTimeoutMillis, TimeUnit.MILLISECONDS );
+		} catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+		if( !acquired ) {
+			throw new SQLException( "Timeout waiting for connection after " + borrowTimeoutMillis + " ms, max size:" + maxSize );
+		}
+
+		try {
+			PooledConnection pooled;
+			while( ( pooled = idleDeque.pollFirst() ) != null ) {
+				if( isValid( pooled.connection ) ) {
+					return wrap( pooled.connection );
+				}
+				closeQuietly( pooled.connection );
+			}
+			return wrap( createConnection() );
+		} catch( SQLException | RuntimeException e ) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * start 說明：載入Driver, 建立最小連線數及閒置回收排程<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws SQLException
+	 */
+	private void start() throws SQLException {
+		if( started.get() ) {
+			return;
+		}
+		synchronized( this ) {
+			if( started.get() ) {
+				return;
+			}
+			if( driverClassName != null && !"".equals( driverClassName ) ) {
+				try {
+					Class.forName( driverClassName );
+				} catch( ClassNotFoundException e ) {
+					throw new SQLException( "JDBC driver " + driverClassName + " not found", e );
+				}
+			}
+			/** 最小連線數全部建立成功才放入連線池, 中途失敗即關閉已建立的連線 */
+			List<Connection> initial = new ArrayList<>();
+			try {
+				for( int i = 0; i < Math.min( minSize, maxSize ); i++ ) {
+					initial.add( createConnection() );
+				}
+			} catch( SQLException | RuntimeException e ) {
+				for( Connection connection : initial ) {
+					closeQuietly( connection );
+				}
+				throw e;
+			}
+			permits = new Semaphore( maxSize, true );
+			for( Connection connection : initial ) {
+				idleDeque.offerLast( new PooledConnection( connection ) );
+			}
+			evictor = Executors.newSingleThreadScheduledExecutor( r -> {
+				Thread t = new Thread( r, "codegen-pool-evictor" );
+				t.setDaemon( true );
+				return t;
+			});
+			long period = Math.max( 1_000L, idleTimeoutMillis / 2 );
+			evictor.scheduleWithFixedDelay( this::evictIdle, period, period, TimeUnit.MILLISECONDS );
+			started.set( true );
+			System.out.println( "### Connection pool started, min:" + minSize + " max:" + maxSize + " ###" );
+		}
+	}
+
+	/**
+	 * evictIdle 說明：回收閒置超過時間的連線, 保留最小連線數<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	private void evictIdle() {
+		long now = System.currentTimeMillis();
+		Iterator<PooledConnection> it = idleDeque.descendingIterator();
+		while( it.hasNext() && idleDeque.size() > minSize ) {
+			PooledConnection pooled = it.next();
+			if( now - pooled.lastUsedTime > idleTimeoutMillis && idleDeque.remove( pooled ) ) {
+				closeQuietly( pooled.connection );
+			}
+		}
+	}
+
+	/**
+	 * release 說明：歸還連線, 已失效或連線池已關閉即直接關閉連線<br>
+	 *
+	 * @param Connection connection
+	 * @author Alan Hsu
+	 */
+	private void release( Connection connection ) {
+		try {
+			if( closed.get() || connection.isClosed() ) {
+				closeQuietly( connection );
+				return;
+			}
+			if( !connection.getAutoCommit() ) {
+				connection.rollback();
+				connection.setAutoCommit( true );
+			}
+			/** 最近使用的連線放前面優先借出, 後面的連線較容易閒置回收 */
+			PooledConnection pooled = new PooledConnection( connection );
+			idleDeque.offerFirst( pooled );
+			/** 放回期間連線池已關閉, close() 未取走的連線在此關閉 */
+			if( closed.get() && idleDeque.remove( pooled ) ) {
+				closeQuietly( connection );
+			}
+		} catch( SQLException e ) {
+			closeQuietly( connection );
+		} finally {
+			permits.release();
+		}
+	}
+
+	private Connection createConnection() throws SQLException {
+		return DriverManager.getConnection( url, account, password );
+	}
+
+	private boolean isValid( Connection connection ) {
+		try {
+			return !connection.isClosed() && connection.isValid( validationTimeoutSeconds );
+		} catch( SQLException e ) {
+			return false;
+		}
+	}
+
+	private static void closeQuietly( Connection connection ) {
+		try {
+			connection.close();
+		} catch( SQLException e ) {
+			System.err.println( "### Close pooled connection failed due to " + e.getMessage() + " ###");
+		}
+	}
+
+	/**
+	 * wrap 說明：包裝借出的連線, close() 改為歸還連線池, 且只能歸還一次<br>
+	 *
+	 * @param Connection connection
+	 * @return Connection proxy
+	 * @author Alan Hsu
+	 */
+	private Connection wrap( Connection connection ) {
+		AtomicBoolean returned = new AtomicBoolean( false );
+		InvocationHandler handler = ( proxy, method, args ) -> {
+			String name = method.getName();
+			if( "close".equals( name ) && method.getParameterCount() == 0 ) {
+				if( returned.compareAndSet( false, true ) ) {
+					release( connection );
+				}
+				return null;
+			}
+			if( "isClosed".equals( name ) && method.getParameterCount() == 0 ) {
+				return returned.get() || connection.isClosed();
+			}
+			if( returned.get() ) {
+				throw new SQLException( "Connection already returned to pool" );
+			}
+			return invoke( connection, method, args );
+		};
+		return (Connection) Proxy.newProxyInstance( Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, handler );
+	}
+
+	private static Object invoke( Object target, Method method, Object[] args ) throws Throwable {
+		try {
+			return method.invoke( target, args );
+		} catch( InvocationTargetException e ) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * close 說明：關閉連線池及所有閒置連線, 借出中的連線歸還時直接關閉<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	@Override
+	public void close() {
+		if( !closed.compareAndSet( false, true ) ) {
+			return;
+		}
+		if( evictor != null ) {
+			evictor.shutdownNow();
+		}
+		PooledConnection pooled;
+		while( ( pooled = idleDeque.pollFirst() ) != null ) {
+			closeQuietly( pooled.connection );
+		}
+		System.out.println( "### Connection pool closed ###" );
+	}
+
+	/**
+	 * getIdleCount 說明：取得閒置中的連線數<br>
+	 *
+	 * @return int idleCount
+	 * @author Alan Hsu
+	 */
+	public int getIdleCount() {
+		return idleDeque.size();
+	}
+
+	/**
+	 * getActiveCount 說明：取得借出中的連線數<br>
+	 *
+	 * @return int activeCount
+	 * @author Alan Hsu
+	 */
+	public int getActiveCount() {
+		return permits == null ? 0 : maxSize - permits.availablePermits();
+	}
+
+	public boolean isClosed() {
+		return closed.get();
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public void setMinSize(int minSize) {
+		this.minSize = Math.max( 0, minSize );
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public void setMaxSize(int maxSize) {
+		if( started.get() ) {
+			throw new IllegalStateException( "Connection pool already started" );
+		}
+		this.maxSize = Math.max( 1, maxSize );
+	}
+
+	public long getBorrowTimeoutMillis() {
+		return borrowTimeoutMillis;
+	}
+
+	public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+	}
+
+	public long getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+
+	public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	public int getValidationTimeoutSeconds() {
+		return validationTimeoutSeconds;
+	}
+
+	public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+		this.validationTimeoutSeconds = validationTimeoutSeconds;
+	}
+
+}
@@ -0,0 +1,35 @@
+package codegen;
+
+/**
+ *	作 業 代 碼 ：CodegenDaoGenerator<br>
+ *	作 業 名 稱 ：Codegen Dao Generator<br>
+ *	程 式 代 號 ：CodegenDaoGenerator.java<br>
+ *	描 述 ：內建的Dao產生器, 以 dao 樣板產製, 使用Bean及IDao的名稱, 需產製Dao時才產檔<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenDaoGenerator extends CodegenTemplateGenerator {
+
+	public CodegenDaoGenerator() {
+		super( "dao", "Dao", "dao", 300 );
+	}
+
+	@Override
+	public boolean isEnabled( CustomCodegen setting ) {
+		return setting.getNeedDao();
+	}
+
+	@Override
+	protected String newClassName( CustomCodegen setting ) {
+		return setting.getDomainObjectName() + "Dao";
+	}
+
+	@Override
+	protected String getTargetPath( CustomCodegen setting ) {
+		return setting.getTargetDaoPath();
+	}
+
+}
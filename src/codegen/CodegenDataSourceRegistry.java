@@ -0,0 +1,298 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ *	作 業 代 碼 ：CodegenDataSourceRegistry<br>
+ *	作 業 名 稱 ：Codegen DataSource Registry<br>
+ *	程 式 代 號 ：CodegenDataSourceRegistry.java<br>
+ *	描 述 ：具名的資料來源設定, 自外部properties檔(UTF-8)載入, 每個資料來源有各自的連線池及同時連線數上限<br>
+ *			名稱.type=Oracle|MySQL, 名稱.url, 名稱.user, 名稱.password 為必填<br>
+ *			名稱.driver(未設定時依type), 名稱.maxSessions, 名稱.minSessions, 名稱.schema(預設Schema), 名稱.outputFolder(產製檔案輸出位置) 為選填<br>
+ *			未指定資料來源名稱時依資料庫種類使用 oracle 或 mysql, 皆無時使用 default<br>
+ *			預設設定檔為工作資料夾下的 codegen-datasources.properties, 可以系統屬性 codegen.dataSources 指定<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenDataSourceRegistry {
+
+	private final static int DEFAULT_MAX_SESSIONS = 4;
+
+	private final static int DEFAULT_MIN_SESSIONS = 1;
+
+	/** 未指定資料來源, 且沒有與資料庫種類同名的資料來源時使用 */
+	public final static String DEFAULT_NAME = "default";
+
+	public final static String DEFAULT_FILE = "codegen-datasources.properties";
+
+	/** 指定預設設定檔位置的系統屬性 */
+	public final static String DEFAULT_FILE_PROPERTY = "codegen.dataSources";
+
+	private static CodegenDataSourceRegistry defaultRegistry;
+
+	/** 單一資料來源的設定 */
+	public static class DataSource {
+
+		private final String name;
+
+		/** MYSQL 或 ORACLE, 同 CustomCodegen.getDbName */
+		private String dbName;
+
+		private String url;
+
+		private String user;
+
+		private String password;
+
+		private String driverClassName;
+
+		private int maxSessions = DEFAULT_MAX_SESSIONS;
+
+		private int minSessions = DEFAULT_MIN_SESSIONS;
+
+		private String schema;
+
+		private String outputFolder;
+
+		private CodegenConnectionPool connectionPool;
+
+		public DataSource( String name ) {
+			this.name = name;
+		}
+
+		/**
+		 * getConnectionPool 說明：取得此資料來源的連線池, 第一次使用或已關閉時建立, 最大連線數即同時連線數上限<br>
+		 *
+		 * @return CodegenConnectionPool connectionPool
+		 * @author Alan Hsu
+		 */
+		public synchronized CodegenConnectionPool getConnectionPool() {
+			if( connectionPool == null || connectionPool.isClosed() ) {
+				connectionPool = new CodegenConnectionPool( url, user, password, driverClassName );
+				connectionPool.setMinSize( Math.min( minSessions, maxSessions ) );
+				connectionPool.setMaxSize( maxSessions );
+			}
+			return connectionPool;
+		}
+
+		synchronized void closeConnectionPool() {
+			if( connectionPool != null ) {
+				connectionPool.close();
+				connectionPool = null;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return name + "(" + dbName + " " + url + " " + user + ")";
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getDbName() {
+			return dbName;
+		}
+
+		public String getUrl() {
+			return url;
+		}
+
+		public String getUser() {
+			return user;
+		}
+
+		public String getDriverClassName() {
+			return driverClassName;
+		}
+
+		public int getMaxSessions() {
+			return maxSessions;
+		}
+
+		public int getMinSessions() {
+			return minSessions;
+		}
+
+		public String getSchema() {
+			return schema;
+		}
+
+		public String getOutputFolder() {
+			return outputFolder;
+		}
+
+	}
+
+	/** 資料來源名稱 > 設定 */
+	private final Map<String,DataSource> dataSourceMap = new LinkedHashMap<>();
+
+	/**
+	 * getDefault 說明：取得預設設定檔的資料來源, 設定檔不存在或不正確時沒有任何資料來源<br>
+	 *
+	 * @return CodegenDataSourceRegistry registry
+	 * @author Alan Hsu
+	 */
+	public static synchronized CodegenDataSourceRegistry getDefault() {
+		if( defaultRegistry == null ) {
+			Path path = Paths.get( System.getProperty( DEFAULT_FILE_PROPERTY, DEFAULT_FILE ) );
+			defaultRegistry = new CodegenDataSourceRegistry();
+			if( Files.isRegularFile( path ) ) {
+				try {
+					defaultRegistry = load( path );
+				} catch( IOException e ) {
+					System.err.println( "### Load datasource file " + path + " failed due to " + e.getMessage() + " ###");
+				}
+			}
+		}
+		return defaultRegistry;
+	}
+
+	/**
+	 * load 說明：以UTF-8讀取資料來源設定檔<br>
+	 *
+	 * @param Path path
+	 * @return CodegenDataSourceRegistry registry
+	 * @author Alan Hsu
+	 * @throws IOException 讀檔失敗或設定不正確
+	 */
+	public static CodegenDataSourceRegistry load( Path path ) throws IOException {
+		Properties properties = new Properties();
+		try( Reader reader = Files.newBufferedReader( path, StandardCharsets.UTF_8 ) ) {
+			properties.load( reader );
+		}
+		List<String> errorList = new ArrayList<>();
+		CodegenDataSourceRegistry registry = of( properties, errorList );
+		if( !errorList.isEmpty() ) {
+			throw new IOException( "Invalid datasource file " + path + ": " + String.join( "; ", errorList ) );
+		}
+		System.out.println( "### Loaded " + registry.dataSourceMap.size() + " datasources " + registry.dataSourceMap.keySet() + " from " + path + " ###");
+		return registry;
+	}
+
+	/**
+	 * of 說明：依設定建立資料來源, 以 名稱.url 判斷有哪些資料來源<br>
+	 *
+	 * @param Properties properties
+	 * @param List<String> errorList 設定錯誤訊息
+	 * @return CodegenDataSourceRegistry registry
+	 * @author Alan Hsu
+	 */
+	public static CodegenDataSourceRegistry of( Properties properties, List<String> errorList ) {
+		CodegenDataSourceRegistry registry = new CodegenDataSourceRegistry();
+		TreeSet<String> names = new TreeSet<>();
+		for( String key : properties.stringPropertyNames() ) {
+			if( key.endsWith( ".url" ) ) {
+				names.add( key.substring( 0, key.length() - ".url".length() ) );
+			}
+		}
+		for( String name : names ) {
+			DataSource dataSource = new DataSource( name );
+			String type = properties.getProperty( name + ".type", "" ).trim().toUpperCase();
+			if( !"MYSQL".equals( type ) && !"ORACLE".equals( type ) ) {
+				errorList.add( name + ".type must be Oracle or MySQL [" + type + "]" );
+			}
+			dataSource.dbName = type;
+			dataSource.url = properties.getProperty( name + ".url" ).trim();
+			dataSource.user = properties.getProperty( name + ".user", "" ).trim();
+			dataSource.password = properties.getProperty( name + ".password", "" );
+			dataSource.driverClassName = properties.getProperty( name + ".driver",
+					"MYSQL".equals( type ) ? "com.mysql.cj.jdbc.Driver" : "oracle.jdbc.driver.OracleDriver" ).trim();
+			dataSource.maxSessions = getInt( properties, name + ".maxSessions", DEFAULT_MAX_SESSIONS, errorList );
+			dataSource.minSessions = getInt( properties, name + ".minSessions", DEFAULT_MIN_SESSIONS, errorList );
+			dataSource.schema = properties.getProperty( name + ".schema" );
+			dataSource.outputFolder = properties.getProperty( name + ".outputFolder" );
+			registry.dataSourceMap.put( name, dataSource );
+		}
+		return registry;
+	}
+
+	private static int getInt( Properties properties, String key, int defaultValue, List<String> errorList ) {
+		String value = properties.getProperty( key, "" ).trim();
+		if( value.isEmpty() ) {
+			return defaultValue;
+		}
+		if( !value.matches( "^[1-9][\\d]*$" ) ) {
+			errorList.add( key + " must be a positive integer [" + value + "]" );
+			return defaultValue;
+		}
+		return Integer.parseInt( value );
+	}
+
+	/**
+	 * get 說明：取得資料來源, 查無時回傳null<br>
+	 *
+	 * @param String name
+	 * @return DataSource dataSource
+	 * @author Alan Hsu
+	 */
+	public DataSource get( String name ) {
+		return name == null ? null : dataSourceMap.get( name.trim() );
+	}
+
+	/**
+	 * find 說明：取得資料來源, 未指定名稱時依序使用與資料庫種類同名(oracle, mysql)及 default 的資料來源, 查無時回傳null<br>
+	 *
+	 * @param String name 資料來源名稱
+	 * @param String dbName 資料庫種類
+	 * @return DataSource dataSource
+	 * @author Alan Hsu
+	 */
+	public DataSource find( String name, String dbName ) {
+		if( name != null && !name.trim().isEmpty() ) {
+			return get( name );
+		}
+		DataSource dataSource = dbName == null || dbName.trim().isEmpty() ? null : get( dbName.toLowerCase() );
+		return dataSource != null ? dataSource : get( DEFAULT_NAME );
+	}
+
+	public List<String> getNames() {
+		return new ArrayList<>( dataSourceMap.keySet() );
+	}
+
+	/**
+	 * apply 說明：產檔設定改用此資料來源的資料庫種類及連線池, 未設定Schema時使用資料來源的預設Schema<br>
+	 *
+	 * @param CustomCodegen gen
+	 * @param String name 資料來源名稱
+	 * @return boolean 資料來源是否存在
+	 * @author Alan Hsu
+	 */
+	public boolean apply( CustomCodegen gen, String name ) {
+		DataSource dataSource = get( name );
+		if( dataSource == null ) {
+			return false;
+		}
+		gen.setDbName( dataSource.getDbName() );
+		gen.setConnectionPool( dataSource.getConnectionPool() );
+		if( "".equals( gen.toCleanString( gen.getTableSchema() ) ) && dataSource.getSchema() != null ) {
+			gen.setTableSchema( dataSource.getSchema() );
+		}
+		return true;
+	}
+
+	/**
+	 * close 說明：關閉所有資料來源的連線池<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public void close() {
+		dataSourceMap.values().forEach( DataSource::closeConnectionPool );
+	}
+
+}
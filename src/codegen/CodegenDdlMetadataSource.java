@@ -0,0 +1,763 @@
+package codegen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import codegen.CustomCodegen.ColumnInfo;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenDdlMetadataSource<br>
+ *	作 業 名 稱 ：Codegen DDL Metadata Source<br>
+ *	程 式 代 號 ：CodegenDdlMetadataSource.java<br>
+ *	描 述 ：解析Oracle/MySQL的DDL檔取得表格資訊, 不連線資料庫即可產檔<br>
+ *			支援 CREATE TABLE, ALTER TABLE ... ADD (欄位, PRIMARY KEY) / DROP (COLUMN, PRIMARY KEY), COMMENT ON COLUMN 及 DROP TABLE<br>
+ *			逐字元讀取一次, 只保留目前敘述的語彙, 其餘敘述(INSERT, CREATE INDEX, PL/SQL...)略過<br>
+ *			欄位型別先轉為資料字典的型別, 再以 CodegenDictionaryReader 的型別、java.sql.Types 及欄位長度(MySQL BIT(n))對應 getJavaTypeBySqlType,<br>
+ *			與連線資料庫時的結果一致(例如 INT UNSIGNED > Long, BIGINT UNSIGNED > BigInteger, BIT(8) > byte[]), 可以 compare 比對兩者<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenDdlMetadataSource extends CodegenMemoryMetadataSource {
+
+	/** 未加引號的名稱 */
+	private final static int WORD = 0;
+
+	/** 加引號的名稱 "NAME" 或 `name` */
+	private final static int QUOTED = 1;
+
+	/** 字串 'text' */
+	private final static int STRING = 2;
+
+	private final static int SYMBOL = 3;
+
+	/** 欄位定義中非欄位的項目 */
+	private final static Set<String> NON_COLUMN_WORDS = new HashSet<>( Arrays.asList(
+			"UNIQUE", "KEY", "INDEX", "FULLTEXT", "SPATIAL", "FOREIGN", "CHECK", "PERIOD", "SUPPLEMENTAL", "LIKE" ) );
+
+	private final boolean mysql;
+
+	/** 依資料字典型別對應欄位型別及java.sql.Types */
+	private final CodegenDictionaryReader typeReader;
+
+	/** 依java.sql.Types對應Java型別, 同連線資料庫時的對應 */
+	private final CustomCodegen typeMapper = new CustomCodegen();
+
+	private int statementCount;
+
+	/**
+	 * CodegenDdlMetadataSource 說明：<br>
+	 *
+	 * @param String dbName MYSQL 或 ORACLE
+	 * @author Alan Hsu
+	 */
+	public CodegenDdlMetadataSource( String dbName ) {
+		this.mysql = "MYSQL".equalsIgnoreCase( dbName );
+		this.typeReader = CodegenDictionaryReader.of( dbName );
+		this.typeMapper.setDbName( mysql ? "MYSQL" : "ORACLE" );
+	}
+
+	/**
+	 * load 說明：以UTF-8讀取DDL檔<br>
+	 *
+	 * @param Path path
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void load( Path path ) throws IOException {
+		long start = System.nanoTime();
+		int before = statementCount;
+		try( BufferedReader reader = Files.newBufferedReader( path, StandardCharsets.UTF_8 ) ) {
+			parse( reader );
+		}
+		System.out.println( "### Parsed " + ( statementCount - before ) + " statements from " + path + " in "
+				+ ( System.nanoTime() - start ) / 1_000_000L + " ms ###");
+	}
+
+	/**
+	 * parse 說明：解析DDL, 敘述以 ; 分隔, Oracle 單獨一行的 / 視為語彙略過<br>
+	 *
+	 * @param Reader reader
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void parse( Reader reader ) throws IOException {
+		CharSource in = new CharSource( reader );
+		List<Token> statement = new ArrayList<>();
+		StringBuilder sb = new StringBuilder();
+		int c;
+		while( ( c = in.read() ) != -1 ) {
+			if( Character.isWhitespace( c ) ) {
+				continue;
+			}
+			if( c == ';' ) {
+				handleStatement( statement );
+				statement.clear();
+				continue;
+			}
+			if( c == '-' && in.peek() == '-' || c == '#' && mysql ) {
+				skipLine( in );
+				continue;
+			}
+			if( c == '/' && in.peek() == '*' ) {
+				skipBlockComment( in );
+				continue;
+			}
+			sb.setLength( 0 );
+			if( c == '\'' ) {
+				readQuoted( in, '\'', mysql, sb );
+				statement.add( new Token( STRING, sb.toString() ) );
+			} else if( c == '"' || c == '`' ) {
+				readQuoted( in, (char) c, false, sb );
+				statement.add( new Token( QUOTED, sb.toString() ) );
+			} else if( isWordChar( c ) ) {
+				sb.append( (char) c );
+				while( isWordChar( in.peek() ) ) {
+					sb.append( (char) in.read() );
+				}
+				statement.add( new Token( WORD, sb.toString() ) );
+			} else {
+				statement.add( new Token( SYMBOL, String.valueOf( (char) c ) ) );
+			}
+		}
+		handleStatement( statement );
+	}
+
+	@Override
+	public List<String> getTableNames( String schema ) {
+		List<String> tableNames = super.getTableNames( schema );
+		return tableNames.isEmpty() && schema != null ? super.getTableNames( null ) : tableNames;
+	}
+
+	/**
+	 * getTableInfo 說明：取得表格資訊, DDL未指定Schema的表格視為任何Schema的表格<br>
+	 *
+	 * @param String schema
+	 * @param String tableName
+	 * @return TableInfo tableInfo
+	 * @author Alan Hsu
+	 */
+	@Override
+	public TableInfo getTableInfo( String schema, String tableName ) {
+		TableInfo info = super.getTableInfo( schema, tableName );
+		return info == null && schema != null ? super.getTableInfo( null, tableName ) : info;
+	}
+
+	private void handleStatement( List<Token> statement ) {
+		int i = 0;
+		while( i < statement.size() && statement.get( i ).is( "/" ) ) {
+			i++;
+		}
+		if( i == statement.size() ) {
+			return;
+		}
+		statementCount++;
+		List<Token> t = statement.subList( i, statement.size() );
+		if( t.get( 0 ).is( "CREATE" ) ) {
+			handleCreate( t );
+		} else if( t.get( 0 ).is( "ALTER" ) && t.size() > 2 && t.get( 1 ).is( "TABLE" ) ) {
+			handleAlter( t );
+		} else if( t.get( 0 ).is( "COMMENT" ) && t.size() > 3 && t.get( 1 ).is( "ON" ) && t.get( 2 ).is( "COLUMN" ) ) {
+			handleComment( t );
+		} else if( t.get( 0 ).is( "DROP" ) && t.size() > 2 && t.get( 1 ).is( "TABLE" ) ) {
+			handleDrop( t );
+		}
+	}
+
+	/**
+	 * handleCreate 說明：CREATE [GLOBAL TEMPORARY] TABLE [IF NOT EXISTS] [schema.]表格 ( 欄位及限制 ) ...<br>
+	 *
+	 * @param List<Token> t
+	 * @author Alan Hsu
+	 */
+	private void handleCreate( List<Token> t ) {
+		int i = 1;
+		while( i < t.size() && !t.get( i ).is( "TABLE" ) ) {
+			if( !t.get( i ).isAny( "OR", "REPLACE", "GLOBAL", "PRIVATE", "TEMPORARY" ) ) {
+				return;
+			}
+			i++;
+		}
+		i++;
+		if( i + 2 < t.size() && t.get( i ).is( "IF" ) && t.get( i + 1 ).is( "NOT" ) && t.get( i + 2 ).is( "EXISTS" ) ) {
+			i += 3;
+		}
+		List<String> names = new ArrayList<>();
+		i = readName( t, i, names );
+		/** CREATE TABLE ... AS SELECT 及 LIKE 無欄位定義 */
+		if( names.isEmpty() || i >= t.size() || !t.get( i ).is( "(" ) ) {
+			return;
+		}
+		String schema = names.size() > 1 ? names.get( names.size() - 2 ) : null;
+		TableInfo info = new TableInfo( names.get( names.size() - 1 ) );
+		info.setColumns( new LinkedHashMap<>() );
+		for( List<Token> element : splitElements( t, i ) ) {
+			addElement( info, element );
+		}
+		updateTableInfo( info );
+		put( schema, info );
+	}
+
+	/**
+	 * handleAlter 說明：ALTER TABLE [schema.]表格 ADD [COLUMN] 欄位 | ADD ( 欄位, ... ) | ADD [CONSTRAINT 名稱] PRIMARY KEY ( 欄位 )<br>
+	 * 				| DROP [COLUMN] 欄位 | DROP ( 欄位, ... ) | DROP PRIMARY KEY, MySQL 可以逗號分隔多個子句<br>
+	 *
+	 * @param List<Token> t
+	 * @author Alan Hsu
+	 */
+	private void handleAlter( List<Token> t ) {
+		List<String> names = new ArrayList<>();
+		int i = readName( t, 2, names );
+		TableInfo info = findTable( names, 0 );
+		if( info == null ) {
+			return;
+		}
+		for( List<Token> clause : splitClauses( t, i ) ) {
+			int j = clause.size() > 1 && clause.get( 1 ).is( "COLUMN" ) ? 2 : 1;
+			if( j >= clause.size() ) {
+				continue;
+			}
+			Token action = clause.get( 0 );
+			if( action.is( "ADD" ) ) {
+				if( clause.get( j ).is( "(" ) ) {
+					splitElements( clause, j ).forEach( element -> addElement( info, element ) );
+				} else {
+					addElement( info, clause.subList( j, clause.size() ) );
+				}
+			} else if( action.is( "DROP" ) ) {
+				if( clause.get( 1 ).is( "PRIMARY" ) ) {
+					info.getColumns().values().forEach( column -> column.setPrimaryKey( false ) );
+				} else if( clause.get( 1 ).kind == WORD && ( NON_COLUMN_WORDS.contains( clause.get( 1 ).upper() )
+						|| clause.get( 1 ).isAny( "CONSTRAINT", "PARTITION" ) ) ) {
+					continue;
+				} else if( clause.get( j ).is( "(" ) ) {
+					splitElements( clause, j ).forEach( element -> info.getColumns().remove( toName( element.get( 0 ) ) ) );
+				} else if( j < clause.size() ) {
+					info.getColumns().remove( toName( clause.get( j ) ) );
+				}
+			}
+		}
+		updateTableInfo( info );
+	}
+
+	/**
+	 * handleComment 說明：COMMENT ON COLUMN [schema.]表格.欄位 IS '備註'<br>
+	 *
+	 * @param List<Token> t
+	 * @author Alan Hsu
+	 */
+	private void handleComment( List<Token> t ) {
+		List<String> names = new ArrayList<>();
+		int i = readName( t, 3, names );
+		if( names.size() < 2 || i + 1 >= t.size() || !t.get( i ).is( "IS" ) || t.get( i + 1 ).kind != STRING ) {
+			return;
+		}
+		TableInfo info = findTable( names, 1 );
+		ColumnInfo column = info == null ? null : info.getColumns().get( names.get( names.size() - 1 ) );
+		if( column != null ) {
+			column.setRemarks( t.get( i + 1 ).text );
+		}
+	}
+
+	/**
+	 * handleDrop 說明：DROP TABLE [IF EXISTS] [schema.]表格, ...<br>
+	 *
+	 * @param List<Token> t
+	 * @author Alan Hsu
+	 */
+	private void handleDrop( List<Token> t ) {
+		int i = 2;
+		if( i + 1 < t.size() && t.get( i ).is( "IF" ) && t.get( i + 1 ).is( "EXISTS" ) ) {
+			i += 2;
+		}
+		while( i < t.size() ) {
+			List<String> names = new ArrayList<>();
+			i = readName( t, i, names );
+			if( names.isEmpty() ) {
+				return;
+			}
+			remove( names.size() > 1 ? names.get( names.size() - 2 ) : null, names.get( names.size() - 1 ) );
+			if( i >= t.size() || !t.get( i ).is( "," ) ) {
+				return;
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * addElement 說明：加入欄位定義或主鍵限制, 其餘限制(UNIQUE, FOREIGN KEY, INDEX...)略過<br>
+	 *
+	 * @param TableInfo info
+	 * @param List<Token> e
+	 * @author Alan Hsu
+	 */
+	private void addElement( TableInfo info, List<Token> e ) {
+		if( e.isEmpty() ) {
+			return;
+		}
+		int i = 0;
+		if( e.get( 0 ).is( "CONSTRAINT" ) ) {
+			i = e.size() > 1 && e.get( 1 ).is( "PRIMARY" ) ? 1 : 2;
+		}
+		if( i < e.size() && e.get( i ).is( "PRIMARY" ) ) {
+			for( int j = i + 1; j < e.size(); j++ ) {
+				if( e.get( j ).is( "(" ) ) {
+					for( List<Token> key : splitElements( e, j ) ) {
+						ColumnInfo column = key.isEmpty() ? null : info.getColumns().get( toName( key.get( 0 ) ) );
+						if( column != null ) {
+							column.setPrimaryKey( true );
+						}
+					}
+					break;
+				}
+			}
+			return;
+		}
+		if( i > 0 || e.size() < 2 || e.get( 0 ).kind == WORD && NON_COLUMN_WORDS.contains( e.get( 0 ).upper() ) ) {
+			return;
+		}
+		ColumnInfo column = toColumn( e );
+		if( column != null ) {
+			info.getColumns().put( column.getColumnName(), column );
+		}
+	}
+
+	/**
+	 * toColumn 說明：欄位名稱 型別[(長度)] [屬性...] [PRIMARY KEY] [COMMENT '備註']<br>
+	 *
+	 * @param List<Token> e
+	 * @return ColumnInfo column
+	 * @author Alan Hsu
+	 */
+	private ColumnInfo toColumn( List<Token> e ) {
+		if( e.get( 1 ).kind != WORD ) {
+			return null;
+		}
+		String type = e.get( 1 ).upper();
+		int i = 2;
+		String args = null;
+		if( type.equals( "LONG" ) && i < e.size() && e.get( i ).is( "RAW" )
+				|| type.equals( "DOUBLE" ) && i < e.size() && e.get( i ).is( "PRECISION" )
+				|| type.equals( "CHARACTER" ) && i < e.size() && e.get( i ).is( "VARYING" )
+				|| type.equals( "NATIONAL" ) && i < e.size() ) {
+			type = type + " " + e.get( i++ ).upper();
+		}
+		if( i < e.size() && e.get( i ).is( "(" ) ) {
+			StringBuilder sb = new StringBuilder();
+			for( i++; i < e.size() && !e.get( i ).is( ")" ); i++ ) {
+				sb.append( e.get( i ).kind == SYMBOL || sb.length() == 0 ? "" : " " ).append( e.get( i ).text );
+			}
+			args = sb.toString();
+			i++;
+		}
+		StringBuilder suffix = new StringBuilder();
+		while( i < e.size() && e.get( i ).kind == WORD && ( mysql ? e.get( i ).isAny( "UNSIGNED", "SIGNED", "ZEROFILL" )
+				: type.equals( "TIMESTAMP" ) && e.get( i ).isAny( "WITH", "LOCAL", "TIME", "ZONE" ) ) ) {
+			suffix.append( ' ' ).append( e.get( i++ ).upper() );
+		}
+
+		String dataType;
+		String fullType;
+		if( mysql ) {
+			dataType = toMySQLDataType( type );
+			fullType = ( dataType + ( args == null ? "" : "(" + args + ")" ) + suffix ).toLowerCase();
+			if( type.equals( "BOOL" ) || type.equals( "BOOLEAN" ) ) {
+				fullType = "tinyint(1)";
+			} else if( type.equals( "SERIAL" ) ) {
+				fullType = "bigint unsigned";
+			}
+		} else {
+			dataType = toOracleDataType( type, args, suffix.toString() );
+			fullType = dataType;
+		}
+
+		ColumnInfo column = new ColumnInfo();
+		String columnType = typeReader.getColumnType( dataType, fullType );
+		column.setColumnName( toName( e.get( 0 ) ) );
+		column.setColumnType( columnType );
+		column.setJavaType( typeMapper.getJavaTypeBySqlType( typeReader.getSqlType( dataType, fullType ), columnType,
+				typeReader.getColumnSize( dataType, fullType ) ) );
+		for( ; i < e.size(); i++ ) {
+			if( e.get( i ).is( "PRIMARY" ) && i + 1 < e.size() && e.get( i + 1 ).is( "KEY" ) ) {
+				column.setPrimaryKey( true );
+			} else if( e.get( i ).is( "COMMENT" ) && i + 1 < e.size() && e.get( i + 1 ).kind == STRING ) {
+				column.setRemarks( e.get( i + 1 ).text );
+			}
+		}
+		return column;
+	}
+
+	/**
+	 * toOracleDataType 說明：轉為 ALL_TAB_COLUMNS.DATA_TYPE, 例如 VARCHAR > VARCHAR2, INTEGER > NUMBER, TIMESTAMP > TIMESTAMP(6)<br>
+	 *
+	 * @param String type
+	 * @param String args 括號內的長度或精度
+	 * @param String suffix WITH [LOCAL] TIME ZONE
+	 * @return String dataType
+	 * @author Alan Hsu
+	 */
+	private static String toOracleDataType( String type, String args, String suffix ) {
+		switch( type ) {
+			case "VARCHAR":
+			case "CHARACTER VARYING":
+				return "VARCHAR2";
+			case "CHARACTER":
+				return "CHAR";
+			case "NATIONAL CHAR":
+			case "NATIONAL CHARACTER":
+				return "NCHAR";
+			case "INTEGER":
+			case "INT":
+			case "SMALLINT":
+			case "DECIMAL":
+			case "DEC":
+			case "NUMERIC":
+				return "NUMBER";
+			case "DOUBLE PRECISION":
+			case "REAL":
+				return "FLOAT";
+			case "TIMESTAMP":
+				return "TIMESTAMP(" + ( args == null ? "6" : args ) + ")" + suffix;
+			default:
+				return type;
+		}
+	}
+
+	/**
+	 * toMySQLDataType 說明：轉為 information_schema.COLUMNS.DATA_TYPE, 例如 INTEGER > int, BOOLEAN > tinyint<br>
+	 *
+	 * @param String type
+	 * @return String dataType
+	 * @author Alan Hsu
+	 */
+	private static String toMySQLDataType( String type ) {
+		switch( type ) {
+			case "INTEGER":
+				return "int";
+			case "BOOL":
+			case "BOOLEAN":
+				return "tinyint";
+			case "DEC":
+			case "FIXED":
+			case "NUMERIC":
+				return "decimal";
+			case "REAL":
+			case "DOUBLE PRECISION":
+				return "double";
+			case "SERIAL":
+				return "bigint";
+			case "CHARACTER":
+			case "NCHAR":
+			case "NATIONAL CHAR":
+			case "NATIONAL CHARACTER":
+				return "char";
+			case "CHARACTER VARYING":
+			case "NVARCHAR":
+			case "NATIONAL VARCHAR":
+				return "varchar";
+			default:
+				return type.toLowerCase();
+		}
+	}
+
+	private void updateTableInfo( TableInfo info ) {
+		info.setColumnCount( info.getColumns().size() );
+		info.setHasPrimaryKey( info.getColumns().values().stream().anyMatch( ColumnInfo::isPrimaryKey ) );
+	}
+
+	/**
+	 * findTable 說明：依名稱取得已解析的表格<br>
+	 *
+	 * @param List<String> names [schema.]表格[.欄位]
+	 * @param int trailing 表格名稱之後的名稱數
+	 * @return TableInfo info
+	 * @author Alan Hsu
+	 */
+	private TableInfo findTable( List<String> names, int trailing ) {
+		int table = names.size() - 1 - trailing;
+		if( table < 0 ) {
+			return null;
+		}
+		return super.getTableInfo( table > 0 ? names.get( table - 1 ) : null, names.get( table ) );
+	}
+
+	/**
+	 * readName 說明：讀取以 . 連接的名稱<br>
+	 *
+	 * @param List<Token> t
+	 * @param int i 開始位置
+	 * @param List<String> names 名稱
+	 * @return int 名稱之後的位置
+	 * @author Alan Hsu
+	 */
+	private int readName( List<Token> t, int i, List<String> names ) {
+		while( i < t.size() && ( t.get( i ).kind == WORD || t.get( i ).kind == QUOTED ) ) {
+			names.add( toName( t.get( i++ ) ) );
+			if( i < t.size() && t.get( i ).is( "." ) ) {
+				i++;
+			} else {
+				break;
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * splitElements 說明：取得括號內以逗號分隔的項目, 不含巢狀括號內的逗號<br>
+	 *
+	 * @param List<Token> t
+	 * @param int open ( 的位置
+	 * @return List<List<Token>> elements
+	 * @author Alan Hsu
+	 */
+	private static List<List<Token>> splitElements( List<Token> t, int open ) {
+		List<List<Token>> elements = new ArrayList<>();
+		int depth = 0;
+		int from = open + 1;
+		for( int i = open; i < t.size(); i++ ) {
+			Token token = t.get( i );
+			if( token.is( "(" ) ) {
+				depth++;
+			} else if( token.is( ")" ) && --depth == 0 ) {
+				elements.add( t.subList( from, i ) );
+				break;
+			} else if( token.is( "," ) && depth == 1 ) {
+				elements.add( t.subList( from, i ) );
+				from = i + 1;
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 * splitClauses 說明：取得以逗號分隔的子句, 不含括號內的逗號<br>
+	 *
+	 * @param List<Token> t
+	 * @param int from 開始位置
+	 * @return List<List<Token>> clauses
+	 * @author Alan Hsu
+	 */
+	private static List<List<Token>> splitClauses( List<Token> t, int from ) {
+		List<List<Token>> clauses = new ArrayList<>();
+		int depth = 0;
+		for( int i = from; i < t.size(); i++ ) {
+			Token token = t.get( i );
+			if( token.is( "(" ) ) {
+				depth++;
+			} else if( token.is( ")" ) ) {
+				depth--;
+			} else if( token.is( "," ) && depth == 0 ) {
+				clauses.add( t.subList( from, i ) );
+				from = i + 1;
+			}
+		}
+		clauses.add( t.subList( from, t.size() ) );
+		return clauses;
+	}
+
+	/**
+	 * toName 說明：Oracle 未加引號的名稱轉大寫, 同資料字典<br>
+	 *
+	 * @param Token token
+	 * @return String name
+	 * @author Alan Hsu
+	 */
+	private String toName( Token token ) {
+		return token.kind == WORD && !mysql ? token.upper() : token.text;
+	}
+
+	/** Oracle 名稱可含 #, MySQL 的 # 為單行註解 */
+	private boolean isWordChar( int c ) {
+		return Character.isLetterOrDigit( c ) || c == '_' || c == '$' || c == '#' && !mysql;
+	}
+
+	private static void skipLine( CharSource in ) throws IOException {
+		int c;
+		while( ( c = in.read() ) != -1 && c != '\n' ) {
+			/* skip */
+		}
+	}
+
+	private static void skipBlockComment( CharSource in ) throws IOException {
+		in.read();
+		int prev = 0;
+		int c;
+		while( ( c = in.read() ) != -1 && !( prev == '*' && c == '/' ) ) {
+			prev = c;
+		}
+	}
+
+	/**
+	 * readQuoted 說明：讀取至結束引號, 連續兩個引號為引號本身, MySQL 字串可用 \ 跳脫<br>
+	 *
+	 * @param CharSource in
+	 * @param char quote
+	 * @param boolean backslash
+	 * @param StringBuilder sb
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private static void readQuoted( CharSource in, char quote, boolean backslash, StringBuilder sb ) throws IOException {
+		int c;
+		while( ( c = in.read() ) != -1 ) {
+			if( backslash && c == '\\' ) {
+				int next = in.read();
+				if( next == -1 ) {
+					return;
+				}
+				sb.append( next == 'n' ? '\n' : next == 't' ? '\t' : next == 'r' ? '\r' : next == '0' ? '\0' : (char) next );
+			} else if( c == quote ) {
+				if( in.peek() != quote ) {
+					return;
+				}
+				sb.append( (char) in.read() );
+			} else {
+				sb.append( (char) c );
+			}
+		}
+	}
+
+	/**
+	 * compare 說明：比對DDL解析與連線資料庫取得的同一表格資訊, 回傳欄位、Java型別、主鍵及備註的差異<br>
+	 * 				欄位型別名稱依驅動程式版本可能不同, 不列入比對<br>
+	 *
+	 * @param TableInfo ddlInfo DDL解析的表格資訊
+	 * @param TableInfo jdbcInfo 連線資料庫取得的表格資訊
+	 * @return List<String> 差異說明, 一致時為空
+	 * @author Alan Hsu
+	 */
+	public static List<String> compare( TableInfo ddlInfo, TableInfo jdbcInfo ) {
+		List<String> diffList = new ArrayList<>();
+		String table = ddlInfo.getTableName();
+		Set<String> jdbcColumns = new HashSet<>();
+		for( ColumnInfo jdbcColumn : jdbcInfo.getColumns().values() ) {
+			jdbcColumns.add( jdbcColumn.getColumnName().toUpperCase() );
+		}
+		for( ColumnInfo ddlColumn : ddlInfo.getColumns().values() ) {
+			String name = table + "." + ddlColumn.getColumnName();
+			ColumnInfo jdbcColumn = findColumn( jdbcInfo, ddlColumn.getColumnName() );
+			if( jdbcColumn == null ) {
+				diffList.add( name + " missing in JDBC" );
+				continue;
+			}
+			jdbcColumns.remove( ddlColumn.getColumnName().toUpperCase() );
+			if( !Objects.equals( ddlColumn.getJavaType(), jdbcColumn.getJavaType() ) ) {
+				diffList.add( name + " javaType DDL:" + ddlColumn.getJavaType() + " JDBC:" + jdbcColumn.getJavaType()
+						+ " (" + ddlColumn.getColumnType() + " / " + jdbcColumn.getColumnType() + ")" );
+			}
+			if( ddlColumn.isPrimaryKey() != jdbcColumn.isPrimaryKey() ) {
+				diffList.add( name + " primaryKey DDL:" + ddlColumn.isPrimaryKey() + " JDBC:" + jdbcColumn.isPrimaryKey() );
+			}
+			if( !Objects.equals( ddlColumn.getRemarks(), jdbcColumn.getRemarks() ) ) {
+				diffList.add( name + " remarks DDL:" + ddlColumn.getRemarks() + " JDBC:" + jdbcColumn.getRemarks() );
+			}
+		}
+		for( String column : jdbcColumns ) {
+			diffList.add( table + "." + column + " missing in DDL" );
+		}
+		return diffList;
+	}
+
+	private static ColumnInfo findColumn( TableInfo tableInfo, String columnName ) {
+		ColumnInfo column = tableInfo.getColumns().get( columnName );
+		if( column != null ) {
+			return column;
+		}
+		for( ColumnInfo candidate : tableInfo.getColumns().values() ) {
+			if( candidate.getColumnName().equalsIgnoreCase( columnName ) ) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	public int getStatementCount() {
+		return statementCount;
+	}
+
+	/**
+	 * 逐字元讀取, 不使用PushbackReader以避免每個字元的同步
+	 */
+	private static class CharSource {
+
+		private final Reader reader;
+
+		private final char[] buffer = new char[ 8192 ];
+
+		private int position;
+
+		private int length;
+
+		CharSource( Reader reader ) {
+			this.reader = reader;
+		}
+
+		int read() throws IOException {
+			int c = peek();
+			position++;
+			return c;
+		}
+
+		int peek() throws IOException {
+			if( position >= length ) {
+				length = reader.read( buffer );
+				position = 0;
+				if( length <= 0 ) {
+					length = 0;
+					return -1;
+				}
+			}
+			return buffer[ position ];
+		}
+
+	}
+
+	/**
+	 * DDL的語彙
+	 */
+	private static class Token {
+
+		private final int kind;
+
+		private final String text;
+
+		Token( int kind, String text ) {
+			this.kind = kind;
+			this.text = text;
+		}
+
+		/** 未加引號的關鍵字(不分大小寫)或符號 */
+		boolean is( String keyword ) {
+			return ( kind == WORD || kind == SYMBOL ) && text.equalsIgnoreCase( keyword );
+		}
+
+		boolean isAny( String... keywords ) {
+			for( String keyword : keywords ) {
+				if( is( keyword ) ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		String upper() {
+			return text.toUpperCase();
+		}
+
+	}
+
+}
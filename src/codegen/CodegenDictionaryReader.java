@@ -0,0 +1,259 @@
+package codegen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import codegen.CustomCodegen.ColumnInfo;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenDictionaryReader<br>
+ *	作 業 名 稱 ：Codegen Dictionary Reader<br>
+ *	程 式 代 號 ：CodegenDictionaryReader.java<br>
+ *	描 述 ：直接查詢資料庫的資料字典取得表格資訊, 取代DatabaseMetaData.getColumns/getPrimaryKeys<br>
+ *			欄位(含型別及備註)及主鍵各一次查詢即可取得多個表格, 表格數多時改為查詢整個Schema後篩選<br>
+ *			查詢失敗(例如沒有資料字典的權限)時由呼叫端改用JDBC DatabaseMetaData<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public abstract class CodegenDictionaryReader {
+
+	/** 表格數超過時查詢整個Schema, 不使用 IN 條件 (Oracle IN 最多1000個) */
+	private final static int IN_LIST_LIMIT = 500;
+
+	/** 查詢逾時秒數, 0為不限制 */
+	private int queryTimeoutSeconds;
+
+	/** 欄位型別對應Java型別, 同 CustomCodegen.getJavaTypeBySqlType */
+	public interface JavaTypeMapper {
+
+		public String getJavaType( int sqlType, String columnType, int columnSize );
+
+	}
+
+	/**
+	 * of 說明：依資料庫種類取得資料字典查詢<br>
+	 *
+	 * @param String dbName MYSQL 或 ORACLE
+	 * @return CodegenDictionaryReader reader
+	 * @author Alan Hsu
+	 */
+	public static CodegenDictionaryReader of( String dbName ) {
+		return "MYSQL".equalsIgnoreCase( dbName ) ? new CodegenMySQLDictionaryReader() : new CodegenOracleDictionaryReader();
+	}
+
+	/**
+	 * read 說明：取得表格的欄位(依欄位順序)、型別、備註及主鍵<br>
+	 *
+	 * @param Connection conn
+	 * @param String schema 未設定時為連線使用者的Schema(MySQL為目前的Database)
+	 * @param Collection<String> tableNames
+	 * @param JavaTypeMapper javaTypeMapper (java.sql.Types, 欄位型別, 欄位長度) > Java型別名稱
+	 * @return Map<String,TableInfo> 表格名稱(不分大小寫) > 表格資訊, 資料字典查無的表格不包含在內
+	 * @author Alan Hsu
+	 * @throws SQLException
+	 */
+	public Map<String,TableInfo> read( Connection conn, String schema, Collection<String> tableNames,
+			JavaTypeMapper javaTypeMapper ) throws SQLException {
+
+		Map<String,TableInfo> tableInfoMap = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+		if( tableNames.isEmpty() ) {
+			return tableInfoMap;
+		}
+		Map<String,String> nameMap = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+		tableNames.forEach( name -> nameMap.put( name, name ) );
+		List<String> inList = tableNames.size() > IN_LIST_LIMIT ? null : new ArrayList<>( tableNames );
+
+		/**To Get Columns & Remarks, 依欄位順序*/
+		try( PreparedStatement ps = prepare( conn, getColumnSql( inList ), schema, inList );
+				ResultSet rs = ps.executeQuery() ) {
+			while( rs.next() ) {
+				String tableName = nameMap.get( rs.getString( 1 ) );
+				if( tableName == null ) {
+					continue;
+				}
+				TableInfo info = tableInfoMap.get( tableName );
+				if( info == null ) {
+					info = new TableInfo( tableName );
+					info.setColumns( new LinkedHashMap<>() );
+					tableInfoMap.put( tableName, info );
+				}
+				ColumnInfo columnInfo = new ColumnInfo();
+				String columnType = getColumnType( rs );
+				columnInfo.setColumnName( rs.getString( 2 ) );
+				columnInfo.setColumnType( columnType );
+				columnInfo.setJavaType( javaTypeMapper.getJavaType( getSqlType( rs ), columnType, getColumnSize( rs ) ) );
+				columnInfo.setRemarks( rs.getString( 3 ) );
+				info.getColumns().put( columnInfo.getColumnName(), columnInfo );
+			}
+		} catch( SQLException e ) {
+			System.err.println( "### Query data dictionary columns occur exception ###");
+			throw e;
+		}
+
+		/**To Get Column PK*/
+		try( PreparedStatement ps = prepare( conn, getPrimaryKeySql( inList ), schema, inList );
+				ResultSet rs = ps.executeQuery() ) {
+			while( rs.next() ) {
+				TableInfo info = tableInfoMap.get( rs.getString( 1 ) );
+				ColumnInfo columnInfo = info == null ? null : info.getColumns().get( rs.getString( 2 ) );
+				if( columnInfo != null ) {
+					columnInfo.setPrimaryKey( true );
+					info.setHasPrimaryKey( true );
+				}
+			}
+		} catch( SQLException e ) {
+			System.err.println( "### Query data dictionary primary keys occur exception ###");
+			throw e;
+		}
+
+		tableInfoMap.values().forEach( info -> info.setColumnCount( info.getColumns().size() ) );
+		return tableInfoMap;
+	}
+
+	private PreparedStatement prepare( Connection conn, String sql, String schema, List<String> inList ) throws SQLException {
+		PreparedStatement ps = conn.prepareStatement( sql );
+		try {
+			ps.setQueryTimeout( queryTimeoutSeconds );
+			ps.setString( 1, toSchema( schema ) );
+			if( inList != null ) {
+				for( int i = 0; i < inList.size(); i++ ) {
+					ps.setString( i + 2, toTableName( inList.get( i ) ) );
+				}
+			}
+		} catch( SQLException e ) {
+			ps.close();
+			throw e;
+		}
+		return ps;
+	}
+
+	/**
+	 * toInClause 說明：取得表格名稱的 IN 條件, 不限制表格時為空字串<br>
+	 *
+	 * @param String column
+	 * @param List<String> inList
+	 * @return String clause
+	 * @author Alan Hsu
+	 */
+	protected static String toInClause( String column, List<String> inList ) {
+		if( inList == null ) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder( " AND " ).append( column ).append( " IN ( " );
+		for( int i = 0; i < inList.size(); i++ ) {
+			sb.append( i == 0 ? "?" : ", ?" );
+		}
+		return sb.append( " )" ).toString();
+	}
+
+	/**
+	 * getColumnSql 說明：查詢欄位的SQL, 第一個參數為Schema, 依序回傳 表格名稱, 欄位名稱, 備註 及型別欄位<br>
+	 *
+	 * @param List<String> inList 表格名稱, 為null時查詢整個Schema
+	 * @return String sql
+	 * @author Alan Hsu
+	 */
+	protected abstract String getColumnSql( List<String> inList );
+
+	/**
+	 * getPrimaryKeySql 說明：查詢主鍵的SQL, 第一個參數為Schema, 依序回傳 表格名稱, 欄位名稱<br>
+	 *
+	 * @param List<String> inList 表格名稱, 為null時查詢整個Schema
+	 * @return String sql
+	 * @author Alan Hsu
+	 */
+	protected abstract String getPrimaryKeySql( List<String> inList );
+
+	/**
+	 * getColumnType 說明：取得欄位型別名稱, 與DatabaseMetaData.getColumns 的 TYPE_NAME 一致<br>
+	 *
+	 * @param ResultSet rs
+	 * @return String columnType
+	 * @author Alan Hsu
+	 * @throws SQLException
+	 */
+	protected abstract String getColumnType( ResultSet rs ) throws SQLException;
+
+	/**
+	 * getSqlType 說明：取得欄位的java.sql.Types, 與JDBC驅動程式 DatabaseMetaData.getColumns 的 DATA_TYPE 一致<br>
+	 *
+	 * @param ResultSet rs
+	 * @return int sqlType
+	 * @author Alan Hsu
+	 * @throws SQLException
+	 */
+	protected abstract int getSqlType( ResultSet rs ) throws SQLException;
+
+	/**
+	 * getColumnType 說明：依資料字典的型別取得欄位型別名稱, 供不連線資料庫時(例如解析DDL)使用相同的對應<br>
+	 *
+	 * @param String dataType 資料字典的 DATA_TYPE
+	 * @param String fullType 含長度及屬性的完整型別, 例如 MySQL 的 COLUMN_TYPE
+	 * @return String columnType
+	 * @author Alan Hsu
+	 */
+	protected abstract String getColumnType( String dataType, String fullType );
+
+	/**
+	 * getSqlType 說明：依資料字典的型別取得java.sql.Types<br>
+	 *
+	 * @param String dataType 資料字典的 DATA_TYPE
+	 * @param String fullType 含長度及屬性的完整型別, 例如 MySQL 的 COLUMN_TYPE
+	 * @return int sqlType
+	 * @author Alan Hsu
+	 */
+	protected abstract int getSqlType( String dataType, String fullType );
+
+	/**
+	 * getColumnSize 說明：取得影響Java型別的欄位長度(例如 MySQL BIT(n)), 與 DatabaseMetaData.getColumns 的 COLUMN_SIZE 一致, 不需要時為0<br>
+	 *
+	 * @param ResultSet rs
+	 * @return int columnSize
+	 * @author Alan Hsu
+	 * @throws SQLException
+	 */
+	protected int getColumnSize( ResultSet rs ) throws SQLException {
+		return 0;
+	}
+
+	/**
+	 * getColumnSize 說明：依資料字典的型別取得影響Java型別的欄位長度, 不需要時為0<br>
+	 *
+	 * @param String dataType 資料字典的 DATA_TYPE
+	 * @param String fullType 含長度及屬性的完整型別, 例如 MySQL 的 COLUMN_TYPE
+	 * @return int columnSize
+	 * @author Alan Hsu
+	 */
+	protected int getColumnSize( String dataType, String fullType ) {
+		return 0;
+	}
+
+	protected String toSchema( String schema ) {
+		return schema == null || schema.trim().isEmpty() ? null : schema.trim();
+	}
+
+	protected String toTableName( String tableName ) {
+		return tableName;
+	}
+
+	public int getQueryTimeoutSeconds() {
+		return queryTimeoutSeconds;
+	}
+
+	public void setQueryTimeoutSeconds(int queryTimeoutSeconds) {
+		this.queryTimeoutSeconds = queryTimeoutSeconds;
+	}
+
+}
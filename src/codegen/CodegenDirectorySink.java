@@ -0,0 +1,51 @@
+package codegen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ *	作 業 代 碼 ：CodegenDirectorySink<br>
+ *	作 業 名 稱 ：Codegen Directory Sink<br>
+ *	程 式 代 號 ：CodegenDirectorySink.java<br>
+ *	描 述 ：預設的輸出位置, 逐檔寫入資料夾, 資料夾不存在時建立<br>
+ *			設定增量產檔寫入器時內容未變更的檔案不重新寫入<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenDirectorySink implements CodegenOutputSink {
+
+	/** 增量產檔寫入器, 非增量產檔時為null */
+	private final CodegenIncrementalWriter incrementalWriter;
+
+	public CodegenDirectorySink() {
+		this( null );
+	}
+
+	public CodegenDirectorySink( CodegenIncrementalWriter incrementalWriter ) {
+		this.incrementalWriter = incrementalWriter;
+	}
+
+	@Override
+	public boolean write( Path file, SourceRenderer renderer ) throws IOException {
+		Path folder = file.toAbsolutePath().getParent();
+		if( !Files.exists( folder ) ) {
+			Files.createDirectories( folder );
+			System.out.println("Directory created." );
+		} else {
+			System.out.println("Directory already exists." );
+		}
+
+		if( incrementalWriter != null ) {
+			return incrementalWriter.write( file, renderer );
+		}
+		try( CodegenSourceWriter out = CodegenSourceWriter.open( file, null ) ) {
+			renderer.render( out );
+		}
+		return true;
+	}
+
+}
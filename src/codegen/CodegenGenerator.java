@@ -0,0 +1,80 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import codegen.CustomCodegen.Artifact;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenGenerator<br>
+ *	作 業 名 稱 ：Codegen Generator<br>
+ *	程 式 代 號 ：CodegenGenerator.java<br>
+ *	描 述 ：產檔類型的擴充介面, 以 ServiceLoader 載入(META-INF/services/codegen.CodegenGenerator), 每個表格取得一次表格資訊後由所有產生器產檔<br>
+ *			產檔分兩階段：prepare 依 getOrder 順序於同一執行緒決定檔案名稱及輸出位置, 可使用先前產生器的名稱(如Dao使用Bean及IDao名稱)<br>
+ *			類別名稱、套件名稱及檔案名稱記錄於各產製檔案(Artifact), 產生器為共用的單一實例, 不在設定或產生器記錄每個表格的名稱<br>
+ *			render 於多個執行緒同時執行, 只可讀取設定及不可修改的表格資訊, 不可修改設定<br>
+ *			與內建類型(bean/idao/dao)同名的產生器取代內建的產生器<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public interface CodegenGenerator {
+
+	/**
+	 * getType 說明：取得產檔類型, 不分大小寫, 產製檔案(Artifact)以此分類, 與內建類型同名時取代內建的產生器<br>
+	 *
+	 * @return String type
+	 * @author Alan Hsu
+	 */
+	public String getType();
+
+	/**
+	 * getOrder 說明：取得 prepare 的順序, 數字小者先執行, 內建的Bean / IDao / Dao 為 100 / 200 / 300<br>
+	 *
+	 * @return int order
+	 * @author Alan Hsu
+	 */
+	public default int getOrder() {
+		return 1000;
+	}
+
+	/**
+	 * isEnabled 說明：依設定判斷是否產檔<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @return boolean enabled
+	 * @author Alan Hsu
+	 */
+	public default boolean isEnabled( CustomCodegen setting ) {
+		return true;
+	}
+
+	/**
+	 * prepare 說明：決定產製檔案的類別名稱、套件名稱及輸出位置, 依 getOrder 順序於同一執行緒呼叫, 不可修改設定<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @param Map<String,Artifact> prepared 先前產生器決定的產製檔案, 產檔類型(不分大小寫) > 該類型的第一個檔案
+	 * @return List<Artifact> 一或多個產製檔案
+	 * @author Alan Hsu
+	 */
+	public List<Artifact> prepare( CustomCodegen setting, Map<String,Artifact> prepared );
+
+	/**
+	 * render 說明：輸出 prepare 決定的產製檔案內容, 與其他產生器同時執行<br>
+	 *
+	 * @param Writer out
+	 * @param Artifact artifact
+	 * @param Map<String,Artifact> artifacts 同一表格所有產製檔案, 產檔類型(不分大小寫) > 該類型的第一個檔案, 不可修改
+	 * @param TableInfo table 不可修改的表格資訊
+	 * @param CustomCodegen setting
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void render( Writer out, Artifact artifact, Map<String,Artifact> artifacts, TableInfo table, CustomCodegen setting ) throws IOException;
+
+}
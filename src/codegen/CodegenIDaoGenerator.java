@@ -0,0 +1,35 @@
+package codegen;
+
+/**
+ *	作 業 代 碼 ：CodegenIDaoGenerator<br>
+ *	作 業 名 稱 ：Codegen IDao Generator<br>
+ *	程 式 代 號 ：CodegenIDaoGenerator.java<br>
+ *	描 述 ：內建的IDao產生器, 以 idao 樣板產製, 需產製Dao時才產檔<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenIDaoGenerator extends CodegenTemplateGenerator {
+
+	public CodegenIDaoGenerator() {
+		super( "idao", "IDao", "idao", 200 );
+	}
+
+	@Override
+	public boolean isEnabled( CustomCodegen setting ) {
+		return setting.getNeedDao();
+	}
+
+	@Override
+	protected String newClassName( CustomCodegen setting ) {
+		return "I" + setting.getDomainObjectName() + "Dao";
+	}
+
+	@Override
+	protected String getTargetPath( CustomCodegen setting ) {
+		return setting.getTargetIDaoPath();
+	}
+
+}
@@ -0,0 +1,144 @@
+package codegen;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ *	作 業 代 碼 ：CodegenIdentifierCache<br>
+ *	作 業 名 稱 ：Codegen Identifier Cache<br>
+ *	程 式 代 號 ：CodegenIdentifierCache.java<br>
+ *	描 述 ：命名轉換結果快取, 以 命名規範 + 原始名稱 為鍵值, 同一次產檔的所有表格共用<br>
+ *			共同欄位(CREATE_USER, UPDATE_TIME...)只需轉換一次, 達到筆數上限後不再加入新項目<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenIdentifierCache {
+
+	public final static int DEFAULT_MAX_SIZE = 50_000;
+
+	/** 命名規範 > 原始名稱 > 轉換結果 */
+	private final Map<String,Map<String,String>> modeMap = new ConcurrentHashMap<>();
+
+	private final int maxSize;
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	public CodegenIdentifierCache() {
+		this( DEFAULT_MAX_SIZE );
+	}
+
+	public CodegenIdentifierCache( int maxSize ) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * get 說明：取得命名轉換結果, 未快取時轉換後加入<br>
+	 *
+	 * @param String mode 命名規範(同 convertCase)
+	 * @param String text 原始名稱
+	 * @param Function<String,String> converter
+	 * @return String identifier
+	 * @author Alan Hsu
+	 */
+	public String get( String mode, String text, Function<String,String> converter ) {
+		Map<String,String> cache = modeMap.get( mode );
+		if( cache == null ) {
+			cache = modeMap.computeIfAbsent( mode, k -> new ConcurrentHashMap<>() );
+		}
+		String identifier = cache.get( text );
+		if( identifier != null ) {
+			hits.increment();
+			return identifier;
+		}
+		misses.increment();
+		identifier = converter.apply( text );
+		put( cache, text, identifier );
+		return identifier;
+	}
+
+	/**
+	 * preload 說明：載入先前保存的轉換結果, 不列入命中率計算<br>
+	 *
+	 * @param String mode
+	 * @param String text
+	 * @param String identifier
+	 * @author Alan Hsu
+	 */
+	public void preload( String mode, String text, String identifier ) {
+		put( modeMap.computeIfAbsent( mode, k -> new ConcurrentHashMap<>() ), text, identifier );
+	}
+
+	/**
+	 * forEach 說明：逐一處理快取內容, 供保存至表格資訊快照<br>
+	 *
+	 * @param String mode
+	 * @param BiConsumer<String,String> action (原始名稱, 轉換結果)
+	 * @author Alan Hsu
+	 */
+	public void forEach( String mode, BiConsumer<String,String> action ) {
+		Map<String,String> cache = modeMap.get( mode );
+		if( cache != null ) {
+			cache.forEach( action );
+		}
+	}
+
+	public Iterable<String> getModes() {
+		return modeMap.keySet();
+	}
+
+	private void put( Map<String,String> cache, String text, String identifier ) {
+		if( size.get() >= maxSize ) {
+			return;
+		}
+		if( cache.putIfAbsent( text, identifier ) == null ) {
+			size.incrementAndGet();
+		}
+	}
+
+	/**
+	 * getHitRate 說明：取得命中率(0~1), 尚未查詢時為0<br>
+	 *
+	 * @return double hitRate
+	 * @author Alan Hsu
+	 */
+	public double getHitRate() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0d : (double) hit / total;
+	}
+
+	/**
+	 * getReport 說明：取得快取筆數、命中、未命中次數及命中率<br>
+	 *
+	 * @return String report
+	 * @author Alan Hsu
+	 */
+	public String getReport() {
+		return "Identifiers:" + size.get() + " Hits:" + hits.sum() + " Misses:" + misses.sum()
+				+ " HitRate:" + String.format( "%.1f%%", getHitRate() * 100 );
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+}
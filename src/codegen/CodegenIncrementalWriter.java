@@ -0,0 +1,278 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ *	作 業 代 碼 ：CodegenIncrementalWriter<br>
+ *	作 業 名 稱 ：Codegen Incremental Writer<br>
+ *	程 式 代 號 ：CodegenIncrementalWriter.java<br>
+ *	描 述 ：增量產檔, 以SHA-256比對產製內容與既有檔案, 內容相同即不寫入, 避免IDE重新索引及重新編譯<br>
+ *			各輸出資料夾維護一份清單檔(.codegen-manifest)記錄已產製檔案的雜湊值及產製來源(資料來源|Schema及表格名稱)<br>
+ *			批次產檔結束時只刪除同一資料來源及Schema、表格符合本次包含/排除規則但已不存在的檔案<br>
+ *			其他Schema、其他工作或本次規則範圍外的檔案保留, 未記錄來源的舊清單項目不刪除<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenIncrementalWriter {
+
+	public final static String MANIFEST_FILE_NAME = ".codegen-manifest";
+
+	/** 單一輸出資料夾的雜湊清單 */
+	static class Manifest {
+
+		private final Path folder;
+
+		/** 檔案名稱 > 雜湊值 */
+		private final Map<String,String> hashMap = new ConcurrentHashMap<>();
+
+		/** 檔案名稱 > 產製來源 */
+		private final Map<String,Owner> ownerMap = new ConcurrentHashMap<>();
+
+		/** 本次產製過的檔案名稱 */
+		private final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+		Manifest( Path folder ) {
+			this.folder = folder;
+		}
+
+	}
+
+	/** 產製檔案的來源, scope 為資料來源|Schema */
+	static class Owner {
+
+		private final String scope;
+
+		private final String table;
+
+		Owner( String scope, String table ) {
+			this.scope = scope;
+			this.table = table;
+		}
+
+	}
+
+	private final Map<Path,Manifest> manifestMap = new ConcurrentHashMap<>();
+
+	private final AtomicInteger written = new AtomicInteger();
+
+	private final AtomicInteger skipped = new AtomicInteger();
+
+	private final AtomicInteger deleted = new AtomicInteger();
+
+	/**
+	 * write 說明：先串流輸出至同資料夾的暫存檔並同時計算雜湊, 與清單或既有檔案不同時才取代原檔<br>
+	 *
+	 * @param Path file
+	 * @param SourceRenderer renderer
+	 * @return boolean written
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public boolean write( Path file, SourceRenderer renderer ) throws IOException {
+		Manifest manifest = getManifest( file.toAbsolutePath().getParent() );
+		String fileName = file.getFileName().toString();
+		manifest.touched.add( fileName );
+
+		Path tmp = file.resolveSibling( fileName + ".tmp" );
+		MessageDigest digest = newDigest();
+		try {
+			try( CodegenSourceWriter out = CodegenSourceWriter.open( tmp, digest ) ) {
+				renderer.render( out );
+			}
+			String hash = toHex( digest.digest() );
+
+			if( Files.exists( file ) ) {
+				String previous = manifest.hashMap.get( fileName );
+				/** 清單無記錄(例如第一次使用增量模式)時以既有檔案內容計算 */
+				if( previous == null ) {
+					previous = sha256( file );
+				}
+				if( hash.equals( previous ) ) {
+					manifest.hashMap.put( fileName, hash );
+					skipped.incrementAndGet();
+					return false;
+				}
+			}
+			Files.move( tmp, file, StandardCopyOption.REPLACE_EXISTING );
+			manifest.hashMap.put( fileName, hash );
+			written.incrementAndGet();
+			return true;
+		} finally {
+			Files.deleteIfExists( tmp );
+		}
+	}
+
+	/**
+	 * recordOwner 說明：於寫檔前記錄產製檔案的來源表格, 供 deleteStale 判斷<br>
+	 *
+	 * @param Path file
+	 * @param String scope 資料來源|Schema
+	 * @param String table 表格名稱
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void recordOwner( Path file, String scope, String table ) throws IOException {
+		Manifest manifest = getManifest( file.toAbsolutePath().getParent() );
+		manifest.ownerMap.put( file.getFileName().toString(), new Owner( scope, table ) );
+	}
+
+	/**
+	 * deleteStale 說明：刪除本次未產製且來源表格已不存在的檔案, 只處理Codegen產製過且來源為同一資料來源及Schema的檔案<br>
+	 * 				來源表格不符合本次包含/排除規則時保留, 避免縮小範圍的產檔或其他工作誤刪<br>
+	 *
+	 * @param String scope 資料來源|Schema
+	 * @param Predicate<String> tableInScope 表格是否在本次產檔範圍內
+	 * @param Collection<String> currentTables 本次範圍內現存的表格名稱
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void deleteStale( String scope, Predicate<String> tableInScope, Collection<String> currentTables ) throws IOException {
+		Set<String> tableSet = new HashSet<>();
+		for( String table : currentTables ) {
+			tableSet.add( table.toUpperCase( Locale.ROOT ) );
+		}
+		for( Manifest manifest : manifestMap.values() ) {
+			List<String> staleList = new ArrayList<>( manifest.hashMap.keySet() );
+			staleList.removeAll( manifest.touched );
+			for( String fileName : staleList ) {
+				Owner owner = manifest.ownerMap.get( fileName );
+				if( owner == null || !owner.scope.equals( scope ) || !tableInScope.test( owner.table )
+						|| tableSet.contains( owner.table.toUpperCase( Locale.ROOT ) ) ) {
+					continue;
+				}
+				if( Files.deleteIfExists( manifest.folder.resolve( fileName ) ) ) {
+					System.out.println( "[ " + fileName + " ] table " + owner.table + " no longer exists, deleted." );
+					deleted.incrementAndGet();
+				}
+				manifest.hashMap.remove( fileName );
+				manifest.ownerMap.remove( fileName );
+			}
+		}
+	}
+
+	/**
+	 * saveManifests 說明：回寫各輸出資料夾的雜湊清單, 依檔名排序以利版本控制比對<br>
+	 * 				有來源的項目為「雜湊值 Tab 檔名 Tab 資料來源|Schema Tab 表格名稱」, 無來源的項目維持「雜湊值 空白 檔名」<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void saveManifests() throws IOException {
+		for( Manifest manifest : manifestMap.values() ) {
+			if( !Files.isDirectory( manifest.folder ) ) {
+				continue;
+			}
+			List<String> lines = new ArrayList<>();
+			new TreeMap<>( manifest.hashMap ).forEach( ( name, hash ) -> {
+				Owner owner = manifest.ownerMap.get( name );
+				lines.add( owner == null ? hash + ' ' + name : hash + '\t' + name + '\t' + owner.scope + '\t' + owner.table );
+			} );
+			Path file = manifest.folder.resolve( MANIFEST_FILE_NAME );
+			Path tmp = manifest.folder.resolve( MANIFEST_FILE_NAME + ".tmp" );
+			Files.write( tmp, lines, StandardCharsets.UTF_8 );
+			Files.move( tmp, file, StandardCopyOption.REPLACE_EXISTING );
+		}
+	}
+
+	/**
+	 * getReport 說明：取得寫入、略過、刪除的檔案數量<br>
+	 *
+	 * @return String report
+	 * @author Alan Hsu
+	 */
+	public String getReport() {
+		return "Written:" + written.get() + " Skipped:" + skipped.get() + " Deleted:" + deleted.get();
+	}
+
+	public int getWrittenCount() {
+		return written.get();
+	}
+
+	public int getSkippedCount() {
+		return skipped.get();
+	}
+
+	public int getDeletedCount() {
+		return deleted.get();
+	}
+
+	private Manifest getManifest( Path folder ) throws IOException {
+		Manifest manifest = manifestMap.get( folder );
+		if( manifest != null ) {
+			return manifest;
+		}
+		synchronized( manifestMap ) {
+			manifest = manifestMap.get( folder );
+			if( manifest == null ) {
+				manifest = new Manifest( folder );
+				Path file = folder.resolve( MANIFEST_FILE_NAME );
+				if( Files.exists( file ) ) {
+					for( String line : Files.readAllLines( file, StandardCharsets.UTF_8 ) ) {
+						String[] fields = line.split( "\t" );
+						if( fields.length == 4 ) {
+							manifest.hashMap.put( fields[1], fields[0] );
+							manifest.ownerMap.put( fields[1], new Owner( fields[2], fields[3] ) );
+							continue;
+						}
+						int idx = line.indexOf( ' ' );
+						if( idx > 0 ) {
+							manifest.hashMap.put( line.substring( idx + 1 ), line.substring( 0, idx ) );
+						}
+					}
+				}
+				manifestMap.put( folder, manifest );
+			}
+		}
+		return manifest;
+	}
+
+	static String sha256( Path file ) throws IOException {
+		MessageDigest digest = newDigest();
+		byte[] buffer = new byte[ 8 * 1024 ];
+		try( InputStream in = Files.newInputStream( file ) ) {
+			int n;
+			while( ( n = in.read( buffer ) ) > 0 ) {
+				digest.update( buffer, 0, n );
+			}
+		}
+		return toHex( digest.digest() );
+	}
+
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance( "SHA-256" );
+		} catch( NoSuchAlgorithmException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	static String toHex( byte[] digest ) {
+		StringBuilder sb = new StringBuilder( digest.length * 2 );
+		for( byte b : digest ) {
+			sb.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,771 @@
+package codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *	作 業 代 碼 ：CodegenJdbcRecording<br>
+ *	作 業 名 稱 ：Codegen JDBC Recording<br>
+ *	程 式 代 號 ：CodegenJdbcRecording.java<br>
+ *	描 述 ：錄製取得表格資訊時的JDBC回應(Statement/PreparedStatement.executeQuery 及 DatabaseMetaData 的查詢結果, 含ResultSetMetaData及耗時)<br>
+ *			重播時不連線資料庫, 依相同的呼叫及參數回傳錄製的結果, 可加上固定延遲、隨機抖動或錄製時的實際耗時<br>
+ *			供離線量測同時連線數、連線池及批次查詢等調整在實際往返時間下的效果, 以 CodegenRecordingDriver 的 JDBC URL 使用<br>
+ *			相同呼叫錄製多次時依序重播, 之後重複最後一次的結果; 查詢失敗亦錄製, 重播時拋出相同訊息的SQLException<br>
+ *			檔案格式：MAGIC, VERSION, 呼叫數, 每個呼叫 [鍵值, 回應數, 每個回應 [耗時(ns), 錯誤訊息, SQLState, 錯誤代碼, 欄位數, 每個欄位 [標籤, 名稱, 型別名稱, 類別名稱, java.sql.Types], 筆數, 每筆各欄位字串]]<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenJdbcRecording {
+
+	private final static int MAGIC = 0x43474A52;
+
+	private final static int VERSION = 1;
+
+	/** 非查詢結果的 DatabaseMetaData 回應(例如 getDatabaseProductName)以單一欄位記錄 */
+	private final static String VALUE_COLUMN = "VALUE";
+
+	/** 錄製檔 > 錄製中的記錄, 同一檔案的所有連線寫入同一份記錄 */
+	private final static Map<Path,CodegenJdbcRecording> RECORDING_MAP = new ConcurrentHashMap<>();
+
+	/** 錄製檔 > 已載入的記錄, 同一檔案只載入一次 */
+	private final static Map<Path,CodegenJdbcRecording> REPLAY_MAP = new ConcurrentHashMap<>();
+
+	/** 單次查詢的結果 */
+	static class Result {
+
+		private final long elapsedNanos;
+
+		/** 查詢失敗時的錯誤訊息, 成功時為null */
+		private String errorMessage;
+
+		private String sqlState;
+
+		private int errorCode;
+
+		private final String[] labels;
+
+		private final String[] names;
+
+		private final String[] typeNames;
+
+		private final String[] classNames;
+
+		private final int[] types;
+
+		private final List<String[]> rows;
+
+		Result( long elapsedNanos, String[] labels, String[] names, String[] typeNames, String[] classNames, int[] types, List<String[]> rows ) {
+			this.elapsedNanos = elapsedNanos;
+			this.labels = labels;
+			this.names = names;
+			this.typeNames = typeNames;
+			this.classNames = classNames;
+			this.types = types;
+			this.rows = rows;
+		}
+
+		/**
+		 * of 說明：讀取整個查詢結果, 欄位值一律以字串保存<br>
+		 *
+		 * @param ResultSet rs
+		 * @param long startNanos 開始查詢的時間, 耗時包含取回所有資料
+		 * @return Result result
+		 * @author Alan Hsu
+		 * @throws SQLException
+		 */
+		static Result of( ResultSet rs, long startNanos ) throws SQLException {
+			ResultSetMetaData rsmd = rs.getMetaData();
+			int count = rsmd.getColumnCount();
+			String[] labels = new String[ count ];
+			String[] names = new String[ count ];
+			String[] typeNames = new String[ count ];
+			String[] classNames = new String[ count ];
+			int[] types = new int[ count ];
+			for( int i = 0; i < count; i++ ) {
+				labels[i] = rsmd.getColumnLabel( i + 1 );
+				names[i] = rsmd.getColumnName( i + 1 );
+				typeNames[i] = rsmd.getColumnTypeName( i + 1 );
+				types[i] = rsmd.getColumnType( i + 1 );
+				/** 部分驅動程式的 DatabaseMetaData 結果不提供類別名稱 */
+				try {
+					classNames[i] = rsmd.getColumnClassName( i + 1 );
+				} catch( SQLException e ) {
+					classNames[i] = null;
+				}
+			}
+			List<String[]> rows = new ArrayList<>();
+			while( rs.next() ) {
+				String[] row = new String[ count ];
+				for( int i = 0; i < count; i++ ) {
+					row[i] = rs.getString( i + 1 );
+				}
+				rows.add( row );
+			}
+			return new Result( System.nanoTime() - startNanos, labels, names, typeNames, classNames, types, rows );
+		}
+
+		static Result ofError( SQLException e, long startNanos ) {
+			Result result = new Result( System.nanoTime() - startNanos, new String[ 0 ], new String[ 0 ], new String[ 0 ],
+					new String[ 0 ], new int[ 0 ], new ArrayList<>() );
+			result.errorMessage = e.getMessage() == null ? e.toString() : e.getMessage();
+			result.sqlState = e.getSQLState();
+			result.errorCode = e.getErrorCode();
+			return result;
+		}
+
+		static Result ofValue( Object value, long startNanos ) {
+			String[] column = { VALUE_COLUMN };
+			List<String[]> rows = new ArrayList<>();
+			rows.add( new String[] { value == null ? null : String.valueOf( value ) } );
+			return new Result( System.nanoTime() - startNanos, column, column, new String[] { null }, new String[] { null }, new int[] { 0 }, rows );
+		}
+
+		/**
+		 * toResultSet 說明：取得唯讀、只能往下的查詢結果, 支援依欄位序號或標籤(不分大小寫)取值<br>
+		 *
+		 * @return ResultSet rs
+		 * @author Alan Hsu
+		 */
+		ResultSet toResultSet() {
+			int[] cursor = { -1 };
+			boolean[] wasNull = { false };
+			AtomicBoolean closed = new AtomicBoolean( false );
+			ResultSetMetaData rsmd = (ResultSetMetaData) Proxy.newProxyInstance( ResultSetMetaData.class.getClassLoader(),
+					new Class<?>[] { ResultSetMetaData.class }, ( proxy, method, args ) -> {
+				switch( method.getName() ) {
+					case "getColumnCount":
+						return labels.length;
+					case "getColumnLabel":
+						return labels[ (Integer) args[0] - 1 ];
+					case "getColumnName":
+						return names[ (Integer) args[0] - 1 ];
+					case "getColumnTypeName":
+						return typeNames[ (Integer) args[0] - 1 ];
+					case "getColumnClassName":
+						return classNames[ (Integer) args[0] - 1 ];
+					case "getColumnType":
+						return types[ (Integer) args[0] - 1 ];
+					default:
+						return unsupported( proxy, method, args, "ResultSetMetaData" );
+				}
+			} );
+			return (ResultSet) Proxy.newProxyInstance( ResultSet.class.getClassLoader(),
+					new Class<?>[] { ResultSet.class }, ( proxy, method, args ) -> {
+				String name = method.getName();
+				switch( name ) {
+					case "next":
+						return ++cursor[0] < rows.size();
+					case "close":
+						closed.set( true );
+						return null;
+					case "isClosed":
+						return closed.get();
+					case "getMetaData":
+						return rsmd;
+					case "wasNull":
+						return wasNull[0];
+					case "findColumn":
+						return findColumn( (String) args[0] );
+					case "getString":
+					case "getObject":
+					case "getInt":
+					case "getLong":
+					case "getShort":
+					case "getBoolean":
+						if( cursor[0] < 0 || cursor[0] >= rows.size() ) {
+							throw new SQLException( "ResultSet not positioned on a row" );
+						}
+						int index = args[0] instanceof Integer ? (Integer) args[0] : findColumn( (String) args[0] );
+						String value = rows.get( cursor[0] )[ index - 1 ];
+						wasNull[0] = value == null;
+						return toValue( value, method.getReturnType() );
+					default:
+						return unsupported( proxy, method, args, "ResultSet" );
+				}
+			} );
+		}
+
+		private int findColumn( String label ) throws SQLException {
+			for( int i = 0; i < labels.length; i++ ) {
+				if( labels[i] != null && labels[i].equalsIgnoreCase( label ) ) {
+					return i + 1;
+				}
+			}
+			throw new SQLException( "Column " + label + " not found in recording" );
+		}
+
+		String getValue() {
+			return rows.isEmpty() ? null : rows.get( 0 )[0];
+		}
+
+	}
+
+	/** 呼叫鍵值 > 依序錄製的回應 */
+	private final Map<String,List<Result>> resultMap = new LinkedHashMap<>();
+
+	/** 重播時各呼叫鍵值已重播的次數 */
+	private final Map<String,AtomicInteger> replayIndexMap = new ConcurrentHashMap<>();
+
+	private final Path file;
+
+	private final AtomicLong replayCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong injectedNanos = new AtomicLong();
+
+	private boolean modified;
+
+	private CodegenJdbcRecording( Path file ) {
+		this.file = file;
+	}
+
+	/**
+	 * forRecord 說明：取得錄製至檔案的記錄, 同一JVM內同一檔案共用, JVM結束時亦會寫入<br>
+	 *
+	 * @param Path file
+	 * @return CodegenJdbcRecording recording
+	 * @author Alan Hsu
+	 */
+	public static CodegenJdbcRecording forRecord( Path file ) {
+		return RECORDING_MAP.computeIfAbsent( file.toAbsolutePath().normalize(), path -> {
+			CodegenJdbcRecording recording = new CodegenJdbcRecording( path );
+			Runtime.getRuntime().addShutdownHook( new Thread( recording::saveQuietly, "codegen-jdbc-recording" ) );
+			return recording;
+		} );
+	}
+
+	/**
+	 * forReplay 說明：取得重播用的記錄, 同一檔案只載入一次<br>
+	 *
+	 * @param Path file
+	 * @return CodegenJdbcRecording recording
+	 * @author Alan Hsu
+	 * @throws IOException 檔案不存在或格式不正確
+	 */
+	public static CodegenJdbcRecording forReplay( Path file ) throws IOException {
+		Path path = file.toAbsolutePath().normalize();
+		CodegenJdbcRecording recording = REPLAY_MAP.get( path );
+		if( recording == null ) {
+			recording = load( path );
+			CodegenJdbcRecording existing = REPLAY_MAP.putIfAbsent( path, recording );
+			recording = existing != null ? existing : recording;
+		}
+		return recording;
+	}
+
+	/**
+	 * load 說明：載入錄製檔<br>
+	 *
+	 * @param Path path
+	 * @return CodegenJdbcRecording recording
+	 * @author Alan Hsu
+	 * @throws IOException 檔案不存在或格式不正確
+	 */
+	public static CodegenJdbcRecording load( Path path ) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap( Files.readAllBytes( path ) );
+		if( buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION ) {
+			throw new IOException( path + " is not a version " + VERSION + " JDBC recording" );
+		}
+		CodegenJdbcRecording recording = new CodegenJdbcRecording( path );
+		int calls = buffer.getInt();
+		int responses = 0;
+		for( int c = 0; c < calls; c++ ) {
+			String key = readString( buffer );
+			int count = buffer.getInt();
+			List<Result> resultList = new ArrayList<>( count );
+			for( int r = 0; r < count; r++ ) {
+				long elapsedNanos = buffer.getLong();
+				String errorMessage = readString( buffer );
+				String sqlState = readString( buffer );
+				int errorCode = buffer.getInt();
+				int columns = buffer.getInt();
+				String[] labels = new String[ columns ];
+				String[] names = new String[ columns ];
+				String[] typeNames = new String[ columns ];
+				String[] classNames = new String[ columns ];
+				int[] types = new int[ columns ];
+				for( int i = 0; i < columns; i++ ) {
+					labels[i] = readString( buffer );
+					names[i] = readString( buffer );
+					typeNames[i] = readString( buffer );
+					classNames[i] = readString( buffer );
+					types[i] = buffer.getInt();
+				}
+				int rowCount = buffer.getInt();
+				List<String[]> rows = new ArrayList<>( rowCount );
+				for( int j = 0; j < rowCount; j++ ) {
+					String[] row = new String[ columns ];
+					for( int i = 0; i < columns; i++ ) {
+						row[i] = readString( buffer );
+					}
+					rows.add( row );
+				}
+				Result result = new Result( elapsedNanos, labels, names, typeNames, classNames, types, rows );
+				result.errorMessage = errorMessage;
+				result.sqlState = sqlState;
+				result.errorCode = errorCode;
+				resultList.add( result );
+			}
+			recording.resultMap.put( key, resultList );
+			responses += count;
+		}
+		System.out.println( "### JDBC recording loaded " + calls + " calls, " + responses + " responses from " + path + " ###");
+		return recording;
+	}
+
+	/**
+	 * save 說明：寫入錄製檔, 先寫暫存檔再取代原檔<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public synchronized void save() throws IOException {
+		if( !modified ) {
+			return;
+		}
+		if( file.getParent() != null ) {
+			Files.createDirectories( file.getParent() );
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream( 64 * 1024 );
+		int responses = 0;
+		try( DataOutputStream out = new DataOutputStream( bytes ) ) {
+			out.writeInt( MAGIC );
+			out.writeInt( VERSION );
+			out.writeInt( resultMap.size() );
+			for( Map.Entry<String,List<Result>> entry : resultMap.entrySet() ) {
+				writeString( out, entry.getKey() );
+				out.writeInt( entry.getValue().size() );
+				for( Result result : entry.getValue() ) {
+					out.writeLong( result.elapsedNanos );
+					writeString( out, result.errorMessage );
+					writeString( out, result.sqlState );
+					out.writeInt( result.errorCode );
+					out.writeInt( result.labels.length );
+					for( int i = 0; i < result.labels.length; i++ ) {
+						writeString( out, result.labels[i] );
+						writeString( out, result.names[i] );
+						writeString( out, result.typeNames[i] );
+						writeString( out, result.classNames[i] );
+						out.writeInt( result.types[i] );
+					}
+					out.writeInt( result.rows.size() );
+					for( String[] row : result.rows ) {
+						for( String value : row ) {
+							writeString( out, value );
+						}
+					}
+				}
+				responses += entry.getValue().size();
+			}
+		}
+		Path tmp = file.resolveSibling( file.getFileName() + ".tmp" );
+		Files.write( tmp, bytes.toByteArray() );
+		Files.move( tmp, file, StandardCopyOption.REPLACE_EXISTING );
+		modified = false;
+		System.out.println( "### JDBC recording saved " + resultMap.size() + " calls, " + responses + " responses to " + file + " ###");
+	}
+
+	private void saveQuietly() {
+		try {
+			save();
+		} catch( IOException e ) {
+			System.err.println( "### Save JDBC recording " + file + " failed due to " + e.getMessage() + " ###");
+		}
+	}
+
+	private synchronized void put( String key, Result result ) {
+		resultMap.computeIfAbsent( key, k -> new ArrayList<>() ).add( result );
+		modified = true;
+	}
+
+	/**
+	 * take 說明：取得呼叫的下一個錄製回應, 查無時回傳null<br>
+	 *
+	 * @param String key
+	 * @return Result result
+	 * @author Alan Hsu
+	 */
+	private Result take( String key ) {
+		List<Result> resultList;
+		synchronized( this ) {
+			resultList = resultMap.get( key );
+		}
+		if( resultList == null || resultList.isEmpty() ) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		replayCount.incrementAndGet();
+		int index = replayIndexMap.computeIfAbsent( key, k -> new AtomicInteger() ).getAndIncrement();
+		return resultList.get( Math.min( index, resultList.size() - 1 ) );
+	}
+
+	/**
+	 * record 說明：包裝實際連線, 查詢結果讀取完畢後記錄並回傳相同內容的查詢結果, 連線關閉時寫入錄製檔<br>
+	 *
+	 * @param Connection connection
+	 * @return Connection proxy
+	 * @author Alan Hsu
+	 */
+	public Connection record( Connection connection ) {
+		Connection[] self = new Connection[ 1 ];
+		self[0] = (Connection) Proxy.newProxyInstance( Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, ( proxy, method, args ) -> {
+			String name = method.getName();
+			if( "createStatement".equals( name ) || "prepareStatement".equals( name ) ) {
+				Statement statement = (Statement) invoke( connection, method, args );
+				String sql = "prepareStatement".equals( name ) ? (String) args[0] : null;
+				return newStatement( sql, self[0], statement, null );
+			}
+			if( "getMetaData".equals( name ) ) {
+				return newDatabaseMetaData( self[0], (DatabaseMetaData) invoke( connection, method, args ), null );
+			}
+			if( "close".equals( name ) ) {
+				try {
+					return invoke( connection, method, args );
+				} finally {
+					saveQuietly();
+				}
+			}
+			return invoke( connection, method, args );
+		} );
+		return self[0];
+	}
+
+	/**
+	 * replay 說明：取得重播錄製內容的連線, 每次查詢先等待延遲再回傳<br>
+	 *
+	 * @param long latencyMillis 每次查詢的固定延遲
+	 * @param long jitterMillis 每次查詢另加 0 ~ jitterMillis 的隨機延遲
+	 * @param boolean recordedLatency 以錄製時的耗時取代固定延遲
+	 * @return Connection connection
+	 * @author Alan Hsu
+	 */
+	public Connection replay( long latencyMillis, long jitterMillis, boolean recordedLatency ) {
+		Latency latency = new Latency( latencyMillis, jitterMillis, recordedLatency );
+		AtomicBoolean closed = new AtomicBoolean( false );
+		Connection[] self = new Connection[ 1 ];
+		self[0] = (Connection) Proxy.newProxyInstance( Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, ( proxy, method, args ) -> {
+			String name = method.getName();
+			switch( name ) {
+				case "createStatement":
+					return newStatement( null, self[0], null, latency );
+				case "prepareStatement":
+					return newStatement( (String) args[0], self[0], null, latency );
+				case "getMetaData":
+					return newDatabaseMetaData( self[0], null, latency );
+				case "close":
+					closed.set( true );
+					return null;
+				case "isClosed":
+					return closed.get();
+				case "isValid":
+					return !closed.get();
+				case "getAutoCommit":
+					return true;
+				case "setAutoCommit":
+				case "commit":
+				case "rollback":
+				case "clearWarnings":
+					return null;
+				case "getWarnings":
+					return null;
+				default:
+					return unsupported( proxy, method, args, "Connection" );
+			}
+		} );
+		return self[0];
+	}
+
+	/**
+	 * newStatement 說明：取得錄製或重播的Statement, sql 不為null時為PreparedStatement, 參數依序號記錄於呼叫鍵值<br>
+	 *
+	 * @param String sql
+	 * @param Connection connection 代理連線
+	 * @param Statement statement 實際的Statement, 重播時為null
+	 * @param Latency latency 重播的延遲, 錄製時為null
+	 * @return Statement proxy
+	 * @author Alan Hsu
+	 */
+	private Statement newStatement( String sql, Connection connection, Statement statement, Latency latency ) {
+		Map<Integer,String> paramMap = new TreeMap<>();
+		AtomicBoolean closed = new AtomicBoolean( false );
+		InvocationHandler handler = ( proxy, method, args ) -> {
+			String name = method.getName();
+			if( "executeQuery".equals( name ) ) {
+				String key = sql == null ? "Statement.executeQuery|" + args[0]
+						: "PreparedStatement.executeQuery|" + sql + "|" + paramMap.values();
+				if( statement == null ) {
+					return replayResult( key, latency ).toResultSet();
+				}
+				long start = System.nanoTime();
+				try( ResultSet rs = (ResultSet) invoke( statement, method, args ) ) {
+					Result result = Result.of( rs, start );
+					put( key, result );
+					return result.toResultSet();
+				} catch( SQLException e ) {
+					put( key, Result.ofError( e, start ) );
+					throw e;
+				}
+			}
+			if( name.startsWith( "set" ) && args != null && args.length >= 2 && args[0] instanceof Integer ) {
+				paramMap.put( (Integer) args[0], "setNull".equals( name ) || args[1] == null ? null : String.valueOf( args[1] ) );
+			} else if( "clearParameters".equals( name ) ) {
+				paramMap.clear();
+			} else if( "getConnection".equals( name ) ) {
+				return connection;
+			}
+			if( statement != null ) {
+				return invoke( statement, method, args );
+			}
+			switch( name ) {
+				case "close":
+					closed.set( true );
+					return null;
+				case "isClosed":
+					return closed.get();
+				case "getWarnings":
+					return null;
+				default:
+					if( name.startsWith( "set" ) || name.startsWith( "clear" ) || "cancel".equals( name ) ) {
+						return defaultValue( method.getReturnType() );
+					}
+					return unsupported( proxy, method, args, "Statement" );
+			}
+		};
+		Class<?> type = sql == null ? Statement.class : PreparedStatement.class;
+		return (Statement) Proxy.newProxyInstance( type.getClassLoader(), new Class<?>[] { type }, handler );
+	}
+
+	/**
+	 * newDatabaseMetaData 說明：取得錄製或重播的DatabaseMetaData, 查詢結果及字串、數值、布林回應皆依方法及參數記錄<br>
+	 *
+	 * @param Connection connection 代理連線
+	 * @param DatabaseMetaData dbmd 實際的DatabaseMetaData, 重播時為null
+	 * @param Latency latency 重播的延遲, 錄製時為null
+	 * @return DatabaseMetaData proxy
+	 * @author Alan Hsu
+	 */
+	private DatabaseMetaData newDatabaseMetaData( Connection connection, DatabaseMetaData dbmd, Latency latency ) {
+		return (DatabaseMetaData) Proxy.newProxyInstance( DatabaseMetaData.class.getClassLoader(),
+				new Class<?>[] { DatabaseMetaData.class }, ( proxy, method, args ) -> {
+			String name = method.getName();
+			if( "getConnection".equals( name ) ) {
+				return connection;
+			}
+			Class<?> returnType = method.getReturnType();
+			boolean isResultSet = ResultSet.class.equals( returnType );
+			if( !isResultSet && !isValueType( returnType ) ) {
+				return dbmd != null ? invoke( dbmd, method, args ) : unsupported( proxy, method, args, "DatabaseMetaData" );
+			}
+			String key = "DatabaseMetaData." + name + "|" + ( args == null ? "[]" : Arrays.deepToString( args ) );
+			if( dbmd == null ) {
+				Result result = replayResult( key, latency );
+				return isResultSet ? result.toResultSet() : toValue( result.getValue(), returnType );
+			}
+			long start = System.nanoTime();
+			if( isResultSet ) {
+				try( ResultSet rs = (ResultSet) invoke( dbmd, method, args ) ) {
+					Result result = Result.of( rs, start );
+					put( key, result );
+					return result.toResultSet();
+				} catch( SQLException e ) {
+					put( key, Result.ofError( e, start ) );
+					throw e;
+				}
+			}
+			try {
+				Object value = invoke( dbmd, method, args );
+				put( key, Result.ofValue( value, start ) );
+				return value;
+			} catch( SQLException e ) {
+				put( key, Result.ofError( e, start ) );
+				throw e;
+			}
+		} );
+	}
+
+	private Result replayResult( String key, Latency latency ) throws SQLException {
+		Result result = take( key );
+		if( result == null ) {
+			throw new SQLException( "No recorded response for " + key + " in " + file );
+		}
+		latency.await( result.elapsedNanos, injectedNanos );
+		if( result.errorMessage != null ) {
+			throw new SQLException( result.errorMessage, result.sqlState, result.errorCode );
+		}
+		return result;
+	}
+
+	/** 重播的延遲設定 */
+	private static class Latency {
+
+		private final long latencyNanos;
+
+		private final long jitterNanos;
+
+		private final boolean recorded;
+
+		Latency( long latencyMillis, long jitterMillis, boolean recorded ) {
+			this.latencyNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 0L, latencyMillis ) );
+			this.jitterNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 0L, jitterMillis ) );
+			this.recorded = recorded;
+		}
+
+		void await( long recordedNanos, AtomicLong injectedNanos ) throws SQLException {
+			long nanos = ( recorded ? recordedNanos : latencyNanos )
+					+ ( jitterNanos > 0 ? ThreadLocalRandom.current().nextLong( jitterNanos + 1 ) : 0L );
+			if( nanos <= 0 ) {
+				return;
+			}
+			injectedNanos.addAndGet( nanos );
+			try {
+				TimeUnit.NANOSECONDS.sleep( nanos );
+			} catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new SQLException( "Interrupted while replaying latency", e );
+			}
+		}
+
+	}
+
+	private static boolean isValueType( Class<?> type ) {
+		return String.class.equals( type ) || int.class.equals( type ) || long.class.equals( type ) || boolean.class.equals( type );
+	}
+
+	private static Object toValue( String value, Class<?> type ) {
+		if( String.class.equals( type ) || Object.class.equals( type ) ) {
+			return value;
+		}
+		if( boolean.class.equals( type ) ) {
+			return value != null && ( "true".equalsIgnoreCase( value ) || "1".equals( value ) );
+		}
+		if( value == null ) {
+			return defaultValue( type );
+		}
+		if( int.class.equals( type ) ) {
+			return Integer.valueOf( value.trim() );
+		}
+		if( long.class.equals( type ) ) {
+			return Long.valueOf( value.trim() );
+		}
+		if( short.class.equals( type ) ) {
+			return Short.valueOf( value.trim() );
+		}
+		return value;
+	}
+
+	private static Object defaultValue( Class<?> type ) {
+		if( boolean.class.equals( type ) ) {
+			return false;
+		}
+		if( int.class.equals( type ) ) {
+			return 0;
+		}
+		if( long.class.equals( type ) ) {
+			return 0L;
+		}
+		if( short.class.equals( type ) ) {
+			return (short) 0;
+		}
+		return null;
+	}
+
+	private static Object unsupported( Object proxy, Method method, Object[] args, String type ) throws SQLException {
+		switch( method.getName() ) {
+			case "isWrapperFor":
+				return false;
+			case "toString":
+				return "Replay" + type;
+			case "hashCode":
+				return System.identityHashCode( proxy );
+			case "equals":
+				return proxy == args[0];
+			default:
+				throw new SQLFeatureNotSupportedException( "JDBC replay does not support " + type + "." + method.getName() );
+		}
+	}
+
+	private static Object invoke( Object target, Method method, Object[] args ) throws Throwable {
+		try {
+			return method.invoke( target, args );
+		} catch( InvocationTargetException e ) {
+			throw e.getCause();
+		}
+	}
+
+	/** 字串以 長度(-1為null) + UTF-8 內容 寫入 */
+	private static void writeString( DataOutputStream out, String str ) throws IOException {
+		if( str == null ) {
+			out.writeInt( -1 );
+			return;
+		}
+		byte[] bytes = str.getBytes( StandardCharsets.UTF_8 );
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	private static String readString( ByteBuffer buffer ) {
+		int length = buffer.getInt();
+		if( length < 0 ) {
+			return null;
+		}
+		byte[] bytes = new byte[ length ];
+		buffer.get( bytes );
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * getReport 說明：取得重播次數、查無錄製的次數及注入的延遲合計<br>
+	 *
+	 * @return String report
+	 * @author Alan Hsu
+	 */
+	public String getReport() {
+		return "JDBC replay calls:" + replayCount.get() + " missed:" + missCount.get()
+				+ " injected latency:" + TimeUnit.NANOSECONDS.toMillis( injectedNanos.get() ) + "ms";
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public synchronized int size() {
+		return resultMap.size();
+	}
+
+}
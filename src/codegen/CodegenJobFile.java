@@ -0,0 +1,491 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ *	作 業 代 碼 ：CodegenJobFile<br>
+ *	作 業 名 稱 ：Codegen Job File<br>
+ *	程 式 代 號 ：CodegenJobFile.java<br>
+ *	描 述 ：非互動式批次產檔, 讀取工作檔(UTF-8 properties)後於同一個JVM內共用連線池及快取產製所有表格<br>
+ *			共用設定的名稱同 getTopic 的 key (author, dbName, mappedType, needDao, targetBeanPath...)<br>
+ *			tables=表格1,表格2 列出要產製的表格, 表格名稱.設定名稱 覆寫單一表格的設定, threads 為同時產檔的表格數<br>
+ *			metricsReport 為各表格各階段耗時統計CSV的輸出位置(選填), outputZip 設定時所有檔案寫入單一ZIP/JAR(選填)<br>
+ *			表格資訊以虛擬執行緒同時取得: metadataSessions 同時查詢的連線數, metadataDeadline 每個表格含重試的總期限(秒),<br>
+ *			metadataRetries 逾時或失敗的重試次數, queryTimeout 每次查詢的逾時秒數(皆選填)<br>
+ *			dataSources 為具名資料來源設定檔(CodegenDataSourceRegistry, 未設定時為預設設定檔), dataSource(可依表格設定)指定使用的資料來源,<br>
+ *			各資料來源有各自的連線池, 同一次產檔可同時產製多個資料來源的表格; tableSchema 為表格Schema(可依表格設定)<br>
+ *			表格.tableName 設定時 tables 所列為別名, 可產製不同資料來源的同名表格<br>
+ *			產製檔案位置依序為 表格.newFileTargetFolder, 資料來源的outputFolder, newFileTargetFolder<br>
+ *			ddlScripts=DDL檔1,DDL檔2 設定時解析DDL檔(依 dbName)取得表格資訊, 不連線資料庫<br>
+ *			reproducible=Y 可重現產檔(不寫入現在時間, ZIP/JAR依名稱排序), reproducibleTime 為寫入的固定時間(選填)<br>
+ *			snapshotPath 為表格資訊快照檔(CodegenMetadataSnapshot), offlineSnapshot=Y 時只讀取快照不連線資料庫(皆選填)<br>
+ *			upToDateStamp 為戳記檔位置, 設定且表格資訊來自DDL檔或離線快照時, 工作檔設定、DDL檔、快照檔及產製檔案皆未變更即略過產檔(CodegenUpToDateCheck)<br>
+ *			檔案路徑設定為相對路徑時以工作目錄為準, resolvePaths 可改以指定資料夾為準<br>
+ *			每個表格的設定皆以 getTopic 的檢核條件檢核, 有任何錯誤即不產檔<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenJobFile {
+
+	private final static String TABLES_KEY = "tables";
+
+	private final static String THREADS_KEY = "threads";
+
+	private final static String METRICS_REPORT_KEY = "metricsReport";
+
+	private final static String OUTPUT_ZIP_KEY = "outputZip";
+
+	private final static String QUERY_TIMEOUT_KEY = "queryTimeout";
+
+	private final static String METADATA_SESSIONS_KEY = "metadataSessions";
+
+	private final static String METADATA_DEADLINE_KEY = "metadataDeadline";
+
+	private final static String METADATA_RETRIES_KEY = "metadataRetries";
+
+	private final static String DATA_SOURCES_KEY = "dataSources";
+
+	private final static String DATA_SOURCE_KEY = "dataSource";
+
+	private final static String TABLE_SCHEMA_KEY = "tableSchema";
+
+	private final static String DDL_SCRIPTS_KEY = "ddlScripts";
+
+	private final static String UP_TO_DATE_STAMP_KEY = "upToDateStamp";
+
+	private final static String SNAPSHOT_PATH_KEY = "snapshotPath";
+
+	private final static String OFFLINE_SNAPSHOT_KEY = "offlineSnapshot";
+
+	/** 檔案路徑設定, newFileTargetFolder 需為含磁碟代號的絕對路徑, 不在此列 */
+	private final static List<String> PATH_KEYS = Arrays.asList( DDL_SCRIPTS_KEY, UP_TO_DATE_STAMP_KEY, DATA_SOURCES_KEY,
+			SNAPSHOT_PATH_KEY, METRICS_REPORT_KEY, OUTPUT_ZIP_KEY );
+
+	private final static String REPRODUCIBLE_KEY = "reproducible";
+
+	private final static String REPRODUCIBLE_TIME_KEY = "reproducibleTime";
+
+	private final Properties properties;
+
+	/** 表格資訊來源, 設定後不連線資料庫 */
+	private CodegenMetadataSource metadataSource;
+
+	/** 具名資料來源, 未設定時依 dataSources 載入 */
+	private CodegenDataSourceRegistry dataSourceRegistry;
+
+	public CodegenJobFile( Properties properties ) {
+		this.properties = properties;
+	}
+
+	/**
+	 * load 說明：以UTF-8讀取工作檔<br>
+	 *
+	 * @param Path path
+	 * @return CodegenJobFile jobFile
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public static CodegenJobFile load( Path path ) throws IOException {
+		Properties properties = new Properties();
+		try( Reader reader = Files.newBufferedReader( path, StandardCharsets.UTF_8 ) ) {
+			properties.load( reader );
+		}
+		return new CodegenJobFile( properties );
+	}
+
+	/**
+	 * run 說明：讀取工作檔並執行所有表格的產檔<br>
+	 *
+	 * @param Path path
+	 * @return boolean 全部成功
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public static boolean run( Path path ) throws IOException {
+		System.out.println( "### Codegen job file " + path + " ###");
+		return load( path ).run();
+	}
+
+	/**
+	 * run 說明：檢核所有表格的設定, 全部通過後以固定數量的執行緒產檔, 連線池依資料庫種類共用<br>
+	 *
+	 * @return boolean 全部成功
+	 * @author Alan Hsu
+	 */
+	public boolean run() {
+		List<String> errorList = new ArrayList<>();
+		Map<String,CustomCodegen> jobMap = createJobs( errorList );
+		if( !errorList.isEmpty() ) {
+			errorList.forEach( error -> System.err.println( "### " + error + " ###") );
+			System.err.println( "### Codegen job file terminated due to " + errorList.size() + " invalid setting(s) ###");
+			return false;
+		}
+
+		String ddlScripts = properties.getProperty( DDL_SCRIPTS_KEY, "" ).trim();
+		CodegenUpToDateCheck upToDateCheck;
+		try {
+			upToDateCheck = createUpToDateCheck( ddlScripts );
+			if( upToDateCheck != null && upToDateCheck.isUpToDate() ) {
+				System.out.println( "### Codegen outputs up to date, skipped " + jobMap.size() + " tables ###");
+				return true;
+			}
+			if( upToDateCheck != null ) {
+				upToDateCheck.invalidate();
+			}
+		} catch( IOException e ) {
+			System.err.println( "### Check codegen inputs failed due to " + e.getMessage() + " ###");
+			return false;
+		}
+
+		if( metadataSource == null && !ddlScripts.isEmpty() ) {
+			CodegenDdlMetadataSource ddlSource = new CodegenDdlMetadataSource( properties.getProperty( "dbName", "" ).trim() );
+			for( String script : ddlScripts.split( "," ) ) {
+				try {
+					ddlSource.load( Paths.get( script.trim() ) );
+				} catch( IOException e ) {
+					System.err.println( "### Read DDL script " + script.trim() + " failed due to " + e.getMessage() + " ###");
+					return false;
+				}
+			}
+			metadataSource = ddlSource;
+		}
+
+		CustomCodegen shared = new CustomCodegen();
+		shared.setBatchThreads( getThreads( shared.getBatchThreads() ) );
+		shared.setSnapshotPath( properties.getProperty( SNAPSHOT_PATH_KEY, "" ).trim() );
+		shared.setOfflineSnapshot( isOfflineSnapshot() );
+		shared.setMetricsReportPath( properties.getProperty( METRICS_REPORT_KEY ) );
+		boolean reproducible = "Y".equalsIgnoreCase( properties.getProperty( REPRODUCIBLE_KEY, "" ).trim() );
+		String outputZip = properties.getProperty( OUTPUT_ZIP_KEY, "" ).trim();
+		if( !outputZip.isEmpty() ) {
+			try {
+				shared.setOutputSink( new CodegenZipSink( Paths.get( outputZip ), null, reproducible ) );
+			} catch( IOException e ) {
+				System.err.println( "### Create " + outputZip + " failed due to " + e.getMessage() + " ###");
+				return false;
+			}
+		}
+		if( upToDateCheck != null ) {
+			shared.setOutputSink( upToDateCheck.track( shared.getOutputSink() ) );
+		}
+		CodegenDataSourceRegistry registry = getDataSourceRegistry();
+		String nowStr = CustomCodegen.getCurrentTimeStr();
+		for( Map.Entry<String,CustomCodegen> job : jobMap.entrySet() ) {
+			String table = job.getKey();
+			CustomCodegen gen = job.getValue();
+			gen.setCurrentTime( nowStr );
+			gen.setReproducible( reproducible );
+			gen.setReproducibleTime( properties.getProperty( REPRODUCIBLE_TIME_KEY ) );
+			gen.setMetadataSource( metadataSource );
+			gen.setIdentifierCache( shared.getIdentifierCache() );
+			gen.setEmitExecutor( shared.getEmitExecutor() );
+			gen.setMetrics( shared.getMetrics() );
+			gen.setOutputSink( shared.getOutputSink() );
+			gen.setSnapshotPath( shared.getSnapshotPath() );
+			gen.setOfflineSnapshot( shared.isOfflineSnapshot() );
+			if( shared.isUseSnapshot() ) {
+				gen.setMetadataSnapshot( shared.getMetadataSnapshot() );
+			}
+			/** 未指定資料來源時由 getConnectionPool 依資料庫種類或 default 取得, 同一資料來源共用連線池 */
+			gen.setDataSourceName( getValue( table, DATA_SOURCE_KEY ) );
+			if( registry != null ) {
+				gen.setDataSourceRegistry( registry );
+				registry.apply( gen, gen.getDataSourceName() );
+			}
+			gen.setQueryTimeoutSeconds( getInt( QUERY_TIMEOUT_KEY, gen.getQueryTimeoutSeconds() ) );
+		}
+
+		/** 先同時取得所有表格資訊, 逾時或失敗的表格不影響其他表格產檔 */
+		CodegenMetadataFetcher fetcher = new CodegenMetadataFetcher( getInt( METADATA_SESSIONS_KEY, shared.getBatchThreads() ) );
+		fetcher.setDeadlineSeconds( getInt( METADATA_DEADLINE_KEY, (int) fetcher.getDeadlineSeconds() ) );
+		fetcher.setRetries( getInt( METADATA_RETRIES_KEY, fetcher.getRetries() ) );
+		List<String> failedList = fetcher.fetch( jobMap );
+
+		ExecutorService executor = Executors.newFixedThreadPool( Math.max( 1, Math.min( shared.getBatchThreads(), jobMap.size() ) ) );
+		Map<String,Future<Boolean>> futureMap = new LinkedHashMap<>();
+		jobMap.forEach( ( table, gen ) -> {
+			if( !failedList.contains( table ) ) {
+				futureMap.put( table, executor.submit( gen::generateAll ) );
+			}
+		} );
+		executor.shutdown();
+
+		for( Map.Entry<String,Future<Boolean>> entry : futureMap.entrySet() ) {
+			try {
+				if( !entry.getValue().get() ) {
+					failedList.add( entry.getKey() );
+				}
+			} catch( ExecutionException e ) {
+				CustomCodegen.printEmitError( entry.getKey(), e.getCause() );
+				failedList.add( entry.getKey() );
+			} catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				failedList.add( entry.getKey() );
+			}
+		}
+		( registry != null ? registry : CodegenDataSourceRegistry.getDefault() ).close();
+		shared.closeEmitExecutor();
+
+		shared.finishIdentifierCache();
+		shared.finishMetadataSnapshot();
+		shared.finishMetrics();
+		boolean outputFinished = shared.finishOutputSink();
+		System.out.println( "### Codegen Job File Finished, Tables:" + jobMap.size()
+				+ " Success:" + ( jobMap.size() - failedList.size() ) + " Failed:" + failedList.size() + " ###");
+		if( !failedList.isEmpty() ) {
+			System.err.println( "### Failed Tables:" + failedList + " ###");
+		}
+		if( upToDateCheck != null && outputFinished && failedList.isEmpty() ) {
+			if( !outputZip.isEmpty() ) {
+				upToDateCheck.recordOutput( Paths.get( outputZip ) );
+			}
+			try {
+				upToDateCheck.save();
+			} catch( IOException e ) {
+				System.err.println( "### Save stamp file failed due to " + e.getMessage() + " ###");
+			}
+		}
+		return outputFinished && failedList.isEmpty();
+	}
+
+	/**
+	 * createUpToDateCheck 說明：依 upToDateStamp 建立建置的輸入檢查, 輸入為工作檔所有設定、DDL檔、離線快照檔、資料來源設定檔及Codegen版本、產生器、樣板<br>
+	 * 						表格資訊來自資料庫時資料庫變更無法得知, 不檢查而一律產檔<br>
+	 *
+	 * @param String ddlScripts
+	 * @return CodegenUpToDateCheck check, 未設定或不適用時為null
+	 * @author Alan Hsu
+	 * @throws IOException 輸入檔讀取失敗
+	 */
+	private CodegenUpToDateCheck createUpToDateCheck( String ddlScripts ) throws IOException {
+		String stamp = properties.getProperty( UP_TO_DATE_STAMP_KEY, "" ).trim();
+		if( stamp.isEmpty() ) {
+			return null;
+		}
+		String snapshotPath = properties.getProperty( SNAPSHOT_PATH_KEY, "" ).trim();
+		boolean offlineSnapshot = !snapshotPath.isEmpty() && isOfflineSnapshot();
+		if( metadataSource == null && ddlScripts.isEmpty() && !offlineSnapshot ) {
+			System.out.println( "### " + UP_TO_DATE_STAMP_KEY + " ignored, table metadata comes from the database ###");
+			return null;
+		}
+		CodegenUpToDateCheck check = new CodegenUpToDateCheck( Paths.get( stamp ) );
+		for( String key : properties.stringPropertyNames() ) {
+			check.addInput( key, properties.getProperty( key ) );
+		}
+		if( !ddlScripts.isEmpty() ) {
+			for( String script : ddlScripts.split( "," ) ) {
+				check.addInputFile( Paths.get( script.trim() ) );
+			}
+		}
+		if( metadataSource == null && ddlScripts.isEmpty() ) {
+			check.addInputFile( Paths.get( snapshotPath ) );
+		}
+		String dataSources = properties.getProperty( DATA_SOURCES_KEY, "" ).trim();
+		if( !dataSources.isEmpty() ) {
+			check.addInputFile( Paths.get( dataSources ) );
+		}
+		check.addCodegenInputs( null );
+		return check;
+	}
+
+	/**
+	 * createJobs 說明：依工作檔建立各表格的Codegen, 設定值以 getTopic 的檢核條件檢核<br>
+	 *
+	 * @param List<String> errorList 檢核錯誤訊息
+	 * @return Map<String,CustomCodegen> 表格名稱 > Codegen
+	 * @author Alan Hsu
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String,CustomCodegen> createJobs( List<String> errorList ) {
+		Map<String,CustomCodegen> jobMap = new LinkedHashMap<>();
+		List<Map<String,Object>> topics = CustomCodegen.getTopic();
+		CodegenDataSourceRegistry registry = null;
+		try {
+			registry = getDataSourceRegistry();
+		} catch( IllegalStateException e ) {
+			errorList.add( e.getMessage() );
+		}
+		for( String table : getTables() ) {
+			CustomCodegen gen = new CustomCodegen();
+			String dataSourceName = getValue( table, DATA_SOURCE_KEY );
+			if( !"".equals( dataSourceName ) && ( registry == null || registry.get( dataSourceName ) == null ) ) {
+				errorList.add( table + " (" + DATA_SOURCE_KEY + ") 資料來源不存在 [" + dataSourceName + "]" );
+			}
+			String tableSchema = getValue( table, TABLE_SCHEMA_KEY );
+			if( !"".equals( tableSchema ) ) {
+				gen.setTableSchema( tableSchema );
+			}
+			for( Map<String,Object> topic : topics ) {
+				/** 選填設定(例如不產出Dao時的Dao路徑)不需檢核 */
+				Function<CustomCodegen,Boolean> function = (Function<CustomCodegen,Boolean>) topic.get("function");
+				if( function != null && !function.apply( gen ) ) {
+					continue;
+				}
+				String key = (String) topic.get("key");
+				String value = getValue( table, key );
+				Predicate<String> predicate = (Predicate<String>) topic.get("predicate");
+				if( predicate.test( value ) ) {
+					( (BiConsumer<CustomCodegen,String>) topic.get("biconsumer") ).accept( gen, value );
+				} else {
+					errorList.add( table + " 【" + topic.get("name") + "】(" + key + ") 不正確 [" + value + "], " + topic.get("hint") );
+				}
+			}
+			jobMap.put( table, gen );
+		}
+		if( jobMap.isEmpty() ) {
+			errorList.add( "No table listed in " + TABLES_KEY );
+		}
+		return jobMap;
+	}
+
+	/**
+	 * getValue 說明：取得表格的設定值, 表格設定優先於資料來源設定, 資料來源設定優先於共用設定<br>
+	 * 			未設定表格名稱時以 tables 所列名稱為表格名稱, 未設定產出檔案名稱時以表格名稱轉帕斯卡命名<br>
+	 *
+	 * @param String table tables 所列的名稱
+	 * @param String key
+	 * @return String value
+	 * @author Alan Hsu
+	 */
+	private String getValue( String table, String key ) {
+		String value = properties.getProperty( table + '.' + key );
+		if( value == null && !DATA_SOURCE_KEY.equals( key ) ) {
+			value = getDataSourceValue( properties.getProperty( table + '.' + DATA_SOURCE_KEY, properties.getProperty( DATA_SOURCE_KEY ) ), key );
+		}
+		if( value == null ) {
+			value = "tableName".equals( key ) ? table : properties.getProperty( key );
+		}
+		if( value == null && "domainObjectName".equals( key ) ) {
+			value = CodegenNaming.toPascalCase( getValue( table, "tableName" ) );
+		}
+		return value == null ? "" : value.trim();
+	}
+
+	/**
+	 * getDataSourceValue 說明：取得資料來源的資料庫種類、預設Schema及產製檔案位置, 其餘設定回傳null<br>
+	 *
+	 * @param String dataSourceName
+	 * @param String key
+	 * @return String value
+	 * @author Alan Hsu
+	 */
+	private String getDataSourceValue( String dataSourceName, String key ) {
+		CodegenDataSourceRegistry.DataSource dataSource = null;
+		try {
+			CodegenDataSourceRegistry registry = getDataSourceRegistry();
+			dataSource = registry == null ? null : registry.get( dataSourceName );
+		} catch( IllegalStateException e ) {
+			/** 設定檔錯誤由 createJobs 列出 */
+		}
+		if( dataSource == null ) {
+			return null;
+		}
+		switch( key ) {
+		case "dbName":
+			return dataSource.getDbName();
+		case TABLE_SCHEMA_KEY:
+			return dataSource.getSchema();
+		case "newFileTargetFolder":
+			return dataSource.getOutputFolder();
+		default:
+			return null;
+		}
+	}
+
+	private List<String> getTables() {
+		List<String> tableList = new ArrayList<>();
+		for( String table : properties.getProperty( TABLES_KEY, "" ).split( "," ) ) {
+			if( !table.trim().isEmpty() && !tableList.contains( table.trim() ) ) {
+				tableList.add( table.trim() );
+			}
+		}
+		return tableList;
+	}
+
+	/**
+	 * resolvePaths 說明：將相對路徑的檔案路徑設定(含表格設定)轉為以指定資料夾為準的絕對路徑, 例如Maven以模組資料夾為準<br>
+	 *
+	 * @param Path baseDir
+	 * @author Alan Hsu
+	 */
+	public void resolvePaths( Path baseDir ) {
+		for( String name : properties.stringPropertyNames() ) {
+			String key = name.substring( name.lastIndexOf( '.' ) + 1 );
+			String value = properties.getProperty( name ).trim();
+			if( !PATH_KEYS.contains( key ) || value.isEmpty() ) {
+				continue;
+			}
+			List<String> pathList = new ArrayList<>();
+			for( String path : DDL_SCRIPTS_KEY.equals( key ) ? value.split( "," ) : new String[] { value } ) {
+				pathList.add( baseDir.resolve( path.trim() ).normalize().toString() );
+			}
+			properties.setProperty( name, String.join( ",", pathList ) );
+		}
+	}
+
+	/**
+	 * getDataSourceRegistry 說明：取得具名資料來源, 未設定時依 dataSources 載入, 皆未設定時回傳null<br>
+	 *
+	 * @return CodegenDataSourceRegistry registry
+	 * @author Alan Hsu
+	 * @throws IllegalStateException 資料來源設定檔讀取失敗或設定不正確
+	 */
+	public synchronized CodegenDataSourceRegistry getDataSourceRegistry() {
+		String path = properties.getProperty( DATA_SOURCES_KEY, "" ).trim();
+		if( dataSourceRegistry == null && !path.isEmpty() ) {
+			try {
+				dataSourceRegistry = CodegenDataSourceRegistry.load( Paths.get( path ) );
+			} catch( IOException e ) {
+				throw new IllegalStateException( DATA_SOURCES_KEY + " " + e.getMessage(), e );
+			}
+		}
+		return dataSourceRegistry;
+	}
+
+	public void setDataSourceRegistry( CodegenDataSourceRegistry dataSourceRegistry ) {
+		this.dataSourceRegistry = dataSourceRegistry;
+	}
+
+	public CodegenMetadataSource getMetadataSource() {
+		return metadataSource;
+	}
+
+	public void setMetadataSource( CodegenMetadataSource metadataSource ) {
+		this.metadataSource = metadataSource;
+	}
+
+	private boolean isOfflineSnapshot() {
+		return "Y".equalsIgnoreCase( properties.getProperty( OFFLINE_SNAPSHOT_KEY, "" ).trim() );
+	}
+
+	private int getThreads( int defaultThreads ) {
+		return getInt( THREADS_KEY, defaultThreads );
+	}
+
+	private int getInt( String key, int defaultValue ) {
+		String value = properties.getProperty( key, "" ).trim();
+		return value.matches( "^[\\d]+$" ) ? Integer.parseInt( value ) : defaultValue;
+	}
+
+}
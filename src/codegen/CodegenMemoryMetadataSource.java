@@ -0,0 +1,71 @@
+package codegen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenMemoryMetadataSource<br>
+ *	作 業 名 稱 ：Codegen Memory Metadata Source<br>
+ *	程 式 代 號 ：CodegenMemoryMetadataSource.java<br>
+ *	描 述 ：記憶體內的表格資訊來源, 供嵌入使用、效能量測及測試<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenMemoryMetadataSource implements CodegenMetadataSource {
+
+	/** Schema(大寫) > 表格名稱(大寫) > 表格資訊 */
+	private final Map<String,Map<String,TableInfo>> schemaMap = new ConcurrentHashMap<>();
+
+	/**
+	 * put 說明：加入表格資訊<br>
+	 *
+	 * @param String schema
+	 * @param TableInfo tableInfo
+	 * @author Alan Hsu
+	 */
+	public void put( String schema, TableInfo tableInfo ) {
+		schemaMap.computeIfAbsent( toKey( schema ), k -> new ConcurrentHashMap<>() )
+			.put( toKey( tableInfo.getTableName() ), tableInfo );
+	}
+
+	/**
+	 * remove 說明：移除表格資訊<br>
+	 *
+	 * @param String schema
+	 * @param String tableName
+	 * @return TableInfo 移除的表格資訊, 查無時為null
+	 * @author Alan Hsu
+	 */
+	public TableInfo remove( String schema, String tableName ) {
+		Map<String,TableInfo> tableMap = schemaMap.get( toKey( schema ) );
+		return tableMap == null ? null : tableMap.remove( toKey( tableName ) );
+	}
+
+	@Override
+	public List<String> getTableNames( String schema ) {
+		List<String> tableNames = new ArrayList<>();
+		Map<String,TableInfo> tableMap = schemaMap.get( toKey( schema ) );
+		if( tableMap != null ) {
+			tableMap.values().forEach( t -> tableNames.add( t.getTableName() ) );
+		}
+		return tableNames;
+	}
+
+	@Override
+	public TableInfo getTableInfo( String schema, String tableName ) {
+		Map<String,TableInfo> tableMap = schemaMap.get( toKey( schema ) );
+		return tableMap == null ? null : tableMap.get( toKey( tableName ) );
+	}
+
+	private static String toKey( String name ) {
+		return name == null ? "" : name.trim().toUpperCase();
+	}
+
+}
@@ -0,0 +1,63 @@
+package codegen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *	作 業 代 碼 ：CodegenMemorySink<br>
+ *	作 業 名 稱 ：Codegen Memory Sink<br>
+ *	程 式 代 號 ：CodegenMemorySink.java<br>
+ *	描 述 ：產製檔案保留於記憶體, 不寫檔, 供嵌入其他程式或測試時取得 路徑 > 原始碼<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenMemorySink implements CodegenOutputSink {
+
+	/** 路徑的根目錄, 產製檔案以相對於此目錄的路徑保存 */
+	private final Path root;
+
+	private final Map<String,String> sourceMap = new ConcurrentHashMap<>();
+
+	public CodegenMemorySink() {
+		this( null );
+	}
+
+	/**
+	 * CodegenMemorySink 說明：<br>
+	 *
+	 * @param Path root 根目錄, 為null時只以檔案名稱保存
+	 * @author Alan Hsu
+	 */
+	public CodegenMemorySink( Path root ) {
+		this.root = root;
+	}
+
+	@Override
+	public boolean write( Path file, SourceRenderer renderer ) throws IOException {
+		sourceMap.put( CodegenOutputSink.toEntryName( root, file ),
+				new String( CodegenSourceWriter.toBytes( renderer ), StandardCharsets.UTF_8 ) );
+		return true;
+	}
+
+	/**
+	 * getSources 說明：取得已產製的 路徑(以 / 分隔) > 原始碼, 依路徑排序<br>
+	 *
+	 * @return Map<String,String> sourceMap
+	 * @author Alan Hsu
+	 */
+	public Map<String,String> getSources() {
+		return new TreeMap<>( sourceMap );
+	}
+
+	public void clear() {
+		sourceMap.clear();
+	}
+
+}
@@ -0,0 +1,225 @@
+package codegen;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenMetadataFetcher<br>
+ *	作 業 名 稱 ：Codegen Metadata Fetcher<br>
+ *	程 式 代 號 ：CodegenMetadataFetcher.java<br>
+ *	描 述 ：同時取得多個表格的表格資訊, Java 21 以上使用虛擬執行緒, 否則使用一般執行緒<br>
+ *			同時查詢的資料庫連線數以Semaphore限制, 每個表格有一個總完成期限(含等待連線數及所有重試), 逾時或失敗的表格於期限內重試, 仍失敗即列為失敗<br>
+ *			逾時的查詢仍佔用連線數直到結束(查詢逾時 setQueryTimeout 後由資料庫中止), 其餘表格不受影響<br>
+ *			表格使用不同連線池(多個資料來源)時各連線池分別限制, 上限為連線數上限及連線池最大連線數的較小值<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenMetadataFetcher {
+
+	public final static long DEFAULT_DEADLINE_SECONDS = 120L;
+
+	public final static int DEFAULT_RETRIES = 1;
+
+	/** 每個連線池同時查詢的連線數上限 */
+	private final int maxSessions;
+
+	/** 單一表格的總完成期限(秒), 含等待連線數及所有重試 */
+	private long deadlineSeconds = DEFAULT_DEADLINE_SECONDS;
+
+	/** 逾時或失敗後的重試次數 */
+	private int retries = DEFAULT_RETRIES;
+
+	public CodegenMetadataFetcher( int maxSessions ) {
+		this.maxSessions = Math.max( 1, maxSessions );
+	}
+
+	/**
+	 * fetch 說明：取得所有表格的表格資訊並套用至各表格的Codegen, 回傳失敗的表格<br>
+	 *
+	 * @param Map<String,CustomCodegen> genMap 表格名稱 > Codegen
+	 * @return List<String> failedTables
+	 * @author Alan Hsu
+	 */
+	public List<String> fetch( Map<String,CustomCodegen> genMap ) {
+		ExecutorService virtualExecutor = newVirtualThreadExecutor();
+		ExecutorService queryExecutor = virtualExecutor != null ? virtualExecutor
+				: Executors.newCachedThreadPool( r -> newDaemonThread( r, "codegen-metadata-query" ) );
+
+		/** 每個連線池一個Semaphore, 一般執行緒時監看的執行緒數同該連線池的連線數上限, 避免表格數多時建立大量執行緒 */
+		Map<CodegenConnectionPool,Semaphore> sessionsMap = new IdentityHashMap<>();
+		Map<CodegenConnectionPool,ExecutorService> supervisorMap = new IdentityHashMap<>();
+		Map<String,Future<TableInfo>> futureMap = new LinkedHashMap<>();
+		for( Map.Entry<String,CustomCodegen> entry : genMap.entrySet() ) {
+			CodegenConnectionPool pool = entry.getValue().getConnectionPool();
+			Semaphore sessions = sessionsMap.get( pool );
+			if( sessions == null ) {
+				int permits = Math.max( 1, Math.min( maxSessions, pool.getMaxSize() ) );
+				sessions = new Semaphore( permits, true );
+				sessionsMap.put( pool, sessions );
+				supervisorMap.put( pool, virtualExecutor != null ? virtualExecutor
+						: Executors.newFixedThreadPool( permits, r -> newDaemonThread( r, "codegen-metadata" ) ) );
+			}
+			String table = entry.getKey();
+			CustomCodegen gen = entry.getValue();
+			Semaphore tableSessions = sessions;
+			futureMap.put( table, supervisorMap.get( pool ).submit( () -> fetchTable( table, gen, tableSessions, queryExecutor ) ) );
+		}
+		System.out.println( "### Fetching metadata of " + genMap.size() + " tables on " + ( virtualExecutor != null ? "virtual" : "platform" )
+				+ " threads, pools:" + sessionsMap.size() + " sessions:" + maxSessions + " deadline:" + deadlineSeconds + "s retries:" + retries + " ###");
+
+		List<String> failedList = new ArrayList<>();
+		try {
+			for( Map.Entry<String,Future<TableInfo>> entry : futureMap.entrySet() ) {
+				TableInfo info = null;
+				try {
+					info = entry.getValue().get();
+				} catch( ExecutionException e ) {
+					System.err.println( "### Table " + entry.getKey() + " metadata failed due to " + e.getCause() + " ###");
+				} catch( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+				}
+				if( info == null ) {
+					failedList.add( entry.getKey() );
+				} else {
+					genMap.get( entry.getKey() ).applyTableInfo( info );
+				}
+			}
+		} finally {
+			supervisorMap.values().forEach( ExecutorService::shutdownNow );
+			queryExecutor.shutdownNow();
+		}
+		if( !failedList.isEmpty() ) {
+			System.err.println( "### Metadata failed or timed out Tables:" + failedList + " ###");
+		}
+		return failedList;
+	}
+
+	/**
+	 * fetchTable 說明：取得單一表格的表格資訊, 開始前計算總完成期限, 每次查詢以另一條執行緒執行並只等待剩餘時間<br>
+	 * 				查詢逾時秒數同樣不超過剩餘時間; 查詢使用複製的Codegen, 逾時後仍在執行的查詢不會影響重試的結果<br>
+	 *
+	 * @param String table
+	 * @param CustomCodegen gen
+	 * @param Semaphore sessions
+	 * @param ExecutorService queryExecutor
+	 * @return TableInfo tableInfo, 失敗時為null
+	 * @author Alan Hsu
+	 * @throws InterruptedException
+	 */
+	private TableInfo fetchTable( String table, CustomCodegen gen, Semaphore sessions, ExecutorService queryExecutor ) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( deadlineSeconds );
+		for( int attempt = 1; attempt <= retries + 1; attempt++ ) {
+			long remaining = deadline - System.nanoTime();
+			if( remaining <= 0 || !sessions.tryAcquire( remaining, TimeUnit.NANOSECONDS ) ) {
+				System.err.println( "### Table " + table + " metadata timed out after " + deadlineSeconds + "s (attempt " + attempt + ") ###");
+				return null;
+			}
+			int queryTimeout = toQueryTimeoutSeconds( gen.getQueryTimeoutSeconds(), deadline - System.nanoTime() );
+			Future<TableInfo> future;
+			try {
+				future = queryExecutor.submit( () -> {
+					try {
+						CustomCodegen probe = gen.copySetting( null );
+						probe.setTableName( gen.getTableName() );
+						probe.setColumns( gen.getColumns() );
+						probe.setQueryTimeoutSeconds( queryTimeout );
+						return probe.getTableInfo() ? probe.getCurrentTableInfo() : null;
+					} finally {
+						sessions.release();
+					}
+				} );
+			} catch( RuntimeException e ) {
+				sessions.release();
+				throw e;
+			}
+			String retry = attempt <= retries ? ", retrying" : "";
+			try {
+				TableInfo info = future.get( Math.max( 0L, deadline - System.nanoTime() ), TimeUnit.NANOSECONDS );
+				if( info != null ) {
+					return info;
+				}
+				System.err.println( "### Table " + table + " metadata failed (attempt " + attempt + ")" + retry + " ###");
+			} catch( TimeoutException e ) {
+				/** 已到總完成期限, 不再重試 */
+				future.cancel( true );
+				System.err.println( "### Table " + table + " metadata timed out after " + deadlineSeconds + "s (attempt " + attempt + ") ###");
+				return null;
+			} catch( ExecutionException e ) {
+				System.err.println( "### Table " + table + " metadata failed due to " + e.getCause() + " (attempt " + attempt + ")" + retry + " ###");
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * toQueryTimeoutSeconds 說明：取得每次查詢的逾時秒數, 不超過表格剩餘的期限(無條件進位, 至少1秒)<br>
+	 *
+	 * @param int queryTimeoutSeconds 設定的查詢逾時秒數, 0為不限制
+	 * @param long remainingNanos
+	 * @return int queryTimeoutSeconds
+	 * @author Alan Hsu
+	 */
+	static int toQueryTimeoutSeconds( int queryTimeoutSeconds, long remainingNanos ) {
+		long remainingSeconds = Math.max( 1L, ( remainingNanos + TimeUnit.SECONDS.toNanos( 1 ) - 1 ) / TimeUnit.SECONDS.toNanos( 1 ) );
+		if( queryTimeoutSeconds <= 0 ) {
+			return (int) Math.min( Integer.MAX_VALUE, remainingSeconds );
+		}
+		return (int) Math.min( queryTimeoutSeconds, remainingSeconds );
+	}
+
+	/**
+	 * newVirtualThreadExecutor 說明：Java 21 以上取得每個工作一條虛擬執行緒的ExecutorService, 否則回傳null<br>
+	 *
+	 * @return ExecutorService executor
+	 * @author Alan Hsu
+	 */
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" ).invoke( null );
+		} catch( ReflectiveOperationException | RuntimeException e ) {
+			return null;
+		}
+	}
+
+	private static Thread newDaemonThread( Runnable r, String name ) {
+		Thread thread = new Thread( r, name );
+		thread.setDaemon( true );
+		return thread;
+	}
+
+	public int getMaxSessions() {
+		return maxSessions;
+	}
+
+	public long getDeadlineSeconds() {
+		return deadlineSeconds;
+	}
+
+	public void setDeadlineSeconds(long deadlineSeconds) {
+		this.deadlineSeconds = deadlineSeconds;
+	}
+
+	public int getRetries() {
+		return retries;
+	}
+
+	public void setRetries(int retries) {
+		this.retries = retries;
+	}
+
+}
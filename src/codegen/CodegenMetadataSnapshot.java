@@ -0,0 +1,370 @@
+package codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import codegen.CustomCodegen.ColumnInfo;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenMetadataSnapshot<br>
+ *	作 業 名 稱 ：Codegen Metadata Snapshot<br>
+ *	程 式 代 號 ：CodegenMetadataSnapshot.java<br>
+ *	描 述 ：表格資訊(TableInfo/ColumnInfo)的本機二進位快照, 以 資料來源|Schema|表格 為鍵值並記錄DDL指紋<br>
+ *			載入時只建立索引, 表格資訊在取用時才自緩衝區解碼; 記憶體映射只用於離線(offlineSnapshot)的唯讀載入, 需要回寫時讀入記憶體<br>
+ *			欄位的 selfColumnName 不存入快照, 設定自訂查詢欄位(columns)時不使用快照<br>
+ *			檔案格式：MAGIC, VERSION, 筆數, 每筆 [鍵值, 指紋, 內容長度, 內容], 命名轉換筆數, 每筆 [命名規範, 原始名稱, 轉換結果]<br>
+ *			版本1的快照沒有命名轉換區段, 仍可載入<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenMetadataSnapshot {
+
+	private final static int MAGIC = 0x43475336;
+
+	private final static int VERSION = 2;
+
+	/** 版本1沒有命名轉換區段 */
+	private final static int VERSION_WITHOUT_IDENTIFIERS = 1;
+
+	/** 快照內的單一表格, 尚未解碼時只持有緩衝區位置 */
+	static class Entry {
+
+		private final String fingerprint;
+
+		private final ByteBuffer source;
+
+		private final int offset;
+
+		private final int length;
+
+		private TableInfo tableInfo;
+
+		Entry( String fingerprint, ByteBuffer source, int offset, int length ) {
+			this.fingerprint = fingerprint;
+			this.source = source;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		Entry( String fingerprint, TableInfo tableInfo ) {
+			this( fingerprint, null, 0, 0 );
+			this.tableInfo = tableInfo;
+		}
+
+	}
+
+	private final Map<String,Entry> entryMap = new LinkedHashMap<>();
+
+	/** 命名規範 > 原始名稱 > 轉換結果 */
+	private final Map<String,Map<String,String>> identifierMap = new TreeMap<>();
+
+	private boolean modified;
+
+	/**
+	 * load 說明：載入快照檔, 檔案不存在時回傳空快照<br>
+	 * 			唯讀時以記憶體映射載入, 需要回寫時讀入記憶體避免Windows映射中的檔案無法取代; 內容截斷或損毀時拋出IOException<br>
+	 *
+	 * @param Path path
+	 * @param boolean readOnly
+	 * @return CodegenMetadataSnapshot snapshot
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public static CodegenMetadataSnapshot load( Path path, boolean readOnly ) throws IOException {
+		CodegenMetadataSnapshot snapshot = new CodegenMetadataSnapshot();
+		if( path == null || !Files.exists( path ) ) {
+			return snapshot;
+		}
+		ByteBuffer buffer;
+		if( readOnly ) {
+			try( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ ) ) {
+				buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+			}
+		} else {
+			buffer = ByteBuffer.wrap( Files.readAllBytes( path ) );
+		}
+		int version = buffer.remaining() < 12 || buffer.getInt() != MAGIC ? -1 : buffer.getInt();
+		if( version != VERSION && version != VERSION_WITHOUT_IDENTIFIERS ) {
+			System.err.println( "### Metadata snapshot " + path + " is not a valid version " + VERSION + " snapshot, ignored ###");
+			return snapshot;
+		}
+		int count;
+		try {
+			count = buffer.getInt();
+			for( int i = 0; i < count; i++ ) {
+				String key = readString( buffer );
+				String fingerprint = readString( buffer );
+				int length = buffer.getInt();
+				if( length < 0 || length > buffer.remaining() ) {
+					throw new BufferUnderflowException();
+				}
+				int offset = buffer.position();
+				snapshot.entryMap.put( key, new Entry( fingerprint, buffer, offset, length ) );
+				buffer.position( offset + length );
+			}
+			if( version == VERSION ) {
+				int identifiers = buffer.getInt();
+				for( int i = 0; i < identifiers; i++ ) {
+					String mode = readString( buffer );
+					snapshot.identifierMap.computeIfAbsent( mode, k -> new TreeMap<>() ).put( readString( buffer ), readString( buffer ) );
+				}
+			}
+		} catch( RuntimeException e ) {
+			/** BufferUnderflowException, IllegalArgumentException(position), NegativeArraySizeException... */
+			throw new IOException( "Metadata snapshot " + path + " is truncated or corrupted due to " + e, e );
+		}
+		System.out.println( "### Metadata snapshot loaded " + count + " tables from " + path + " ###");
+		return snapshot;
+	}
+
+	/**
+	 * save 說明：寫入快照檔, 先寫暫存檔再取代原檔; 未變更的表格直接複製原內容不重新編碼<br>
+	 *
+	 * @param Path path
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public synchronized void save( Path path ) throws IOException {
+		if( !modified && Files.exists( path ) ) {
+			return;
+		}
+		if( path.getParent() != null ) {
+			Files.createDirectories( path.getParent() );
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream( 64 * 1024 );
+		try( DataOutputStream out = new DataOutputStream( bytes ) ) {
+			out.writeInt( MAGIC );
+			out.writeInt( VERSION );
+			out.writeInt( entryMap.size() );
+			for( Map.Entry<String,Entry> e : entryMap.entrySet() ) {
+				Entry entry = e.getValue();
+				writeString( out, e.getKey() );
+				writeString( out, entry.fingerprint );
+				if( entry.source != null ) {
+					byte[] body = new byte[ entry.length ];
+					ByteBuffer dup = entry.source.duplicate();
+					dup.position( entry.offset );
+					dup.get( body );
+					out.writeInt( body.length );
+					out.write( body );
+				} else {
+					byte[] body = encode( entry.tableInfo );
+					out.writeInt( body.length );
+					out.write( body );
+				}
+			}
+			int identifiers = 0;
+			for( Map<String,String> map : identifierMap.values() ) {
+				identifiers += map.size();
+			}
+			out.writeInt( identifiers );
+			for( Map.Entry<String,Map<String,String>> e : identifierMap.entrySet() ) {
+				for( Map.Entry<String,String> identifier : e.getValue().entrySet() ) {
+					writeString( out, e.getKey() );
+					writeString( out, identifier.getKey() );
+					writeString( out, identifier.getValue() );
+				}
+			}
+		}
+		Path tmp = path.resolveSibling( path.getFileName() + ".tmp" );
+		Files.write( tmp, bytes.toByteArray() );
+		Files.move( tmp, path, StandardCopyOption.REPLACE_EXISTING );
+		modified = false;
+		System.out.println( "### Metadata snapshot saved " + entryMap.size() + " tables to " + path + " ###");
+	}
+
+	/**
+	 * get 說明：取得快照內的表格資訊複本, 指紋不一致時回傳null<br>
+	 * 			fingerprint 為null表示離線模式, 不比對指紋; 快照內的表格資訊由多個執行緒共用, 呼叫端修改複本不影響快照<br>
+	 *
+	 * @param String dataSource
+	 * @param String schema
+	 * @param String tableName
+	 * @param String fingerprint
+	 * @return TableInfo tableInfo
+	 * @author Alan Hsu
+	 */
+	public synchronized TableInfo get( String dataSource, String schema, String tableName, String fingerprint ) {
+		Entry entry = entryMap.get( toKey( dataSource, schema, tableName ) );
+		if( entry == null ) {
+			return null;
+		}
+		if( fingerprint != null && !fingerprint.equals( entry.fingerprint ) ) {
+			return null;
+		}
+		if( entry.tableInfo == null ) {
+			ByteBuffer dup = entry.source.duplicate();
+			dup.position( entry.offset );
+			try {
+				entry.tableInfo = decode( dup );
+			} catch( RuntimeException e ) {
+				/** 損毀的表格視為未快照, 由呼叫端重新取得 */
+				System.err.println( "### Metadata snapshot table " + tableName + " is corrupted due to " + e + ", ignored ###");
+				entryMap.remove( toKey( dataSource, schema, tableName ) );
+				return null;
+			}
+		}
+		return entry.tableInfo.copy();
+	}
+
+	/**
+	 * put 說明：以表格資訊的複本更新快照<br>
+	 *
+	 * @param String dataSource
+	 * @param String schema
+	 * @param String fingerprint
+	 * @param TableInfo tableInfo
+	 * @author Alan Hsu
+	 */
+	public synchronized void put( String dataSource, String schema, String fingerprint, TableInfo tableInfo ) {
+		entryMap.put( toKey( dataSource, schema, tableInfo.getTableName() ), new Entry( fingerprint, tableInfo.copy() ) );
+		modified = true;
+	}
+
+	/**
+	 * getTableNames 說明：取得快照內指定資料來源及Schema的所有表格名稱<br>
+	 *
+	 * @param String dataSource
+	 * @param String schema
+	 * @return List<String> tableNames
+	 * @author Alan Hsu
+	 */
+	public synchronized List<String> getTableNames( String dataSource, String schema ) {
+		String prefix = toKey( dataSource, schema, "" );
+		List<String> tableNames = new ArrayList<>();
+		for( String key : entryMap.keySet() ) {
+			if( key.startsWith( prefix ) ) {
+				tableNames.add( key.substring( prefix.length() ) );
+			}
+		}
+		return tableNames;
+	}
+
+	/**
+	 * getFingerprint 說明：取得快照內表格的DDL指紋<br>
+	 *
+	 * @return String fingerprint
+	 * @author Alan Hsu
+	 */
+	public synchronized String getFingerprint( String dataSource, String schema, String tableName ) {
+		Entry entry = entryMap.get( toKey( dataSource, schema, tableName ) );
+		return entry == null ? null : entry.fingerprint;
+	}
+
+	/**
+	 * loadIdentifiers 說明：將快照內的命名轉換結果載入快取<br>
+	 *
+	 * @param CodegenIdentifierCache cache
+	 * @author Alan Hsu
+	 */
+	public synchronized void loadIdentifiers( CodegenIdentifierCache cache ) {
+		identifierMap.forEach( ( mode, map ) -> map.forEach( ( text, identifier ) -> cache.preload( mode, text, identifier ) ) );
+	}
+
+	/**
+	 * putIdentifiers 說明：將快取內的命名轉換結果加入快照, 有新增項目時才需回寫<br>
+	 *
+	 * @param CodegenIdentifierCache cache
+	 * @author Alan Hsu
+	 */
+	public synchronized void putIdentifiers( CodegenIdentifierCache cache ) {
+		for( String mode : cache.getModes() ) {
+			Map<String,String> map = identifierMap.computeIfAbsent( mode, k -> new TreeMap<>() );
+			cache.forEach( mode, ( text, identifier ) -> {
+				if( !identifier.equals( map.put( text, identifier ) ) ) {
+					modified = true;
+				}
+			} );
+		}
+	}
+
+	public synchronized int size() {
+		return entryMap.size();
+	}
+
+	private static String toKey( String dataSource, String schema, String tableName ) {
+		return ( dataSource == null ? "" : dataSource ) + '|'
+				+ ( schema == null ? "" : schema.toUpperCase() ) + '|' + tableName.toUpperCase();
+	}
+
+	private static byte[] encode( TableInfo tableInfo ) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream( 256 );
+		try( DataOutputStream out = new DataOutputStream( bytes ) ) {
+			writeString( out, tableInfo.getTableName() );
+			out.writeBoolean( tableInfo.getHasPrimaryKey() );
+			out.writeInt( tableInfo.getColumnCount() );
+			Map<String,ColumnInfo> columnMap = tableInfo.getColumns();
+			out.writeInt( columnMap.size() );
+			for( ColumnInfo c : columnMap.values() ) {
+				writeString( out, c.getColumnName() );
+				writeString( out, c.getColumnType() );
+				writeString( out, c.getJavaType() );
+				writeString( out, c.getRemarks() );
+				out.writeBoolean( c.isPrimaryKey() );
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private static TableInfo decode( ByteBuffer buffer ) {
+		TableInfo tableInfo = new TableInfo( readString( buffer ) );
+		tableInfo.setHasPrimaryKey( buffer.get() != 0 );
+		tableInfo.setColumnCount( buffer.getInt() );
+		int size = buffer.getInt();
+		Map<String,ColumnInfo> columnMap = new LinkedHashMap<>();
+		for( int i = 0; i < size; i++ ) {
+			ColumnInfo c = new ColumnInfo();
+			c.setColumnName( readString( buffer ) );
+			c.setColumnType( readString( buffer ) );
+			c.setJavaType( readString( buffer ) );
+			c.setRemarks( readString( buffer ) );
+			c.setPrimaryKey( buffer.get() != 0 );
+			columnMap.put( c.getColumnName(), c );
+		}
+		tableInfo.setColumns( columnMap );
+		return tableInfo;
+	}
+
+	/** 字串以 長度(-1為null) + UTF-8 內容 寫入 */
+	private static void writeString( DataOutputStream out, String str ) throws IOException {
+		if( str == null ) {
+			out.writeInt( -1 );
+			return;
+		}
+		byte[] bytes = str.getBytes( StandardCharsets.UTF_8 );
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	private static String readString( ByteBuffer buffer ) {
+		int length = buffer.getInt();
+		if( length < 0 ) {
+			return null;
+		}
+		if( length > buffer.remaining() ) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[ length ];
+		buffer.get( bytes );
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+}
@@ -0,0 +1,41 @@
+package codegen;
+
+import java.util.List;
+
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenMetadataSource<br>
+ *	作 業 名 稱 ：Codegen Metadata Source<br>
+ *	程 式 代 號 ：CodegenMetadataSource.java<br>
+ *	描 述 ：表格資訊來源, 設定後 getTableInfo 及批次產檔改由此來源取得表格資訊, 不連線資料庫<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public interface CodegenMetadataSource {
+
+	/**
+	 * getTableNames 說明：取得Schema內所有表格名稱<br>
+	 *
+	 * @param String schema
+	 * @return List<String> tableNames
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	public List<String> getTableNames( String schema ) throws Exception;
+
+	/**
+	 * getTableInfo 說明：取得表格資訊, 查無表格時回傳null<br>
+	 *
+	 * @param String schema
+	 * @param String tableName
+	 * @return TableInfo tableInfo
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	public TableInfo getTableInfo( String schema, String tableName ) throws Exception;
+
+}
@@ -0,0 +1,369 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *	作 業 代 碼 ：CodegenMetrics<br>
+ *	作 業 名 稱 ：Codegen Metrics<br>
+ *	程 式 代 號 ：CodegenMetrics.java<br>
+ *	描 述 ：記錄各表格各階段(連線、表格資訊查詢、樣板產製、寫檔)的耗時, 產檔結束時輸出次數、總計、p50、p95及最大值<br>
+ *			執行環境支援JFR時同時送出 codegen.Phase 事件(CodegenPhaseEvent), 不需另外掛載Profiler即可找出耗時的表格<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenMetrics {
+
+	/** 自連線池取得連線 */
+	public final static String CONNECT = "connect";
+
+	/** SELECT ... WHERE 1 = 2 取得欄位型別 */
+	public final static String METADATA_PROBE = "metadata.probe";
+
+	public final static String METADATA_PRIMARY_KEYS = "metadata.primaryKeys";
+
+	public final static String METADATA_COLUMNS = "metadata.columns";
+
+	public final static String METADATA_TABLES = "metadata.tables";
+
+	public final static String METADATA_FINGERPRINT = "metadata.fingerprint";
+
+	/** 以資料字典取得欄位及主鍵 */
+	public final static String METADATA_DICTIONARY = "metadata.dictionary";
+
+	/** 自表格資訊來源(CodegenMetadataSource)取得表格資訊 */
+	public final static String METADATA_SOURCE = "metadata.source";
+
+	/** 產製單一檔案的全部耗時, 後接檔案種類(Entity, IDao, Dao) */
+	public final static String GENERATE = "generate.";
+
+	/** 樣板產製 */
+	public final static String RENDER = "render.";
+
+	/** 建立資料夾、開檔、寫入及關檔, 不含樣板產製 */
+	public final static String WRITE = "write.";
+
+	/** 產檔結束時列出的耗時最多表格數 */
+	public final static int DEFAULT_SUMMARY_TABLES = 10;
+
+	private final static EventSink EVENT_SINK = loadEventSink();
+
+	/** 表格名稱 > 階段 > 耗時 */
+	private final Map<String,Map<String,Timings>> tableMap = new ConcurrentHashMap<>();
+
+	/** 記錄耗時並回傳結果的作業 */
+	@FunctionalInterface
+	public interface TimedCall<T, E extends Exception> {
+		public T call() throws E;
+	}
+
+	/** 記錄耗時的作業 */
+	@FunctionalInterface
+	public interface TimedRun<E extends Exception> {
+		public void run() throws E;
+	}
+
+	/**
+	 * start 說明：開始記錄階段耗時, 於close時記錄; 不需讀取耗時時以 time / timeRun 包裝作業<br>
+	 *
+	 * @param String table
+	 * @param String phase
+	 * @return Span span
+	 * @author Alan Hsu
+	 */
+	public Span start( String table, String phase ) {
+		return new Span( table == null ? "" : table, phase );
+	}
+
+	/**
+	 * time 說明：執行作業並記錄階段耗時, 作業失敗時同樣記錄<br>
+	 *
+	 * @param String table
+	 * @param String phase
+	 * @param TimedCall<T,E> call
+	 * @return T result
+	 * @author Alan Hsu
+	 * @throws E
+	 */
+	public <T, E extends Exception> T time( String table, String phase, TimedCall<T,E> call ) throws E {
+		Span span = start( table, phase );
+		try {
+			return call.call();
+		} finally {
+			span.close();
+		}
+	}
+
+	/**
+	 * timeRun 說明：執行無回傳值的作業並記錄階段耗時<br>
+	 *
+	 * @param String table
+	 * @param String phase
+	 * @param TimedRun<E> run
+	 * @author Alan Hsu
+	 * @throws E
+	 */
+	public <E extends Exception> void timeRun( String table, String phase, TimedRun<E> run ) throws E {
+		Span span = start( table, phase );
+		try {
+			run.run();
+		} finally {
+			span.close();
+		}
+	}
+
+	/**
+	 * record 說明：記錄一次階段耗時<br>
+	 *
+	 * @param String table
+	 * @param String phase
+	 * @param long nanos
+	 * @author Alan Hsu
+	 */
+	public void record( String table, String phase, long nanos ) {
+		Map<String,Timings> phaseMap = tableMap.get( table );
+		if( phaseMap == null ) {
+			phaseMap = tableMap.computeIfAbsent( table, k -> new ConcurrentHashMap<>() );
+		}
+		Timings timings = phaseMap.get( phase );
+		if( timings == null ) {
+			timings = phaseMap.computeIfAbsent( phase, k -> new Timings() );
+		}
+		timings.add( nanos );
+	}
+
+	public boolean isEmpty() {
+		return tableMap.isEmpty();
+	}
+
+	public void clear() {
+		tableMap.clear();
+	}
+
+	/**
+	 * getSummary 說明：取得各階段(所有表格合計)及耗時最多的表格各階段的次數、總計、p50、p95及最大值(毫秒)<br>
+	 *
+	 * @param int maxTables 列出的表格數
+	 * @return String summary
+	 * @author Alan Hsu
+	 */
+	public String getSummary( int maxTables ) {
+		String nl = System.lineSeparator();
+		StringBuilder sb = new StringBuilder();
+		sb.append( formatRow( "Table", "Phase", "Count", "Total(ms)", "p50(ms)", "p95(ms)", "Max(ms)" ) ).append( nl );
+
+		Map<String,Timings> allMap = new TreeMap<>();
+		tableMap.values().forEach( phaseMap -> phaseMap.forEach(
+				( phase, timings ) -> allMap.computeIfAbsent( phase, k -> new Timings() ).addAll( timings ) ) );
+		allMap.forEach( ( phase, timings ) -> sb.append( formatRow( "*", phase, timings ) ).append( nl ) );
+
+		List<String> tableList = new ArrayList<>( tableMap.keySet() );
+		tableList.sort( Comparator.comparingLong( this::getTableTotal ).reversed() );
+		for( String table : tableList.subList( 0, Math.min( maxTables, tableList.size() ) ) ) {
+			new TreeMap<>( tableMap.get( table ) ).forEach(
+					( phase, timings ) -> sb.append( formatRow( table, phase, timings ) ).append( nl ) );
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * writeReport 說明：以CSV輸出所有表格各階段的耗時統計(毫秒)<br>
+	 *
+	 * @param Path path
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void writeReport( Path path ) throws IOException {
+		if( path.toAbsolutePath().getParent() != null ) {
+			Files.createDirectories( path.toAbsolutePath().getParent() );
+		}
+		try( Writer out = Files.newBufferedWriter( path, StandardCharsets.UTF_8 ) ) {
+			out.write( "table,phase,count,totalMs,p50Ms,p95Ms,maxMs" );
+			out.write( System.lineSeparator() );
+			for( Map.Entry<String,Map<String,Timings>> entry : new TreeMap<>( tableMap ).entrySet() ) {
+				for( Map.Entry<String,Timings> phase : new TreeMap<>( entry.getValue() ).entrySet() ) {
+					long[] sorted = phase.getValue().toSortedArray();
+					out.write( String.format( Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f", entry.getKey(), phase.getKey(), sorted.length,
+							toMillis( sum( sorted ) ), toMillis( percentile( sorted, 50 ) ), toMillis( percentile( sorted, 95 ) ),
+							toMillis( sorted[ sorted.length - 1 ] ) ) );
+					out.write( System.lineSeparator() );
+				}
+			}
+		}
+	}
+
+	private long getTableTotal( String table ) {
+		long total = 0;
+		for( Map.Entry<String,Timings> entry : tableMap.get( table ).entrySet() ) {
+			/** 單一檔案的產製已包含樣板產製及寫檔, 只計算一次 */
+			if( !entry.getKey().startsWith( RENDER ) && !entry.getKey().startsWith( WRITE ) ) {
+				total += sum( entry.getValue().toSortedArray() );
+			}
+		}
+		return total;
+	}
+
+	private static String formatRow( String table, String phase, Timings timings ) {
+		long[] sorted = timings.toSortedArray();
+		return formatRow( table, phase, String.valueOf( sorted.length ),
+				String.format( Locale.ROOT, "%.3f", toMillis( sum( sorted ) ) ),
+				String.format( Locale.ROOT, "%.3f", toMillis( percentile( sorted, 50 ) ) ),
+				String.format( Locale.ROOT, "%.3f", toMillis( percentile( sorted, 95 ) ) ),
+				String.format( Locale.ROOT, "%.3f", toMillis( sorted[ sorted.length - 1 ] ) ) );
+	}
+
+	private static String formatRow( String table, String phase, String count, String total, String p50, String p95, String max ) {
+		return String.format( Locale.ROOT, "%-30s %-22s %7s %12s %10s %10s %10s", table, phase, count, total, p50, p95, max );
+	}
+
+	/**
+	 * percentile 說明：以最近排名法取得百分位數<br>
+	 *
+	 * @param long[] sorted 已排序的耗時
+	 * @param int percent
+	 * @return long nanos
+	 * @author Alan Hsu
+	 */
+	private static long percentile( long[] sorted, int percent ) {
+		int rank = (int) Math.ceil( percent / 100d * sorted.length );
+		return sorted[ Math.max( 0, rank - 1 ) ];
+	}
+
+	private static long sum( long[] values ) {
+		long total = 0;
+		for( long value : values ) {
+			total += value;
+		}
+		return total;
+	}
+
+	private static double toMillis( long nanos ) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos( 1 );
+	}
+
+	/**
+	 * loadEventSink 說明：執行環境有JFR時載入CodegenPhaseEvent, 否則不送出事件<br>
+	 *
+	 * @return EventSink sink
+	 * @author Alan Hsu
+	 */
+	private static EventSink loadEventSink() {
+		try {
+			Class.forName( "jdk.jfr.Event" );
+			return (EventSink) Class.forName( "codegen.CodegenPhaseEvent" ).getMethod( "newEventSink" ).invoke( null );
+		} catch( Throwable e ) {
+			return null;
+		}
+	}
+
+	/**
+	 * 單一表格單一階段的耗時(奈秒)
+	 */
+	private static class Timings {
+
+		private long[] values = new long[ 4 ];
+
+		private int size;
+
+		synchronized void add( long nanos ) {
+			if( size == values.length ) {
+				values = Arrays.copyOf( values, size * 2 );
+			}
+			values[ size++ ] = nanos;
+		}
+
+		void addAll( Timings other ) {
+			for( long nanos : other.toSortedArray() ) {
+				add( nanos );
+			}
+		}
+
+		synchronized long[] toSortedArray() {
+			long[] sorted = Arrays.copyOf( values, size );
+			Arrays.sort( sorted );
+			return sorted;
+		}
+
+	}
+
+	/**
+	 * 送出JFR事件, 由CodegenPhaseEvent實作
+	 */
+	public interface EventSink {
+
+		/**
+		 * begin 說明：開始事件, JFR未記錄此事件時回傳null<br>
+		 *
+		 * @param String table
+		 * @param String phase
+		 * @return Object event
+		 * @author Alan Hsu
+		 */
+		Object begin( String table, String phase );
+
+		void commit( Object event );
+
+	}
+
+	/**
+	 * 單一階段的計時, close時記錄耗時並送出JFR事件
+	 */
+	public class Span implements AutoCloseable {
+
+		private final String table;
+
+		private final String phase;
+
+		private final Object event;
+
+		private final long start;
+
+		private long elapsed = -1;
+
+		private Span( String table, String phase ) {
+			this.table = table;
+			this.phase = phase;
+			this.event = EVENT_SINK == null ? null : EVENT_SINK.begin( table, phase );
+			this.start = System.nanoTime();
+		}
+
+		@Override
+		public void close() {
+			if( elapsed >= 0 ) {
+				return;
+			}
+			elapsed = System.nanoTime() - start;
+			record( table, phase, elapsed );
+			if( event != null ) {
+				EVENT_SINK.commit( event );
+			}
+		}
+
+		/**
+		 * getElapsedNanos 說明：取得耗時, 尚未close時為目前已經過的時間<br>
+		 *
+		 * @return long nanos
+		 * @author Alan Hsu
+		 */
+		public long getElapsedNanos() {
+			return elapsed >= 0 ? elapsed : System.nanoTime() - start;
+		}
+
+	}
+
+}
@@ -0,0 +1,151 @@
+package codegen;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ *	作 業 代 碼 ：CodegenMySQLDictionaryReader<br>
+ *	作 業 名 稱 ：Codegen MySQL Dictionary Reader<br>
+ *	程 式 代 號 ：CodegenMySQLDictionaryReader.java<br>
+ *	描 述 ：以 information_schema.COLUMNS 及 KEY_COLUMN_USAGE 取得表格資訊, 每次只掃描一個Schema<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenMySQLDictionaryReader extends CodegenDictionaryReader {
+
+	@Override
+	protected String getColumnSql( List<String> inList ) {
+		return "SELECT TABLE_NAME, COLUMN_NAME, COLUMN_COMMENT, DATA_TYPE, COLUMN_TYPE FROM information_schema.COLUMNS"
+				+ " WHERE TABLE_SCHEMA = COALESCE( ?, DATABASE() )" + toInClause( "TABLE_NAME", inList )
+				+ " ORDER BY TABLE_NAME, ORDINAL_POSITION";
+	}
+
+	@Override
+	protected String getPrimaryKeySql( List<String> inList ) {
+		return "SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE"
+				+ " WHERE TABLE_SCHEMA = COALESCE( ?, DATABASE() ) AND CONSTRAINT_NAME = 'PRIMARY'" + toInClause( "TABLE_NAME", inList );
+	}
+
+	/**
+	 * getColumnType 說明：同 Connector/J 的 TYPE_NAME, 例如 VARCHAR, INT UNSIGNED<br>
+	 *
+	 * @param String dataType DATA_TYPE
+	 * @param String fullType COLUMN_TYPE
+	 * @return String columnType
+	 * @author Alan Hsu
+	 */
+	@Override
+	protected String getColumnType( String dataType, String fullType ) {
+		return dataType.toUpperCase() + ( fullType.toLowerCase().contains( "unsigned" ) ? " UNSIGNED" : "" );
+	}
+
+	@Override
+	protected String getColumnType( ResultSet rs ) throws SQLException {
+		return getColumnType( rs.getString( 4 ), rs.getString( 5 ) );
+	}
+
+	@Override
+	protected int getSqlType( ResultSet rs ) throws SQLException {
+		return getSqlType( rs.getString( 4 ), rs.getString( 5 ) );
+	}
+
+	@Override
+	protected int getColumnSize( ResultSet rs ) throws SQLException {
+		return getColumnSize( rs.getString( 4 ), rs.getString( 5 ) );
+	}
+
+	/**
+	 * getColumnSize 說明：BIT(n) 的位元數, 同 Connector/J 的 COLUMN_SIZE, 未指定長度時為1<br>
+	 *
+	 * @param String dataType DATA_TYPE
+	 * @param String fullType COLUMN_TYPE
+	 * @return int columnSize
+	 * @author Alan Hsu
+	 */
+	@Override
+	protected int getColumnSize( String dataType, String fullType ) {
+		if( !"bit".equalsIgnoreCase( dataType ) ) {
+			return 0;
+		}
+		int start = fullType.indexOf( '(' );
+		int end = fullType.indexOf( ')', start + 1 );
+		if( start < 0 || end < 0 ) {
+			return 1;
+		}
+		try {
+			return Integer.parseInt( fullType.substring( start + 1, end ).trim() );
+		} catch( NumberFormatException e ) {
+			return 1;
+		}
+	}
+
+	/**
+	 * getSqlType 說明：DATA_TYPE 對應 java.sql.Types, 同 Connector/J 預設連線參數(tinyInt1isBit, yearIsDateType)的對應方式<br>
+	 *
+	 * @param String dataType DATA_TYPE
+	 * @param String fullType COLUMN_TYPE
+	 * @return int sqlType
+	 * @author Alan Hsu
+	 */
+	@Override
+	protected int getSqlType( String dataType, String fullType ) {
+		switch( dataType.toLowerCase() ) {
+			case "char":
+			case "enum":
+			case "set":
+				return Types.CHAR;
+			case "varchar":
+				return Types.VARCHAR;
+			case "tinytext":
+			case "text":
+			case "mediumtext":
+			case "longtext":
+			case "json":
+				return Types.LONGVARCHAR;
+			case "tinyint":
+				return fullType.toLowerCase().startsWith( "tinyint(1)" ) ? Types.BIT : Types.TINYINT;
+			case "smallint":
+				return Types.SMALLINT;
+			case "mediumint":
+			case "int":
+			case "integer":
+				return Types.INTEGER;
+			case "bigint":
+				return Types.BIGINT;
+			case "decimal":
+			case "numeric":
+				return Types.DECIMAL;
+			case "float":
+				return Types.REAL;
+			case "double":
+				return Types.DOUBLE;
+			case "bit":
+				return Types.BIT;
+			case "date":
+			case "year":
+				return Types.DATE;
+			case "datetime":
+			case "timestamp":
+				return Types.TIMESTAMP;
+			case "time":
+				return Types.TIME;
+			case "binary":
+				return Types.BINARY;
+			case "varbinary":
+			case "tinyblob":
+				return Types.VARBINARY;
+			case "blob":
+			case "mediumblob":
+			case "longblob":
+				return Types.LONGVARBINARY;
+			default:
+				return Types.OTHER;
+		}
+	}
+
+}
@@ -0,0 +1,220 @@
+package codegen;
+
+import java.util.Locale;
+
+/**
+ *	作 業 代 碼 ：CodegenNaming<br>
+ *	作 業 名 稱 ：Codegen Naming<br>
+ *	程 式 代 號 ：CodegenNaming.java<br>
+ *	描 述 ：命名轉換, 單次掃描字元陣列完成斷字及大小寫轉換, 只配置最後結果字串<br>
+ *			斷字規則與原 split("[\\W_]+") 相同：英數字以外的字元及底線皆視為分隔, 開頭為分隔時第一個字視為空字串<br>
+ *			字串含需轉換大小寫的非ASCII字元, 或預設語系大小寫規則特殊(tr, az, lt)時, 改用String原方法確保結果一致<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public final class CodegenNaming {
+
+	/** 每條執行緒重複使用的轉換緩衝區初始大小, 超過時擴充 */
+	private final static int BUFFER_SIZE = 64;
+
+	private final static ThreadLocal<char[][]> BUFFERS = ThreadLocal.withInitial( () -> new char[][] { new char[ BUFFER_SIZE ] } );
+
+	private CodegenNaming() {}
+
+	/**
+	 * toCamelCase 說明：轉駝峰命名(E.g. camelCase), 第一個字轉小寫, 其餘各字字首大寫<br>
+	 *
+	 * @param String text
+	 * @return String camel
+	 * @author Alan Hsu
+	 */
+	public static String toCamelCase( String text ) {
+		return isSpecialLocale() ? splitCase( text, false ) : joinWords( text, false );
+	}
+
+	/**
+	 * toPascalCase 說明：轉帕斯卡命名(E.g. PascalCase), 各字字首大寫<br>
+	 *
+	 * @param String text
+	 * @return String pascal
+	 * @author Alan Hsu
+	 */
+	public static String toPascalCase( String text ) {
+		return isSpecialLocale() ? splitCase( text, true ) : joinWords( text, true );
+	}
+
+	/**
+	 * toSnakeCase 說明：全部轉小寫<br>
+	 *
+	 * @param String text
+	 * @return String text
+	 * @author Alan Hsu
+	 */
+	public static String toSnakeCase( String text ) {
+		if( isSpecialLocale() || !isAscii( text ) ) {
+			return text.toLowerCase();
+		}
+		int length = text.length();
+		int i = 0;
+		while( i < length && !isAsciiUpper( text.charAt( i ) ) ) {
+			i++;
+		}
+		if( i == length ) {
+			return text;
+		}
+		char[] buffer = getBuffer( length );
+		text.getChars( 0, length, buffer, 0 );
+		for( ; i < length; i++ ) {
+			buffer[i] = toAsciiLower( buffer[i] );
+		}
+		return new String( buffer, 0, length );
+	}
+
+	/**
+	 * capitalizeFirst 說明：字首轉大寫,其餘轉小寫<br>
+	 *
+	 * @param String word
+	 * @return String word
+	 * @author Alan Hsu
+	 */
+	public static String capitalizeFirst( String word ) {
+		if( word.isEmpty() || isSpecialLocale() || !isAscii( word ) ) {
+			return word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase();
+		}
+		return capitalize( word, true );
+	}
+
+	/**
+	 * capitalizeOnlyFirst 說明：只將字首轉大寫<br>
+	 *
+	 * @param String word
+	 * @return String word
+	 * @author Alan Hsu
+	 */
+	public static String capitalizeOnlyFirst( String word ) {
+		if( word.isEmpty() || isSpecialLocale() || word.charAt( 0 ) >= 0x80 ) {
+			return word.substring(0, 1).toUpperCase() + word.substring(1);
+		}
+		return capitalize( word, false );
+	}
+
+	/**
+	 * joinWords 說明：單次掃描斷字並轉換大小寫, 分隔字元直接略過<br>
+	 *
+	 * @param String text
+	 * @param boolean pascal 第一個字是否字首大寫
+	 * @return String result
+	 * @author Alan Hsu
+	 */
+	private static String joinWords( String text, boolean pascal ) {
+		int length = text.length();
+		char[] buffer = getBuffer( length );
+		int size = 0;
+		boolean firstWord = true;
+		boolean wordStart = true;
+		for( int i = 0; i < length; i++ ) {
+			char c = text.charAt( i );
+			if( !isWordChar( c ) ) {
+				firstWord = false;
+				wordStart = true;
+				continue;
+			}
+			buffer[ size++ ] = wordStart && ( pascal || !firstWord ) ? toAsciiUpper( c ) : toAsciiLower( c );
+			wordStart = false;
+		}
+		return sameChars( text, buffer, size ) ? text : new String( buffer, 0, size );
+	}
+
+	private static String capitalize( String word, boolean lowerRest ) {
+		int length = word.length();
+		char[] buffer = getBuffer( length );
+		word.getChars( 0, length, buffer, 0 );
+		buffer[0] = toAsciiUpper( buffer[0] );
+		if( lowerRest ) {
+			for( int i = 1; i < length; i++ ) {
+				buffer[i] = toAsciiLower( buffer[i] );
+			}
+		}
+		return sameChars( word, buffer, length ) ? word : new String( buffer, 0, length );
+	}
+
+	/**
+	 * splitCase 說明：原 split 斷字實作, 供大小寫規則特殊的預設語系使用<br>
+	 *
+	 * @param String text
+	 * @param boolean pascal
+	 * @return String result
+	 * @author Alan Hsu
+	 */
+	private static String splitCase( String text, boolean pascal ) {
+		String[] words = text.split("[\\W_]+");
+
+		StringBuilder sb = new StringBuilder();
+		for( int i = 0; i < words.length; i++ ) {
+			String word = words[i];
+			if( i == 0 ) {
+				word = word.isEmpty() ? word : pascal ? capitalizeFirst( word ) : word.toLowerCase();
+			} else {
+				word = word.isEmpty() ? word : Character.toUpperCase( word.charAt(0) ) + word.substring(1).toLowerCase();
+			}
+			sb.append( word );
+		}
+		return sb.toString();
+	}
+
+	private static boolean sameChars( String text, char[] buffer, int size ) {
+		if( text.length() != size ) {
+			return false;
+		}
+		for( int i = 0; i < size; i++ ) {
+			if( text.charAt( i ) != buffer[i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char[] getBuffer( int length ) {
+		char[][] holder = BUFFERS.get();
+		if( holder[0].length < length ) {
+			holder[0] = new char[ Math.max( length, holder[0].length * 2 ) ];
+		}
+		return holder[0];
+	}
+
+	/** 與正規表示式 \w 相同, 只含ASCII英數字及底線, 此處底線亦為分隔 */
+	private static boolean isWordChar( char c ) {
+		return ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' ) || ( c >= '0' && c <= '9' );
+	}
+
+	private static boolean isAscii( String text ) {
+		for( int i = 0, n = text.length(); i < n; i++ ) {
+			if( text.charAt( i ) >= 0x80 ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAsciiUpper( char c ) {
+		return c >= 'A' && c <= 'Z';
+	}
+
+	private static char toAsciiUpper( char c ) {
+		return c >= 'a' && c <= 'z' ? (char) ( c - 32 ) : c;
+	}
+
+	private static char toAsciiLower( char c ) {
+		return c >= 'A' && c <= 'Z' ? (char) ( c + 32 ) : c;
+	}
+
+	/** String.toLowerCase 對 tr, az, lt 語系的 I 及 i 有特殊轉換 */
+	private static boolean isSpecialLocale() {
+		String language = Locale.getDefault().getLanguage();
+		return "tr".equals( language ) || "az".equals( language ) || "lt".equals( language );
+	}
+
+}
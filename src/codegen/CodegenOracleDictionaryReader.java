@@ -0,0 +1,113 @@
+package codegen;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ *	作 業 代 碼 ：CodegenOracleDictionaryReader<br>
+ *	作 業 名 稱 ：Codegen Oracle Dictionary Reader<br>
+ *	程 式 代 號 ：CodegenOracleDictionaryReader.java<br>
+ *	描 述 ：以 ALL_TAB_COLUMNS, ALL_COL_COMMENTS 及 ALL_CONSTRAINTS/ALL_CONS_COLUMNS 取得表格資訊<br>
+ *			不需開啟 remarksReporting 即可取得欄位備註<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenOracleDictionaryReader extends CodegenDictionaryReader {
+
+	@Override
+	protected String getColumnSql( List<String> inList ) {
+		return "SELECT c.TABLE_NAME, c.COLUMN_NAME, m.COMMENTS, c.DATA_TYPE FROM ALL_TAB_COLUMNS c"
+				+ " LEFT JOIN ALL_COL_COMMENTS m ON m.OWNER = c.OWNER AND m.TABLE_NAME = c.TABLE_NAME AND m.COLUMN_NAME = c.COLUMN_NAME"
+				+ " WHERE c.OWNER = COALESCE( ?, USER )" + toInClause( "c.TABLE_NAME", inList )
+				+ " ORDER BY c.TABLE_NAME, c.COLUMN_ID";
+	}
+
+	@Override
+	protected String getPrimaryKeySql( List<String> inList ) {
+		return "SELECT cc.TABLE_NAME, cc.COLUMN_NAME FROM ALL_CONSTRAINTS k"
+				+ " JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = k.OWNER AND cc.CONSTRAINT_NAME = k.CONSTRAINT_NAME AND cc.TABLE_NAME = k.TABLE_NAME"
+				+ " WHERE k.CONSTRAINT_TYPE = 'P' AND k.OWNER = COALESCE( ?, USER )" + toInClause( "k.TABLE_NAME", inList );
+	}
+
+	@Override
+	protected String getColumnType( ResultSet rs ) throws SQLException {
+		return getColumnType( rs.getString( 4 ), rs.getString( 4 ) );
+	}
+
+	@Override
+	protected int getSqlType( ResultSet rs ) throws SQLException {
+		return getSqlType( rs.getString( 4 ), rs.getString( 4 ) );
+	}
+
+	@Override
+	protected String getColumnType( String dataType, String fullType ) {
+		return dataType;
+	}
+
+	/**
+	 * getSqlType 說明：DATA_TYPE 對應 java.sql.Types, 同 ojdbc 的對應方式<br>
+	 * 				TIMESTAMP(6), TIMESTAMP(6) WITH TIME ZONE 等含精度的型別以開頭判斷<br>
+	 *
+	 * @param String dataType
+	 * @param String fullType
+	 * @return int sqlType
+	 * @author Alan Hsu
+	 */
+	@Override
+	protected int getSqlType( String dataType, String fullType ) {
+		switch( dataType ) {
+			case "CHAR":
+				return Types.CHAR;
+			case "NCHAR":
+				return Types.NCHAR;
+			case "VARCHAR2":
+				return Types.VARCHAR;
+			case "NVARCHAR2":
+				return Types.NVARCHAR;
+			case "LONG":
+				return Types.LONGVARCHAR;
+			case "CLOB":
+				return Types.CLOB;
+			case "NCLOB":
+				return Types.NCLOB;
+			case "NUMBER":
+				return Types.DECIMAL;
+			case "FLOAT":
+				return Types.FLOAT;
+			case "BINARY_FLOAT":
+				return Types.REAL;
+			case "BINARY_DOUBLE":
+				return Types.DOUBLE;
+			case "DATE":
+				return Types.DATE;
+			case "RAW":
+				return Types.VARBINARY;
+			case "LONG RAW":
+				return Types.LONGVARBINARY;
+			case "BLOB":
+				return Types.BLOB;
+			default:
+				if( dataType.startsWith( "TIMESTAMP" ) ) {
+					return dataType.endsWith( " WITH TIME ZONE" ) ? Types.TIMESTAMP_WITH_TIMEZONE : Types.TIMESTAMP;
+				}
+				return Types.OTHER;
+		}
+	}
+
+	@Override
+	protected String toSchema( String schema ) {
+		String owner = super.toSchema( schema );
+		return owner == null ? null : owner.toUpperCase();
+	}
+
+	@Override
+	protected String toTableName( String tableName ) {
+		return tableName.toUpperCase();
+	}
+
+}
@@ -0,0 +1,60 @@
+package codegen;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ *	作 業 代 碼 ：CodegenOutputSink<br>
+ *	作 業 名 稱 ：Codegen Output Sink<br>
+ *	程 式 代 號 ：CodegenOutputSink.java<br>
+ *	描 述 ：產製檔案的輸出位置, 預設為資料夾(CodegenDirectorySink)<br>
+ *			可改為單一ZIP/JAR壓縮檔(CodegenZipSink)或記憶體(CodegenMemorySink), 以 setOutputSink 於每次產檔設定<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public interface CodegenOutputSink extends Closeable {
+
+	/**
+	 * write 說明：輸出產製檔案, 可由多條執行緒同時呼叫<br>
+	 *
+	 * @param Path file 輸出至資料夾時的檔案位置
+	 * @param SourceRenderer renderer
+	 * @return boolean 是否寫入, 增量產檔內容未變更時為false
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public boolean write( Path file, SourceRenderer renderer ) throws IOException;
+
+	/**
+	 * close 說明：產檔結束, 完成所有輸出<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	@Override
+	public default void close() throws IOException {}
+
+	/**
+	 * toEntryName 說明：取得檔案相對於根目錄的名稱, 以 / 分隔; 不在根目錄下時只取檔案名稱<br>
+	 *
+	 * @param Path root 根目錄, 可為null
+	 * @param Path file
+	 * @return String entryName
+	 * @author Alan Hsu
+	 */
+	public static String toEntryName( Path root, Path file ) {
+		Path normalized = file.toAbsolutePath().normalize();
+		Path base = root == null ? null : root.toAbsolutePath().normalize();
+		Path entry = base != null && normalized.startsWith( base ) ? base.relativize( normalized ) : normalized.getFileName();
+		StringBuilder sb = new StringBuilder();
+		for( Path name : entry ) {
+			sb.append( sb.length() == 0 ? "" : "/" ).append( name );
+		}
+		return sb.toString();
+	}
+
+}
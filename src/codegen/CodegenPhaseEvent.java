@@ -0,0 +1,67 @@
+package codegen;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ *	作 業 代 碼 ：CodegenPhaseEvent<br>
+ *	作 業 名 稱 ：Codegen Phase Event<br>
+ *	程 式 代 號 ：CodegenPhaseEvent.java<br>
+ *	描 述 ：產檔階段的JFR事件(codegen.Phase), 記錄表格名稱、階段及耗時<br>
+ *			需以含jdk.jfr的JDK(8u262以上)編譯, 執行環境沒有JFR時CodegenMetrics不載入此類別<br>
+ *			例：java -XX:StartFlightRecording=filename=codegen.jfr ... 後以 jfr print --events codegen.Phase codegen.jfr 查看<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+@Name( "codegen.Phase" )
+@Label( "Codegen Phase" )
+@Category( "Codegen" )
+@Description( "Duration of one codegen phase (connect, metadata query, render, write) for one table" )
+public class CodegenPhaseEvent extends Event {
+
+	@Label( "Table" )
+	String table;
+
+	@Label( "Phase" )
+	String phase;
+
+	/**
+	 * newEventSink 說明：取得送出此事件的EventSink, 由CodegenMetrics以反射呼叫<br>
+	 *
+	 * @return CodegenMetrics.EventSink sink
+	 * @author Alan Hsu
+	 */
+	public static CodegenMetrics.EventSink newEventSink() {
+		return new CodegenMetrics.EventSink() {
+
+			@Override
+			public Object begin( String table, String phase ) {
+				CodegenPhaseEvent event = new CodegenPhaseEvent();
+				if( !event.isEnabled() ) {
+					return null;
+				}
+				event.table = table;
+				event.phase = phase;
+				event.begin();
+				return event;
+			}
+
+			@Override
+			public void commit( Object event ) {
+				CodegenPhaseEvent phaseEvent = (CodegenPhaseEvent) event;
+				phaseEvent.end();
+				if( phaseEvent.shouldCommit() ) {
+					phaseEvent.commit();
+				}
+			}
+
+		};
+	}
+
+}
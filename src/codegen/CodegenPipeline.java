@@ -0,0 +1,404 @@
+package codegen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import codegen.CustomCodegen.Artifact;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenPipeline<br>
+ *	作 業 名 稱 ：Codegen Pipeline<br>
+ *	程 式 代 號 ：CodegenPipeline.java<br>
+ *	描 述 ：分階段產製大量表格, 取得表格資訊(單一執行緒, 每次查詢一批表格) > 產製原始碼(多條執行緒) > 寫檔(多條執行緒)<br>
+ *			各階段以有上限的佇列串接, 下一階段來不及處理時前一階段等待, 同時存在的表格資訊最多為 批次表格數 + 兩個佇列容量 + 執行緒數<br>
+ *			每個表格以 copySetting 取得各自的Codegen, 寫檔後即釋放表格資訊及原始碼<br>
+ *			佇列的最大深度及各階段的等待時間於結束時輸出, 供調整執行緒數及佇列容量<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenPipeline {
+
+	public final static int DEFAULT_QUEUE_CAPACITY = 64;
+
+	/** 每次查詢表格資訊的表格數, 不超過資料字典 IN 條件的上限 */
+	public final static int DEFAULT_CHUNK_SIZE = 200;
+
+	public final static int DEFAULT_WRITER_THREADS = 2;
+
+	/** 佇列結束標記 */
+	private final static TableInfo END_OF_TABLES = new TableInfo();
+
+	private final static RenderedTable END_OF_SOURCES = new RenderedTable( null, null );
+
+	/** 已產製原始碼, 待寫檔的表格 */
+	private static class RenderedTable {
+
+		private final CustomCodegen gen;
+
+		private final Map<Artifact,String> sourceMap;
+
+		RenderedTable( CustomCodegen gen, Map<Artifact,String> sourceMap ) {
+			this.gen = gen;
+			this.sourceMap = sourceMap;
+		}
+
+	}
+
+	/** 產檔設定, 各表格以 copySetting 取得各自的Codegen */
+	private final CustomCodegen setting;
+
+	private int renderThreads;
+
+	private int writerThreads = DEFAULT_WRITER_THREADS;
+
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/** 待產製原始碼的表格資訊 */
+	private BlockingQueue<TableInfo> metadataQueue;
+
+	/** 待寫檔的原始碼 */
+	private BlockingQueue<RenderedTable> sourceQueue;
+
+	private final AtomicInteger maxMetadataQueueDepth = new AtomicInteger();
+
+	private final AtomicInteger maxSourceQueueDepth = new AtomicInteger();
+
+	/** 表格資訊佇列已滿, 取得表格資訊的執行緒等待的時間 */
+	private final LongAdder metadataBlockedNanos = new LongAdder();
+
+	/** 原始碼佇列已滿, 產製原始碼的執行緒等待的時間 */
+	private final LongAdder renderBlockedNanos = new LongAdder();
+
+	/** 原始碼佇列為空, 寫檔的執行緒等待的時間 */
+	private final LongAdder writerIdleNanos = new LongAdder();
+
+	private final AtomicInteger successCount = new AtomicInteger();
+
+	private final List<String> failedList = Collections.synchronizedList( new ArrayList<>() );
+
+	private int tableCount;
+
+	public CodegenPipeline( CustomCodegen setting ) {
+		this.setting = setting;
+		this.renderThreads = setting.getBatchThreads();
+	}
+
+	/**
+	 * run 說明：產製Schema內符合規則的所有表格, 有表格失敗時不刪除增量產檔的舊檔<br>
+	 *
+	 * @return boolean 是否所有表格皆成功
+	 * @author Alan Hsu
+	 * @throws InterruptedException
+	 */
+	public boolean run() throws InterruptedException {
+		List<String> tableNames = setting.getSchemaTableNames();
+		if( tableNames == null ) {
+			System.err.println( "### Codegen pipeline terminated due to exception ###");
+			return false;
+		}
+		if( tableNames.isEmpty() ) {
+			System.err.println( "### No table matched in schema " + setting.getTableSchema() + " ###");
+			return true;
+		}
+		tableCount = tableNames.size();
+		int renderers = Math.max( 1, renderThreads );
+		int writers = Math.max( 1, writerThreads );
+		metadataQueue = new ArrayBlockingQueue<>( Math.max( 1, queueCapacity ) );
+		sourceQueue = new ArrayBlockingQueue<>( Math.max( 1, queueCapacity ) );
+		System.out.println( "### Codegen pipeline started, Tables:" + tableCount + " renderers:" + renderers + " writers:" + writers
+				+ " queue:" + queueCapacity + " chunk:" + chunkSize + " ###");
+
+		ExecutorService executor = Executors.newFixedThreadPool( 1 + renderers + writers );
+		CompletionService<Void> completionService = new ExecutorCompletionService<>( executor );
+		completionService.submit( () -> {
+			try {
+				produce( tableNames );
+			} finally {
+				for( int i = 0; i < renderers; i++ ) {
+					metadataQueue.put( END_OF_TABLES );
+				}
+			}
+			return null;
+		} );
+		AtomicInteger activeRenderers = new AtomicInteger( renderers );
+		for( int i = 0; i < renderers; i++ ) {
+			completionService.submit( () -> {
+				try {
+					render();
+				} finally {
+					if( activeRenderers.decrementAndGet() == 0 ) {
+						for( int j = 0; j < writers; j++ ) {
+							sourceQueue.put( END_OF_SOURCES );
+						}
+					}
+				}
+				return null;
+			} );
+		}
+		for( int i = 0; i < writers; i++ ) {
+			completionService.submit( () -> {
+				write();
+				return null;
+			} );
+		}
+		executor.shutdown();
+
+		/** 任一階段非預期結束時中止其餘階段, 避免前後階段永久等待 */
+		Throwable abortCause = null;
+		try {
+			for( int i = 0; i < 1 + renderers + writers && abortCause == null; i++ ) {
+				try {
+					completionService.take().get();
+				} catch( ExecutionException e ) {
+					abortCause = e.getCause();
+					executor.shutdownNow();
+				}
+			}
+		} catch( InterruptedException e ) {
+			executor.shutdownNow();
+			throw e;
+		}
+		executor.awaitTermination( 1L, TimeUnit.MINUTES );
+
+		int failed = tableCount - successCount.get();
+		boolean succeeded = failed == 0 && abortCause == null;
+		/** 有失敗的表格時不刪除舊檔, 避免誤刪仍有效的檔案 */
+		setting.finishIncremental( succeeded ? tableNames : null );
+		setting.finishIdentifierCache();
+		setting.finishMetadataSnapshot();
+		setting.finishMetrics();
+		succeeded &= setting.finishOutputSink();
+
+		if( abortCause != null ) {
+			System.err.println( "### Codegen pipeline aborted due to " + abortCause + " ###");
+		}
+		System.out.println( "### Codegen Pipeline Finished, Tables:" + tableCount
+				+ " Success:" + successCount.get() + " Failed:" + failed + " ###");
+		System.out.println( "### " + getReport() + " ###");
+		if( !failedList.isEmpty() ) {
+			System.err.println( "### Failed Tables:" + failedList + " ###");
+		}
+		return succeeded;
+	}
+
+	/**
+	 * produce 說明：依批次取得表格資訊放入佇列, 佇列已滿時等待<br>
+	 *
+	 * @param List<String> tableNames
+	 * @author Alan Hsu
+	 * @throws InterruptedException
+	 */
+	private void produce( List<String> tableNames ) throws InterruptedException {
+		int size = Math.max( 1, chunkSize );
+		for( int from = 0; from < tableNames.size(); from += size ) {
+			List<String> chunk = tableNames.subList( from, Math.min( from + size, tableNames.size() ) );
+			Map<String,TableInfo> tableInfoMap = setting.getSchemaTableInfo( chunk );
+			if( tableInfoMap == null ) {
+				System.err.println( "### Metadata of " + chunk.size() + " tables failed ###");
+				failedList.addAll( chunk );
+				continue;
+			}
+			for( String name : chunk ) {
+				TableInfo info = tableInfoMap.remove( name );
+				if( info == null ) {
+					System.err.println( "### Table " + name + " not found ###");
+					failedList.add( name );
+					continue;
+				}
+				put( metadataQueue, info, metadataBlockedNanos, maxMetadataQueueDepth );
+			}
+		}
+	}
+
+	/**
+	 * render 說明：自佇列取得表格資訊產製原始碼, 放入寫檔的佇列<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws InterruptedException
+	 */
+	private void render() throws InterruptedException {
+		for( TableInfo info = metadataQueue.take(); info != END_OF_TABLES; info = metadataQueue.take() ) {
+			CustomCodegen gen = setting.copySetting( info );
+			Map<Artifact,String> sourceMap;
+			try {
+				sourceMap = gen.renderArtifacts();
+			} catch( Exception e ) {
+				CustomCodegen.printEmitError( info.getTableName(), e );
+				failedList.add( info.getTableName() );
+				continue;
+			}
+			put( sourceQueue, new RenderedTable( gen, sourceMap ), renderBlockedNanos, maxSourceQueueDepth );
+		}
+	}
+
+	/**
+	 * write 說明：自佇列取得原始碼寫檔, 同一表格的檔案皆寫入後才計為成功<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws InterruptedException
+	 */
+	private void write() throws InterruptedException {
+		for( RenderedTable table = take( sourceQueue ); table != END_OF_SOURCES; table = take( sourceQueue ) ) {
+			String tableName = table.gen.getTableName();
+			IOException error = null;
+			for( Map.Entry<Artifact,String> entry : table.sourceMap.entrySet() ) {
+				try {
+					table.gen.writeRendered( entry.getKey(), entry.getValue() );
+				} catch( Exception e ) {
+					if( error == null ) {
+						error = new IOException( "Codegen table " + tableName + " write failed" );
+					}
+					error.addSuppressed( e );
+				}
+			}
+			if( error == null ) {
+				successCount.incrementAndGet();
+			} else {
+				CustomCodegen.printEmitError( tableName, error );
+				failedList.add( tableName );
+			}
+		}
+	}
+
+	private static <T> void put( BlockingQueue<T> queue, T item, LongAdder blockedNanos, AtomicInteger maxDepth ) throws InterruptedException {
+		if( !queue.offer( item ) ) {
+			long start = System.nanoTime();
+			queue.put( item );
+			blockedNanos.add( System.nanoTime() - start );
+		}
+		maxDepth.accumulateAndGet( queue.size(), Math::max );
+	}
+
+	private RenderedTable take( BlockingQueue<RenderedTable> queue ) throws InterruptedException {
+		RenderedTable table = queue.poll();
+		if( table == null ) {
+			long start = System.nanoTime();
+			table = queue.take();
+			writerIdleNanos.add( System.nanoTime() - start );
+		}
+		return table;
+	}
+
+	/**
+	 * getReport 說明：取得佇列的最大深度及各階段的等待時間<br>
+	 * 			取得表格資訊等待多時可增加產製執行緒, 產製等待多時可增加寫檔執行緒, 寫檔閒置多時瓶頸在取得表格資訊<br>
+	 *
+	 * @return String report
+	 * @author Alan Hsu
+	 */
+	public String getReport() {
+		return "Pipeline queue metadata peak:" + getMaxMetadataQueueDepth() + "/" + queueCapacity
+				+ " blocked:" + getMetadataBlockedMillis() + "ms"
+				+ ", source peak:" + getMaxSourceQueueDepth() + "/" + queueCapacity
+				+ " blocked:" + getRenderBlockedMillis() + "ms"
+				+ ", writer idle:" + getWriterIdleMillis() + "ms";
+	}
+
+	/**
+	 * getMetadataQueueDepth 說明：取得目前待產製原始碼的表格數<br>
+	 *
+	 * @return int depth
+	 * @author Alan Hsu
+	 */
+	public int getMetadataQueueDepth() {
+		BlockingQueue<TableInfo> queue = metadataQueue;
+		return queue == null ? 0 : queue.size();
+	}
+
+	/**
+	 * getSourceQueueDepth 說明：取得目前待寫檔的表格數<br>
+	 *
+	 * @return int depth
+	 * @author Alan Hsu
+	 */
+	public int getSourceQueueDepth() {
+		BlockingQueue<RenderedTable> queue = sourceQueue;
+		return queue == null ? 0 : queue.size();
+	}
+
+	public int getMaxMetadataQueueDepth() {
+		return maxMetadataQueueDepth.get();
+	}
+
+	public int getMaxSourceQueueDepth() {
+		return maxSourceQueueDepth.get();
+	}
+
+	public long getMetadataBlockedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis( metadataBlockedNanos.sum() );
+	}
+
+	public long getRenderBlockedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis( renderBlockedNanos.sum() );
+	}
+
+	public long getWriterIdleMillis() {
+		return TimeUnit.NANOSECONDS.toMillis( writerIdleNanos.sum() );
+	}
+
+	public int getTableCount() {
+		return tableCount;
+	}
+
+	public int getSuccessCount() {
+		return successCount.get();
+	}
+
+	public List<String> getFailedTables() {
+		synchronized( failedList ) {
+			return new ArrayList<>( failedList );
+		}
+	}
+
+	public int getRenderThreads() {
+		return renderThreads;
+	}
+
+	public void setRenderThreads(int renderThreads) {
+		this.renderThreads = renderThreads;
+	}
+
+	public int getWriterThreads() {
+		return writerThreads;
+	}
+
+	public void setWriterThreads(int writerThreads) {
+		this.writerThreads = writerThreads;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+}
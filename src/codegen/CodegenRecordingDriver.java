@@ -0,0 +1,129 @@
+package codegen;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ *	作 業 代 碼 ：CodegenRecordingDriver<br>
+ *	作 業 名 稱 ：Codegen Recording Driver<br>
+ *	程 式 代 號 ：CodegenRecordingDriver.java<br>
+ *	描 述 ：JDBC錄製及重播的驅動程式, 設定為連線池或資料來源的 driver 即可使用, 不需修改產檔流程<br>
+ *			錄製：jdbc:codegen-record:錄製檔|實際的JDBC URL, 帳號密碼傳給實際的資料庫, 實際的驅動程式需可由DriverManager載入<br>
+ *			重播：jdbc:codegen-replay:錄製檔[|latencyMillis=固定延遲][|jitterMillis=隨機抖動上限][|recordedLatency=Y 以錄製時的耗時為延遲]<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenRecordingDriver implements Driver {
+
+	public final static String RECORD_PREFIX = "jdbc:codegen-record:";
+
+	public final static String REPLAY_PREFIX = "jdbc:codegen-replay:";
+
+	static {
+		try {
+			DriverManager.registerDriver( new CodegenRecordingDriver() );
+		} catch( SQLException e ) {
+			throw new ExceptionInInitializerError( e );
+		}
+	}
+
+	/**
+	 * connect 說明：錄製時連線實際的資料庫並包裝, 重播時回傳不連線的重播連線<br>
+	 *
+	 * @param String url
+	 * @param Properties info
+	 * @return Connection connection, 非本驅動程式的URL時回傳null
+	 * @author Alan Hsu
+	 * @throws SQLException URL格式不正確或錄製檔無法載入
+	 */
+	@Override
+	public Connection connect( String url, Properties info ) throws SQLException {
+		if( url == null ) {
+			return null;
+		}
+		if( url.startsWith( RECORD_PREFIX ) ) {
+			String value = url.substring( RECORD_PREFIX.length() );
+			int idx = value.indexOf( '|' );
+			if( idx <= 0 || idx == value.length() - 1 ) {
+				throw new SQLException( "Recording URL must be " + RECORD_PREFIX + "<file>|<jdbc url> [" + url + "]" );
+			}
+			Connection connection = DriverManager.getConnection( value.substring( idx + 1 ), info == null ? new Properties() : info );
+			return CodegenJdbcRecording.forRecord( Paths.get( value.substring( 0, idx ).trim() ) ).record( connection );
+		}
+		if( url.startsWith( REPLAY_PREFIX ) ) {
+			String[] parts = url.substring( REPLAY_PREFIX.length() ).split( "\\|" );
+			long latencyMillis = 0L;
+			long jitterMillis = 0L;
+			boolean recordedLatency = false;
+			for( int i = 1; i < parts.length; i++ ) {
+				String[] option = parts[i].split( "=", 2 );
+				String value = option.length > 1 ? option[1].trim() : "";
+				try {
+					switch( option[0].trim() ) {
+						case "latencyMillis":
+							latencyMillis = Long.parseLong( value );
+							break;
+						case "jitterMillis":
+							jitterMillis = Long.parseLong( value );
+							break;
+						case "recordedLatency":
+							recordedLatency = "Y".equalsIgnoreCase( value );
+							break;
+						default:
+							throw new SQLException( "Unknown replay option " + parts[i] + " [" + url + "]" );
+					}
+				} catch( NumberFormatException e ) {
+					throw new SQLException( "Replay option " + parts[i] + " must be a number [" + url + "]" );
+				}
+			}
+			try {
+				return CodegenJdbcRecording.forReplay( Paths.get( parts[0].trim() ) ).replay( latencyMillis, jitterMillis, recordedLatency );
+			} catch( IOException e ) {
+				throw new SQLException( "Load JDBC recording " + parts[0] + " failed due to " + e.getMessage(), e );
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean acceptsURL( String url ) {
+		return url != null && ( url.startsWith( RECORD_PREFIX ) || url.startsWith( REPLAY_PREFIX ) );
+	}
+
+	@Override
+	public DriverPropertyInfo[] getPropertyInfo( String url, Properties info ) {
+		return new DriverPropertyInfo[ 0 ];
+	}
+
+	@Override
+	public int getMajorVersion() {
+		return 1;
+	}
+
+	@Override
+	public int getMinorVersion() {
+		return 0;
+	}
+
+	@Override
+	public boolean jdbcCompliant() {
+		return false;
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+}
@@ -0,0 +1,238 @@
+package codegen;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import codegen.CustomCodegen.ColumnInfo;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenSchemaWatcher<br>
+ *	作 業 名 稱 ：Codegen Schema Watcher<br>
+ *	程 式 代 號 ：CodegenSchemaWatcher.java<br>
+ *	描 述 ：監看Schema的DDL異動, 只重新產製欄位資訊有變更的表格<br>
+ *			每次輪詢只以一次查詢取得所有表格的DDL指紋(Oracle LAST_DDL_TIME, MySQL CREATE_TIME|UPDATE_TIME)<br>
+ *			指紋變更的表格才重新取得欄位資訊, 與上次的表格資訊比對後有差異才產檔<br>
+ *			設定表格資訊來源(CodegenMetadataSource)時沒有指紋, 每次輪詢直接比對表格資訊<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenSchemaWatcher {
+
+	/** 產檔設定, 各表格以 copySetting 取得各自的Codegen */
+	private final CustomCodegen setting;
+
+	private final long intervalSeconds;
+
+	/** 表格名稱(大寫) > DDL指紋 */
+	private final Map<String,String> fingerprintMap = new HashMap<>();
+
+	/** 表格名稱(大寫) > 上次產檔的表格資訊 */
+	private final Map<String,TableInfo> tableInfoMap = new HashMap<>();
+
+	/** 第一次輪詢是否產製所有表格, 否則只記錄目前狀態 */
+	private boolean generateOnStart = true;
+
+	private boolean started;
+
+	private ScheduledExecutorService scheduler;
+
+	public CodegenSchemaWatcher( CustomCodegen setting, long intervalSeconds ) {
+		this.setting = setting;
+		this.intervalSeconds = intervalSeconds;
+	}
+
+	/**
+	 * watch 說明：於目前執行緒持續輪詢, 直到執行緒中斷<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public void watch() {
+		System.out.println( "### Watching schema " + setting.getTableSchema() + " every " + intervalSeconds + " seconds ###");
+		while( !Thread.currentThread().isInterrupted() ) {
+			safePoll();
+			try {
+				TimeUnit.SECONDS.sleep( intervalSeconds );
+			} catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		System.out.println( "### Schema watch stopped ###");
+	}
+
+	/**
+	 * start 說明：以背景執行緒輪詢<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public synchronized void start() {
+		if( scheduler != null ) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor( r -> {
+			Thread thread = new Thread( r, "codegen-schema-watch" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		scheduler.scheduleWithFixedDelay( this::safePoll, 0, intervalSeconds, TimeUnit.SECONDS );
+	}
+
+	/**
+	 * stop 說明：停止背景輪詢<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public synchronized void stop() {
+		if( scheduler != null ) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	private void safePoll() {
+		try {
+			poll();
+		} catch( Exception e ) {
+			System.err.println( "### Schema watch poll failed due to " + e + " ###");
+		}
+	}
+
+	/**
+	 * poll 說明：輪詢一次, 回傳重新產檔的表格名稱<br>
+	 *
+	 * @return List<String> generatedTables
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	public synchronized List<String> poll() throws Exception {
+		setting.setCurrentTime( CustomCodegen.getCurrentTimeStr() );
+		List<String> candidateList;
+		Map<String,String> currentMap = null;
+		if( setting.getMetadataSource() != null ) {
+			candidateList = new ArrayList<>();
+			for( String name : setting.getMetadataSource().getTableNames( setting.getTableSchema() ) ) {
+				if( setting.isTableMatched( name ) ) {
+					candidateList.add( name.toUpperCase() );
+				}
+			}
+		} else {
+			currentMap = new HashMap<>();
+			try( Connection conn = setting.getConnection() ) {
+				for( Map.Entry<String,String> entry : setting.getDdlFingerprints( conn, null ).entrySet() ) {
+					if( setting.isTableMatched( entry.getKey() ) ) {
+						currentMap.put( entry.getKey(), entry.getValue() );
+					}
+				}
+			}
+			candidateList = new ArrayList<>();
+			for( Map.Entry<String,String> entry : currentMap.entrySet() ) {
+				if( !Objects.equals( entry.getValue(), fingerprintMap.get( entry.getKey() ) ) ) {
+					candidateList.add( entry.getKey() );
+				}
+			}
+		}
+
+		removeDroppedTables( currentMap != null ? currentMap.keySet() : candidateList );
+
+		List<String> generatedList = new ArrayList<>();
+		for( String name : candidateList ) {
+			CustomCodegen gen = setting.copySetting( null );
+			gen.setTableName( name );
+			if( !gen.getTableInfo() ) {
+				continue;
+			}
+			if( currentMap != null ) {
+				fingerprintMap.put( name, currentMap.get( name ) );
+			}
+			boolean known = tableInfoMap.containsKey( name );
+			TableInfo previous = tableInfoMap.put( name, gen.getCurrentTableInfo() );
+			if( isSameTableInfo( previous, gen.getCurrentTableInfo() ) || ( !known && !started && !generateOnStart ) ) {
+				continue;
+			}
+			if( known ) {
+				System.out.println( "### Table " + name + " changed, regenerating ###");
+			}
+			gen.setDomainObjectName( gen.convertCase( name, "pascal" ) );
+			try {
+				gen.generateAll();
+				generatedList.add( name );
+			} catch( Exception e ) {
+				CustomCodegen.printEmitError( name, e );
+			}
+		}
+		started = true;
+		setting.finishMetadataSnapshot();
+
+		if( !generatedList.isEmpty() ) {
+			setting.finishIncremental( null );
+			setting.finishMetrics();
+			System.out.println( "### Schema watch regenerated " + generatedList.size() + " tables:" + generatedList + " ###");
+		} else {
+			/** 沒有重新產檔時不輸出, 只清除本次輪詢的耗時記錄 */
+			setting.getMetrics().clear();
+		}
+		return generatedList;
+	}
+
+	private void removeDroppedTables( Iterable<String> currentNames ) {
+		List<String> names = new ArrayList<>();
+		currentNames.forEach( names::add );
+		for( Iterator<String> it = tableInfoMap.keySet().iterator(); it.hasNext(); ) {
+			String name = it.next();
+			if( !names.contains( name ) ) {
+				System.out.println( "### Table " + name + " no longer exists, stop watching ###");
+				fingerprintMap.remove( name );
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * isSameTableInfo 說明：比對表格資訊, 欄位順序、名稱、型別、備註及主鍵皆相同才視為相同<br>
+	 *
+	 * @param TableInfo a
+	 * @param TableInfo b
+	 * @return boolean same
+	 * @author Alan Hsu
+	 */
+	public static boolean isSameTableInfo( TableInfo a, TableInfo b ) {
+		if( a == null || b == null ) {
+			return a == b;
+		}
+		if( a.getHasPrimaryKey() != b.getHasPrimaryKey() || a.getColumns().size() != b.getColumns().size() ) {
+			return false;
+		}
+		Iterator<ColumnInfo> it = b.getColumns().values().iterator();
+		for( ColumnInfo x : a.getColumns().values() ) {
+			ColumnInfo y = it.next();
+			if( !Objects.equals( x.getColumnName(), y.getColumnName() )
+					|| !Objects.equals( x.getColumnType(), y.getColumnType() )
+					|| !Objects.equals( x.getJavaType(), y.getJavaType() )
+					|| !Objects.equals( x.getRemarks(), y.getRemarks() )
+					|| x.isPrimaryKey() != y.isPrimaryKey() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean isGenerateOnStart() {
+		return generateOnStart;
+	}
+
+	public void setGenerateOnStart( boolean generateOnStart ) {
+		this.generateOnStart = generateOnStart;
+	}
+
+}
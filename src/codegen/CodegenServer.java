@@ -0,0 +1,491 @@
+package codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenServer<br>
+ *	作 業 名 稱 ：Codegen Server<br>
+ *	程 式 代 號 ：CodegenServer.java<br>
+ *	描 述 ：常駐產檔服務, 只接受本機連線, 保留連線池、樣板、命名轉換及表格資訊快取, 省去每次啟動JVM及建立連線的時間<br>
+ *			每次啟動產生一組存取碼並輸出至主控台, 請求須以 X-Codegen-Token 標頭帶入, 瀏覽器跨站送出的表單無法帶入標頭<br>
+ *			outputFolder 只可為設定的輸出根目錄(預設為產檔設定的輸出資料夾, 可以 addOutputRoot 增加)之下的資料夾<br>
+ *			POST /generate 參數(query string 或 form)：table, dataSource(具名資料來源, 未設定時同啟動設定), schema, domainObjectName, beanPath, iDaoPath, daoPath,<br>
+ *			outputFolder, mappedType(1:@Column 2:@Id), needDao, needToString, write<br>
+ *			write=Y 時寫檔並回傳檔案路徑, 否則回傳原始碼; GET /status 回傳處理次數及平均耗時<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenServer {
+
+	public final static int DEFAULT_PORT = 8765;
+
+	public final static String TOKEN_HEADER = "X-Codegen-Token";
+
+	/** 已取得的表格資訊及其DDL指紋 */
+	static class CachedTable {
+
+		private final String fingerprint;
+
+		private final TableInfo tableInfo;
+
+		CachedTable( String fingerprint, TableInfo tableInfo ) {
+			this.fingerprint = fingerprint;
+			this.tableInfo = tableInfo;
+		}
+
+	}
+
+	/** 產檔設定, 每個請求以 copySetting 取得各自的Codegen */
+	private final CustomCodegen setting;
+
+	private final int port;
+
+	/** 資料來源|Schema|表格名稱(大寫) > 表格資訊 */
+	private final Map<String,CachedTable> tableCache = new ConcurrentHashMap<>();
+
+	/** 可寫入的輸出根目錄 */
+	private final List<Path> outputRoots = new CopyOnWriteArrayList<>();
+
+	/** 本次啟動的存取碼 */
+	private final String token;
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong failures = new AtomicLong();
+
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	public CodegenServer( CustomCodegen setting, int port ) {
+		this.setting = setting;
+		this.port = port;
+		this.token = newToken();
+		if( !"".equals( setting.toCleanString( setting.getNewFileTargetFolder() ) ) ) {
+			addOutputRoot( setting.getNewFileTargetFolder() );
+		}
+	}
+
+	/**
+	 * addOutputRoot 說明：增加 write=Y 時可寫入的輸出根目錄<br>
+	 *
+	 * @param String folder
+	 * @author Alan Hsu
+	 */
+	public void addOutputRoot( String folder ) {
+		outputRoots.add( toRealPath( Paths.get( folder ) ) );
+	}
+
+	/**
+	 * start 說明：啟動服務, 只綁定本機位址<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public synchronized void start() throws IOException {
+		if( server != null ) {
+			return;
+		}
+		server = HttpServer.create( new InetSocketAddress( InetAddress.getLoopbackAddress(), port ), 0 );
+		executor = Executors.newFixedThreadPool( Math.max( 1, setting.getBatchThreads() ) );
+		server.setExecutor( executor );
+		server.createContext( "/generate", this::handleGenerate );
+		server.createContext( "/status", this::handleStatus );
+		server.start();
+		System.out.println( "### Codegen server listening on http://" + server.getAddress().getHostString() + ":"
+				+ server.getAddress().getPort() + " ###");
+		System.out.println( "### Codegen server token (" + TOKEN_HEADER + " header): " + token + " ###");
+	}
+
+	/**
+	 * stop 說明：停止服務並關閉連線池<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public synchronized void stop() {
+		if( server == null ) {
+			return;
+		}
+		server.stop( 0 );
+		executor.shutdown();
+		server = null;
+		setting.closeConnectionPool();
+		System.out.println( "### Codegen server stopped ###");
+	}
+
+	/**
+	 * getPort 說明：取得實際監聽的連接埠, 指定0時由系統配置<br>
+	 *
+	 * @return int port
+	 * @author Alan Hsu
+	 */
+	public synchronized int getPort() {
+		return server == null ? port : server.getAddress().getPort();
+	}
+
+	/**
+	 * getToken 說明：取得本次啟動的存取碼<br>
+	 *
+	 * @return String token
+	 * @author Alan Hsu
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	private void handleGenerate( HttpExchange exchange ) throws IOException {
+		long start = System.nanoTime();
+		int status = 200;
+		String body;
+		Map<String,String> params = new HashMap<>();
+		try {
+			if( !"POST".equalsIgnoreCase( exchange.getRequestMethod() ) ) {
+				status = 405;
+				body = toJsonError( "Use POST" );
+			} else if( !isAuthorized( exchange ) ) {
+				status = 401;
+				body = toJsonError( "Missing or invalid " + TOKEN_HEADER );
+			} else {
+				parseParams( exchange.getRequestURI().getRawQuery(), params );
+				parseParams( new String( readAll( exchange.getRequestBody() ), StandardCharsets.UTF_8 ), params );
+				body = generate( params, start );
+			}
+		} catch( IllegalArgumentException e ) {
+			status = 400;
+			body = toJsonError( e.getMessage() );
+		} catch( Exception e ) {
+			status = 500;
+			body = toJsonError( String.valueOf( e ) );
+		}
+
+		long nanos = System.nanoTime() - start;
+		requests.incrementAndGet();
+		totalNanos.addAndGet( nanos );
+		if( status != 200 ) {
+			failures.incrementAndGet();
+		}
+		String millis = String.format( Locale.ROOT, "%.1f", nanos / 1_000_000d );
+		System.out.println( "### POST /generate table=" + params.get( "table" ) + " status=" + status + " " + millis + " ms ###");
+		exchange.getResponseHeaders().set( "X-Codegen-Millis", millis );
+		sendJson( exchange, status, body );
+	}
+
+	private void handleStatus( HttpExchange exchange ) throws IOException {
+		if( !isAuthorized( exchange ) ) {
+			sendJson( exchange, 401, toJsonError( "Missing or invalid " + TOKEN_HEADER ) );
+			return;
+		}
+		long count = requests.get();
+		String body = "{\"requests\":" + count + ",\"failures\":" + failures.get()
+				+ ",\"averageMillis\":" + String.format( Locale.ROOT, "%.1f", count == 0 ? 0d : totalNanos.get() / 1_000_000d / count )
+				+ ",\"cachedTables\":" + tableCache.size() + "}";
+		sendJson( exchange, 200, body );
+	}
+
+	/**
+	 * generate 說明：依請求參數產檔, 回傳JSON結果<br>
+	 *
+	 * @param Map<String,String> params
+	 * @param long start 請求開始時間(ns)
+	 * @return String json
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	private String generate( Map<String,String> params, long start ) throws Exception {
+		String table = params.get( "table" );
+		if( table == null || !table.matches( "^[\\w$#]+$" ) ) {
+			throw new IllegalArgumentException( "Parameter table is required" );
+		}
+		CustomCodegen gen = setting.copySetting( null );
+		/** 常駐服務不累積耗時統計, 各階段耗時以JFR事件(codegen.Phase)查看 */
+		gen.setMetrics( new CodegenMetrics() );
+		gen.setTableName( table );
+		gen.setCurrentTime( CustomCodegen.getCurrentTimeStr() );
+		applyParams( gen, params );
+		if( gen.getDomainObjectName() == null ) {
+			gen.setDomainObjectName( gen.convertCase( table, "pascal" ) );
+		}
+		if( !loadTableInfo( gen ) ) {
+			throw new IllegalArgumentException( "Table " + table + " not found" );
+		}
+		gen.finishMetadataSnapshot();
+
+		StringBuilder sb = new StringBuilder( "{\"table\":" ).append( toJsonString( table ) );
+		if( isYes( params.get( "write" ) ) ) {
+			if( "".equals( gen.toCleanString( gen.getNewFileTargetFolder() ) ) ) {
+				throw new IllegalArgumentException( "Parameter outputFolder is required when write=Y" );
+			}
+			if( !isAllowedOutputFolder( gen.getNewFileTargetFolder() ) ) {
+				throw new IllegalArgumentException( "Parameter outputFolder must be under " + outputRoots );
+			}
+			gen.generateAll();
+			sb.append( ",\"written\":[" );
+			int i = 0;
+			for( String fileName : gen.getGeneratedFileNames() ) {
+				sb.append( i++ == 0 ? "" : "," )
+					.append( toJsonString( Paths.get( gen.getNewFileTargetFolder(), fileName ).toString() ) );
+			}
+			sb.append( "]" );
+		} else {
+			sb.append( ",\"files\":{" );
+			int i = 0;
+			for( Map.Entry<String,String> entry : gen.generateSources().entrySet() ) {
+				sb.append( i++ == 0 ? "" : "," ).append( toJsonString( entry.getKey() ) ).append( ':' ).append( toJsonString( entry.getValue() ) );
+			}
+			sb.append( "}" );
+		}
+		sb.append( ",\"millis\":" ).append( String.format( Locale.ROOT, "%.1f", ( System.nanoTime() - start ) / 1_000_000d ) ).append( "}" );
+		return sb.toString();
+	}
+
+	/**
+	 * loadTableInfo 說明：取得表格資訊, DDL指紋未變更時使用快取; 使用表格資訊來源或快照檔時交由 getTableInfo 處理<br>
+	 *
+	 * @param CustomCodegen gen
+	 * @return boolean success
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	private boolean loadTableInfo( CustomCodegen gen ) throws Exception {
+		if( gen.getMetadataSource() != null || gen.isUseSnapshot() ) {
+			return gen.getTableInfo();
+		}
+		String key = gen.getDataSourceKey() + '|' + gen.toCleanString( gen.getTableSchema() ).toUpperCase() + '|' + gen.getTableName().toUpperCase();
+		String fingerprint;
+		try( Connection conn = gen.getConnection() ) {
+			fingerprint = gen.getDdlFingerprints( conn, gen.getTableName() ).get( gen.getTableName().toUpperCase() );
+		}
+		CachedTable cached = tableCache.get( key );
+		if( cached != null && fingerprint != null && Objects.equals( fingerprint, cached.fingerprint ) ) {
+			gen.applyTableInfo( cached.tableInfo );
+			return true;
+		}
+		if( !gen.getTableInfo() ) {
+			return false;
+		}
+		if( fingerprint != null ) {
+			tableCache.put( key, new CachedTable( fingerprint, gen.getCurrentTableInfo() ) );
+		}
+		return true;
+	}
+
+	/**
+	 * isAuthorized 說明：請求是否帶入本次啟動的存取碼<br>
+	 *
+	 * @param HttpExchange exchange
+	 * @return boolean authorized
+	 * @author Alan Hsu
+	 */
+	private boolean isAuthorized( HttpExchange exchange ) {
+		String value = exchange.getRequestHeaders().getFirst( TOKEN_HEADER );
+		return value != null && MessageDigest.isEqual( token.getBytes( StandardCharsets.UTF_8 ), value.trim().getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	/**
+	 * isAllowedOutputFolder 說明：輸出資料夾是否在設定的輸出根目錄之下, 以實際路徑比對避免 .. 及連結跳出根目錄<br>
+	 *
+	 * @param String folder
+	 * @return boolean allowed
+	 * @author Alan Hsu
+	 */
+	boolean isAllowedOutputFolder( String folder ) {
+		Path path = toRealPath( Paths.get( folder ) );
+		for( Path root : outputRoots ) {
+			if( path.startsWith( root ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * toRealPath 說明：取得實際路徑, 尚未建立的部分接在最近一層已存在資料夾的實際路徑之後<br>
+	 *
+	 * @param Path path
+	 * @return Path realPath
+	 * @author Alan Hsu
+	 */
+	private static Path toRealPath( Path path ) {
+		Path normalized = path.toAbsolutePath().normalize();
+		Path existing = normalized;
+		while( existing != null && !Files.exists( existing ) ) {
+			existing = existing.getParent();
+		}
+		if( existing == null ) {
+			return normalized;
+		}
+		try {
+			return existing.toRealPath().resolve( existing.relativize( normalized ) );
+		} catch( IOException e ) {
+			return normalized;
+		}
+	}
+
+	private static String newToken() {
+		byte[] bytes = new byte[ 24 ];
+		new SecureRandom().nextBytes( bytes );
+		return CodegenIncrementalWriter.toHex( bytes );
+	}
+
+	private static void applyParams( CustomCodegen gen, Map<String,String> params ) {
+		params.forEach( ( name, value ) -> {
+			switch( name ) {
+				case "dataSource":
+					if( gen.getDataSourceRegistry().get( value ) == null ) {
+						throw new IllegalArgumentException( "Parameter dataSource not found, configured:" + gen.getDataSourceRegistry().getNames() );
+					}
+					gen.setDataSourceName( value );
+					gen.setConnectionPool( null );
+					break;
+				case "schema":
+					gen.setTableSchema( value );
+					break;
+				case "domainObjectName":
+					gen.setDomainObjectName( value );
+					break;
+				case "beanPath":
+					gen.setTargetBeanPath( value );
+					break;
+				case "iDaoPath":
+					gen.setTargetIDaoPath( value );
+					break;
+				case "daoPath":
+					gen.setTargetDaoPath( value );
+					break;
+				case "outputFolder":
+					gen.setNewFileTargetFolder( value );
+					break;
+				case "mappedType":
+					if( !value.matches( "(1|2)" ) ) {
+						throw new IllegalArgumentException( "Parameter mappedType must be 1 or 2" );
+					}
+					gen.setMappedTypeByCode( Integer.parseInt( value ) );
+					break;
+				case "needDao":
+					gen.setNeedDao( isYes( value ) );
+					break;
+				case "needToString":
+					gen.setNeedToString( isYes( value ) );
+					break;
+				default:
+					break;
+			}
+		} );
+	}
+
+	private static boolean isYes( String value ) {
+		return value != null && value.matches( "(Y|y|true|TRUE|1)" );
+	}
+
+	private static void parseParams( String query, Map<String,String> params ) throws UnsupportedEncodingException {
+		if( query == null || query.isEmpty() ) {
+			return;
+		}
+		for( String pair : query.split( "&" ) ) {
+			int idx = pair.indexOf( '=' );
+			if( idx > 0 ) {
+				params.put( URLDecoder.decode( pair.substring( 0, idx ), "UTF-8" ),
+						URLDecoder.decode( pair.substring( idx + 1 ), "UTF-8" ).trim() );
+			}
+		}
+	}
+
+	private static byte[] readAll( InputStream in ) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[ 4096 ];
+		int n;
+		while( ( n = in.read( buffer ) ) > 0 ) {
+			out.write( buffer, 0, n );
+		}
+		return out.toByteArray();
+	}
+
+	private static void sendJson( HttpExchange exchange, int status, String body ) throws IOException {
+		byte[] bytes = body.getBytes( StandardCharsets.UTF_8 );
+		exchange.getResponseHeaders().set( "Content-Type", "application/json; charset=UTF-8" );
+		exchange.sendResponseHeaders( status, bytes.length );
+		try( OutputStream out = exchange.getResponseBody() ) {
+			out.write( bytes );
+		}
+	}
+
+	private static String toJsonError( String message ) {
+		return "{\"error\":" + toJsonString( message ) + "}";
+	}
+
+	/**
+	 * toJsonString 說明：字串轉為JSON字串, 跳脫引號、反斜線及控制字元<br>
+	 *
+	 * @param String str
+	 * @return String json
+	 * @author Alan Hsu
+	 */
+	static String toJsonString( String str ) {
+		if( str == null ) {
+			return "null";
+		}
+		StringBuilder sb = new StringBuilder( str.length() + 16 ).append( '"' );
+		for( int i = 0; i < str.length(); i++ ) {
+			char c = str.charAt( i );
+			switch( c ) {
+				case '"':
+					sb.append( "\\\"" );
+					break;
+				case '\\':
+					sb.append( "\\\\" );
+					break;
+				case '\n':
+					sb.append( "\\n" );
+					break;
+				case '\r':
+					sb.append( "\\r" );
+					break;
+				case '\t':
+					sb.append( "\\t" );
+					break;
+				default:
+					if( c < 0x20 ) {
+						sb.append( String.format( "\\u%04x", (int) c ) );
+					} else {
+						sb.append( c );
+					}
+			}
+		}
+		return sb.append( '"' ).toString();
+	}
+
+}
@@ -0,0 +1,238 @@
+package codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+/**
+ *	作 業 代 碼 ：CodegenSourceWriter<br>
+ *	作 業 名 稱 ：Codegen Source Writer<br>
+ *	程 式 代 號 ：CodegenSourceWriter.java<br>
+ *	描 述 ：產製檔案的UTF-8串流輸出, 字元及位元組緩衝區大小固定, 欄位再多記憶體用量也不會增加<br>
+ *			每條執行緒重複使用同一組緩衝區, 可同時計算輸出內容的雜湊值供增量產檔比對<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenSourceWriter extends Writer {
+
+	private final static int CHAR_BUFFER_SIZE = 8 * 1024;
+
+	/** UTF-8 每個字元最多3個位元組(補充字元為兩個char共4個位元組) */
+	private final static int BYTE_BUFFER_SIZE = CHAR_BUFFER_SIZE * 3;
+
+	private final static ThreadLocal<CodegenSourceWriter> WRITERS = ThreadLocal.withInitial( CodegenSourceWriter::new );
+
+	private final CharBuffer chars = CharBuffer.allocate( CHAR_BUFFER_SIZE );
+
+	private final ByteBuffer bytes = ByteBuffer.allocate( BYTE_BUFFER_SIZE );
+
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+			.onMalformedInput( CodingErrorAction.REPLACE )
+			.onUnmappableCharacter( CodingErrorAction.REPLACE );
+
+	private WritableByteChannel channel;
+
+	private MessageDigest digest;
+
+	private long byteCount;
+
+	private CodegenSourceWriter() {}
+
+	/**
+	 * open 說明：開啟(覆寫)檔案並取得目前執行緒的輸出, 以非同步方式寫檔, 使用完須close<br>
+	 *
+	 * @param Path file
+	 * @param MessageDigest digest, 不需雜湊時為null
+	 * @return CodegenSourceWriter writer
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public static CodegenSourceWriter open( Path file, MessageDigest digest ) throws IOException {
+		return of( CodegenAsyncFileChannel.open( file ), digest );
+	}
+
+	/**
+	 * of 說明：以指定的Channel取得目前執行緒的輸出, close 時一併關閉Channel<br>
+	 *
+	 * @param WritableByteChannel channel
+	 * @param MessageDigest digest, 不需雜湊時為null
+	 * @return CodegenSourceWriter writer
+	 * @author Alan Hsu
+	 */
+	public static CodegenSourceWriter of( WritableByteChannel channel, MessageDigest digest ) {
+		CodegenSourceWriter writer = WRITERS.get();
+		if( writer.channel != null ) {
+			/** 同一執行緒同時開啟兩個輸出時不共用緩衝區 */
+			writer = new CodegenSourceWriter();
+		}
+		writer.channel = channel;
+		writer.digest = digest;
+		writer.byteCount = 0;
+		writer.chars.clear();
+		writer.bytes.clear();
+		writer.encoder.reset();
+		return writer;
+	}
+
+	/**
+	 * toBytes 說明：產製內容至記憶體, 回傳UTF-8位元組<br>
+	 *
+	 * @param SourceRenderer renderer
+	 * @return byte[] source
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public static byte[] toBytes( SourceRenderer renderer ) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream( BYTE_BUFFER_SIZE );
+		try( CodegenSourceWriter writer = of( Channels.newChannel( out ), null ) ) {
+			renderer.render( writer );
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * newLine 說明：輸出系統換行符號<br>
+	 *
+	 * @return CodegenSourceWriter writer
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public CodegenSourceWriter newLine() throws IOException {
+		write( System.lineSeparator() );
+		return this;
+	}
+
+	@Override
+	public void write( int c ) throws IOException {
+		if( !chars.hasRemaining() ) {
+			encode( false );
+		}
+		chars.put( (char) c );
+	}
+
+	@Override
+	public void write( char[] cbuf, int off, int len ) throws IOException {
+		while( len > 0 ) {
+			if( !chars.hasRemaining() ) {
+				encode( false );
+			}
+			int n = Math.min( len, chars.remaining() );
+			chars.put( cbuf, off, n );
+			off += n;
+			len -= n;
+		}
+	}
+
+	@Override
+	public void write( String str, int off, int len ) throws IOException {
+		while( len > 0 ) {
+			if( !chars.hasRemaining() ) {
+				encode( false );
+			}
+			int n = Math.min( len, chars.remaining() );
+			chars.put( str, off, off + n );
+			off += n;
+			len -= n;
+		}
+	}
+
+	@Override
+	public CodegenSourceWriter append( CharSequence csq ) throws IOException {
+		String str = String.valueOf( csq );
+		write( str, 0, str.length() );
+		return this;
+	}
+
+	@Override
+	public CodegenSourceWriter append( char c ) throws IOException {
+		write( c );
+		return this;
+	}
+
+	/**
+	 * encode 說明：將字元緩衝區編碼後寫出, 未結束時保留被切開的代理字元對<br>
+	 *
+	 * @param boolean endOfInput
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private void encode( boolean endOfInput ) throws IOException {
+		chars.flip();
+		while( true ) {
+			CoderResult result = encoder.encode( chars, bytes, endOfInput );
+			if( result.isOverflow() ) {
+				drain();
+				continue;
+			}
+			if( result.isError() ) {
+				result.throwException();
+			}
+			break;
+		}
+		if( endOfInput ) {
+			while( encoder.flush( bytes ).isOverflow() ) {
+				drain();
+			}
+		}
+		chars.compact();
+		drain();
+	}
+
+	private void drain() throws IOException {
+		bytes.flip();
+		if( digest != null ) {
+			digest.update( bytes.duplicate() );
+		}
+		byteCount += bytes.remaining();
+		while( bytes.hasRemaining() ) {
+			channel.write( bytes );
+		}
+		bytes.clear();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if( channel != null ) {
+			encode( false );
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if( channel == null ) {
+			return;
+		}
+		try {
+			encode( true );
+		} finally {
+			WritableByteChannel ch = channel;
+			channel = null;
+			digest = null;
+			ch.close();
+		}
+	}
+
+	/**
+	 * getByteCount 說明：取得已寫出的位元組數<br>
+	 *
+	 * @return long byteCount
+	 * @author Alan Hsu
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+}
@@ -0,0 +1,488 @@
+package codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *	作 業 代 碼 ：CodegenTemplate<br>
+ *	作 業 名 稱 ：Codegen Template<br>
+ *	程 式 代 號 ：CodegenTemplate.java<br>
+ *	描 述 ：產檔樣板, 第一次使用時解析成節點樹並快取, 之後直接將節點輸出至Writer, 不再組字串<br>
+ *			樣板語法(指令需獨立一行, 該行不輸出)：<br>
+ *			${name} 變數, #if(name) #if(!name) #else #end 條件, #each(list) #end 迴圈,<br>
+ *			#include(name) 引用同資料夾的其他樣板, ## 開頭為註解<br>
+ *			樣板內的換行一律輸出為 System.lineSeparator()<br>
+ *			預設樣板放在 codegen/templates, 可設定樣板資料夾以同名檔案覆寫<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenTemplate {
+
+	public final static String TEMPLATE_EXTENSION = ".cgt";
+
+	private final static String DEFAULT_TEMPLATE_PATH = "templates/";
+
+	/** 已解析的樣板, 鍵值為 樣板資料夾|樣板名稱 */
+	private final static Map<String,CodegenTemplate> CACHE = new ConcurrentHashMap<>();
+
+	/** 樣板節點 */
+	interface Node {
+		void render( Writer out, Scope scope ) throws IOException;
+	}
+
+	/** 變數範圍, 找不到時往外層找 */
+	static class Scope {
+
+		private final Map<String,?> vars;
+
+		private final Scope parent;
+
+		Scope( Map<String,?> vars, Scope parent ) {
+			this.vars = vars;
+			this.parent = parent;
+		}
+
+		Object get( String name ) {
+			for( Scope s = this; s != null; s = s.parent ) {
+				if( s.vars.containsKey( name ) ) {
+					return s.vars.get( name );
+				}
+			}
+			return null;
+		}
+
+	}
+
+	/** 固定文字, 解析時已轉換換行符號 */
+	static class TextNode implements Node {
+
+		private final char[] text;
+
+		TextNode( String text ) {
+			this.text = text.toCharArray();
+		}
+
+		@Override
+		public void render( Writer out, Scope scope ) throws IOException {
+			out.write( text );
+		}
+
+	}
+
+	/** ${name} 變數, 與字串串接相同, null 輸出為 "null" */
+	static class VarNode implements Node {
+
+		private final String name;
+
+		VarNode( String name ) {
+			this.name = name;
+		}
+
+		@Override
+		public void render( Writer out, Scope scope ) throws IOException {
+			Object value = scope.get( name );
+			out.write( value instanceof String ? (String) value : String.valueOf( value ) );
+		}
+
+	}
+
+	/** 含子節點的區塊 */
+	static abstract class BlockNode implements Node {
+
+		protected List<Node> body = new ArrayList<>();
+
+		protected void renderBody( List<Node> nodes, Writer out, Scope scope ) throws IOException {
+			for( Node node : nodes ) {
+				node.render( out, scope );
+			}
+		}
+
+		void add( Node node ) {
+			body.add( node );
+		}
+
+	}
+
+	/** #if(name) / #if(!name) ... #else ... #end */
+	static class IfNode extends BlockNode {
+
+		private final String name;
+
+		private final boolean negate;
+
+		private List<Node> elseBody;
+
+		IfNode( String name, boolean negate ) {
+			this.name = name;
+			this.negate = negate;
+		}
+
+		@Override
+		void add( Node node ) {
+			if( elseBody != null ) {
+				elseBody.add( node );
+			} else {
+				body.add( node );
+			}
+		}
+
+		@Override
+		public void render( Writer out, Scope scope ) throws IOException {
+			if( isTrue( scope.get( name ) ) != negate ) {
+				renderBody( body, out, scope );
+			} else if( elseBody != null ) {
+				renderBody( elseBody, out, scope );
+			}
+		}
+
+	}
+
+	/** #each(list) ... #end, 每個項目為 Map, 子範圍可讀取外層變數 */
+	static class EachNode extends BlockNode {
+
+		private final String name;
+
+		EachNode( String name ) {
+			this.name = name;
+		}
+
+		@Override
+		public void render( Writer out, Scope scope ) throws IOException {
+			Object value = scope.get( name );
+			if( !( value instanceof Iterable ) ) {
+				return;
+			}
+			for( Object item : (Iterable<?>) value ) {
+				Scope child = new Scope( item instanceof Map ? castMap( item ) : Collections.emptyMap(), scope );
+				renderBody( body, out, child );
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Map<String,?> castMap( Object item ) {
+			return (Map<String,?>) item;
+		}
+
+	}
+
+	/** #include(name), 於第一次輸出時才載入, 允許樣板間互相引用 */
+	static class IncludeNode implements Node {
+
+		private final String folder;
+
+		private final String name;
+
+		private volatile CodegenTemplate template;
+
+		IncludeNode( String folder, String name ) {
+			this.folder = folder;
+			this.name = name;
+		}
+
+		@Override
+		public void render( Writer out, Scope scope ) throws IOException {
+			if( template == null ) {
+				template = get( folder, name );
+			}
+			template.renderNodes( out, scope );
+		}
+
+	}
+
+	private final String name;
+
+	private final List<Node> nodes;
+
+	private CodegenTemplate( String name, List<Node> nodes ) {
+		this.name = name;
+		this.nodes = nodes;
+	}
+
+	/**
+	 * get 說明：取得已解析的樣板, 第一次使用時載入並解析<br>
+	 *
+	 * @param String folder 樣板資料夾, 為空或找不到同名檔案時使用預設樣板
+	 * @param String name 樣板名稱(不含副檔名)
+	 * @return CodegenTemplate template
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public static CodegenTemplate get( String folder, String name ) throws IOException {
+		String key = ( folder == null ? "" : folder ) + '|' + name;
+		CodegenTemplate template = CACHE.get( key );
+		if( template == null ) {
+			template = compile( name, load( folder, name ), folder );
+			CodegenTemplate previous = CACHE.putIfAbsent( key, template );
+			if( previous != null ) {
+				template = previous;
+			}
+		}
+		return template;
+	}
+
+	/**
+	 * clearCache 說明：清除已解析的樣板, 修改樣板檔後重新載入用<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public static void clearCache() {
+		CACHE.clear();
+	}
+
+	/**
+	 * render 說明：以變數輸出樣板<br>
+	 *
+	 * @param Writer out
+	 * @param Map<String,?> model
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void render( Writer out, Map<String,?> model ) throws IOException {
+		renderNodes( out, new Scope( model, null ) );
+	}
+
+	private void renderNodes( Writer out, Scope scope ) throws IOException {
+		for( Node node : nodes ) {
+			node.render( out, scope );
+		}
+	}
+
+	/**
+	 * getSources 說明：取得樣板及其 #include 引用樣板的內容, 建置時判斷樣板是否變更用<br>
+	 *
+	 * @param String folder 樣板資料夾, 為空或找不到同名檔案時使用預設樣板
+	 * @param Collection<String> names 樣板名稱(不含副檔名)
+	 * @return Map<String,String> 樣板名稱 > 內容, 依名稱排序
+	 * @author Alan Hsu
+	 * @throws IOException 樣板不存在或讀取失敗
+	 */
+	static Map<String,String> getSources( String folder, Collection<String> names ) throws IOException {
+		Map<String,String> sourceMap = new TreeMap<>();
+		Deque<String> pending = new ArrayDeque<>( names );
+		while( !pending.isEmpty() ) {
+			String name = pending.pop();
+			if( sourceMap.containsKey( name ) ) {
+				continue;
+			}
+			String source = load( folder, name );
+			sourceMap.put( name, source );
+			for( String line : source.split( "\r?\n" ) ) {
+				String trimmed = line.trim();
+				if( "include".equals( getDirective( trimmed ) ) ) {
+					pending.push( getArgument( trimmed, name, 0 ) );
+				}
+			}
+		}
+		return sourceMap;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * load 說明：讀取樣板內容, 先找樣板資料夾, 再找預設樣板<br>
+	 *
+	 * @return String source
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private static String load( String folder, String name ) throws IOException {
+		String fileName = name + TEMPLATE_EXTENSION;
+		if( folder != null && !"".equals( folder.trim() ) ) {
+			Path file = Paths.get( folder.trim(), fileName );
+			if( Files.exists( file ) ) {
+				return new String( Files.readAllBytes( file ), StandardCharsets.UTF_8 );
+			}
+		}
+		try( InputStream in = CodegenTemplate.class.getResourceAsStream( DEFAULT_TEMPLATE_PATH + fileName ) ) {
+			if( in == null ) {
+				throw new IOException( "Template " + fileName + " not found" );
+			}
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[ 4096 ];
+			int n;
+			while( ( n = in.read( buffer ) ) > 0 ) {
+				bytes.write( buffer, 0, n );
+			}
+			return new String( bytes.toByteArray(), StandardCharsets.UTF_8 );
+		}
+	}
+
+	/**
+	 * compile 說明：將樣板內容解析成節點樹<br>
+	 *
+	 * @param String name
+	 * @param String source
+	 * @param String folder
+	 * @return CodegenTemplate template
+	 * @author Alan Hsu
+	 */
+	static CodegenTemplate compile( String name, String source, String folder ) {
+		String nl = System.lineSeparator();
+		List<Node> root = new ArrayList<>();
+		Deque<BlockNode> stack = new ArrayDeque<>();
+		StringBuilder text = new StringBuilder();
+
+		String[] lines = source.replace( "\r\n", "\n" ).split( "\n", -1 );
+		/** 最後一行為空字串表示樣板以換行結尾 */
+		int lineCount = lines.length;
+		for( int i = 0; i < lineCount; i++ ) {
+			String line = lines[i];
+			boolean lastLine = i == lineCount - 1;
+			String trimmed = line.trim();
+
+			if( trimmed.startsWith( "##" ) ) {
+				continue;
+			}
+			String directive = trimmed.startsWith( "#" ) ? getDirective( trimmed ) : null;
+			if( directive != null ) {
+				flushText( text, root, stack );
+				String arg = getArgument( trimmed, name, i + 1 );
+				switch( directive ) {
+					case "if":
+						boolean negate = arg.startsWith( "!" );
+						IfNode ifNode = new IfNode( negate ? arg.substring( 1 ).trim() : arg, negate );
+						addNode( ifNode, root, stack );
+						stack.push( ifNode );
+						break;
+					case "else":
+						if( !( stack.peek() instanceof IfNode ) || ( (IfNode) stack.peek() ).elseBody != null ) {
+							throw new IllegalArgumentException( "Template " + name + " line " + ( i + 1 ) + ": #else without #if" );
+						}
+						( (IfNode) stack.peek() ).elseBody = new ArrayList<>();
+						break;
+					case "each":
+						EachNode eachNode = new EachNode( arg );
+						addNode( eachNode, root, stack );
+						stack.push( eachNode );
+						break;
+					case "end":
+						if( stack.isEmpty() ) {
+							throw new IllegalArgumentException( "Template " + name + " line " + ( i + 1 ) + ": #end without block" );
+						}
+						stack.pop();
+						break;
+					case "include":
+						addNode( new IncludeNode( folder, arg ), root, stack );
+						break;
+					default:
+						break;
+				}
+				continue;
+			}
+
+			parseLine( line, text, root, stack );
+			if( !lastLine ) {
+				text.append( nl );
+			}
+		}
+		flushText( text, root, stack );
+		if( !stack.isEmpty() ) {
+			throw new IllegalArgumentException( "Template " + name + ": missing #end" );
+		}
+		return new CodegenTemplate( name, root );
+	}
+
+	private static String getDirective( String trimmed ) {
+		for( String directive : new String[] { "include", "each", "else", "end", "if" } ) {
+			if( trimmed.startsWith( "#" + directive ) ) {
+				String rest = trimmed.substring( directive.length() + 1 );
+				if( rest.isEmpty() || rest.charAt( 0 ) == '(' ) {
+					return directive;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String getArgument( String trimmed, String name, int lineNo ) {
+		int start = trimmed.indexOf( '(' );
+		if( start < 0 ) {
+			return "";
+		}
+		int end = trimmed.lastIndexOf( ')' );
+		if( end < start ) {
+			throw new IllegalArgumentException( "Template " + name + " line " + lineNo + ": missing ')'" );
+		}
+		return trimmed.substring( start + 1, end ).trim();
+	}
+
+	/**
+	 * parseLine 說明：解析一行文字中的 ${name} 變數<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	private static void parseLine( String line, StringBuilder text, List<Node> root, Deque<BlockNode> stack ) {
+		int pos = 0;
+		while( pos < line.length() ) {
+			int start = line.indexOf( "${", pos );
+			int end = start < 0 ? -1 : line.indexOf( '}', start + 2 );
+			if( start < 0 || end < 0 ) {
+				text.append( line, pos, line.length() );
+				return;
+			}
+			text.append( line, pos, start );
+			flushText( text, root, stack );
+			addNode( new VarNode( line.substring( start + 2, end ).trim() ), root, stack );
+			pos = end + 1;
+		}
+	}
+
+	private static void flushText( StringBuilder text, List<Node> root, Deque<BlockNode> stack ) {
+		if( text.length() > 0 ) {
+			addNode( new TextNode( text.toString() ), root, stack );
+			text.setLength( 0 );
+		}
+	}
+
+	private static void addNode( Node node, List<Node> root, Deque<BlockNode> stack ) {
+		if( stack.isEmpty() ) {
+			root.add( node );
+		} else {
+			stack.peek().add( node );
+		}
+	}
+
+	/**
+	 * isTrue 說明：條件判斷, Boolean 取其值, 字串及集合不為空即成立<br>
+	 *
+	 * @param Object value
+	 * @return boolean result
+	 * @author Alan Hsu
+	 */
+	static boolean isTrue( Object value ) {
+		if( value == null ) {
+			return false;
+		}
+		if( value instanceof Boolean ) {
+			return (Boolean) value;
+		}
+		if( value instanceof CharSequence ) {
+			return ( (CharSequence) value ).length() > 0;
+		}
+		if( value instanceof Collection ) {
+			return !( (Collection<?>) value ).isEmpty();
+		}
+		return true;
+	}
+
+}
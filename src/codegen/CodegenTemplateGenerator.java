@@ -0,0 +1,118 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import codegen.CustomCodegen.Artifact;
+import codegen.CustomCodegen.TableInfo;
+
+/**
+ *	作 業 代 碼 ：CodegenTemplateGenerator<br>
+ *	作 業 名 稱 ：Codegen Template Generator<br>
+ *	程 式 代 號 ：CodegenTemplateGenerator.java<br>
+ *	描 述 ：以樣板產製單一Java檔案的產生器, 輸出路徑設定推導套件的方式與原 getNewFilePath 相同<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public abstract class CodegenTemplateGenerator implements CodegenGenerator {
+
+	private final String type;
+
+	private final String label;
+
+	private final String templateName;
+
+	private final int order;
+
+	/**
+	 * @param String type 產檔類型
+	 * @param String label 輸出訊息及耗時記錄使用的名稱
+	 * @param String templateName 樣板名稱(templates/樣板名稱.cgt)
+	 * @param int order
+	 */
+	protected CodegenTemplateGenerator( String type, String label, String templateName, int order ) {
+		this.type = type;
+		this.label = label;
+		this.templateName = templateName;
+		this.order = order;
+	}
+
+	/**
+	 * newClassName 說明：決定類別名稱<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @return String className
+	 * @author Alan Hsu
+	 */
+	protected abstract String newClassName( CustomCodegen setting );
+
+	/**
+	 * getTargetPath 說明：取得輸出路徑設定<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @return String targetPath
+	 * @author Alan Hsu
+	 */
+	protected abstract String getTargetPath( CustomCodegen setting );
+
+	/**
+	 * getPackageName 說明：依輸出路徑設定推導套件名稱<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @return String packageName
+	 * @author Alan Hsu
+	 */
+	public String getPackageName( CustomCodegen setting ) {
+		return CustomCodegen.toPackageName( getTargetPath( setting ) );
+	}
+
+	@Override
+	public List<Artifact> prepare( CustomCodegen setting, Map<String,Artifact> prepared ) {
+		String className = newClassName( setting );
+		return Collections.singletonList( new Artifact( this, className, getPackageName( setting ), label, setting.getNewFilePath( type ) ) );
+	}
+
+	@Override
+	public void render( Writer out, Artifact artifact, Map<String,Artifact> artifacts, TableInfo table, CustomCodegen setting ) throws IOException {
+		CodegenTemplate.get( setting.getTemplateFolder(), templateName ).render( out, getModel( setting, artifact, artifacts, table ) );
+	}
+
+	/**
+	 * getModel 說明：取得樣板變數<br>
+	 *
+	 * @param CustomCodegen setting
+	 * @param Artifact artifact
+	 * @param Map<String,Artifact> artifacts
+	 * @param TableInfo table
+	 * @return Map<String,Object> model
+	 * @author Alan Hsu
+	 */
+	public Map<String,Object> getModel( CustomCodegen setting, Artifact artifact, Map<String,Artifact> artifacts, TableInfo table ) {
+		return setting.getTemplateModel( artifact, artifacts, table );
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public String getTemplateName() {
+		return templateName;
+	}
+
+}
@@ -0,0 +1,282 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ *	作 業 代 碼 ：CodegenUpToDateCheck<br>
+ *	作 業 名 稱 ：Codegen Up To Date Check<br>
+ *	程 式 代 號 ：CodegenUpToDateCheck.java<br>
+ *	描 述 ：建置時(例如 Maven generate-sources)判斷是否需要產檔, 輸入(設定、DDL檔、快照、樣板)及產製檔案皆未變更時略過整個產檔<br>
+ *			輸入以內容的SHA-256雜湊比對, 產製檔案以大小及修改時間比對, 結果記錄於戳記檔<br>
+ *			表格資訊來自連線中的資料庫時資料庫不是輸入, 由呼叫端決定是否使用<br>
+ *			Codegen版本、產生器及樣板亦為輸入, 升級或修改後重新產檔<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenUpToDateCheck {
+
+	private final static String VERSION_KEY = "codegenVersion";
+
+	private final static String INPUT_KEY = "inputHash";
+
+	private final static String OUTPUT_PREFIX = "output|";
+
+	/** 戳記檔位置 */
+	private final Path stampFile;
+
+	/** 輸入名稱 > 內容雜湊或設定值, 依名稱排序後計算雜湊 */
+	private final Map<String,String> inputMap = new TreeMap<>();
+
+	/** 本次產製的檔案 */
+	private final Set<Path> outputSet = ConcurrentHashMap.newKeySet();
+
+	public CodegenUpToDateCheck( Path stampFile ) {
+		this.stampFile = stampFile;
+	}
+
+	/**
+	 * addInput 說明：加入設定值輸入<br>
+	 *
+	 * @param String name
+	 * @param String value
+	 * @author Alan Hsu
+	 */
+	public void addInput( String name, String value ) {
+		inputMap.put( "value|" + name, value == null ? "" : value );
+	}
+
+	/**
+	 * addInputFile 說明：加入檔案輸入, 資料夾時加入其下所有檔案<br>
+	 *
+	 * @param Path path
+	 * @author Alan Hsu
+	 * @throws IOException 檔案不存在或讀取失敗
+	 */
+	public void addInputFile( Path path ) throws IOException {
+		if( Files.isDirectory( path ) ) {
+			List<Path> files;
+			try( Stream<Path> stream = Files.walk( path ) ) {
+				files = stream.filter( Files::isRegularFile ).collect( Collectors.toList() );
+			}
+			for( Path file : files ) {
+				addInputFile( file );
+			}
+			return;
+		}
+		inputMap.put( "file|" + path.toAbsolutePath().normalize(), CodegenIncrementalWriter.sha256( path ) );
+	}
+
+	/**
+	 * addCodegenInputs 說明：加入Codegen本身的輸入：Codegen版本、各產生器類別及其類別檔雜湊、產生器使用的樣板(含 #include 引用的樣板)內容雜湊<br>
+	 * 						升級Codegen、替換產生器或修改樣板後即重新產檔<br>
+	 *
+	 * @param String templateFolder 樣板資料夾, 為空時使用預設樣板
+	 * @author Alan Hsu
+	 * @throws IOException 樣板或類別檔讀取失敗
+	 */
+	public void addCodegenInputs( String templateFolder ) throws IOException {
+		inputMap.put( "codegen|" + VERSION_KEY, CustomCodegen.CODEGEN_VERSION );
+		List<String> templateNames = new ArrayList<>();
+		for( CodegenGenerator generator : CustomCodegen.getGenerators() ) {
+			inputMap.put( "generator|" + generator.getType(), generator.getClass().getName() + '|' + getClassHash( generator.getClass() ) );
+			if( generator instanceof CodegenTemplateGenerator ) {
+				templateNames.add( ( (CodegenTemplateGenerator) generator ).getTemplateName() );
+			}
+		}
+		MessageDigest digest = CodegenIncrementalWriter.newDigest();
+		for( Map.Entry<String,String> entry : CodegenTemplate.getSources( templateFolder, templateNames ).entrySet() ) {
+			inputMap.put( "template|" + entry.getKey(), CodegenIncrementalWriter.toHex( digest.digest( entry.getValue().getBytes( StandardCharsets.UTF_8 ) ) ) );
+		}
+	}
+
+	/**
+	 * getClassHash 說明：取得類別檔內容的雜湊, 無法讀取類別檔時(如動態產生的類別)使用套件的實作版本<br>
+	 *
+	 * @param Class<?> type
+	 * @return String hash
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private static String getClassHash( Class<?> type ) throws IOException {
+		String name = type.getName();
+		try( InputStream in = type.getResourceAsStream( name.substring( name.lastIndexOf( '.' ) + 1 ) + ".class" ) ) {
+			if( in == null ) {
+				Package pkg = type.getPackage();
+				return pkg == null || pkg.getImplementationVersion() == null ? "" : pkg.getImplementationVersion();
+			}
+			MessageDigest digest = CodegenIncrementalWriter.newDigest();
+			byte[] buffer = new byte[ 8192 ];
+			int n;
+			while( ( n = in.read( buffer ) ) > 0 ) {
+				digest.update( buffer, 0, n );
+			}
+			return CodegenIncrementalWriter.toHex( digest.digest() );
+		}
+	}
+
+	/**
+	 * getInputHash 說明：取得所有輸入的雜湊<br>
+	 *
+	 * @return String hash
+	 * @author Alan Hsu
+	 */
+	public String getInputHash() {
+		MessageDigest digest = CodegenIncrementalWriter.newDigest();
+		inputMap.forEach( ( name, value ) -> {
+			digest.update( name.getBytes( StandardCharsets.UTF_8 ) );
+			digest.update( (byte) 0 );
+			digest.update( value.getBytes( StandardCharsets.UTF_8 ) );
+			digest.update( (byte) '\n' );
+		} );
+		return CodegenIncrementalWriter.toHex( digest.digest() );
+	}
+
+	/**
+	 * isUpToDate 說明：戳記檔的Codegen版本及輸入雜湊相同, 且記錄的產製檔案皆未變更時為true<br>
+	 *
+	 * @return boolean upToDate
+	 * @author Alan Hsu
+	 */
+	public boolean isUpToDate() {
+		if( !Files.isRegularFile( stampFile ) ) {
+			System.out.println( "### No stamp file " + stampFile + ", generating ###");
+			return false;
+		}
+		Map<String,String> stampMap = new TreeMap<>();
+		try {
+			for( String line : Files.readAllLines( stampFile, StandardCharsets.UTF_8 ) ) {
+				int idx = line.lastIndexOf( '=' );
+				if( idx > 0 ) {
+					stampMap.put( line.substring( 0, idx ), line.substring( idx + 1 ) );
+				}
+			}
+		} catch( IOException e ) {
+			System.err.println( "### Read stamp file " + stampFile + " failed due to " + e.getMessage() + ", generating ###");
+			return false;
+		}
+		if( !CustomCodegen.CODEGEN_VERSION.equals( stampMap.get( VERSION_KEY ) ) ) {
+			System.out.println( "### Codegen version changed, generating ###");
+			return false;
+		}
+		if( !getInputHash().equals( stampMap.get( INPUT_KEY ) ) ) {
+			System.out.println( "### Codegen inputs changed, generating ###");
+			return false;
+		}
+		for( Map.Entry<String,String> entry : stampMap.entrySet() ) {
+			if( entry.getKey().startsWith( OUTPUT_PREFIX ) ) {
+				Path output = stampFile.getFileSystem().getPath( entry.getKey().substring( OUTPUT_PREFIX.length() ) );
+				if( !entry.getValue().equals( toOutputStamp( output ) ) ) {
+					System.out.println( "### Output " + output + " changed or missing, generating ###");
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * recordOutput 說明：記錄本次產製的檔案, 可由多條執行緒同時呼叫<br>
+	 *
+	 * @param Path file
+	 * @author Alan Hsu
+	 */
+	public void recordOutput( Path file ) {
+		outputSet.add( file.toAbsolutePath().normalize() );
+	}
+
+	/**
+	 * track 說明：取得記錄產製檔案的輸出位置<br>
+	 *
+	 * @param CodegenOutputSink sink
+	 * @return CodegenOutputSink trackingSink
+	 * @author Alan Hsu
+	 */
+	public CodegenOutputSink track( CodegenOutputSink sink ) {
+		return new CodegenOutputSink() {
+
+			@Override
+			public boolean write( Path file, SourceRenderer renderer ) throws IOException {
+				boolean written = sink.write( file, renderer );
+				if( !( sink instanceof CodegenZipSink ) && !( sink instanceof CodegenMemorySink ) ) {
+					recordOutput( file );
+				}
+				return written;
+			}
+
+			@Override
+			public void close() throws IOException {
+				sink.close();
+			}
+
+		};
+	}
+
+	/**
+	 * save 說明：產檔成功後寫入戳記檔<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void save() throws IOException {
+		Path parent = stampFile.toAbsolutePath().getParent();
+		if( parent != null ) {
+			Files.createDirectories( parent );
+		}
+		Map<String,String> stampMap = new TreeMap<>();
+		for( Path output : outputSet ) {
+			stampMap.put( OUTPUT_PREFIX + output, toOutputStamp( output ) );
+		}
+		try( Writer out = Files.newBufferedWriter( stampFile, StandardCharsets.UTF_8 ) ) {
+			out.write( VERSION_KEY + "=" + CustomCodegen.CODEGEN_VERSION + System.lineSeparator() );
+			out.write( INPUT_KEY + "=" + getInputHash() + System.lineSeparator() );
+			for( Map.Entry<String,String> entry : stampMap.entrySet() ) {
+				out.write( entry.getKey() + "=" + entry.getValue() + System.lineSeparator() );
+			}
+		}
+		System.out.println( "### Stamp file " + stampFile + " saved, Outputs:" + outputSet.size() + " ###");
+	}
+
+	/**
+	 * invalidate 說明：產檔前刪除戳記檔, 產檔失敗時下次建置會重新產檔<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void invalidate() throws IOException {
+		Files.deleteIfExists( stampFile );
+	}
+
+	private static String toOutputStamp( Path output ) {
+		try {
+			return Files.size( output ) + "," + Files.getLastModifiedTime( output ).toMillis();
+		} catch( IOException e ) {
+			return "";
+		}
+	}
+
+	public Path getStampFile() {
+		return stampFile;
+	}
+
+	public List<Path> getOutputs() {
+		return new ArrayList<>( outputSet );
+	}
+
+}
@@ -0,0 +1,154 @@
+package codegen;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarFile;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ *	作 業 代 碼 ：CodegenZipSink<br>
+ *	作 業 名 稱 ：Codegen Zip Sink<br>
+ *	程 式 代 號 ：CodegenZipSink.java<br>
+ *	描 述 ：所有產製檔案依序寫入單一ZIP壓縮檔, 副檔名為 .jar 時輸出含 MANIFEST.MF 的JAR<br>
+ *			網路磁碟(Windows共用資料夾、NFS)只需建立一個檔案, 各表格於記憶體產製後才寫入壓縮檔<br>
+ *			壓縮檔於 close 時完成, 每次產檔使用新的CodegenZipSink<br>
+ *			可重現模式時檔案於 close 時依名稱排序寫入, 時間固定為1980-01-01, 相同內容產出相同的壓縮檔<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenZipSink implements CodegenOutputSink {
+
+	private final static int BUFFER_SIZE = 64 * 1024;
+
+	private final Path zipFile;
+
+	/** 壓縮檔內的根目錄, 產製檔案以相對於此目錄的路徑寫入 */
+	private final Path root;
+
+	private final ZipOutputStream out;
+
+	private int entryCount;
+
+	/** 可重現模式時 名稱 > 內容, close 時依名稱寫入; 否則為null */
+	private final Map<String,byte[]> entryMap;
+
+	/** 可重現模式時的JAR MANIFEST.MF */
+	private final Manifest manifest;
+
+	/**
+	 * CodegenZipSink 說明：建立(覆寫)壓縮檔<br>
+	 *
+	 * @param Path zipFile
+	 * @param Path root 根目錄, 通常為產製檔案輸出位置(newFileTargetFolder), 為null時只以檔案名稱寫入
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public CodegenZipSink( Path zipFile, Path root ) throws IOException {
+		this( zipFile, root, false );
+	}
+
+	/**
+	 * CodegenZipSink 說明：建立(覆寫)壓縮檔<br>
+	 *
+	 * @param Path zipFile
+	 * @param Path root 根目錄, 為null時只以檔案名稱寫入
+	 * @param boolean reproducible 可重現模式, 檔案依名稱排序且時間固定
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public CodegenZipSink( Path zipFile, Path root, boolean reproducible ) throws IOException {
+		this.zipFile = zipFile;
+		this.root = root;
+		if( zipFile.toAbsolutePath().getParent() != null ) {
+			Files.createDirectories( zipFile.toAbsolutePath().getParent() );
+		}
+		OutputStream os = new BufferedOutputStream( Files.newOutputStream( zipFile ), BUFFER_SIZE );
+		Manifest jarManifest = null;
+		if( zipFile.getFileName().toString().toLowerCase().endsWith( ".jar" ) ) {
+			jarManifest = new Manifest();
+			jarManifest.getMainAttributes().put( Attributes.Name.MANIFEST_VERSION, "1.0" );
+			jarManifest.getMainAttributes().putValue( "Created-By", "CustomCodegen" );
+		}
+		/** 可重現模式的MANIFEST.MF於 close 時以固定時間寫入 */
+		this.out = jarManifest != null && !reproducible ? new JarOutputStream( os, jarManifest ) : new ZipOutputStream( os );
+		this.manifest = reproducible ? jarManifest : null;
+		this.entryMap = reproducible ? new TreeMap<>() : null;
+	}
+
+	@Override
+	public boolean write( Path file, SourceRenderer renderer ) throws IOException {
+		/** 於呼叫端執行緒產製, 只有寫入壓縮檔時需要同步 */
+		byte[] source = CodegenSourceWriter.toBytes( renderer );
+		String entryName = CodegenOutputSink.toEntryName( root, file );
+		synchronized( out ) {
+			if( entryMap != null ) {
+				entryMap.put( entryName, source );
+			} else {
+				out.putNextEntry( new ZipEntry( entryName ) );
+				out.write( source );
+				out.closeEntry();
+			}
+			entryCount++;
+		}
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized( out ) {
+			if( entryMap != null ) {
+				if( manifest != null ) {
+					ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					manifest.write( bytes );
+					writeFixedTimeEntry( JarFile.MANIFEST_NAME, bytes.toByteArray() );
+				}
+				for( Map.Entry<String,byte[]> entry : entryMap.entrySet() ) {
+					writeFixedTimeEntry( entry.getKey(), entry.getValue() );
+				}
+				entryMap.clear();
+			}
+			out.close();
+		}
+		System.out.println( "### " + entryCount + " files written to " + zipFile + " ###");
+	}
+
+	/**
+	 * writeFixedTimeEntry 說明：以固定時間寫入檔案, 時間以本機時區設定使壓縮檔內的DOS時間不受時區影響<br>
+	 *
+	 * @param String entryName
+	 * @param byte[] content
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private void writeFixedTimeEntry( String entryName, byte[] content ) throws IOException {
+		ZipEntry entry = new ZipEntry( entryName );
+		entry.setTime( new GregorianCalendar( 1980, Calendar.JANUARY, 1, 0, 0, 0 ).getTimeInMillis() );
+		out.putNextEntry( entry );
+		out.write( content );
+		out.closeEntry();
+	}
+
+	public Path getZipFile() {
+		return zipFile;
+	}
+
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+}
@@ -2,11 +2,14 @@ package codegen;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.*;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -14,6 +17,14 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
@@ -30,21 +41,29 @@ import java.util.stream.Collectors;
  */
 public class CustomCodegen {
 	
-	private final static String CODEGEN_VERSION = "1.1.16";
-	
-	private final static String Oracle_SERVER_URL = "jdbc:oracle:thin:@10.XXX.XXX.XX:15XX:XXXXDB";
-	
-	private final static String MySQL_SERVER_URL = "jdbc:mysql://localhost:3306/XXXX?serverTimezone=UTC&useUnicode=true&characterEncoding=UTF-8";
-	
-	private final static String Oracle_ACCOUNT = "oracle_mgr";
-	private final static String Oracle_PWD = "oracle_mgr";
-	private final static String MySQL_ACCOUNT = "mysql_mgr";
-	private final static String MySQL_PWD = "mysql_mgr";
+	final static String CODEGEN_VERSION = "1.1.16";
 	
 	private final static int MAX_RETRY_TIMES = 5;
 
+	private final static int DEFAULT_BATCH_THREADS = 4;
+
+	private final static int SNAPSHOT_BULK_REFRESH_THRESHOLD = 20;
+
+	private final static long EMIT_THREAD_KEEP_ALIVE_SECONDS = 30L;
+
+	private final static long DEFAULT_WATCH_INTERVAL_SECONDS = 10L;
+
+	/** 表格資訊查詢逾時秒數, 避免單一查詢無限期等待 */
+	private final static int DEFAULT_QUERY_TIMEOUT_SECONDS = 60;
+
+	/** 可重現產檔時的固定時間, 同 reproducible-builds.org 的 SOURCE_DATE_EPOCH(秒) */
+	private final static String SOURCE_DATE_EPOCH = "SOURCE_DATE_EPOCH";
+
+	/** 內建及以 ServiceLoader 載入的產生器, 依 getOrder 排序 */
+	private final static List<CodegenGenerator> GENERATORS = loadGenerators();
+
 	/** 定義表格內欄位資訊 */
-	class ColumnInfo {
+	public static class ColumnInfo {
 		
 		private String columnName;
 		
@@ -57,12 +76,54 @@ public class CustomCodegen {
 		private String javaType;
 		
 		private boolean isPrimaryKey;
+		
+		/** 由 snapshot 取得的欄位資訊不可修改 */
+		private boolean frozen;
+		
+		/**
+		 * snapshot 說明：取得不可修改的欄位資訊複本<br>
+		 * 
+		 * @return ColumnInfo snapshot
+		 * @author Alan Hsu
+		 */
+		public ColumnInfo snapshot() {
+			return frozen ? this : copy( true );
+		}
+		
+		/**
+		 * copy 說明：取得可修改的欄位資訊複本<br>
+		 * 
+		 * @return ColumnInfo copy
+		 * @author Alan Hsu
+		 */
+		public ColumnInfo copy() {
+			return copy( false );
+		}
+		
+		private ColumnInfo copy( boolean frozen ) {
+			ColumnInfo copy = new ColumnInfo();
+			copy.columnName = columnName;
+			copy.selfColumnName = selfColumnName;
+			copy.remarks = remarks;
+			copy.columnType = columnType;
+			copy.javaType = javaType;
+			copy.isPrimaryKey = isPrimaryKey;
+			copy.frozen = frozen;
+			return copy;
+		}
+		
+		private void checkFrozen() {
+			if( frozen ) {
+				throw new UnsupportedOperationException( "Column snapshot " + columnName + " is read-only" );
+			}
+		}
 
 		public String getColumnName() {
 			return columnName;
 		}
 
 		public void setColumnName(String columnName) {
+			checkFrozen();
 			this.columnName = columnName;
 		}
 
@@ -71,6 +132,7 @@ public class CustomCodegen {
 		}
 
 		public void setSelfColumnName(String selfColumnName) {
+			checkFrozen();
 			this.selfColumnName = selfColumnName;
 		}
 
@@ -79,6 +141,7 @@ public class CustomCodegen {
 		}
 
 		public void setRemarks(String remarks) {
+			checkFrozen();
 			this.remarks = remarks;
 		}
 
@@ -87,6 +150,7 @@ public class CustomCodegen {
 		}
 
 		public void setColumnType(String columnType) {
+			checkFrozen();
 			this.columnType = columnType;
 		}
 
@@ -95,6 +159,7 @@ public class CustomCodegen {
 		}
 
 		public void setJavaType(String javaType) {
+			checkFrozen();
 			this.javaType = javaType;
 		}
 
@@ -103,6 +168,7 @@ public class CustomCodegen {
 		}
 
 		public void setPrimaryKey(boolean isPrimaryKey) {
+			checkFrozen();
 			this.isPrimaryKey = isPrimaryKey;
 		}
 		
@@ -119,7 +185,7 @@ public class CustomCodegen {
 	}
 
 	/** 定義表格資訊 */
-	class TableInfo {
+	public static class TableInfo {
 		
 		private String tableName;
 		
@@ -129,17 +195,64 @@ public class CustomCodegen {
 		
 		private Map<String,ColumnInfo> columnMap;
 		
+		/** 表格最後的DDL時間(yyyy-MM-dd HH:mm:ss), 由DDL指紋取得, 可重現產檔時使用 */
+		private String ddlTime;
+		
+		/** 由 snapshot 取得的表格資訊不可修改 */
+		private boolean frozen;
+		
 		TableInfo(){}
 		
 		TableInfo( String tableName ) {
 			this.tableName = tableName;
 		}
 		
+		/**
+		 * snapshot 說明：取得不可修改的表格資訊複本, 供多個產生器同時讀取<br>
+		 * 
+		 * @return TableInfo snapshot
+		 * @author Alan Hsu
+		 */
+		public TableInfo snapshot() {
+			return frozen ? this : copy( true );
+		}
+		
+		/**
+		 * copy 說明：取得可修改的表格資訊複本, 供共用的表格資訊(例如快照內的表格)交由各Codegen使用<br>
+		 * 
+		 * @return TableInfo copy
+		 * @author Alan Hsu
+		 */
+		public TableInfo copy() {
+			return copy( false );
+		}
+		
+		private TableInfo copy( boolean frozen ) {
+			TableInfo copy = new TableInfo( tableName );
+			copy.hasPrimaryKey = hasPrimaryKey;
+			copy.columnCount = columnCount;
+			copy.ddlTime = ddlTime;
+			if( columnMap != null ) {
+				Map<String,ColumnInfo> copyMap = new LinkedHashMap<>();
+				columnMap.forEach( ( columnName, columnData ) -> copyMap.put( columnName, columnData.copy( frozen ) ) );
+				copy.columnMap = frozen ? Collections.unmodifiableMap( copyMap ) : copyMap;
+			}
+			copy.frozen = frozen;
+			return copy;
+		}
+		
+		private void checkFrozen() {
+			if( frozen ) {
+				throw new UnsupportedOperationException( "Table snapshot " + tableName + " is read-only" );
+			}
+		}
+		
 		public Map<String,ColumnInfo> getColumns() {
 			return columnMap;
 		}
 
 		public void setColumns(Map<String,ColumnInfo> columnMap) {
+			checkFrozen();
 			this.columnMap = columnMap;
 		}
 
@@ -148,6 +261,7 @@ public class CustomCodegen {
 		}
 
 		public void setHasPrimaryKey(Boolean hasPrimaryKey) {
+			checkFrozen();
 			this.hasPrimaryKey = hasPrimaryKey;
 		}
 		
@@ -156,16 +270,27 @@ public class CustomCodegen {
 		}
 
 		public void setColumnCount(int columnCount) {
+			checkFrozen();
 			this.columnCount = columnCount;
 		}
 
 		public void setTableName(String tableName) {
+			checkFrozen();
 			this.tableName = tableName;
 		}
 
 		public String getTableName() {
 			return tableName;
 		}
+
+		public String getDdlTime() {
+			return ddlTime;
+		}
+
+		public void setDdlTime(String ddlTime) {
+			checkFrozen();
+			this.ddlTime = ddlTime;
+		}
 		
 		@Override
 		public String toString() {
@@ -188,6 +313,67 @@ public class CustomCodegen {
 		}
 		
 	}
+
+	/** 產出檔案的產生器、名稱及輸出位置 */
+	public static class Artifact {
+		
+		private final CodegenGenerator generator;
+		
+		private final String className;
+		
+		private final String packageName;
+		
+		private final String fileName;
+		
+		private final String label;
+		
+		private final String path;
+		
+		/**
+		 * @param CodegenGenerator generator 產製此檔案的產生器
+		 * @param String className 類別名稱, 檔案名稱為 類別名稱.java
+		 * @param String packageName 套件名稱
+		 * @param String label 輸出訊息及耗時記錄使用的名稱
+		 * @param String path 輸出位置
+		 */
+		public Artifact( CodegenGenerator generator, String className, String packageName, String label, String path ) {
+			this.generator = generator;
+			this.className = className;
+			this.packageName = packageName;
+			this.fileName = className + ".java";
+			this.label = label;
+			this.path = path;
+		}
+		
+		public CodegenGenerator getGenerator() {
+			return generator;
+		}
+		
+		public String getClassName() {
+			return className;
+		}
+		
+		public String getPackageName() {
+			return packageName;
+		}
+		
+		public String getFileName() {
+			return fileName;
+		}
+		
+		public String getLabel() {
+			return label;
+		}
+		
+		public String getType() {
+			return generator.getType();
+		}
+		
+		public String getPath() {
+			return path;
+		}
+		
+	}
 	
 	/** 目前套件路徑  */
 	/** private String packagePath; */
@@ -225,24 +411,6 @@ public class CustomCodegen {
 	/** 產製檔案輸出位置 */
 	private String newFileTargetFolder;
 	
-	/** 產製Bean名稱 */
-	private String domainBeanName;
-	
-	/** 產製Dao名稱 */
-	private String domainDaoName;
-	
-	/** 產製IDao名稱 */
-	private String domainIDaoName;
-	
-	/** 目標Bean套件路徑 */
-	private String targetBeanPackage;
-	
-	/** 目標Dao套件路徑 */
-	private String targetDaoPackage;
-	
-	/** 目標IDao套件路徑 */
-	private String targetIDaoPackage;
-	
 	/** 目標Bean產檔路徑 */
 	private String targetBeanPath;
 	
@@ -255,6 +423,9 @@ public class CustomCodegen {
 	/** 是否有BigDecimal型態 */
 	private boolean hasBigDecimal;
 	
+	/** 是否有BigInteger型態(MySQL BIGINT UNSIGNED) */
+	private boolean hasBigInteger;
+	
 	/** 是否有TIMESTAMP型態 */
 	private boolean hasTimeStamp;
 	
@@ -279,6 +450,81 @@ public class CustomCodegen {
 	/** 表格欄位資訊 */
 	private TableInfo tableInfo;
 
+	/** 批次產檔-包含表格名稱規則(Regex) */
+	private String includeTablePattern;
+
+	/** 批次產檔-排除表格名稱規則(Regex) */
+	private String excludeTablePattern;
+
+	/** 批次產檔-同時產檔的執行緒數量 */
+	private int batchThreads = DEFAULT_BATCH_THREADS;
+
+	/** 分階段產檔的佇列容量, 0為預設值 */
+	private int pipelineQueueCapacity;
+
+	/** 具名資料來源名稱, 未設定時依資料庫種類(oracle, mysql)或使用 default */
+	private String dataSourceName;
+
+	/** 具名資料來源設定, 未設定時使用 CodegenDataSourceRegistry.getDefault() */
+	private CodegenDataSourceRegistry dataSourceRegistry;
+
+	/** 連線池, 取自具名資料來源, 批次產檔時由各執行緒的Codegen共用 */
+	private CodegenConnectionPool connectionPool;
+
+	/** 表格資訊快照檔路徑, 未設定即不使用快照 */
+	private String snapshotPath;
+
+	/** 離線模式, 只使用快照內的表格資訊不連線資料庫 */
+	private boolean offlineSnapshot;
+
+	/** 表格資訊快照 */
+	private CodegenMetadataSnapshot metadataSnapshot;
+
+	/** 增量產檔, 內容未變更的檔案不重新寫入 */
+	private boolean incremental;
+
+	/** 增量產檔寫入器, 批次產檔時由各執行緒的Codegen共用 */
+	private CodegenIncrementalWriter incrementalWriter;
+
+	/** 自訂樣板資料夾, 同名樣板(entity, idao, dao, classInfo)覆寫預設樣板 */
+	private String templateFolder;
+
+	/** 表格資訊來源, 設定後不連線資料庫 */
+	private CodegenMetadataSource metadataSource;
+
+	/** 命名轉換快取, 批次產檔時由各執行緒的Codegen共用, 建立後每次轉換不需同步 */
+	private volatile CodegenIdentifierCache identifierCache;
+
+	/** 命名轉換快取是否一併保存於表格資訊快照 */
+	private boolean snapshotIdentifiers;
+
+	/** 監看模式-檢查DDL異動的間隔秒數 */
+	private long watchIntervalSeconds = DEFAULT_WATCH_INTERVAL_SECONDS;
+
+	/** 產檔執行緒池, IDao 及 Dao 與 Bean 同時產製, 批次產檔時由各執行緒的Codegen共用 */
+	private ExecutorService emitExecutor;
+
+	/** 各表格各階段的耗時, 批次產檔時由各執行緒的Codegen共用 */
+	private CodegenMetrics metrics;
+
+	/** 耗時統計CSV輸出位置, 未設定時只輸出耗時最多的表格 */
+	private String metricsReportPath;
+
+	/** 產製檔案輸出位置, 未設定時寫入資料夾 */
+	private CodegenOutputSink outputSink;
+
+	/** 以資料字典(Oracle ALL_TAB_COLUMNS, MySQL information_schema)取得表格資訊, 無法使用時改用JDBC DatabaseMetaData */
+	private boolean dictionaryMetadata = true;
+
+	/** 表格資訊查詢逾時秒數, 0為不限制 */
+	private int queryTimeoutSeconds = DEFAULT_QUERY_TIMEOUT_SECONDS;
+
+	/** 可重現產檔, 相同的表格資訊產出相同內容的檔案, 不寫入現在時間 */
+	private boolean reproducible;
+
+	/** 可重現產檔時寫入的固定時間(yyyy-MM-dd HH:mm:ss), 未設定時依序使用SOURCE_DATE_EPOCH、表格的DDL時間 */
+	private String reproducibleTime;
+
 	/**
 	 *	sample_one 說明：範例一, 示範產生Entity, Dao, Interface<br>
 	 *	@author Alan Hsu
@@ -433,6 +679,52 @@ public class CustomCodegen {
 			gen.excute();
 		}
 	}
+
+	/**
+	 * sample_four 說明：範例四, 批次產生整個Schema符合規則的表格 Entity, Dao, IDao<br>
+	 * 					檔案名稱由表格名稱轉帕斯卡命名產生<br>
+	 *
+	 * @author Alan Hsu
+	 * @throws Exception
+	 */
+	public void sample_four( CustomCodegen gen ) throws Exception {
+		/** 作者 */
+		gen.setAuthor("Alan");
+		/** 產製檔案輸出位置 */
+		gen.setNewFileTargetFolder("D:\\Codegen\\output");
+		/** DB連線設定,預設在MySQL */
+		gen.setDbName("Oracle");
+		/** 具名資料來源(codegen-datasources.properties), 未設定時依DB連線設定使用 oracle 或 default */
+		gen.setDataSourceName("oracleDev");
+		/** 來源DB Schema */
+		gen.setTableSchema("XXXX_MGR");
+		/** 包含表格名稱規則(Regex), 未設定即為全部表格 */
+		gen.setIncludeTablePattern("SC.*");
+		/** 排除表格名稱規則(Regex) */
+		gen.setExcludeTablePattern(".*_(BAK|TMP)");
+		/** 同時產檔的執行緒數量 */
+		gen.setBatchThreads( 8 );
+		/** 程式說明區塊-描述 */
+		gen.setTaskDescription("批次產檔");
+		/** 產出Entity目標路徑 */
+		gen.setTargetBeanPath("D:\\workspace\\bean");
+		/** 產出Entity Annotation 類型：  1 > \@Column or 2 > \@Basic*/
+		gen.setMappedTypeByCode(1);
+		/** Entity 是否產生override toString 的方法 */
+		gen.setNeedToString( true );
+		/** 是否產出Dao, true：產出Entity & Dao & IDao, false：僅產出Entity */
+		gen.setNeedDao( true );
+		/** 產出Dao目標路徑 */
+		gen.setTargetDaoPath("D:\\workspace\\impl");
+		/** 產出IDao目標路徑 */
+		gen.setTargetIDaoPath("D:\\workspace\\dao");
+
+		/** 批次必要設定檢核 */
+		if( gen.checkBatchRequiredSetting() ) {
+			/** 開始批次Codegen */
+			gen.excuteBatch();
+		}
+	}
 	
 	/**
 	 * runCodegen 說明：Jar執行Java 1.8 Vesrsion Codegen<br>
@@ -546,6 +838,7 @@ public class CustomCodegen {
 			if( result && cusg.checkRequiredSetting() ) {
 				/** 開始Codegen */
 				cusg.excute();
+				cusg.closeConnectionPool();
 			}
 			
 		} catch( Exception e ) {
@@ -590,7 +883,7 @@ public class CustomCodegen {
 	}
 	
 	/**
-	 * getTopic 說明：取得輸入題目和檢核條件，以及要設值的bean方法<br>
+	 * getTopic 說明：取得輸入題目和檢核條件，以及要設值的bean方法, key 為工作檔(CodegenJobFile)的設定名稱<br>
 	 * 
 	 * @return List<Map<String,Object>> topicList
 	 * @author Alan Hsu
@@ -637,6 +930,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setAuthor = CustomCodegen::setAuthor;
 		Map<String,Object> paramMap = new HashMap<String,Object>() {{
+			put("key", "author");
 			put("name", "作者(非必填，可按Enter跳過)");
 			put("eg", "Alan");
 			put("predicate", isWordNumZhMarkCommaEtSpace.or( isEmptyString ) );
@@ -647,6 +941,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setDomainObjectName = CustomCodegen::setDomainObjectName;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "domainObjectName");
 			put("name", "產出檔案名稱(Entity,Dao,IDao前綴共同部分)");
 			put("eg", "SalaryInventory");
 			put("predicate", isWordNum );
@@ -657,6 +952,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setNewFileTargetFolder = CustomCodegen::setNewFileTargetFolder;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "newFileTargetFolder");
 			put("name", "產製檔案輸出位置");
 			put("eg", "D:\\temp\\codegen");
 			put("predicate", isFolderPathIncludeChinese );
@@ -667,6 +963,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setDbName = CustomCodegen::setDbName;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "dbName");
 			put("name", "DB連線設定");
 			put("eg", "MySQL or Oracle");
 			put("predicate", mysqlOrOracle.or( isEmptyString ) );
@@ -675,8 +972,24 @@ public class CustomCodegen {
 		}};
 		topicList.add( paramMap );
 
+		/** 有具名資料來源設定檔時才詢問 */
+		Function<CustomCodegen,Boolean> hasDataSources = custom -> !custom.getDataSourceRegistry().getNames().isEmpty();
+		Predicate<String> isDataSource = str -> CodegenDataSourceRegistry.getDefault().get( str ) != null;
+		BiConsumer<CustomCodegen,String> setDataSourceName = CustomCodegen::setDataSourceName;
+		paramMap = new HashMap<String,Object>() {{
+			put("key", "dataSourceName");
+			put("name", "資料來源名稱(非必填，可按Enter跳過，依DB連線設定使用oracle、mysql或default)");
+			put("eg", String.join( ", ", CodegenDataSourceRegistry.getDefault().getNames() ) );
+			put("predicate", isDataSource.or( isEmptyString ) );
+			put("hint", "請輸入" + CodegenDataSourceRegistry.DEFAULT_FILE + "內設定的資料來源名稱" );
+			put("biconsumer", setDataSourceName );
+			put("function", hasDataSources );
+		}};
+		topicList.add( paramMap );
+
 		BiConsumer<CustomCodegen,String> setTableName = CustomCodegen::setTableName;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "tableName");
 			put("name", "來源DB表格");
 			put("eg", "MENU or STUDENT");
 			put("predicate", isWordNum );
@@ -687,6 +1000,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setColumns = CustomCodegen::setColumns;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "columns");
 			put("name", "SELECT的表格欄位(非必填，可按Enter跳過)");
 			StringBuilder egMsg = new StringBuilder("Category, Key, Locale ");
 			egMsg.append( System.lineSeparator() ).append( fieldsSpace ).append("若有輸入內容即開啟客製化");
@@ -702,6 +1016,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setTaskId = CustomCodegen::setTaskId;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "taskId");
 			put("name", "作業選單代號(非必填，可按Enter跳過)");
 			put("eg", "BMSPA014");
 			put("predicate", isWordNumZhMarkCommaEtSpace.or( isEmptyString ) );
@@ -712,6 +1027,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setTaskName = CustomCodegen::setTaskName;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "taskName");
 			put("name", "作業選單名稱(非必填，可按Enter跳過)");
 			put("eg", "薪轉員工下載檔維護");
 			put("predicate", isWordNumZhMarkCommaEtSpace.or( isEmptyString ) );
@@ -722,6 +1038,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setTaskDescription = CustomCodegen::setTaskDescription;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "taskDescription");
 			put("name", "程式說明區塊-描述(非必填，可按Enter跳過)");
 			put("eg", "薪轉員工下載檔維護功能");
 			put("predicate", isWordNumZhMarkCommaEtSpace.or( isEmptyString ) );
@@ -732,6 +1049,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setSourceDescription = CustomCodegen::setSourceDescription;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "sourceDescription");
 			put("name", "程式說明區塊-資料來源(非必填，可按Enter跳過)");
 			put("eg", "薪轉員工設定檔(SalaryDownload)");
 			put("predicate", isWordNumZhMarkCommaEtSpace.or( isEmptyString ) );
@@ -742,6 +1060,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setTargetBeanPath = CustomCodegen::setTargetBeanPath;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "targetBeanPath");
 			put("name", "產出Entity的package對應資料夾路徑");
 			put("eg", "D:\\workspace\\entity or workspace.entity");
 			put("predicate", isPackagePath.or( isFolderPath ) );
@@ -752,6 +1071,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setMappedTypeByCode = CustomCodegen::setMappedTypeByCode;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "mappedType");
 			put("name", "產出Entity Annotation 類型");
 			put("eg", "1:@Column, 2:@Basic");
 			put("predicate", isOneOrTwo );
@@ -762,6 +1082,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setNeedToString = CustomCodegen::setNeedToString;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "needToString");
 			put("name", "Entity 是否產生override toString 的方法");
 			put("eg", "Y:是, N:否");
 			put("predicate", isYesOrNo );
@@ -772,6 +1093,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setNeedDao = CustomCodegen::setNeedDao;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "needDao");
 			put("name", "是否產出Dao");
 			put("eg", "Y:是, N:否");
 			put("predicate", isYesOrNo );
@@ -784,6 +1106,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setTargetDaoPath = CustomCodegen::setTargetDaoPath;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "targetDaoPath");
 			put("name", "產出Dao的package對應資料夾路徑");
 			put("eg", "D:\\workspace\\dao or workspace.dao");
 			put("predicate", isPackagePath.or( isFolderPath ) );
@@ -795,6 +1118,7 @@ public class CustomCodegen {
 		
 		BiConsumer<CustomCodegen,String> setTargetIDaoPath = CustomCodegen::setTargetIDaoPath;
 		paramMap = new HashMap<String,Object>() {{
+			put("key", "targetIDaoPath");
 			put("name", "產出IDao的package對應資料夾路徑");
 			put("eg", "D:\\workspace\\idao or workspace.idao");
 			put("predicate", isPackagePath.or( isFolderPath ) );
@@ -818,6 +1142,7 @@ public class CustomCodegen {
 		
 		System.out.println( "### Codegen process start at " + startStr + " ###");
 		System.out.println( "CustomCodegen Version: " + CODEGEN_VERSION );
+		boolean success = true;
 		try {
 			
 			/**
@@ -825,9 +1150,15 @@ public class CustomCodegen {
 			gen.sample_one( gen );
 			*/
 			
-			runCodegen();
+			/** 指定工作檔時不需互動輸入 (E.g. -job codegen-job.properties) */
+			if( args.length >= 2 && "-job".equals( args[0] ) ) {
+				success = CodegenJobFile.run( Paths.get( args[1] ) );
+			} else {
+				runCodegen();
+			}
 			
 		} catch( Exception e ) {
+			success = false;
 			System.err.println( "### Codegen execute runCodegen failed due to " + e.getMessage() + "###");
 			e.printStackTrace();
 		}
@@ -837,6 +1168,9 @@ public class CustomCodegen {
 		String endStr = getCurrentTimeStr();
 		
 		System.out.println( "### Codegen process end at " + endStr + " ###");
+		if( !success ) {
+			System.exit( 1 );
+		}
 	}
 
 	/**
@@ -857,857 +1191,1845 @@ public class CustomCodegen {
 		
 		System.out.println( tableInfo );
 		
-		generateBean();
-		
-		if( getNeedDao() ) {
-			generateIDao();
-			generateDao();
+		try {
+			generateAll();
+		} catch( IOException e ) {
+			printEmitError( getTableName(), e );
 		}
+		
+		finishIncremental( null );
+		finishIdentifierCache();
+		finishMetadataSnapshot();
+		finishMetrics();
+		finishOutputSink();
 		System.out.println("### Codegen Process Finished ###");
 	}
 
 	/**
-	 * checkRequiredSetting 說明：檢核設定<br>
-	 * 
+	 * excuteBatch 說明：批次產生Schema內符合規則表格的Bean & IDao & Dao 檔案<br>
+	 * 					先以少量Catalog查詢一次取回所有表格資訊, 再交由固定數量的執行緒產檔, 欄位數多的表格優先<br>
+	 *
 	 * @author Alan Hsu
-	 * @return boolean valid 
+	 * @throws Exception
 	 */
-	public boolean checkRequiredSetting() {
-		StringBuilder sb = new StringBuilder("");
-		
-		if( "".equals( toCleanString( getDomainObjectName() ) ) ) {
-			sb.append("[檔案名稱(DomainObjectName)]" + System.lineSeparator() );
+	public void excuteBatch() throws Exception {
+
+		String nowStr = getCurrentTimeStr();
+		setCurrentTime( nowStr );
+
+		Map<String,TableInfo> tableInfoMap = getSchemaTableInfo();
+		if( tableInfoMap == null ) {
+			System.err.println( "### Codegen batch process terminated due to exception ###");
+			return;
 		}
-		if( "".equals( toCleanString( getTableName() ) ) ) {
-			sb.append("[表格名稱(TableName)]" + System.lineSeparator() );
+		if( tableInfoMap.isEmpty() ) {
+			System.err.println( "### No table matched in schema " + getTableSchema() + " ###");
+			return;
 		}
-		if( "".equals( toCleanString( getTargetBeanPath() ) ) ) {
-			sb.append("[目標Entity路徑(TargetBeanPath)]" + System.lineSeparator() );
+
+		/** 欄位數多的表格優先產檔, 避免最後才開始處理大表格 */
+		List<TableInfo> tableInfoList = new ArrayList<>( tableInfoMap.values() );
+		tableInfoList.sort( Comparator.comparingInt( TableInfo::getColumnCount ).reversed() );
+
+		int threads = Math.max( 1, Math.min( getBatchThreads(), tableInfoList.size() ) );
+		ExecutorService executor = Executors.newFixedThreadPool( threads );
+
+		Map<String,Future<Boolean>> futureMap = new LinkedHashMap<>();
+		for( TableInfo info : tableInfoList ) {
+			futureMap.put( info.getTableName(), executor.submit( () -> copySetting( info ).generateAll() ) );
 		}
-		if( getNeedDao() ) {
-			if( "".equals( toCleanString( getTargetDaoPath() ) ) ) {
-				sb.append("[目標Dao路徑(TargetDaoPath)]" + System.lineSeparator() );
-			}
-			if( "".equals( toCleanString( getTargetIDaoPath() ) ) ) {
-				sb.append("[目標IDao路徑(TargetIDaoPath)]" + System.lineSeparator() );
+		executor.shutdown();
+
+		int success = 0;
+		List<String> failedList = new ArrayList<>();
+		for( Map.Entry<String,Future<Boolean>> entry : futureMap.entrySet() ) {
+			try {
+				if( entry.getValue().get() ) {
+					success++;
+				} else {
+					failedList.add( entry.getKey() );
+				}
+			} catch( ExecutionException e ) {
+				printEmitError( entry.getKey(), e.getCause() );
+				failedList.add( entry.getKey() );
 			}
 		}
-		if( !"".equals( sb.toString() ) ) {
-			sb.append("必須設定!!!");
-		}
-		if( !"".equals( sb.toString() ) ) {
-			System.err.println( sb.toString() );
-			return false;
-		} else {
-			return true;
+
+		/** 有失敗的表格時不刪除舊檔, 避免誤刪仍有效的檔案 */
+		finishIncremental( failedList.isEmpty() ? tableInfoMap.keySet() : null );
+		finishIdentifierCache();
+		finishMetadataSnapshot();
+		finishMetrics();
+		finishOutputSink();
+
+		System.out.println( "### Codegen Batch Process Finished, Tables:" + tableInfoList.size()
+				+ " Success:" + success + " Failed:" + failedList.size() + " ###");
+		if( !failedList.isEmpty() ) {
+			System.err.println( "### Failed Tables:" + failedList + " ###");
 		}
 	}
 
 	/**
-	 *	getConnection 說明：取得對應的DB連線<br>
-	 *	@author Alan Hsu
+	 * excutePipeline 說明：分階段產製Schema內符合規則的所有表格, 取得表格資訊、產製原始碼、寫檔以有上限的佇列串接<br>
+	 * 					表格資訊寫檔後即釋放, 表格數多時記憶體用量不隨表格數增加<br>
+	 *
+	 * @return CodegenPipeline pipeline 含各佇列的最大深度及等待時間
+	 * @author Alan Hsu
+	 * @throws InterruptedException
 	 */
-	public Connection getConnection() {
-		Connection conn = null;
-		try {
-			String db = getDbName();
-			if( "MySQL".equals( db ) ) {
-				conn = getMySQLConnection();
-				System.out.println("### MySQL Connection ###");
-			} else {
-				conn = getOracleConnection();
-				System.out.println("### Oracle Connection ###");
-			}
-		} catch( Exception e ) {
-			e.printStackTrace();
+	public CodegenPipeline excutePipeline() throws InterruptedException {
+		setCurrentTime( getCurrentTimeStr() );
+		CodegenPipeline pipeline = new CodegenPipeline( this );
+		if( getPipelineQueueCapacity() > 0 ) {
+			pipeline.setQueueCapacity( getPipelineQueueCapacity() );
 		}
-		return conn;
+		pipeline.run();
+		return pipeline;
 	}
 
 	/**
-	 * generateBean 說明：產生Bean檔案<br>
-	 * 
+	 * excuteServer 說明：啟動常駐的本機產檔服務, 保留連線池及快取供後續請求使用<br>
+	 * 				請求須帶入啟動時輸出的存取碼, write=Y 時只可寫入輸出資料夾或指定的輸出根目錄之下<br>
+	 *
+	 * @param int port
+	 * @param String... outputRoots 另外允許寫入的輸出根目錄
+	 * @return CodegenServer server
 	 * @author Alan Hsu
+	 * @throws IOException
 	 */
-	public void generateBean() {
-		try {
-			
-			if( tableInfo == null ) {
-				System.err.println("無表格資訊");
-				return;
-			}
-			
-			String beanName = getDomainObjectName() + "Entity";
-			setDomainBeanName( beanName );
-			
-			String newPathStr = getNewFilePath( "bean" );
-			//System.out.println("newPath =" + newPathStr );
-			
-			List<String> lines = new ArrayList<>();
-			lines.add( getPackageStr( "bean" ) );
-			String beanImport = getBeanImportStr();
-			if( !"".equals( beanImport ) ) {
-				lines.add( beanImport );
-			}
-			lines.add( getBasicBeanImportStr() );
-			lines.add( getClassInfoBlockStr( "bean" ) );
-			lines.add( getBeanClassStartStr( beanName ) );
-			
-			String fieldsSpace = "\t";
-			
-			Map<String,ColumnInfo> column = tableInfo.getColumns();
-			
-			StringBuilder fields = new StringBuilder( fieldsSpace + System.lineSeparator() );
-			//for( Map.Entry<String, ColumnInfo> entry : column.entrySet() )
-			for( Map.Entry<String, ColumnInfo> entry : column.entrySet() ) {
-				
-				String columnName = entry.getKey();
-				ColumnInfo columnData = entry.getValue();
-				
-				String cColumnName = "";
-				if( getColumns() != null && !"".equals( getColumns() ) ) {
-					cColumnName = columnData.getSelfColumnName();
-				} else {
-					cColumnName = convertCase( columnName, "camel" );
-				}
-				
-				fields.append( getFieldDescription( columnName, columnData.getRemarks() ) );
-				if( columnData.isPrimaryKey() ) {
-					fields.append( fieldsSpace + "@Id" + System.lineSeparator() );
-					if( "@Column".equals( getMappedType() ) ) {
-						fields.append( fieldsSpace + "@GeneratedValue(strategy=GenerationType.IDENTITY)" + System.lineSeparator() );
-						fields.append( fieldsSpace + "@Column(name=\"" + columnName + "\")" + System.lineSeparator() );
-					}
-					fields.append( fieldsSpace + "private " + columnData.getJavaType() + " " + cColumnName + ';' + System.lineSeparator() );
-					fields.append( fieldsSpace + System.lineSeparator() );
-				} else {
-					if( "@Column".equals( getMappedType() ) ) {
-						fields.append( fieldsSpace + "@Column(name=\"" + columnName + "\")" + System.lineSeparator() );
-					} else {
-						fields.append( fieldsSpace + "@Basic" + System.lineSeparator() );
-					}
-					fields.append( fieldsSpace + "private " + columnData.getJavaType() + " " + cColumnName + ';' + System.lineSeparator() );
-					fields.append( fieldsSpace + System.lineSeparator() );
-				}
-			}
-			lines.add( fields.toString() );
-			fields = null;
-			
-			StringBuilder methods = new StringBuilder( fieldsSpace + System.lineSeparator()  );
-			for( Map.Entry<String, ColumnInfo> entry : column.entrySet() ) {
-				
-				String columnName = entry.getKey();
-				ColumnInfo columnData = entry.getValue();
-				
-				String cColumnName = "";
-				if( getColumns() != null && !"".equals( getColumns() ) ) {
-					cColumnName = columnData.getSelfColumnName();
-				} else {
-					cColumnName = convertCase( columnName, "camel" );
-				}
-				String pColumnName = "";
-				if( getColumns() != null && !"".equals( getColumns() ) ) {
-					pColumnName = convertCase( columnData.getSelfColumnName(), "capitalizeOnlyFirst" );
-				} else {
-					pColumnName = convertCase( columnName, "pascal" );
-				}
-				
-				if( columnData.isPrimaryKey() ) {
-					methods.append( getMethodGetterDescription( columnName ) );
-					methods.append( fieldsSpace + "public " + columnData.getJavaType() + " get" + pColumnName + "() {" + System.lineSeparator() );
-					methods.append( fieldsSpace + fieldsSpace + "return " + cColumnName + ';' + System.lineSeparator() );
-					methods.append( fieldsSpace + '}' + System.lineSeparator() );
-					methods.append( fieldsSpace + System.lineSeparator() );
-					methods.append( getMethodSetterDescription( columnName ) );
-					methods.append( fieldsSpace + "public void set" + pColumnName + "( ");
-					methods.append( columnData.getJavaType() + " " + cColumnName + " ) {" + System.lineSeparator() );
-					methods.append( fieldsSpace + fieldsSpace + "this." + cColumnName + " = " + cColumnName + ';' + System.lineSeparator() );
-					methods.append( fieldsSpace + '}' + System.lineSeparator() );
-					methods.append( fieldsSpace + System.lineSeparator() );
-				} else {
-					methods.append( getMethodGetterDescription( columnName ) );
-					methods.append( fieldsSpace + "public " + columnData.getJavaType() + " get" + pColumnName + "() {" + System.lineSeparator() );
-					methods.append( fieldsSpace + fieldsSpace + "return " + cColumnName + ';' + System.lineSeparator() );
-					methods.append( fieldsSpace + '}' + System.lineSeparator() );
-					methods.append( fieldsSpace + System.lineSeparator() );
-					methods.append( getMethodSetterDescription( columnName ) );
-					methods.append( fieldsSpace + "public void set" + pColumnName + "( ");
-					methods.append( columnData.getJavaType() + " " + cColumnName + " ) {" + System.lineSeparator() );
-					methods.append( fieldsSpace + fieldsSpace + "this." + cColumnName + " = " + cColumnName + ';' + System.lineSeparator() );
-					methods.append( fieldsSpace + '}' + System.lineSeparator() );
-					methods.append( fieldsSpace + System.lineSeparator() );
-				}
-			}
-			lines.add( methods.toString() );
-			methods = null;
-			
-			if( getNeedToString() ) {
-				String doubleFieldsSpace = "\t\t";
-				StringBuilder toStringSB = new StringBuilder( fieldsSpace + System.lineSeparator()  );
-				toStringSB.append( fieldsSpace + "@Override" + System.lineSeparator() );
-				toStringSB.append( fieldsSpace + "public String toString() {" + System.lineSeparator() );
-				toStringSB.append( doubleFieldsSpace + "return this.getClass().getSimpleName() + " );
-				String lineSepStr = "System.lineSeparator()";
-				toStringSB.append( "\" [\" + " + lineSepStr + " + " );
-				for( Map.Entry<String, ColumnInfo> entry : column.entrySet() ) {
-					toStringSB.append( System.lineSeparator() + doubleFieldsSpace + fieldsSpace );
-					ColumnInfo columnData = entry.getValue();
-					
-					String cColumnName = "";
-					if( getColumns() != null && !"".equals( getColumns() ) ) {
-						cColumnName = columnData.getSelfColumnName();
-					} else {
-						cColumnName = convertCase( columnData.getColumnName(), "camel" );
-					}
-					String remarks = columnData.getRemarks() == null ? "" : '(' + columnData.getRemarks() + ')';
-					toStringSB.append( "\"" + cColumnName + remarks + ':' + "\" + " + cColumnName + " + ',' + " );
-					toStringSB.append( lineSepStr + " + " );
-				}
-				toStringSB.append( System.lineSeparator() );
-				toStringSB.append( doubleFieldsSpace + fieldsSpace + "']';" );
-				toStringSB.append( System.lineSeparator() );
-				toStringSB.append( fieldsSpace + '}' + System.lineSeparator() );
-				lines.add( toStringSB.toString() );
-			}
-			
-			lines.add( getClassEndStr() );
-			
-			Path newPath = Paths.get( newPathStr );
-			if( !Files.exists( newPath) ) {
-				Files.createDirectories( newPath );
-				System.out.println("Directory created." );
-			} else {
-				System.out.println("Directory already exists." );
-			}
-			
-			String newFilePath = newPathStr + File.separator + beanName + ".java";
-			Path file = Paths.get( newFilePath );
-			System.out.println("New Entity Path =" + newFilePath );
-			Files.write( file, lines, StandardCharsets.UTF_8 );
-			System.out.println( "[ " + beanName + ".java ] generated successful." + System.lineSeparator()  );
-			
-		} catch( IOException e ) {
-			e.printStackTrace();
+	public CodegenServer excuteServer( int port, String... outputRoots ) throws IOException {
+		CodegenServer server = new CodegenServer( this, port );
+		for( String outputRoot : outputRoots ) {
+			server.addOutputRoot( outputRoot );
 		}
+		server.start();
+		return server;
+	}
 
+	/**
+	 * excuteWatch 說明：監看Schema內符合規則的表格, DDL異動時只重新產製欄位資訊有變更的表格, 直到執行緒中斷<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public void excuteWatch() {
+		setCurrentTime( getCurrentTimeStr() );
+		new CodegenSchemaWatcher( this, getWatchIntervalSeconds() ).watch();
 	}
-	
+
 	/**
-	 * generateIDao 說明：產生IDao檔案<br>
-	 * 
+	 * finishIncremental 說明：增量產檔結束, 回寫雜湊清單並輸出寫入、略過、刪除的檔案數量<br>
+	 * 				有傳入現存表格時, 刪除同一資料來源及Schema內符合包含/排除規則但已不存在的表格所產製的舊檔<br>
+	 *
+	 * @param Collection<String> currentTables 本次範圍內現存的表格名稱, 為null時不刪除舊檔
 	 * @author Alan Hsu
 	 */
-	public void generateIDao() {
+	public void finishIncremental( Collection<String> currentTables ) {
+		if( !isIncremental() ) {
+			return;
+		}
 		try {
-			
-			if( tableInfo == null ) {
-				System.err.println("無表格資訊");
-				return;
-			}
-			
-			String iDaoName = "I" + getDomainObjectName() + "Dao";
-			setDomainIDaoName( iDaoName );
-			
-			String newPathStr = getNewFilePath( "IDao" );
-			
-			List<String> lines = new ArrayList<>();
-			lines.add( getPackageStr( "IDao" ) );
-			lines.add( getBasicIDaoImportStr() );
-			lines.add( getClassInfoBlockStr( "IDao" ) );
-			lines.add( getIDaoClassStartStr( iDaoName ) );
-			lines.add( getClassEndStr() );
-			
-			Path newPath = Paths.get( newPathStr );
-			if( !Files.exists( newPath) ) {
-				Files.createDirectories( newPath );
-				System.out.println("Directory created." );
-			} else {
-				System.out.println("Directory already exists." );
+			if( currentTables != null ) {
+				getIncrementalWriter().deleteStale( getOutputScope(), this::isTableMatched, currentTables );
 			}
-			
-			String newFilePath = newPathStr + File.separator + iDaoName + ".java";
-			Path file = Paths.get( newFilePath );
-			System.out.println("New IDao Path =" + newFilePath );
-			Files.write( file, lines, StandardCharsets.UTF_8 );
-			System.out.println( "[ " + iDaoName + ".java ] generated successful." + System.lineSeparator()  );
-			
+			getIncrementalWriter().saveManifests();
 		} catch( IOException e ) {
-			e.printStackTrace();
+			System.err.println( "### Save codegen manifest failed due to " + e.getMessage() + " ###");
 		}
-
+		System.out.println( "### Incremental " + getIncrementalWriter().getReport() + " ###");
 	}
-	
+
 	/**
-	 * generateDao 說明：產生Dao檔案<br>
-	 * 
+	 * getOutputScope 說明：取得增量產檔清單記錄的產製來源範圍(資料來源|Schema)<br>
+	 *
+	 * @return String outputScope
 	 * @author Alan Hsu
 	 */
-	public void generateDao() {
-		try {
-			
-			if( tableInfo == null ) {
-				System.err.println("無表格資訊");
-				return;
+	public String getOutputScope() {
+		String source = getMetadataSource() != null ? getMetadataSource().getClass().getName() : getDataSourceKey();
+		return source + '|' + toCleanString( getTableSchema() ).toUpperCase();
+	}
+
+	/**
+	 * finishIdentifierCache 說明：輸出命名轉換快取命中率, 有設定時放入表格資訊快照, 由 finishMetadataSnapshot 回寫<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public void finishIdentifierCache() {
+		System.out.println( "### Identifier cache " + getIdentifierCache().getReport() + " ###");
+		if( isUseSnapshot() && isSnapshotIdentifiers() ) {
+			getMetadataSnapshot().putIdentifiers( getIdentifierCache() );
+		}
+	}
+
+	/**
+	 * finishMetadataSnapshot 說明：產檔結束時回寫一次表格資訊快照, 取得表格資訊時只更新記憶體內的快照<br>
+	 * 					直接呼叫 getTableInfo / getSchemaTableInfo 時由呼叫端於結束時呼叫<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public void finishMetadataSnapshot() {
+		if( isUseSnapshot() ) {
+			saveMetadataSnapshot();
+		}
+	}
+
+	/**
+	 * finishMetrics 說明：輸出各階段及耗時最多的表格的耗時統計, 有設定時輸出所有表格的統計CSV, 輸出後清除記錄<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public void finishMetrics() {
+		CodegenMetrics metrics = getMetrics();
+		if( metrics.isEmpty() ) {
+			return;
+		}
+		System.out.println( "### Codegen phase timing, slowest " + CodegenMetrics.DEFAULT_SUMMARY_TABLES + " tables ###" );
+		System.out.print( metrics.getSummary( CodegenMetrics.DEFAULT_SUMMARY_TABLES ) );
+		if( !"".equals( toCleanString( getMetricsReportPath() ) ) ) {
+			try {
+				metrics.writeReport( Paths.get( getMetricsReportPath() ) );
+				System.out.println( "### Codegen phase timing saved to " + getMetricsReportPath() + " ###");
+			} catch( IOException e ) {
+				System.err.println( "### Save codegen phase timing failed due to " + e.getMessage() + " ###");
 			}
-			
-			String daoName = getDomainObjectName() + "Dao";
-			setDomainDaoName( daoName );
-			
-			String newPathStr = getNewFilePath( "dao" );
-			
-			List<String> lines = new ArrayList<>();
-			lines.add( getPackageStr( "dao" ) );
-			lines.add( getBasicDaoImportStr() );
-			lines.add( getClassInfoBlockStr( "dao" ) );
-			lines.add( getDaoClassStartStr( daoName ) );
-			lines.add( getClassEndStr() );
-			
-			Path newPath = Paths.get( newPathStr );
-			if( !Files.exists( newPath) ) {
-				Files.createDirectories( newPath );
-				System.out.println("Directory created." );
-			} else {
-				System.out.println("Directory already exists." );
+		}
+		metrics.clear();
+	}
+
+	/**
+	 * finishOutputSink 說明：完成自訂的輸出位置(例如寫完壓縮檔), 預設的資料夾不需處理<br>
+	 *
+	 * @return boolean 是否成功
+	 * @author Alan Hsu
+	 */
+	public boolean finishOutputSink() {
+		if( outputSink == null ) {
+			return true;
+		}
+		try {
+			outputSink.close();
+			return true;
+		} catch( IOException e ) {
+			System.err.println( "### Close codegen output failed due to " + e.getMessage() + " ###");
+			return false;
+		}
+	}
+
+	/**
+	 * getMetricsTable 說明：取得耗時記錄的表格名稱, 未設定表格時以 [Schema] 記錄<br>
+	 *
+	 * @return String table
+	 * @author Alan Hsu
+	 */
+	private String getMetricsTable() {
+		String table = toCleanString( getTableName() );
+		return "".equals( table ) ? "[" + toCleanString( getTableSchema() ) + "]" : table;
+	}
+
+	/**
+	 * copySetting 說明：複製產檔設定為單一表格的Codegen, 供批次產檔的執行緒各自使用<br>
+	 *
+	 * @param TableInfo info
+	 * @return CustomCodegen gen
+	 * @author Alan Hsu
+	 */
+	public CustomCodegen copySetting( TableInfo info ) {
+		CustomCodegen gen = new CustomCodegen();
+		gen.setAuthor( getAuthor() );
+		gen.setDbName( dbName );
+		gen.setTableSchema( getTableSchema() );
+		gen.setTaskId( getTaskId() );
+		gen.setTaskName( getTaskName() );
+		gen.setTaskDescription( getTaskDescription() );
+		gen.setSourceDescription( getSourceDescription() );
+		gen.setNewFileTargetFolder( getNewFileTargetFolder() );
+		gen.setTargetBeanPath( getTargetBeanPath() );
+		gen.setTargetDaoPath( getTargetDaoPath() );
+		gen.setTargetIDaoPath( getTargetIDaoPath() );
+		gen.setMappedType( getMappedType() );
+		gen.setNamingConventions( getNamingConventions() );
+		gen.setNeedDao( getNeedDao() );
+		gen.setNeedToString( getNeedToString() );
+		gen.setCurrentTime( getCurrentTime() );
+		gen.setDataSourceName( getDataSourceName() );
+		gen.setDataSourceRegistry( dataSourceRegistry );
+		gen.setConnectionPool( connectionPool );
+		gen.setIncremental( isIncremental() );
+		gen.setTemplateFolder( getTemplateFolder() );
+		gen.setMetadataSource( getMetadataSource() );
+		gen.setIdentifierCache( getIdentifierCache() );
+		gen.setEmitExecutor( getEmitExecutor() );
+		gen.setMetrics( getMetrics() );
+		gen.setOutputSink( outputSink );
+		gen.setDictionaryMetadata( isDictionaryMetadata() );
+		gen.setQueryTimeoutSeconds( getQueryTimeoutSeconds() );
+		gen.setReproducible( isReproducible() );
+		gen.setReproducibleTime( getReproducibleTime() );
+		gen.setSnapshotPath( getSnapshotPath() );
+		gen.setOfflineSnapshot( isOfflineSnapshot() );
+		if( isUseSnapshot() ) {
+			gen.setMetadataSnapshot( getMetadataSnapshot() );
+		}
+		if( isIncremental() ) {
+			gen.setIncrementalWriter( getIncrementalWriter() );
+		}
+		if( info != null ) {
+			gen.setTableName( info.getTableName() );
+			gen.setDomainObjectName( convertCase( info.getTableName(), "pascal" ) );
+			info.getColumns().values().forEach( c -> gen.checkColumnTypeImport( c.getJavaType() ) );
+			gen.setTableInfo( info );
+		}
+		return gen;
+	}
+
+	/**
+	 * generateAll 說明：依據已取得的表格資訊由所有產生器產檔(預設為Bean & IDao & Dao), 各檔案以同一份不可修改的表格資訊同時產製<br>
+	 *
+	 * @return boolean generated
+	 * @author Alan Hsu
+	 */
+	public boolean generateAll() throws IOException {
+		if( tableInfo == null ) {
+			System.err.println("無表格資訊");
+			return false;
+		}
+		TableInfo table = tableInfo.snapshot();
+		List<Artifact> artifactList = getArtifacts();
+		Map<String,Artifact> artifactMap = toArtifactMap( artifactList );
+		List<Callable<Void>> taskList = new ArrayList<>();
+		for( Artifact artifact : artifactList ) {
+			taskList.add( newWriteTask( artifact, artifactMap, table ) );
+		}
+		if( taskList.isEmpty() ) {
+			return true;
+		}
+
+		List<Future<Void>> futureList = new ArrayList<>();
+		for( Callable<Void> task : taskList.subList( 1, taskList.size() ) ) {
+			futureList.add( getEmitExecutor().submit( task ) );
+		}
+		List<Throwable> errorList = new ArrayList<>();
+		try {
+			taskList.get( 0 ).call();
+		} catch( Exception e ) {
+			errorList.add( e );
+		}
+		for( Future<Void> future : futureList ) {
+			try {
+				future.get();
+			} catch( ExecutionException e ) {
+				errorList.add( e.getCause() );
+			} catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				errorList.add( e );
 			}
-			
-			String newFilePath = newPathStr + File.separator + daoName + ".java";
-			Path file = Paths.get( newFilePath );
-			System.out.println("New Dao Path =" + newFilePath );
-			Files.write( file, lines, StandardCharsets.UTF_8 );
-			System.out.println( "[ " + daoName + ".java ] generated successful." + System.lineSeparator()  );
-			
-		} catch (IOException e) {
-			e.printStackTrace();
 		}
 
+		if( !errorList.isEmpty() ) {
+			IOException error = new IOException( "Codegen table " + getTableName() + " failed with " + errorList.size() + " error(s)" );
+			errorList.forEach( error::addSuppressed );
+			throw error;
+		}
+		return true;
 	}
-	
+
 	/**
-	 * getBasicImportStr 說明：取得套件路徑字串<br>
-	 * 
-	 * @return String packageStr
+	 * printEmitError 說明：輸出產檔失敗的表格及各檔案的錯誤訊息<br>
+	 *
+	 * @param String tableName
+	 * @param Throwable error
 	 * @author Alan Hsu
 	 */
-	public String getPackageStr( String type ) {
-		type = type.toLowerCase();
-		String str = "";
-		if( "bean".equals( type ) ) {
-			str = getTargetBeanPackage();
-		} else if( "dao".equals( type ) ) {
-			str = getTargetDaoPackage();
-		} else if( "idao".equals( type ) ) {
-			str = getTargetIDaoPackage();
+	public static void printEmitError( String tableName, Throwable error ) {
+		System.err.println( "### Codegen table " + tableName + " failed ###");
+		Throwable[] causes = error.getSuppressed().length > 0 ? error.getSuppressed() : new Throwable[] { error };
+		for( Throwable cause : causes ) {
+			System.err.println( "### " + cause + " ###");
+		}
+	}
+
+	/**
+	 * getEmitExecutor 說明：取得產製檔案的執行緒池, 第一個檔案(Bean)於呼叫端執行緒產製, 執行緒閒置後自動結束<br>
+	 *
+	 * @return ExecutorService emitExecutor
+	 * @author Alan Hsu
+	 */
+	public synchronized ExecutorService getEmitExecutor() {
+		if( emitExecutor == null ) {
+			int threads = 2 * Math.max( 1, getBatchThreads() );
+			ThreadPoolExecutor executor = new ThreadPoolExecutor( threads, threads, EMIT_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), r -> {
+						Thread thread = new Thread( r, "codegen-emit" );
+						thread.setDaemon( true );
+						return thread;
+					} );
+			/** 閒置的執行緒自動結束, 連續呼叫excute時可重複使用 */
+			executor.allowCoreThreadTimeOut( true );
+			emitExecutor = executor;
+		}
+		return emitExecutor;
+	}
+
+	/**
+	 * closeEmitExecutor 說明：關閉產檔執行緒池<br>
+	 *
+	 * @author Alan Hsu
+	 */
+	public synchronized void closeEmitExecutor() {
+		if( emitExecutor != null ) {
+			emitExecutor.shutdown();
+			emitExecutor = null;
 		}
-		return "package " + str + ';' + System.lineSeparator() ;
 	}
 
 	/**
-	 * getBasicBeanImportStr 說明：取得Bean必要引用字串<br>
+	 * checkRequiredSetting 說明：檢核設定<br>
 	 * 
-	 * @return String basicBeanImportStr
 	 * @author Alan Hsu
+	 * @return boolean valid 
 	 */
-	public String getBasicBeanImportStr() {
+	public boolean checkRequiredSetting() {
 		StringBuilder sb = new StringBuilder("");
 		
-		if( "@Column".equals( getMappedType() ) ) {
-			sb.append("import javax.persistence.Column;" + System.lineSeparator() );
-		} else {
-			sb.append("import javax.persistence.Basic;" + System.lineSeparator() );
+		if( "".equals( toCleanString( getDomainObjectName() ) ) ) {
+			sb.append("[檔案名稱(DomainObjectName)]" + System.lineSeparator() );
+		}
+		if( "".equals( toCleanString( getTableName() ) ) ) {
+			sb.append("[表格名稱(TableName)]" + System.lineSeparator() );
 		}
-		sb.append("import javax.persistence.Entity;" + System.lineSeparator() );
-		if( tableInfo.getHasPrimaryKey() ) {
-			if( "@Column".equals( getMappedType() ) ) {
-				sb.append("import javax.persistence.GeneratedValue;" + System.lineSeparator() );
-				sb.append("import javax.persistence.GenerationType;" + System.lineSeparator() );
+		if( "".equals( toCleanString( getTargetBeanPath() ) ) ) {
+			sb.append("[目標Entity路徑(TargetBeanPath)]" + System.lineSeparator() );
+		}
+		if( getNeedDao() ) {
+			if( "".equals( toCleanString( getTargetDaoPath() ) ) ) {
+				sb.append("[目標Dao路徑(TargetDaoPath)]" + System.lineSeparator() );
+			}
+			if( "".equals( toCleanString( getTargetIDaoPath() ) ) ) {
+				sb.append("[目標IDao路徑(TargetIDaoPath)]" + System.lineSeparator() );
 			}
-			sb.append("import javax.persistence.Id;" + System.lineSeparator() );
 		}
-		sb.append("import javax.persistence.Table;" + System.lineSeparator() );
-		return sb.toString();
+		if( !"".equals( sb.toString() ) ) {
+			sb.append("必須設定!!!");
+		}
+		if( !"".equals( sb.toString() ) ) {
+			System.err.println( sb.toString() );
+			return false;
+		} else {
+			return true;
+		}
 	}
 
 	/**
-	 * getBasicIDaoImportStr 說明：取得IDao必要引用字串<br>
-	 * 
-	 * @return String basicIDaoImportStr
+	 * checkBatchRequiredSetting 說明：檢核批次產檔設定<br>
+	 *
 	 * @author Alan Hsu
+	 * @return boolean valid
 	 */
-	public String getBasicIDaoImportStr() {
-		StringBuilder sb = new StringBuilder( System.lineSeparator() );
-		/**
-		if( "highSchool".equals( getDbName() ) ) {
-			if( !getTargetIDaoPackage().contains(".highSchool.dao") ) {
-				sb.append( "import com.tw.persistence.highSchool.dao.ISCHDao;" ).append( System.lineSeparator() );
+	public boolean checkBatchRequiredSetting() {
+		StringBuilder sb = new StringBuilder("");
+
+		if( "".equals( toCleanString( getTableSchema() ) ) ) {
+			sb.append("[表格Schema(TableSchema)]" + System.lineSeparator() );
+		}
+		if( "".equals( toCleanString( getNewFileTargetFolder() ) ) ) {
+			sb.append("[產製檔案輸出位置(NewFileTargetFolder)]" + System.lineSeparator() );
+		}
+		if( "".equals( toCleanString( getTargetBeanPath() ) ) ) {
+			sb.append("[目標Entity路徑(TargetBeanPath)]" + System.lineSeparator() );
+		}
+		if( getNeedDao() ) {
+			if( "".equals( toCleanString( getTargetDaoPath() ) ) ) {
+				sb.append("[目標Dao路徑(TargetDaoPath)]" + System.lineSeparator() );
 			}
-		} else {
-			if( !getTargetIDaoPackage().contains(".college.dao") ) {
-				sb.append( "import com.tw.persistence.college.dao.ICLGDao;" ).append( System.lineSeparator() );
+			if( "".equals( toCleanString( getTargetIDaoPath() ) ) ) {
+				sb.append("[目標IDao路徑(TargetIDaoPath)]" + System.lineSeparator() );
 			}
 		}
-		*/
-		sb.append( "import " ).append( getTargetBeanPackage() ).append( '.' ).append( getDomainBeanName() ).append( ';' ).append( System.lineSeparator() );
-		return sb.toString();
+		if( !"".equals( sb.toString() ) ) {
+			sb.append("必須設定!!!");
+			System.err.println( sb.toString() );
+			return false;
+		}
+		return true;
 	}
 
 	/**
-	 *	getBasicDaoImportStr 說明：取得Dao必要引用字串<br>
-	 *	@return String basicDaoImportStr
+	 *	getConnection 說明：自連線池借出對應的DB連線, close() 即歸還連線池<br>
 	 *	@author Alan Hsu
 	 */
-	public String getBasicDaoImportStr() {
-		StringBuilder sb = new StringBuilder( "" + System.lineSeparator() );
-		/**
-		if( "highSchool".equals( getDbName() ) ) {
-			if( !getTargetInterfacePackage().contains( ".highSchool.dao" ) ) {
-				sb.append( "import com.tw.persistence.highSchool.dao.ISCHDao;" ).append( System.lineSeparator() );
-			}
-		} else {
-			if( !getTargetInterfacePackage().contains( ".college.dao" ) ) {
-				sb.append( "import com.tw.persistence.college.dao.ICLGDao;" ).append( System.lineSeparator() );
+	public Connection getConnection() {
+		Connection conn = null;
+		try {
+			conn = getMetrics().time( getMetricsTable(), CodegenMetrics.CONNECT, () -> getConnectionPool().getConnection() );
+			System.out.println("### " + ( "MYSQL".equals( getDbName() ) ? "MySQL" : "Oracle" ) + " Connection ###");
+		} catch( Exception e ) {
+			e.printStackTrace();
+		}
+		return conn;
+	}
+
+	/**
+	 *	getConnectionPool 說明：取得連線池, 未設定時取自具名資料來源, 並改用該資料來源的資料庫種類及預設Schema<br>
+	 *	@return CodegenConnectionPool
+	 *	@author Alan Hsu
+	 *	@throws IllegalStateException 查無資料來源
+	 */
+	public synchronized CodegenConnectionPool getConnectionPool() {
+		if( connectionPool == null ) {
+			CodegenDataSourceRegistry registry = getDataSourceRegistry();
+			CodegenDataSourceRegistry.DataSource dataSource = registry.find( getDataSourceName(), getDbName() );
+			if( dataSource == null ) {
+				throw new IllegalStateException( "No datasource " + getDataSourceDescription() + ", set <name>.type/url/user/password in "
+						+ System.getProperty( CodegenDataSourceRegistry.DEFAULT_FILE_PROPERTY, CodegenDataSourceRegistry.DEFAULT_FILE )
+						+ ", configured:" + registry.getNames() );
 			}
+			registry.apply( this, dataSource.getName() );
+			System.out.println( "### Using datasource " + dataSource + " ###");
 		}
-		*/
-		sb.append( "import " ).append( getTargetIDaoPackage() ).append( '.' ).append( getDomainIDaoName() ).append( ';' ).append( System.lineSeparator() );
-		sb.append( "import " ).append( getTargetBeanPackage() ).append( '.' ).append( getDomainBeanName() ).append( ';' ).append( System.lineSeparator() );
-		return sb.toString();
+		return connectionPool;
 	}
-	
+
+	/** 未指定名稱時列出依序查找的名稱 */
+	private String getDataSourceDescription() {
+		if( !"".equals( toCleanString( getDataSourceName() ) ) ) {
+			return getDataSourceName().trim();
+		}
+		return ( "".equals( getDbName() ) ? "" : getDbName().toLowerCase() + " or " ) + CodegenDataSourceRegistry.DEFAULT_NAME;
+	}
+
 	/**
-	 * getClassInfoBlockStr 說明：取得程式說明區塊字串<br>
-	 * 
-	 * @param String type
-	 * @return String classStartStr
-	 * @author Alan Hsu
+	 *	closeConnectionPool 說明：關閉連線池及所有閒置連線<br>
+	 *	@author Alan Hsu
 	 */
-	public String getClassInfoBlockStr( String type ) {
-		StringBuilder sb = new StringBuilder("");
-		sb.append("/**" + System.lineSeparator() );
-		sb.append(" *	作 業 代 碼 ：" + toCleanString( getTaskId() ) + "<br>" + System.lineSeparator() );
-		sb.append(" *	作 業 名 稱 ：" + toCleanString( getTaskName() ) + "<br>" + System.lineSeparator() );
-		sb.append(" *	程 式 代 號 ：" + getFileNameByType( type ) + ".java<br>" + System.lineSeparator() );
-		sb.append(" *	描	   述 ：" + toCleanString( getTaskDescription() ) + "<br>" + System.lineSeparator() );
-		sb.append(" *	公	   司 ：Tenpastten Studio<br>" + System.lineSeparator() );
-		sb.append(" *	【 資 料 來 源】 ：" + getSourceDescription() + "<br>" + System.lineSeparator() );
-		sb.append(" *	【 異 動 紀 錄】 ：<br>" + System.lineSeparator() );
-		sb.append(" *" + System.lineSeparator() );
-		sb.append(" *	@author : " + author + "<br>" + System.lineSeparator() );
-		sb.append(" *	@version : 1.0.0  " + getCurrentTime() + "<br>" + System.lineSeparator() );
-		sb.append(" */");
-		return sb.toString();
+	public synchronized void closeConnectionPool() {
+		if( connectionPool != null ) {
+			connectionPool.close();
+			connectionPool = null;
+		}
 	}
 
 	/**
-	 * getBeanClassStartStr 說明：取得Bean新檔案class名稱<br>
+	 * generateBean 說明：產生Bean檔案<br>
 	 * 
-	 * @param String entityName
-	 * @return String classStartStr
 	 * @author Alan Hsu
 	 */
-	public String getBeanClassStartStr( String entityName ) {
-		StringBuilder sb = new StringBuilder("");
-		sb.append("@Entity");
-		sb.append( System.lineSeparator() );
-		sb.append("@Table(name=\"" + getTableName().toUpperCase() + "\")");
-		sb.append( System.lineSeparator() );
-		sb.append("public class " + entityName + " {" );
-		sb.append( System.lineSeparator() );
-		return sb.toString();
+	public void generateBean() throws IOException {
+		if( tableInfo == null ) {
+			System.err.println("無表格資訊");
+			return;
+		}
+		generateType( "bean" );
 	}
-
+	
 	/**
-	 * getIDaoClassStartStr 說明：取得IDao新檔案class名稱<br>
+	 * getArtifacts 說明：依產生器順序決定所有產出檔案的名稱、套件及輸出位置, Dao 需使用Bean及IDao名稱<br>
 	 * 
-	 * @param String entityName
-	 * @return String classStartStr
+	 * @return List<Artifact> artifacts
 	 * @author Alan Hsu
 	 */
-	public String getIDaoClassStartStr( String entityName ) {
-		StringBuilder sb = new StringBuilder("");
-		sb.append( "public interface " ).append( entityName ).append( " " );
-		/**
-		if( "highSchool".equals( getDbName() ) ) {
-			sb.append( "extends ISCHDao<" + getDomainBeanName() + "> ");
-		} else {
-			sb.append( "extends ICOLDao<" + getDomainBeanName() + "> ");
+	List<Artifact> getArtifacts() {
+		List<Artifact> artifactList = new ArrayList<>();
+		for( CodegenGenerator generator : GENERATORS ) {
+			if( generator.isEnabled( this ) ) {
+				artifactList.addAll( generator.prepare( this, toArtifactMap( artifactList ) ) );
+			}
 		}
-		*/
-		sb.append( '{' ).append( System.lineSeparator() );
-		return sb.toString();
+		return artifactList;
 	}
 
 	/**
-	 * getDaoClassStartStr 說明：取得Dao新檔案class名稱<br>
+	 * toArtifactMap 說明：產出檔案依產檔類型(不分大小寫)對應, 同類型多個檔案時取第一個<br>
 	 * 
-	 * @param String entityName
-	 * @return String classStartStr
+	 * @param List<Artifact> artifactList
+	 * @return Map<String,Artifact> 不可修改的 產檔類型 > 產出檔案
 	 * @author Alan Hsu
 	 */
-	public String getDaoClassStartStr( String entityName ) {
-		StringBuilder sb = new StringBuilder("");
-		sb.append( "public class " ).append( entityName ).append( " ");
-		/**
-		if( "highSchool".equals( getDbName() ) ) {
-			sb.append("extends SCHDao<" + getDomainBeanName() + "> ");
-		} else {
-			sb.append("extends COLDao<" + getDomainBeanName() + "> ");
+	static Map<String,Artifact> toArtifactMap( List<Artifact> artifactList ) {
+		Map<String,Artifact> artifactMap = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+		for( Artifact artifact : artifactList ) {
+			artifactMap.putIfAbsent( artifact.getType(), artifact );
 		}
-		*/
-		sb.append( "implements " ).append( getDomainIDaoName() ).append( " " );
-		sb.append( '{' ).append( System.lineSeparator() );
-		return sb.toString();
+		return Collections.unmodifiableMap( artifactMap );
 	}
 
 	/**
-	 * getClassEndStr 說明：取得產檔class的結尾大括號<br>
+	 * getGenerators 說明：取得所有產生器, 依 getOrder 排序<br>
 	 * 
-	 * @return String classEndStr
+	 * @return List<CodegenGenerator> generators
 	 * @author Alan Hsu
 	 */
-	public static String getClassEndStr() {
-		StringBuilder sb = new StringBuilder("");
-		sb.append( '}' ).append( System.lineSeparator() );
-		return sb.toString();
+	public static List<CodegenGenerator> getGenerators() {
+		return GENERATORS;
 	}
 
 	/**
-	 * getBeanImportStr 說明：取得Bean需要引用的其他型別<br>
+	 * getGenerator 說明：取得產檔類型(不分大小寫)對應的產生器, 查無時回傳null<br>
 	 * 
-	 * @return String importStr
+	 * @param String type
+	 * @return CodegenGenerator generator
 	 * @author Alan Hsu
 	 */
-	public String getBeanImportStr() {
-		StringBuilder sb = new StringBuilder("");
-		if( getHasBigDecimal() ) {
-			sb.append("import java.math.BigDecimal;" + System.lineSeparator() );
+	public static CodegenGenerator getGenerator( String type ) {
+		for( CodegenGenerator generator : GENERATORS ) {
+			if( generator.getType().equalsIgnoreCase( type ) ) {
+				return generator;
+			}
 		}
-		if( getHasTimeStamp() ) {
-			sb.append("import java.sql.Timestamp;" + System.lineSeparator() );
+		return null;
+	}
+
+	/**
+	 * loadGenerators 說明：載入內建的Bean / IDao / Dao 產生器及 ServiceLoader 登錄的產生器, 同類型者以登錄的產生器取代<br>
+	 * 
+	 * @return List<CodegenGenerator> generators
+	 * @author Alan Hsu
+	 */
+	private static List<CodegenGenerator> loadGenerators() {
+		Map<String,CodegenGenerator> generatorMap = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+		for( CodegenGenerator generator : new CodegenGenerator[] { new CodegenBeanGenerator(), new CodegenIDaoGenerator(), new CodegenDaoGenerator() } ) {
+			generatorMap.put( generator.getType(), generator );
 		}
-		if( getHasDate() ) {
-			sb.append("import java.util.Date;" + System.lineSeparator() );
+		try {
+			Iterator<CodegenGenerator> iterator = ServiceLoader.load( CodegenGenerator.class ).iterator();
+			while( iterator.hasNext() ) {
+				try {
+					CodegenGenerator generator = iterator.next();
+					generatorMap.put( generator.getType(), generator );
+					System.out.println( "### Codegen generator " + generator.getType() + " loaded from " + generator.getClass().getName() + " ###" );
+				} catch( ServiceConfigurationError e ) {
+					System.err.println( "### Load codegen generator failed due to " + e.getMessage() + " ###" );
+				}
+			}
+		} catch( ServiceConfigurationError e ) {
+			System.err.println( "### Load codegen generators failed due to " + e.getMessage() + " ###" );
 		}
-		return sb.toString();
+		List<CodegenGenerator> generatorList = new ArrayList<>( generatorMap.values() );
+		generatorList.sort( Comparator.comparingInt( CodegenGenerator::getOrder ) );
+		return Collections.unmodifiableList( generatorList );
 	}
 
 	/**
-	 * setColumnTypeImport 說明：設定是否需要引用其他型別之旗標<br>
+	 * generateType 說明：產生單一產生器的檔案<br>
 	 * 
-	 * @param String columnTypeName
+	 * @param String type
 	 * @author Alan Hsu
+	 * @throws IOException
 	 */
-	public void checkColumnTypeImport( String columnTypeName ) {
-		
-		switch ( columnTypeName.toUpperCase() ) {
-			case "BIGDECIMAL":setHasBigDecimal( true );break;
-			case "DATE":setHasDate( true );break;
-			case "TIMESTAMP":setHasTimeStamp( true );break;
+	private void generateType( String type ) throws IOException {
+		TableInfo table = tableInfo.snapshot();
+		List<Artifact> artifactList = getArtifacts();
+		Map<String,Artifact> artifactMap = toArtifactMap( artifactList );
+		for( Artifact artifact : artifactList ) {
+			if( artifact.getType().equalsIgnoreCase( type ) ) {
+				try {
+					newWriteTask( artifact, artifactMap, table ).call();
+				} catch( IOException | RuntimeException e ) {
+					throw e;
+				} catch( Exception e ) {
+					throw new IOException( "Codegen table " + getTableName() + " " + artifact.getLabel() + " failed due to " + e.getMessage(), e );
+				}
+			}
 		}
 	}
 
 	/**
-	 * getFieldDescription 說明：取得成員變數說明<br>
+	 * newWriteTask 說明：取得輸出檔案的工作<br>
 	 * 
-	 * @return String importStr
+	 * @param Artifact artifact
+	 * @param Map<String,Artifact> artifactMap 同一表格所有產出檔案
+	 * @param TableInfo table 不可修改的表格資訊
+	 * @return Callable<Void> task
 	 * @author Alan Hsu
 	 */
-	public String getFieldDescription( String columnsName, String remarks ) {
-		String fieldsSpace = "\t";
-		StringBuilder sb = new StringBuilder( "" );
-		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
-		sb.append( fieldsSpace + " * This field was generated by CustomCodegen Generator. ");
-		sb.append( "This field corresponds to the database column " + getTableName().toUpperCase() );
-		sb.append( '.' + columnsName + "" + System.lineSeparator() );
-		sb.append( fieldsSpace + " * Remarks: " + ( remarks == null ? "NONE" : remarks )+ System.lineSeparator() );
-		sb.append( fieldsSpace + " * cusg.generated  " + getCurrentTime() + System.lineSeparator() );
-		sb.append( fieldsSpace + " */" + System.lineSeparator() );
-		return sb.toString();
+	private Callable<Void> newWriteTask( Artifact artifact, Map<String,Artifact> artifactMap, TableInfo table ) {
+		return () -> {
+			getMetrics().timeRun( getMetricsTable(), CodegenMetrics.GENERATE + artifact.getLabel(),
+					() -> writeFile( artifact.getPath(), artifact.getClassName(), artifact.getLabel(),
+							out -> artifact.getGenerator().render( out, artifact, artifactMap, table, this ) ) );
+			return null;
+		};
 	}
 
 	/**
-	 * getMethodSetterDescription 說明：取得設值方法說明<br>
+	 * getGeneratedFileNames 說明：取得已產製(或將產製)的檔案名稱<br>
 	 * 
-	 * @return String str
+	 * @return List<String> fileNames
 	 * @author Alan Hsu
 	 */
-	public String getMethodSetterDescription( String columnsName ) {
-		String fieldsSpace = "\t";
-		String correspondsCol = getTableName().toUpperCase() + '.' + columnsName;
-		StringBuilder sb = new StringBuilder( "" );
-		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
-		sb.append( fieldsSpace + " * This method was generated by CustomCodegen Generator. ");
-		sb.append( "This method sets the value of the database column " + correspondsCol + System.lineSeparator() );
-		sb.append( fieldsSpace + " * @param " + toCamelCase( columnsName ) );
-		sb.append( "  the value for " + correspondsCol + System.lineSeparator() );
-		sb.append( fieldsSpace + " * cusg.generated  " + getCurrentTime() + System.lineSeparator() );
-		sb.append( fieldsSpace + " */" + System.lineSeparator() );
-		return sb.toString();
+	public List<String> getGeneratedFileNames() {
+		List<String> fileNames = new ArrayList<>();
+		for( Artifact artifact : getArtifacts() ) {
+			fileNames.add( artifact.getFileName() );
+		}
+		return fileNames;
 	}
 
 	/**
-	 * getMethodGetterDescription 說明：取得取值方法說明<br>
+	 * generateSources 說明：產製Bean & IDao & Dao 原始碼但不寫檔, 回傳 檔案名稱 > 原始碼<br>
 	 * 
-	 * @return String str
+	 * @return Map<String,String> sourceMap
 	 * @author Alan Hsu
+	 * @throws IOException
 	 */
-	public String getMethodGetterDescription( String columnsName ) {
-		String fieldsSpace = "\t";
-		String correspondsCol = getTableName().toUpperCase() + '.' + columnsName;
-		StringBuilder sb = new StringBuilder( "" );
-		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
-		sb.append( fieldsSpace + " * This method was generated by CustomCodegen Generator. ");
-		sb.append( "This method returns the value of the database column " + correspondsCol + System.lineSeparator() );
+	public Map<String,String> generateSources() throws IOException {
+		Map<String,String> sourceMap = new LinkedHashMap<>();
+		TableInfo table = tableInfo.snapshot();
+		List<Artifact> artifactList = getArtifacts();
+		Map<String,Artifact> artifactMap = toArtifactMap( artifactList );
+		for( Artifact artifact : artifactList ) {
+			StringWriter out = new StringWriter();
+			artifact.getGenerator().render( out, artifact, artifactMap, table, this );
+			sourceMap.put( artifact.getFileName(), out.toString() );
+		}
+		return sourceMap;
+	}
+
+	/**
+	 * renderArtifacts 說明：產製所有檔案的原始碼但不寫檔, 供分階段產檔交由寫檔的執行緒以 writeRendered 輸出<br>
+	 * 
+	 * @return Map<Artifact,String> 產出檔案 > 原始碼, 依產製順序
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	Map<Artifact,String> renderArtifacts() throws IOException {
+		Map<Artifact,String> sourceMap = new LinkedHashMap<>();
+		TableInfo table = tableInfo.snapshot();
+		List<Artifact> artifactList = getArtifacts();
+		Map<String,Artifact> artifactMap = toArtifactMap( artifactList );
+		for( Artifact artifact : artifactList ) {
+			StringWriter out = new StringWriter();
+			getMetrics().timeRun( getMetricsTable(), CodegenMetrics.RENDER + artifact.getLabel(),
+					() -> artifact.getGenerator().render( out, artifact, artifactMap, table, this ) );
+			sourceMap.put( artifact, out.toString() );
+		}
+		return sourceMap;
+	}
+
+	/**
+	 * writeRendered 說明：寫入 renderArtifacts 已產製的原始碼至輸出位置<br>
+	 * 
+	 * @param Artifact artifact
+	 * @param String source
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	void writeRendered( Artifact artifact, String source ) throws IOException {
+		getMetrics().timeRun( getMetricsTable(), CodegenMetrics.WRITE + artifact.getLabel(),
+				() -> writeSourceFile( artifact.getPath(), artifact.getClassName(), artifact.getLabel(), out -> out.write( source ) ) );
+	}
+
+	/**
+	 * renderTemplate 說明：以樣板輸出產製檔案, 樣板第一次使用時解析並快取<br>
+	 * 
+	 * @param Writer out
+	 * @param String templateName
+	 * @param String type
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void renderTemplate( Writer out, String templateName, String type ) throws IOException {
+		CodegenTemplate.get( getTemplateFolder(), templateName ).render( out, getTemplateModel( type ) );
+	}
+	
+	/**
+	 * getTemplateModel 說明：取得樣板變數, 與原產檔方法輸出的內容相同, 以樣板產製的產生器由產生器決定樣板變數<br>
+	 * 
+	 * @param String type
+	 * @return Map<String,Object> model
+	 * @author Alan Hsu
+	 */
+	public Map<String,Object> getTemplateModel( String type ) {
+		Map<String,Artifact> artifactMap = toArtifactMap( getArtifacts() );
+		Artifact artifact = artifactMap.get( type );
+		if( artifact != null && artifact.getGenerator() instanceof CodegenTemplateGenerator ) {
+			return ( (CodegenTemplateGenerator) artifact.getGenerator() ).getModel( this, artifact, artifactMap, tableInfo );
+		}
+		return getTemplateModel( artifact, artifactMap, tableInfo );
+	}
+	
+	/**
+	 * getTemplateModel 說明：取得各產生器共用的樣板變數, 類別及套件名稱取自產出檔案<br>
+	 * 
+	 * @param Artifact artifact 產出檔案, 為null時類別名稱為空字串
+	 * @param Map<String,Artifact> artifactMap 同一表格所有產出檔案
+	 * @param TableInfo table
+	 * @return Map<String,Object> model
+	 * @author Alan Hsu
+	 */
+	public Map<String,Object> getTemplateModel( Artifact artifact, Map<String,Artifact> artifactMap, TableInfo table ) {
+		Artifact bean = artifactMap.get( "bean" );
+		Artifact iDao = artifactMap.get( "idao" );
+		Artifact dao = artifactMap.get( "dao" );
+		Map<String,Object> model = new HashMap<>();
+		model.put( "taskId", toCleanString( getTaskId() ) );
+		model.put( "taskName", toCleanString( getTaskName() ) );
+		model.put( "taskDescription", toCleanString( getTaskDescription() ) );
+		model.put( "sourceDescription", getSourceDescription() );
+		model.put( "author", getAuthor() );
+		model.put( "currentTime", getGeneratedTime() );
+		model.put( "className", artifact == null ? "" : artifact.getClassName() );
+		model.put( "tableName", getTableName().toUpperCase() );
+		model.put( "beanPackage", bean == null ? null : bean.getPackageName() );
+		model.put( "beanName", bean == null ? null : bean.getClassName() );
+		model.put( "iDaoPackage", iDao == null ? null : iDao.getPackageName() );
+		model.put( "iDaoName", iDao == null ? null : iDao.getClassName() );
+		model.put( "daoPackage", dao == null ? null : dao.getPackageName() );
+		model.put( "hasBigDecimal", getHasBigDecimal() );
+		model.put( "hasBigInteger", getHasBigInteger() );
+		model.put( "hasTimeStamp", getHasTimeStamp() );
+		model.put( "hasDate", getHasDate() );
+		model.put( "hasTypeImport", getHasBigDecimal() || getHasBigInteger() || getHasTimeStamp() || getHasDate() );
+		model.put( "isColumnMapped", "@Column".equals( getMappedType() ) );
+		model.put( "hasPrimaryKey", table.getHasPrimaryKey() );
+		model.put( "needToString", getNeedToString() );
+		return model;
+	}
+	
+	/**
+	 * getColumnModel 說明：取得欄位的樣板變數<br>
+	 * 
+	 * @param TableInfo table
+	 * @return List<Map<String,Object>> columns
+	 * @author Alan Hsu
+	 */
+	public List<Map<String,Object>> getColumnModel( TableInfo table ) {
+		boolean useSelfColumn = getColumns() != null && !"".equals( getColumns() );
+		List<Map<String,Object>> columnList = new ArrayList<>( table.getColumns().size() );
+		for( Map.Entry<String, ColumnInfo> entry : table.getColumns().entrySet() ) {
+			String columnName = entry.getKey();
+			ColumnInfo columnData = entry.getValue();
+			String remarks = columnData.getRemarks();
+			Map<String,Object> column = new HashMap<>();
+			column.put( "columnName", columnName );
+			column.put( "fieldName", useSelfColumn ? columnData.getSelfColumnName() : convertCase( columnName, "camel" ) );
+			column.put( "propertyName", useSelfColumn 
+					? convertCase( columnData.getSelfColumnName(), "capitalizeOnlyFirst" ) : convertCase( columnName, "pascal" ) );
+			column.put( "paramName", toCamelCase( columnName ) );
+			column.put( "javaType", columnData.getJavaType() );
+			column.put( "remarksText", remarks == null ? "NONE" : remarks );
+			column.put( "remarksParen", remarks == null ? "" : '(' + remarks + ')' );
+			column.put( "isPrimaryKey", columnData.isPrimaryKey() );
+			columnList.add( column );
+		}
+		return columnList;
+	}
+	
+	/**
+	 * generateIDao 說明：產生IDao檔案<br>
+	 * 
+	 * @author Alan Hsu
+	 */
+	public void generateIDao() throws IOException {
+		if( tableInfo == null ) {
+			System.err.println("無表格資訊");
+			return;
+		}
+		generateType( "idao" );
+	}
+	
+	/**
+	 * generateDao 說明：產生Dao檔案<br>
+	 * 
+	 * @author Alan Hsu
+	 */
+	public void generateDao() throws IOException {
+		if( tableInfo == null ) {
+			System.err.println("無表格資訊");
+			return;
+		}
+		generateType( "dao" );
+	}
+	
+	/**
+	 * writeFile 說明：以固定大小緩衝區串流寫入產製檔案, 增量模式時內容未變更即不寫入<br>
+	 * 				樣板產製(render)及寫檔(write, 不含樣板產製)的耗時分別記錄<br>
+	 * 
+	 * @param String newPathStr
+	 * @param String className
+	 * @param String label
+	 * @param SourceRenderer sourceRenderer
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void writeFile( String newPathStr, String className, String label, SourceRenderer sourceRenderer ) throws IOException {
+		
+		long start = System.nanoTime();
+		/** 樣板產製耗時, 增量模式可能產製多次 */
+		long[] renderNanos = new long[ 1 ];
+		SourceRenderer renderer = out -> {
+			try( CodegenMetrics.Span span = getMetrics().start( getMetricsTable(), CodegenMetrics.RENDER + label ) ) {
+				sourceRenderer.render( out );
+				renderNanos[ 0 ] += span.getElapsedNanos();
+			}
+		};
+		try {
+			writeSourceFile( newPathStr, className, label, renderer );
+		} finally {
+			getMetrics().record( getMetricsTable(), CodegenMetrics.WRITE + label, System.nanoTime() - start - renderNanos[ 0 ] );
+		}
+	}
+
+	/**
+	 * writeSourceFile 說明：寫入產製檔案至輸出位置(預設為資料夾)<br>
+	 * 
+	 * @param String newPathStr
+	 * @param String className
+	 * @param String label
+	 * @param SourceRenderer renderer
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	private void writeSourceFile( String newPathStr, String className, String label, SourceRenderer renderer ) throws IOException {
+		
+		String newFilePath = newPathStr + File.separator + className + ".java";
+		Path file = Paths.get( newFilePath );
+		System.out.println("New " + label + " Path =" + newFilePath );
+		
+		if( isIncremental() ) {
+			getIncrementalWriter().recordOwner( file, getOutputScope(), getTableName() );
+		}
+		if( getOutputSink().write( file, renderer ) ) {
+			System.out.println( "[ " + className + ".java ] generated successful." + System.lineSeparator()  );
+		} else {
+			System.out.println( "[ " + className + ".java ] unchanged, skipped." + System.lineSeparator()  );
+		}
+	}
+
+	/**
+	 * getBasicImportStr 說明：取得套件路徑字串<br>
+	 * 
+	 * @return String packageStr
+	 * @author Alan Hsu
+	 */
+	public String getPackageStr( String type ) {
+		Artifact artifact = toArtifactMap( getArtifacts() ).get( type );
+		String str = artifact == null ? "" : artifact.getPackageName();
+		return "package " + str + ';' + System.lineSeparator() ;
+	}
+
+	/**
+	 * setColumnTypeImport 說明：設定是否需要引用其他型別之旗標<br>
+	 * 
+	 * @param String columnTypeName
+	 * @author Alan Hsu
+	 */
+	public void checkColumnTypeImport( String columnTypeName ) {
+		
+		switch ( columnTypeName.toUpperCase() ) {
+			case "BIGDECIMAL":setHasBigDecimal( true );break;
+			case "BIGINTEGER":setHasBigInteger( true );break;
+			case "DATE":setHasDate( true );break;
+			case "TIMESTAMP":setHasTimeStamp( true );break;
+		}
+	}
+
+	/**
+	 * getFieldDescription 說明：取得成員變數說明<br>
+	 * 
+	 * @return String importStr
+	 * @author Alan Hsu
+	 */
+	public String getFieldDescription( String columnsName, String remarks ) {
+		String fieldsSpace = "\t";
+		StringBuilder sb = new StringBuilder( "" );
+		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * This field was generated by CustomCodegen Generator. ");
+		sb.append( "This field corresponds to the database column " + getTableName().toUpperCase() );
+		sb.append( '.' + columnsName + "" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * Remarks: " + ( remarks == null ? "NONE" : remarks )+ System.lineSeparator() );
+		sb.append( fieldsSpace + " * cusg.generated  " + getGeneratedTime() + System.lineSeparator() );
+		sb.append( fieldsSpace + " */" + System.lineSeparator() );
+		return sb.toString();
+	}
+
+	/**
+	 * getMethodSetterDescription 說明：取得設值方法說明<br>
+	 * 
+	 * @return String str
+	 * @author Alan Hsu
+	 */
+	public String getMethodSetterDescription( String columnsName ) {
+		String fieldsSpace = "\t";
+		String correspondsCol = getTableName().toUpperCase() + '.' + columnsName;
+		StringBuilder sb = new StringBuilder( "" );
+		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * This method was generated by CustomCodegen Generator. ");
+		sb.append( "This method sets the value of the database column " + correspondsCol + System.lineSeparator() );
+		sb.append( fieldsSpace + " * @param " + toCamelCase( columnsName ) );
+		sb.append( "  the value for " + correspondsCol + System.lineSeparator() );
+		sb.append( fieldsSpace + " * cusg.generated  " + getGeneratedTime() + System.lineSeparator() );
+		sb.append( fieldsSpace + " */" + System.lineSeparator() );
+		return sb.toString();
+	}
+
+	/**
+	 * getMethodGetterDescription 說明：取得取值方法說明<br>
+	 * 
+	 * @return String str
+	 * @author Alan Hsu
+	 */
+	public String getMethodGetterDescription( String columnsName ) {
+		String fieldsSpace = "\t";
+		String correspondsCol = getTableName().toUpperCase() + '.' + columnsName;
+		StringBuilder sb = new StringBuilder( "" );
+		sb.append( fieldsSpace + "/**" + System.lineSeparator() );
+		sb.append( fieldsSpace + " * This method was generated by CustomCodegen Generator. ");
+		sb.append( "This method returns the value of the database column " + correspondsCol + System.lineSeparator() );
 		sb.append( fieldsSpace + " * @return " + toCamelCase( columnsName ) );
 		sb.append( "  the value of " + correspondsCol + System.lineSeparator() );
-		sb.append( fieldsSpace + " * cusg.generated  " + getCurrentTime() + System.lineSeparator() );
+		sb.append( fieldsSpace + " * cusg.generated  " + getGeneratedTime() + System.lineSeparator() );
 		sb.append( fieldsSpace + " */" + System.lineSeparator() );
 		return sb.toString();
 	}
 
 	/**
-	 * getNewFilePath 說明：取得新檔案路徑<br>
-	 * 
-	 * @param String type
-	 * @return String newFilePath
+	 * getNewFilePath 說明：取得新檔案路徑, 各類型皆輸出至 newFileTargetFolder, 套件由產生器推導<br>
+	 * 
+	 * @param String type
+	 * @return String newFilePath
+	 * @author Alan Hsu
+	 */
+	public String getNewFilePath( String type ) {
+		/** 產出檔案輸出位置和package位置脫鉤 2022-08-16 */
+		return getNewFileTargetFolder();
+	}
+
+	/**
+	 * getFileNameByType 說明：取得對應的檔案名稱<br>
+	 * 
+	 * @param String type
+	 * @return String fileName
+	 * @author Alan Hsu
+	 */
+	public String getFileNameByType( String type ) {
+		Artifact artifact = toArtifactMap( getArtifacts() ).get( type );
+		return artifact == null ? "" : artifact.getClassName();
+	}
+
+	/**
+	 * toPackageName 說明：由輸出路徑設定推導套件名稱, 路徑含 src 時取 src 之後的部分<br>
+	 * 
+	 * @param String targetPath
+	 * @return String packageName
+	 * @author Alan Hsu
+	 */
+	public static String toPackageName( String targetPath ) {
+		String sep = File.separator;
+		String directory = targetPath.replaceAll( "\\.", Matcher.quoteReplacement( sep ) );
+		String packagePath;
+		int srcIdx = directory.indexOf("src");
+		if( srcIdx > 0 ) {
+			String srcStr = directory.substring( srcIdx + 4 );
+			packagePath = srcStr.replaceAll( "\\\\", "." );
+		} else {
+			packagePath = directory.replaceAll( "\\\\", "." );
+		}
+		if( packagePath.endsWith(".") ) {
+			packagePath = packagePath.substring( 0, packagePath.length() -1 );
+		}
+		return packagePath;
+	}
+
+	/**
+	 * getTableInfo 說明：取得表格資訊<br>
+	 * 
+	 * @return boolean tableInfoExists
+	 * @author Alan Hsu
+	 */
+	public boolean getTableInfo() throws Exception {
+		
+		TableInfo tableInfo = new TableInfo( getTableName() );
+		
+		if( getMetadataSource() != null ) {
+			TableInfo sourceInfo = getMetrics().time( getMetricsTable(), CodegenMetrics.METADATA_SOURCE,
+					() -> getMetadataSource().getTableInfo( getTableSchema(), getTableName() ) );
+			if( sourceInfo == null ) {
+				System.err.println( "### Table " + getTableName() + " not found in metadata source ###");
+				return false;
+			}
+			applyTableInfo( sourceInfo );
+			return true;
+		}
+		
+		/** 自訂SELECT欄位時表格資訊與快照不同, 不使用快照 */
+		boolean useSnapshot = isUseSnapshot() && "".equals( toCleanString( getColumns() ) );
+		if( useSnapshot && isOfflineSnapshot() ) {
+			CodegenMetadataSnapshot snapshot = getMetadataSnapshot();
+			TableInfo cached = snapshot.get( getDataSourceKey(), getTableSchema(), getTableName(), null );
+			if( cached == null ) {
+				System.err.println( "### Table " + getTableName() + " not found in metadata snapshot ###");
+				return false;
+			}
+			/** 離線時DDL時間取自快照記錄的指紋, 與連線時相同 */
+			cached.setDdlTime( toDdlTime( snapshot.getFingerprint( getDataSourceKey(), getTableSchema(), getTableName() ) ) );
+			System.out.println( "### Table " + getTableName() + " loaded from metadata snapshot (offline) ###");
+			applyTableInfo( cached );
+			return true;
+		}
+		
+		try( Connection conn = getConnection() ) {
+			
+			String fingerprint = null;
+			if( useSnapshot || isDdlTimeNeeded() ) {
+				fingerprint = getMetrics().time( getMetricsTable(), CodegenMetrics.METADATA_FINGERPRINT,
+						() -> getDdlFingerprints( conn, getTableName() ).get( getTableName().toUpperCase() ) );
+			}
+			if( useSnapshot ) {
+				TableInfo cached = fingerprint == null ? null
+						: getMetadataSnapshot().get( getDataSourceKey(), getTableSchema(), getTableName(), fingerprint );
+				if( cached != null ) {
+					System.out.println( "### Table " + getTableName() + " unchanged since " + fingerprint + ", loaded from metadata snapshot ###");
+					cached.setDdlTime( toDdlTime( fingerprint ) );
+					applyTableInfo( cached );
+					return true;
+				}
+			}
+			
+			boolean useSelfColumn = false;
+			
+			String columns = getColumns();
+			List<String> selfList = null;
+			if( columns == null || "".equals( columns ) || columns.contains("*") ) {
+				columns = "*";
+			} else {
+				useSelfColumn = true;
+				/**
+				String[] selfAry = columns.trim().split(",");
+				selfList = new ArrayList<>();
+				for( String s : selfAry ) {
+					selfList.add( s.trim() );
+				}
+				*/
+				selfList = Arrays.asList( columns.trim().split(",") )
+						.stream().map( s -> s.trim() ).collect( Collectors.toList() );
+			}
+			String sql = "SELECT " + columns + " FROM " + getTableName() + " WHERE 1 = 2";
+			System.out.println( sql );
+			
+			Map<String,ColumnInfo> columnMap = new LinkedHashMap<>();
+			
+			try ( Statement stmt = conn.createStatement() ) {
+				stmt.setQueryTimeout( getQueryTimeoutSeconds() );
+				CodegenMetrics.Span probeSpan = getMetrics().start( getMetricsTable(), CodegenMetrics.METADATA_PROBE );
+				try ( ResultSet rs = stmt.executeQuery( sql ) ) {
+			
+					ResultSetMetaData rsmd = rs.getMetaData();
+					/** DatabaseMetaData dbmd = conn.getMetaData(); */
+				
+					int columnCount = rsmd.getColumnCount();
+					tableInfo.setColumnCount( columnCount );
+				
+					for( int i = 1; i <= rsmd.getColumnCount(); i++ ) {
+						ColumnInfo columnInfo = new ColumnInfo();
+						String columnName = rsmd.getColumnName( i );
+						columnInfo.setColumnName( columnName );
+						String columnType = rsmd.getColumnTypeName( i );
+						columnInfo.setColumnType( columnType );
+						String columnClassName = rsmd.getColumnClassName( i );
+					
+						int lastComma = columnClassName.lastIndexOf('.');
+						String javaType = columnClassName.substring( lastComma + 1 );
+						/**
+						 * System.out.println( columnName + ", columnType:" + columnType + ", javaType:" + columnClassName );
+						 */
+						columnInfo.setJavaType( javaType );
+						checkColumnTypeImport( javaType );
+					
+						/** 使用使用者提供的欄位名稱及大小寫 */
+						if( useSelfColumn ) {
+							String selfColumn = selfList.get( i - 1 );
+							columnInfo.setSelfColumnName( selfColumn );
+						}
+					
+						columnMap.put( columnInfo.getColumnName(), columnInfo );
+					}
+				} finally {
+					probeSpan.close();
+				}
+			} catch( Exception e ) {
+				System.err.println( "### Statement.executeQuery occur exception ###");
+				throw e;
+			}
+			
+			/** 資料字典可取得Oracle欄位備註, 無法使用時改用JDBC DatabaseMetaData */
+			if( !readDictionary( conn, tableInfo, columnMap ) ) {
+				/**To Get Column PK*/
+				CodegenMetrics.Span pkSpan = getMetrics().start( getMetricsTable(), CodegenMetrics.METADATA_PRIMARY_KEYS );
+				try ( ResultSet rs = conn.getMetaData().getPrimaryKeys( null, null, tableName ) ) {
+					while ( rs.next() ) {
+						String pKey = rs.getString("COLUMN_NAME");
+						columnMap.get( pKey ).setPrimaryKey( true );
+						tableInfo.setHasPrimaryKey( true );
+					}
+				} catch( Exception e ) {
+					System.err.println( "### DatabaseMetaData.getPrimaryKeys occur exception ###");
+					throw e;
+				} finally {
+					pkSpan.close();
+				}
+			
+				/**To Get Column Remarks*/
+				CodegenMetrics.Span columnsSpan = getMetrics().start( getMetricsTable(), CodegenMetrics.METADATA_COLUMNS );
+				try ( ResultSet rs = conn.getMetaData().getColumns( null, null, getTableName().toUpperCase(), null ) ) {
+					while ( rs.next() ) {
+						String remarks = rs.getString("REMARKS");
+						String columnName = rs.getString("COLUMN_NAME");
+					
+						if( columnMap.get( columnName ) != null ) {
+							columnMap.get( columnName ).setRemarks( remarks );
+						}
+					}
+				} catch( Exception e ) {
+					System.err.println( "### DatabaseMetaData.getColumns occur exception ###");
+					throw e;
+				} finally {
+					columnsSpan.close();
+				}
+			}
+			
+			tableInfo.setColumns( columnMap );
+			tableInfo.setDdlTime( toDdlTime( fingerprint ) );
+			setTableInfo( tableInfo );
+			
+			if( useSnapshot && fingerprint != null ) {
+				getMetadataSnapshot().put( getDataSourceKey(), getTableSchema(), fingerprint, tableInfo );
+			}
+			
+		} catch( SQLSyntaxErrorException e ) {
+			System.err.println( "### Query table info failed due to invalid SQL field or table name ###");
+			e.printStackTrace();
+			return false;
+		} catch( Exception e ) {
+			e.printStackTrace();
+			return false;
+		} finally {
+			System.out.println("### Connection closed ###");
+			System.out.print( System.lineSeparator() );
+		}
+		return true;
+	}
+
+	/**
+	 * getSchemaTableInfo 說明：以同一條連線批次取得Schema內符合規則的所有表格資訊<br>
+	 * 					表格清單、欄位(含型別及備註)及主鍵各一次Catalog查詢, 驅動程式不支援時主鍵依表格查詢<br>
+	 * 					有設定快照時, DDL指紋未變更的表格直接使用快照, 離線模式則完全不連線<br>
+	 *
+	 * @return Map<String,TableInfo> tableInfoMap, 發生例外時回傳null
+	 * @author Alan Hsu
+	 */
+	public Map<String,TableInfo> getSchemaTableInfo() {
+		return getSchemaTableInfo( null );
+	}
+
+	/**
+	 * getSchemaTableInfo 說明：取得Schema內指定表格的表格資訊, 供分階段產檔分批取得, 避免一次載入所有表格<br>
+	 * 					指定表格時不查詢表格清單, JDBC DatabaseMetaData 逐表查詢欄位<br>
+	 *
+	 * @param Collection<String> tableNames 表格名稱(getSchemaTableNames 的結果), 為null時取得符合規則的所有表格
+	 * @return Map<String,TableInfo> tableInfoMap, 發生例外時回傳null
+	 * @author Alan Hsu
+	 */
+	public Map<String,TableInfo> getSchemaTableInfo( Collection<String> tableNames ) {
+
+		Map<String,TableInfo> tableInfoMap = new LinkedHashMap<>();
+
+		String schema = toCleanString( getTableSchema() );
+		/** MySQL 的 Database 對應 JDBC Catalog, Oracle 對應 Schema */
+		boolean isMySQL = "MYSQL".equals( getDbName() );
+		String catalog = isMySQL ? schema : null;
+		String schemaPattern = isMySQL ? null : schema.toUpperCase();
+		/** Schema層級查詢的耗時記錄於此名稱 */
+		String schemaKey = "[" + schema + "]";
+
+		if( getMetadataSource() != null ) {
+			try {
+				for( String name : tableNames != null ? tableNames : getMetadataSource().getTableNames( schema ) ) {
+					if( isTableMatched( name ) ) {
+						tableInfoMap.put( name, getMetrics().time( name, CodegenMetrics.METADATA_SOURCE,
+								() -> getMetadataSource().getTableInfo( schema, name ) ) );
+					}
+				}
+			} catch( Exception e ) {
+				e.printStackTrace();
+				return null;
+			}
+			if( tableNames == null ) {
+				System.out.println( "### Schema " + schema + " matched " + tableInfoMap.size() + " tables in metadata source ###");
+			}
+			return tableInfoMap;
+		}
+
+		if( isUseSnapshot() && isOfflineSnapshot() ) {
+			CodegenMetadataSnapshot snapshot = getMetadataSnapshot();
+			for( String name : tableNames != null ? tableNames : snapshot.getTableNames( getDataSourceKey(), schema ) ) {
+				TableInfo cached = snapshot.get( getDataSourceKey(), schema, name, null );
+				if( cached != null && isTableMatched( cached.getTableName() ) ) {
+					cached.setDdlTime( toDdlTime( snapshot.getFingerprint( getDataSourceKey(), schema, name ) ) );
+					tableInfoMap.put( cached.getTableName(), cached );
+				}
+			}
+			if( tableNames == null ) {
+				System.out.println( "### Schema " + schema + " matched " + tableInfoMap.size() + " tables in metadata snapshot (offline) ###");
+			}
+			return tableInfoMap;
+		}
+
+		try( Connection conn = getConnection() ) {
+
+			DatabaseMetaData dbmd = conn.getMetaData();
+
+			/** 需要重新查詢欄位資訊的表格 */
+			Map<String,TableInfo> staleMap = new LinkedHashMap<>();
+
+			/**To Get Tables*/
+			for( String name : tableNames != null ? tableNames : readTableNames( dbmd, catalog, schemaPattern, schemaKey ) ) {
+				TableInfo info = new TableInfo( name );
+				info.setColumns( new LinkedHashMap<>() );
+				tableInfoMap.put( name, info );
+				staleMap.put( name, info );
+			}
+			if( tableNames == null ) {
+				System.out.println( "### Schema " + schema + " matched " + tableInfoMap.size() + " tables ###");
+			}
+
+			Map<String,String> fingerprintMap = Collections.emptyMap();
+			if( isUseSnapshot() || isDdlTimeNeeded() ) {
+				fingerprintMap = getMetrics().time( schemaKey, CodegenMetrics.METADATA_FINGERPRINT, () -> getDdlFingerprints( conn, null ) );
+			}
+			if( isUseSnapshot() ) {
+				for( String name : tableInfoMap.keySet() ) {
+					String fingerprint = fingerprintMap.get( name.toUpperCase() );
+					TableInfo cached = fingerprint == null ? null
+							: getMetadataSnapshot().get( getDataSourceKey(), schema, name, fingerprint );
+					if( cached != null ) {
+						tableInfoMap.put( name, cached );
+						staleMap.remove( name );
+					}
+				}
+				System.out.println( "### Metadata snapshot hit " + ( tableInfoMap.size() - staleMap.size() )
+						+ " tables, " + staleMap.size() + " tables changed ###");
+			}
+
+			/** 以資料字典一次取得所有表格的欄位及主鍵, 無法使用時改用JDBC DatabaseMetaData */
+			if( !readDictionary( conn, schema, staleMap ) ) {
+				/**To Get Columns & Remarks, 依ORDINAL_POSITION排序後回傳; 少量表格變更時逐表查詢避免掃描整個Schema*/
+				List<String> columnPatterns = tableNames == null && ( staleMap.size() > SNAPSHOT_BULK_REFRESH_THRESHOLD || !isUseSnapshot() )
+						? Collections.singletonList( "%" ) : new ArrayList<>( staleMap.keySet() );
+				for( String tablePattern : staleMap.isEmpty() ? Collections.<String>emptyList() : columnPatterns ) {
+					try {
+						getMetrics().timeRun( "%".equals( tablePattern ) ? schemaKey : tablePattern, CodegenMetrics.METADATA_COLUMNS, () -> {
+							try ( ResultSet rs = dbmd.getColumns( catalog, schemaPattern, tablePattern, "%" ) ) {
+								while ( rs.next() ) {
+									TableInfo info = staleMap.get( rs.getString("TABLE_NAME") );
+									if( info == null ) {
+										continue;
+									}
+									ColumnInfo columnInfo = new ColumnInfo();
+									String columnType = rs.getString("TYPE_NAME");
+									columnInfo.setColumnName( rs.getString("COLUMN_NAME") );
+									columnInfo.setColumnType( columnType );
+									columnInfo.setJavaType( getJavaTypeBySqlType( rs.getInt("DATA_TYPE"), columnType, rs.getInt("COLUMN_SIZE") ) );
+									columnInfo.setRemarks( rs.getString("REMARKS") );
+									info.getColumns().put( columnInfo.getColumnName(), columnInfo );
+								}
+							}
+						} );
+					} catch( Exception e ) {
+						System.err.println( "### DatabaseMetaData.getColumns occur exception ###");
+						throw e;
+					}
+				}
+
+				for( TableInfo info : staleMap.values() ) {
+					info.setColumnCount( info.getColumns().size() );
+				}
+
+				/**To Get Column PK, 欄位整個Schema一次查詢時主鍵也一次查詢, 驅動程式不支援不指定表格時逐表查詢*/
+				boolean bulkPrimaryKeys = !staleMap.isEmpty() && columnPatterns.contains( "%" )
+						&& readPrimaryKeys( dbmd, catalog, schemaPattern, null, schemaKey, staleMap );
+				if( !bulkPrimaryKeys ) {
+					for( TableInfo info : staleMap.values() ) {
+						readPrimaryKeys( dbmd, catalog, schemaPattern, info.getTableName(), info.getTableName(), staleMap );
+					}
+				}
+			}
+
+			for( TableInfo info : tableInfoMap.values() ) {
+				info.setDdlTime( toDdlTime( fingerprintMap.get( info.getTableName().toUpperCase() ) ) );
+			}
+
+			if( isUseSnapshot() && !staleMap.isEmpty() ) {
+				for( TableInfo info : staleMap.values() ) {
+					String fingerprint = fingerprintMap.get( info.getTableName().toUpperCase() );
+					if( fingerprint != null ) {
+						getMetadataSnapshot().put( getDataSourceKey(), schema, fingerprint, info );
+					}
+				}
+			}
+
+		} catch( Exception e ) {
+			e.printStackTrace();
+			return null;
+		} finally {
+			System.out.println("### Connection closed ###");
+			System.out.print( System.lineSeparator() );
+		}
+		return tableInfoMap;
+	}
+
+	/**
+	 * getSchemaTableNames 說明：只取得Schema內符合規則的表格名稱, 不查詢欄位資訊<br>
+	 *
+	 * @return List<String> tableNames, 發生例外時回傳null
+	 * @author Alan Hsu
+	 */
+	public List<String> getSchemaTableNames() {
+		String schema = toCleanString( getTableSchema() );
+		List<String> tableNames = new ArrayList<>();
+		try {
+			if( getMetadataSource() != null ) {
+				for( String name : getMetadataSource().getTableNames( schema ) ) {
+					if( isTableMatched( name ) ) {
+						tableNames.add( name );
+					}
+				}
+			} else if( isUseSnapshot() && isOfflineSnapshot() ) {
+				for( String name : getMetadataSnapshot().getTableNames( getDataSourceKey(), schema ) ) {
+					if( isTableMatched( name ) ) {
+						tableNames.add( name );
+					}
+				}
+			} else {
+				boolean isMySQL = "MYSQL".equals( getDbName() );
+				try( Connection conn = getConnection() ) {
+					tableNames = readTableNames( conn.getMetaData(), isMySQL ? schema : null, isMySQL ? null : schema.toUpperCase(), "[" + schema + "]" );
+				}
+			}
+		} catch( Exception e ) {
+			e.printStackTrace();
+			return null;
+		}
+		System.out.println( "### Schema " + schema + " matched " + tableNames.size() + " tables ###");
+		return tableNames;
+	}
+
+	private List<String> readTableNames( DatabaseMetaData dbmd, String catalog, String schemaPattern, String schemaKey ) throws SQLException {
+		List<String> tableNames = new ArrayList<>();
+		try {
+			getMetrics().timeRun( schemaKey, CodegenMetrics.METADATA_TABLES, () -> {
+				try ( ResultSet rs = dbmd.getTables( catalog, schemaPattern, "%", new String[] { "TABLE" } ) ) {
+					while ( rs.next() ) {
+						String name = rs.getString("TABLE_NAME");
+						if( isTableMatched( name ) ) {
+							tableNames.add( name );
+						}
+					}
+				}
+			} );
+		} catch( SQLException e ) {
+			System.err.println( "### DatabaseMetaData.getTables occur exception ###");
+			throw e;
+		}
+		return tableNames;
+	}
+
+	/**
+	 * readPrimaryKeys 說明：以 DatabaseMetaData.getPrimaryKeys 取得主鍵, 填入表格資訊<br>
+	 *
+	 * @param DatabaseMetaData dbmd
+	 * @param String catalog
+	 * @param String schemaPattern
+	 * @param String tableName 為null時一次取得整個Schema的主鍵
+	 * @param String metricsKey 耗時記錄的名稱
+	 * @param Map<String,TableInfo> staleMap 表格名稱 > 待填入的表格資訊
+	 * @return boolean 是否已取得, 不指定表格而驅動程式不支援時回傳false
+	 * @author Alan Hsu
+	 * @throws SQLException 指定表格時查詢失敗
+	 */
+	private boolean readPrimaryKeys( DatabaseMetaData dbmd, String catalog, String schemaPattern, String tableName,
+			String metricsKey, Map<String,TableInfo> staleMap ) throws SQLException {
+		try {
+			getMetrics().timeRun( metricsKey, CodegenMetrics.METADATA_PRIMARY_KEYS, () -> {
+				try ( ResultSet rs = dbmd.getPrimaryKeys( catalog, schemaPattern, tableName ) ) {
+					while ( rs.next() ) {
+						TableInfo info = staleMap.get( rs.getString("TABLE_NAME") );
+						ColumnInfo columnInfo = info == null ? null : info.getColumns().get( rs.getString("COLUMN_NAME") );
+						if( columnInfo != null ) {
+							columnInfo.setPrimaryKey( true );
+							info.setHasPrimaryKey( true );
+						}
+					}
+				}
+			} );
+		} catch( SQLException e ) {
+			if( tableName == null ) {
+				System.err.println( "### DatabaseMetaData.getPrimaryKeys for whole schema unsupported due to " + e.getMessage() + ", query by table instead ###");
+				return false;
+			}
+			System.err.println( "### DatabaseMetaData.getPrimaryKeys occur exception ###");
+			throw e;
+		}
+		return true;
+	}
+
+	private CodegenDictionaryReader getDictionaryReader() {
+		CodegenDictionaryReader reader = CodegenDictionaryReader.of( getDbName() );
+		reader.setQueryTimeoutSeconds( getQueryTimeoutSeconds() );
+		return reader;
+	}
+
+	/**
+	 * readDictionary 說明：以資料字典一次查詢取得多個表格的欄位(含型別及備註)及主鍵, 填入表格資訊<br>
+	 * 					未使用資料字典、查詢失敗或有表格查無資料時回傳false, 由呼叫端改用JDBC DatabaseMetaData<br>
+	 *
+	 * @param Connection conn
+	 * @param String schema
+	 * @param Map<String,TableInfo> staleMap 表格名稱 > 待填入的表格資訊
+	 * @return boolean 是否已填入所有表格
+	 * @author Alan Hsu
+	 */
+	private boolean readDictionary( Connection conn, String schema, Map<String,TableInfo> staleMap ) {
+		if( staleMap.isEmpty() ) {
+			return true;
+		}
+		if( !isDictionaryMetadata() ) {
+			return false;
+		}
+		Map<String,TableInfo> dictionaryMap;
+		try {
+			dictionaryMap = getMetrics().time( "[" + schema + "]", CodegenMetrics.METADATA_DICTIONARY,
+					() -> getDictionaryReader().read( conn, schema, staleMap.keySet(), this::getJavaTypeBySqlType ) );
+		} catch( SQLException e ) {
+			System.err.println( "### Data dictionary unavailable due to " + e.getMessage() + ", use DatabaseMetaData instead ###");
+			return false;
+		}
+		if( !dictionaryMap.keySet().containsAll( staleMap.keySet() ) ) {
+			System.err.println( "### Data dictionary missing tables, use DatabaseMetaData instead ###");
+			return false;
+		}
+		for( TableInfo info : staleMap.values() ) {
+			TableInfo found = dictionaryMap.get( info.getTableName() );
+			info.setColumns( found.getColumns() );
+			info.setColumnCount( found.getColumnCount() );
+			info.setHasPrimaryKey( found.getHasPrimaryKey() );
+		}
+		return true;
+	}
+
+	/**
+	 * readDictionary 說明：以資料字典取得單一表格的欄位備註及主鍵, 欄位型別仍以查詢結果為準<br>
+	 *
+	 * @param Connection conn
+	 * @param TableInfo tableInfo
+	 * @param Map<String,ColumnInfo> columnMap 查詢結果的欄位
+	 * @return boolean 是否已取得, 否則由呼叫端改用JDBC DatabaseMetaData
+	 * @author Alan Hsu
+	 */
+	private boolean readDictionary( Connection conn, TableInfo tableInfo, Map<String,ColumnInfo> columnMap ) {
+		if( !isDictionaryMetadata() ) {
+			return false;
+		}
+		TableInfo found;
+		try {
+			found = getMetrics().time( getMetricsTable(), CodegenMetrics.METADATA_DICTIONARY, () -> getDictionaryReader().read( conn, getTableSchema(),
+					Collections.singletonList( tableInfo.getTableName() ), this::getJavaTypeBySqlType ).get( tableInfo.getTableName() ) );
+		} catch( SQLException e ) {
+			System.err.println( "### Data dictionary unavailable due to " + e.getMessage() + ", use DatabaseMetaData instead ###");
+			return false;
+		}
+		if( found == null ) {
+			return false;
+		}
+		for( ColumnInfo column : found.getColumns().values() ) {
+			ColumnInfo columnInfo = columnMap.get( column.getColumnName() );
+			if( columnInfo != null ) {
+				columnInfo.setRemarks( column.getRemarks() );
+				if( column.isPrimaryKey() ) {
+					columnInfo.setPrimaryKey( true );
+					tableInfo.setHasPrimaryKey( true );
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * isTableMatched 說明：表格名稱是否符合包含規則且不符合排除規則, 未設定包含規則時皆符合<br>
+	 *
+	 * @param String name
+	 * @return boolean matched
+	 * @author Alan Hsu
+	 */
+	public boolean isTableMatched( String name ) {
+		boolean include = "".equals( toCleanString( getIncludeTablePattern() ) ) || name.matches( getIncludeTablePattern() );
+		boolean exclude = !"".equals( toCleanString( getExcludeTablePattern() ) ) && name.matches( getExcludeTablePattern() );
+		return include && !exclude;
+	}
+
+	/**
+	 * getDdlFingerprints 說明：一次查詢取得表格的DDL指紋(Oracle LAST_DDL_TIME, MySQL CREATE_TIME|UPDATE_TIME)<br>
+	 * 					未設定Schema時為連線使用者的Schema<br>
+	 *
+	 * @param Connection conn
+	 * @param String tableName, 為null時取得整個Schema
+	 * @return Map<String,String> 表格名稱(大寫) > 指紋
+	 * @author Alan Hsu
+	 * @throws SQLException
+	 */
+	public Map<String,String> getDdlFingerprints( Connection conn, String tableName ) throws SQLException {
+		String schema = "".equals( toCleanString( getTableSchema() ) ) ? null : getTableSchema().trim();
+		String sql;
+		if( "MYSQL".equals( getDbName() ) ) {
+			sql = "SELECT TABLE_NAME, CONCAT_WS( '|', CREATE_TIME, UPDATE_TIME ) FROM information_schema.TABLES"
+					+ " WHERE TABLE_SCHEMA = COALESCE( ?, DATABASE() )"
+					+ ( tableName == null ? "" : " AND UPPER( TABLE_NAME ) = ?" );
+		} else {
+			sql = "SELECT OBJECT_NAME, TO_CHAR( LAST_DDL_TIME, 'YYYYMMDDHH24MISS' ) FROM ALL_OBJECTS"
+					+ " WHERE OBJECT_TYPE = 'TABLE' AND OWNER = COALESCE( ?, USER )"
+					+ ( tableName == null ? "" : " AND OBJECT_NAME = ?" );
+			schema = schema == null ? null : schema.toUpperCase();
+		}
+		Map<String,String> fingerprintMap = new HashMap<>();
+		try( PreparedStatement ps = conn.prepareStatement( sql ) ) {
+			ps.setQueryTimeout( getQueryTimeoutSeconds() );
+			ps.setString( 1, schema );
+			if( tableName != null ) {
+				ps.setString( 2, tableName.toUpperCase() );
+			}
+			try( ResultSet rs = ps.executeQuery() ) {
+				while( rs.next() ) {
+					fingerprintMap.put( rs.getString( 1 ).toUpperCase(), rs.getString( 2 ) );
+				}
+			}
+		} catch( SQLException e ) {
+			System.err.println( "### Query DDL fingerprint occur exception ###");
+			throw e;
+		}
+		return fingerprintMap;
+	}
+
+	/**
+	 * applyTableInfo 說明：套用已取得的表格資訊並設定引用型別旗標<br>
+	 *
+	 * @param TableInfo info
+	 * @author Alan Hsu
+	 */
+	public void applyTableInfo( TableInfo info ) {
+		/** 同一個Codegen產製多個表格(監看、常駐服務)時, 引用型別不受前一個表格影響 */
+		setHasBigDecimal( false );
+		setHasBigInteger( false );
+		setHasDate( false );
+		setHasTimeStamp( false );
+		info.getColumns().values().forEach( c -> checkColumnTypeImport( c.getJavaType() ) );
+		setTableInfo( info );
+	}
+
+	/**
+	 * getGeneratedTime 說明：取得寫入產製檔案的時間, 可重現產檔時不使用現在時間<br>
+	 * 					依序為 固定時間(reproducibleTime), SOURCE_DATE_EPOCH, 表格的DDL時間, 1970-01-01 08:00:00<br>
+	 *
+	 * @return String generatedTime
+	 * @author Alan Hsu
+	 */
+	public String getGeneratedTime() {
+		if( !isReproducible() ) {
+			return getCurrentTime();
+		}
+		String fixedTime = getFixedTime();
+		if( fixedTime != null ) {
+			return fixedTime;
+		}
+		String ddlTime = tableInfo == null ? null : tableInfo.getDdlTime();
+		return ddlTime != null ? ddlTime : formatTime( 0L );
+	}
+
+	/**
+	 * getFixedTime 說明：取得可重現產檔的固定時間, 未設定 reproducibleTime 及 SOURCE_DATE_EPOCH 時回傳null<br>
+	 *
+	 * @return String fixedTime
+	 * @author Alan Hsu
+	 */
+	private String getFixedTime() {
+		if( !"".equals( toCleanString( getReproducibleTime() ) ) ) {
+			return getReproducibleTime().trim();
+		}
+		String epoch = System.getenv( SOURCE_DATE_EPOCH );
+		if( epoch != null && epoch.trim().matches( "^[\\d]+$" ) ) {
+			return formatTime( Long.parseLong( epoch.trim() ) );
+		}
+		return null;
+	}
+
+	/** 可重現產檔且未設定固定時間時, 需要查詢DDL指紋取得表格的DDL時間 */
+	private boolean isDdlTimeNeeded() {
+		return isReproducible() && getFixedTime() == null;
+	}
+
+	/**
+	 * formatTime 說明：以台北時區格式化, 格式同 getCurrentTimeStr<br>
+	 *
+	 * @param long epochSecond
+	 * @return String time
+	 * @author Alan Hsu
+	 */
+	private static String formatTime( long epochSecond ) {
+		return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+				.format( Instant.ofEpochSecond( epochSecond ).atZone( ZoneId.of("Asia/Taipei") ) );
+	}
+
+	/**
+	 * toDdlTime 說明：DDL指紋轉為DDL時間, Oracle 為 LAST_DDL_TIME, MySQL 取 CREATE_TIME 及 UPDATE_TIME 較晚者<br>
+	 *
+	 * @param String fingerprint
+	 * @return String ddlTime, 無法轉換時為null
+	 * @author Alan Hsu
+	 */
+	static String toDdlTime( String fingerprint ) {
+		if( fingerprint == null ) {
+			return null;
+		}
+		if( fingerprint.matches( "^[\\d]{14}$" ) ) {
+			return fingerprint.substring( 0, 4 ) + "-" + fingerprint.substring( 4, 6 ) + "-" + fingerprint.substring( 6, 8 ) + " "
+					+ fingerprint.substring( 8, 10 ) + ":" + fingerprint.substring( 10, 12 ) + ":" + fingerprint.substring( 12, 14 );
+		}
+		String ddlTime = null;
+		for( String time : fingerprint.split( "\\|" ) ) {
+			if( time.matches( "^[\\d]{4}-[\\d]{2}-[\\d]{2} [\\d]{2}:[\\d]{2}:[\\d]{2}.*" ) ) {
+				time = time.substring( 0, 19 );
+				ddlTime = ddlTime == null || time.compareTo( ddlTime ) > 0 ? time : ddlTime;
+			}
+		}
+		return ddlTime;
+	}
+
+	/**
+	 * getMetadataSnapshot 說明：取得表格資訊快照, 第一次使用時自快照檔載入<br>
+	 *
+	 * @return CodegenMetadataSnapshot snapshot
+	 * @author Alan Hsu
+	 */
+	public synchronized CodegenMetadataSnapshot getMetadataSnapshot() {
+		if( metadataSnapshot == null ) {
+			try {
+				metadataSnapshot = CodegenMetadataSnapshot.load( Paths.get( getSnapshotPath() ), isOfflineSnapshot() );
+			} catch( IOException e ) {
+				System.err.println( "### Load metadata snapshot failed due to " + e.getMessage() + " ###");
+				metadataSnapshot = new CodegenMetadataSnapshot();
+			}
+		}
+		return metadataSnapshot;
+	}
+
+	/**
+	 * saveMetadataSnapshot 說明：回寫表格資訊快照檔, 失敗時不中斷產檔<br>
+	 *
 	 * @author Alan Hsu
 	 */
-	public String getNewFilePath( String type ) {
-		
-		type = type.toLowerCase();
-		
-		String sep = File.separator;
-		String path = "";
-		String packagePath = "";
-		
-		if( "".equals( type ) ) {
-			/** Working Directory */
-			String directory = Paths.get(".").toAbsolutePath().normalize().toString();
-			
-			/** Package */
-			packagePath = CustomCodegen.class.getPackage().getName();
-			setTargetBeanPackage( packagePath );
-			
-			String packageStr = packagePath.replaceAll( "\\.", Matcher.quoteReplacement( sep ) );
-			
-			path = directory + sep + "src" + sep + packageStr;
-		} else if( "bean".equals( type ) ) {
-			String directory = getTargetBeanPath();
-			directory = directory.replaceAll( "\\.", Matcher.quoteReplacement( sep ) );
-			path = directory;
-			/** bean Package */
-			int srcIdx = directory.indexOf("src");
-			if( srcIdx > 0 ) {
-				String srcStr = directory.substring( srcIdx + 4 );
-				packagePath = srcStr.replaceAll( "\\\\", "." );
-			} else {
-				packagePath = directory.replaceAll( "\\\\", "." );
-			}
-			if( packagePath.endsWith(".") ) {
-				packagePath = packagePath.substring( 0, packagePath.length() -1 );
-			}
-			setTargetBeanPackage( packagePath );
-		} else if( "idao".equals( type ) ) {
-			String directory = getTargetIDaoPath();
-			directory = directory.replaceAll( "\\.", Matcher.quoteReplacement( sep ) );
-			path = directory;
-			/** idao Package */
-			int srcIdx = directory.indexOf("src");
-			if( srcIdx > 0 ) {
-				String srcStr = directory.substring( srcIdx + 4 );
-				packagePath = srcStr.replaceAll( "\\\\", "." );
-			} else {
-				packagePath = directory.replaceAll( "\\\\", "." );
-			}
-			if( packagePath.endsWith(".") ) {
-				packagePath = packagePath.substring( 0, packagePath.length() -1 );
-			}
-			setTargetIDaoPackage( packagePath );
-		} else if( "dao".equals( type ) ) {
-			String directory = getTargetDaoPath();
-			directory = directory.replaceAll( "\\.", Matcher.quoteReplacement( sep ) );
-			path = directory;
-			/** dao Package */
-			int srcIdx = directory.indexOf("src");
-			if( srcIdx > 0 ) {
-				String srcStr = directory.substring( srcIdx + 4 );
-				packagePath = srcStr.replaceAll( "\\\\", "." );
-			} else {
-				packagePath = directory.replaceAll( "\\\\", "." );
-			}
-			if( packagePath.endsWith(".") ) {
-				packagePath = packagePath.substring( 0, packagePath.length() -1 );
-			}
-			setTargetDaoPackage( packagePath );
+	public void saveMetadataSnapshot() {
+		try {
+			getMetadataSnapshot().save( Paths.get( getSnapshotPath() ) );
+		} catch( IOException e ) {
+			System.err.println( "### Save metadata snapshot failed due to " + e.getMessage() + " ###");
 		}
-		/** 產出檔案輸出位置和package位置脫鉤 2022-08-16 */
-		path = getNewFileTargetFolder();
-		System.out.println("packagePath =" + packagePath );
-		System.out.println("output path =" + path );
-		return path;
 	}
 
 	/**
-	 * getFileNameByType 說明：取得對應的檔案名稱<br>
-	 * 
-	 * @param String type
-	 * @return String fileName
+	 * getDataSourceKey 說明：取得快照使用的資料來源鍵值<br>
+	 *
+	 * @return String dataSourceKey
 	 * @author Alan Hsu
 	 */
-	public String getFileNameByType( String type ) {
-		type = type.toLowerCase();
-		String fileName = "";
-		if( "bean".equals( type ) ) {
-			fileName = getDomainBeanName();
-		} else if( "dao".equals( type ) ) {
-			fileName = getDomainDaoName();
-		} else if( "idao".equals( type ) ) {
-			fileName = getDomainIDaoName();
+	public synchronized String getDataSourceKey() {
+		if( connectionPool != null ) {
+			return connectionPool.getUrl();
 		}
-		return fileName;
+		/** 離線時不建立連線池, 查無資料來源時以名稱為鍵值 */
+		CodegenDataSourceRegistry.DataSource dataSource = getDataSourceRegistry().find( getDataSourceName(), getDbName() );
+		return dataSource != null ? dataSource.getUrl() : getDataSourceDescription();
 	}
 
 	/**
-	 * getTableInfo 說明：取得表格資訊<br>
-	 * 
-	 * @return boolean tableInfoExists
+	 * isUseSnapshot 說明：是否有設定表格資訊快照檔<br>
+	 *
+	 * @return boolean useSnapshot
 	 * @author Alan Hsu
 	 */
-	public boolean getTableInfo() throws Exception {
-		
-		TableInfo tableInfo = new TableInfo( getTableName() );
-		
-		try( Connection conn = getConnection() ) {
-			
-			Statement stmt = conn.createStatement();
-			
-			boolean useSelfColumn = false;
-			
-			String columns = getColumns();
-			List<String> selfList = null;
-			if( columns == null || "".equals( columns ) || columns.contains("*") ) {
-				columns = "*";
-			} else {
-				useSelfColumn = true;
-				/**
-				String[] selfAry = columns.trim().split(",");
-				selfList = new ArrayList<>();
-				for( String s : selfAry ) {
-					selfList.add( s.trim() );
-				}
-				*/
-				selfList = Arrays.asList( columns.trim().split(",") )
-						.stream().map( s -> s.trim() ).collect( Collectors.toList() );
-			}
-			String sql = "SELECT " + columns + " FROM " + getTableName() + " WHERE 1 = 2";
-			System.out.println( sql );
-			
-			Map<String,ColumnInfo> columnMap = new LinkedHashMap<>();
-			
-			try ( ResultSet rs = stmt.executeQuery( sql ) ) {
-			
-				ResultSetMetaData rsmd = rs.getMetaData();
-				/** DatabaseMetaData dbmd = conn.getMetaData(); */
-				
-				int columnCount = rsmd.getColumnCount();
-				tableInfo.setColumnCount( columnCount );
-				
-				for( int i = 1; i <= rsmd.getColumnCount(); i++ ) {
-					ColumnInfo columnInfo = new ColumnInfo();
-					String columnName = rsmd.getColumnName( i );
-					columnInfo.setColumnName( columnName );
-					String columnType = rsmd.getColumnTypeName( i );
-					columnInfo.setColumnType( columnType );
-					String columnClassName = rsmd.getColumnClassName( i );
-					
-					int lastComma = columnClassName.lastIndexOf('.');
-					String javaType = columnClassName.substring( lastComma + 1 );
-					/**
-					 * System.out.println( columnName + ", columnType:" + columnType + ", javaType:" + columnClassName );
-					 */
-					columnInfo.setJavaType( javaType );
-					checkColumnTypeImport( javaType );
-					
-					/** 使用使用者提供的欄位名稱及大小寫 */
-					if( useSelfColumn ) {
-						String selfColumn = selfList.get( i - 1 );
-						columnInfo.setSelfColumnName( selfColumn );
-					}
-					
-					columnMap.put( columnInfo.getColumnName(), columnInfo );
-				}
-			} catch( Exception e ) {
-				System.err.println( "### Statement.executeQuery occur exception ###");
-				throw e;
-			}
-			
-			/**To Get Column PK*/
-			try ( ResultSet rs = conn.getMetaData()
-					.getPrimaryKeys( null, null, tableName ) ) {
-				while ( rs.next() ) {
-					String pKey = rs.getString("COLUMN_NAME");
-					columnMap.get( pKey ).setPrimaryKey( true );
-					tableInfo.setHasPrimaryKey( true );
-				}
-			} catch( Exception e ) {
-				System.err.println( "### DatabaseMetaData.getPrimaryKeys occur exception ###");
-				throw e;
-			}
-			
-			/**To Get Column Remarks*/
-			try ( ResultSet rs = conn.getMetaData()
-					.getColumns( null, null, getTableName().toUpperCase(), null ) ) {
-				while ( rs.next() ) {
-					String remarks = rs.getString("REMARKS");
-					String columnName = rs.getString("COLUMN_NAME");
-					
-					if( columnMap.get( columnName ) != null ) {
-						columnMap.get( columnName ).setRemarks( remarks );
-					}
-				}
-			} catch( Exception e ) {
-				System.err.println( "### DatabaseMetaData.getColumns occur exception ###");
-				throw e;
-			}
-			
-			tableInfo.setColumns( columnMap );
-			setTableInfo( tableInfo );
-			
-		} catch( SQLSyntaxErrorException e ) {
-			System.err.println( "### Query table info failed due to invalid SQL field or table name ###");
-			e.printStackTrace();
-			return false;
-		} catch( Exception e ) {
-			e.printStackTrace();
-			return false;
-		} finally {
-			System.out.println("### Connection closed ###");
-			System.out.print( System.lineSeparator() );
-		}
-		return true;
+	public boolean isUseSnapshot() {
+		return !"".equals( toCleanString( getSnapshotPath() ) );
 	}
 
 	/**
-	 *	getOracleConnection 說明：取得Oracle DB連線<br>
-	 *	@return Connection
-	 *	@author Alan Hsu
+	 * getJavaTypeBySqlType 說明：依據java.sql.Types取得對應的Java型別名稱, 未知欄位長度<br>
+	 *
+	 * @param int sqlType
+	 * @param String columnType
+	 * @return String javaType
+	 * @author Alan Hsu
 	 */
-	public Connection getOracleConnection() throws Exception {
-		/*
-		 * Build Path > Config Build Path > Libraries > Add External Jars
-		 * ojdbc8.jar
-		 */
-		Class.forName("oracle.jdbc.driver.OracleDriver");
-		return DriverManager.getConnection( Oracle_SERVER_URL, Oracle_ACCOUNT, Oracle_PWD );
+	public String getJavaTypeBySqlType( int sqlType, String columnType ) {
+		return getJavaTypeBySqlType( sqlType, columnType, 0 );
 	}
 
 	/**
-	 *	getMySQLConnection 說明：取得MySQL DB連線<br>
-	 *	@return Connection
-	 *	@author Alan Hsu
+	 * getJavaTypeBySqlType 說明：依據java.sql.Types、型別名稱及欄位長度取得對應的Java型別名稱<br>
+	 * 					與ResultSetMetaData.getColumnClassName去除套件後的結果一致<br>
+	 * 					MySQL INT UNSIGNED 為 Long, BIGINT UNSIGNED 為 BigInteger, BIT(n>1) 為 byte[], 同 Connector/J<br>
+	 *
+	 * @param int sqlType
+	 * @param String columnType 型別名稱(TYPE_NAME), 例如 INT UNSIGNED
+	 * @param int columnSize 欄位長度(COLUMN_SIZE), 未知時為0
+	 * @return String javaType
+	 * @author Alan Hsu
 	 */
-	public Connection getMySQLConnection() throws Exception {
-		Class.forName("com.mysql.cj.jdbc.Driver");
-		return DriverManager.getConnection( MySQL_SERVER_URL, MySQL_ACCOUNT, MySQL_PWD );
+	public String getJavaTypeBySqlType( int sqlType, String columnType, int columnSize ) {
+		boolean unsigned = columnType != null && columnType.toUpperCase().endsWith( " UNSIGNED" );
+		switch ( sqlType ) {
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGNVARCHAR:
+			case Types.CLOB:
+			case Types.NCLOB:
+				return "String";
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+				return "BigDecimal";
+			case Types.TINYINT:
+			case Types.SMALLINT:
+				return "Integer";
+			case Types.INTEGER:
+				/** MEDIUMINT UNSIGNED 仍在 Integer 範圍內 */
+				return unsigned && columnType.toUpperCase().startsWith( "INT" ) ? "Long" : "Integer";
+			case Types.BIGINT:
+				return unsigned ? "BigInteger" : "Long";
+			case Types.REAL:
+				return "Float";
+			case Types.FLOAT:
+			case Types.DOUBLE:
+				return "Double";
+			case Types.BIT:
+				return columnSize > 1 ? "byte[]" : "Boolean";
+			case Types.BOOLEAN:
+				return "Boolean";
+			case Types.DATE:
+				/** Oracle DATE 含時分秒, ojdbc 對應為 java.sql.Timestamp */
+				return "MYSQL".equals( getDbName() ) ? "Date" : "Timestamp";
+			case Types.TIME:
+				return "Time";
+			case Types.TIMESTAMP:
+			case Types.TIMESTAMP_WITH_TIMEZONE:
+				return "Timestamp";
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+			case Types.BLOB:
+				return "byte[]";
+			default:
+				System.err.println( "### Unmapped column type " + columnType + "(" + sqlType + ") use Object ###");
+				return "Object";
+		}
 	}
 
 	/**
@@ -1780,19 +3102,7 @@ public class CustomCodegen {
 	 * @author Alan Hsu
 	 */
 	public String toCamelCase( String text ) {
-		String[] words = text.split("[\\W_]+");
-		
-		StringBuilder camel = new StringBuilder();
-		for( int i = 0; i < words.length; i++ ) {
-			String word = words[i];
-			if( i == 0 ) {
-				word = word.isEmpty() ? word : word.toLowerCase();
-			} else {
-				word = word.isEmpty() ? word : Character.toUpperCase( word.charAt(0) ) + word.substring(1).toLowerCase();
-			}
-			camel.append( word );
-		}
-		return camel.toString();
+		return getIdentifierCache().get( "camal", text, CodegenNaming::toCamelCase );
 	}
 
 	/**
@@ -1803,19 +3113,7 @@ public class CustomCodegen {
 	 * @author Alan Hsu
 	 */
 	public String toPascalCase( String text ) {
-		String[] words = text.split("[\\W_]+");
-		
-		StringBuilder pascal = new StringBuilder();
-		for( int i = 0; i < words.length; i++ ) {
-			String word = words[i];
-			if( i == 0 ) {
-				word = word.isEmpty() ? word : capitalizeFirst( word );
-			} else {
-				word = word.isEmpty() ? word : Character.toUpperCase( word.charAt(0) ) + word.substring(1).toLowerCase();
-			}
-			pascal.append( word );
-		}
-		return pascal.toString();
+		return getIdentifierCache().get( "pascal", text, CodegenNaming::toPascalCase );
 	}
 
 	/**
@@ -1826,7 +3124,7 @@ public class CustomCodegen {
 	 * @author Alan Hsu
 	 */
 	public String toSnakeCase( String text ) {
-		return text.toLowerCase();
+		return getIdentifierCache().get( "snake", text, CodegenNaming::toSnakeCase );
 	}
 
 	/**
@@ -1837,7 +3135,7 @@ public class CustomCodegen {
 	 * @author Alan Hsu
 	 */
 	private String capitalizeFirst( String word ) {
-		return word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase();
+		return getIdentifierCache().get( "capitalize", word, CodegenNaming::capitalizeFirst );
 	}
 
 	/**
@@ -1848,7 +3146,7 @@ public class CustomCodegen {
 	 * @author Alan Hsu
 	 */
 	private String capitalizeOnlyFirst( String word ) {
-		return word.substring(0, 1).toUpperCase() + word.substring(1);
+		return getIdentifierCache().get( "capitalizeOnlyFirst", word, CodegenNaming::capitalizeOnlyFirst );
 	}
 
 	/**
@@ -1952,6 +3250,10 @@ public class CustomCodegen {
 		this.tableInfo = tableInfo;
 	}
 
+	public TableInfo getCurrentTableInfo() {
+		return tableInfo;
+	}
+
 	public String getNamingConventions() {
 		return namingConventions;
 	}
@@ -1960,30 +3262,6 @@ public class CustomCodegen {
 		this.namingConventions = namingConventions;
 	}
 
-	public String getDomainBeanName() {
-		return domainBeanName;
-	}
-
-	public void setDomainBeanName(String domainBeanName) {
-		this.domainBeanName = domainBeanName;
-	}
-
-	public String getDomainDaoName() {
-		return domainDaoName;
-	}
-
-	public void setDomainDaoName(String domainDaoName) {
-		this.domainDaoName = domainDaoName;
-	}
-
-	public String getDomainIDaoName() {
-		return domainIDaoName;
-	}
-
-	public void setDomainIDaoName(String domainIDaoName) {
-		this.domainIDaoName = domainIDaoName;
-	}
-
 	public String getCurrentTime() {
 		return currentTime;
 	}
@@ -2016,30 +3294,6 @@ public class CustomCodegen {
 		}
 	}
 
-	public String getTargetBeanPackage() {
-		return targetBeanPackage;
-	}
-
-    public void setTargetBeanPackage(String targetBeanPackage) {
-		this.targetBeanPackage = targetBeanPackage;
-	}
-
-	public String getTargetDaoPackage() {
-		return targetDaoPackage;
-	}
-
-	public void setTargetDaoPackage(String targetDaoPackage) {
-		this.targetDaoPackage = targetDaoPackage;
-	}
-
-	public String getTargetIDaoPackage() {
-		return targetIDaoPackage;
-	}
-
-	public void setTargetIDaoPackage(String targetIDaoPackage) {
-		this.targetIDaoPackage = targetIDaoPackage;
-	}
-
 	public String getTargetBeanPath() {
 		return targetBeanPath;
 	}
@@ -2080,6 +3334,14 @@ public class CustomCodegen {
 		this.hasBigDecimal = hasBigDecimal;
 	}
 
+	public boolean getHasBigInteger() {
+		return hasBigInteger;
+	}
+
+	public void setHasBigInteger(boolean hasBigInteger) {
+		this.hasBigInteger = hasBigInteger;
+	}
+
 	public boolean getHasTimeStamp() {
 		return hasTimeStamp;
 	}
@@ -2127,6 +3389,230 @@ public class CustomCodegen {
 			this.needToString = false;
 		}
 	}
+
+	public String getIncludeTablePattern() {
+		return includeTablePattern;
+	}
+
+	public void setIncludeTablePattern(String includeTablePattern) {
+		this.includeTablePattern = includeTablePattern;
+	}
+
+	public String getExcludeTablePattern() {
+		return excludeTablePattern;
+	}
+
+	public void setExcludeTablePattern(String excludeTablePattern) {
+		this.excludeTablePattern = excludeTablePattern;
+	}
+
+	public int getBatchThreads() {
+		return batchThreads;
+	}
+
+	public void setBatchThreads(int batchThreads) {
+		this.batchThreads = batchThreads;
+	}
+
+	public int getPipelineQueueCapacity() {
+		return pipelineQueueCapacity;
+	}
+
+	public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+		this.pipelineQueueCapacity = pipelineQueueCapacity;
+	}
+
+	public String getSnapshotPath() {
+		return snapshotPath;
+	}
+
+	public void setSnapshotPath(String snapshotPath) {
+		this.snapshotPath = snapshotPath;
+	}
+
+	public boolean isOfflineSnapshot() {
+		return offlineSnapshot;
+	}
+
+	public void setOfflineSnapshot(boolean offlineSnapshot) {
+		this.offlineSnapshot = offlineSnapshot;
+	}
+
+	public CodegenMetadataSource getMetadataSource() {
+		return metadataSource;
+	}
+
+	public void setMetadataSource(CodegenMetadataSource metadataSource) {
+		this.metadataSource = metadataSource;
+	}
+
+	public String getTemplateFolder() {
+		return templateFolder;
+	}
+
+	public void setTemplateFolder(String templateFolder) {
+		this.templateFolder = templateFolder;
+	}
+
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	public synchronized CodegenIncrementalWriter getIncrementalWriter() {
+		if( incrementalWriter == null ) {
+			incrementalWriter = new CodegenIncrementalWriter();
+		}
+		return incrementalWriter;
+	}
+
+	public synchronized void setIncrementalWriter(CodegenIncrementalWriter incrementalWriter) {
+		this.incrementalWriter = incrementalWriter;
+	}
+
+	/**
+	 * getIdentifierCache 說明：取得命名轉換快取, 第一次使用時建立, 有設定時載入快照內的轉換結果<br>
+	 * 					只有建立時同步, 之後每次命名轉換直接讀取<br>
+	 *
+	 * @return CodegenIdentifierCache identifierCache
+	 * @author Alan Hsu
+	 */
+	public CodegenIdentifierCache getIdentifierCache() {
+		CodegenIdentifierCache cache = identifierCache;
+		if( cache != null ) {
+			return cache;
+		}
+		synchronized( this ) {
+			if( identifierCache == null ) {
+				cache = new CodegenIdentifierCache();
+				if( isUseSnapshot() && isSnapshotIdentifiers() ) {
+					getMetadataSnapshot().loadIdentifiers( cache );
+				}
+				identifierCache = cache;
+			}
+			return identifierCache;
+		}
+	}
+
+	public synchronized void setMetadataSnapshot(CodegenMetadataSnapshot metadataSnapshot) {
+		this.metadataSnapshot = metadataSnapshot;
+	}
+
+	public long getWatchIntervalSeconds() {
+		return watchIntervalSeconds;
+	}
+
+	public void setWatchIntervalSeconds(long watchIntervalSeconds) {
+		this.watchIntervalSeconds = watchIntervalSeconds;
+	}
+
+	public synchronized CodegenMetrics getMetrics() {
+		if( metrics == null ) {
+			metrics = new CodegenMetrics();
+		}
+		return metrics;
+	}
+
+	public synchronized void setMetrics(CodegenMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public String getMetricsReportPath() {
+		return metricsReportPath;
+	}
+
+	public void setMetricsReportPath(String metricsReportPath) {
+		this.metricsReportPath = metricsReportPath;
+	}
+
+	/**
+	 * getOutputSink 說明：取得產製檔案輸出位置, 未設定時為資料夾, 增量產檔時內容未變更的檔案不重新寫入<br>
+	 *
+	 * @return CodegenOutputSink outputSink
+	 * @author Alan Hsu
+	 */
+	public CodegenOutputSink getOutputSink() {
+		if( outputSink != null ) {
+			return outputSink;
+		}
+		return new CodegenDirectorySink( isIncremental() ? getIncrementalWriter() : null );
+	}
+
+	public void setOutputSink(CodegenOutputSink outputSink) {
+		this.outputSink = outputSink;
+	}
+
+	public boolean isDictionaryMetadata() {
+		return dictionaryMetadata;
+	}
+
+	public void setDictionaryMetadata(boolean dictionaryMetadata) {
+		this.dictionaryMetadata = dictionaryMetadata;
+	}
+
+	public int getQueryTimeoutSeconds() {
+		return queryTimeoutSeconds;
+	}
+
+	public void setQueryTimeoutSeconds(int queryTimeoutSeconds) {
+		this.queryTimeoutSeconds = queryTimeoutSeconds;
+	}
+
+	public boolean isReproducible() {
+		return reproducible;
+	}
+
+	public void setReproducible(boolean reproducible) {
+		this.reproducible = reproducible;
+	}
+
+	public String getReproducibleTime() {
+		return reproducibleTime;
+	}
+
+	public void setReproducibleTime(String reproducibleTime) {
+		this.reproducibleTime = reproducibleTime;
+	}
+
+	public synchronized void setEmitExecutor(ExecutorService emitExecutor) {
+		this.emitExecutor = emitExecutor;
+	}
+
+	public synchronized void setIdentifierCache(CodegenIdentifierCache identifierCache) {
+		this.identifierCache = identifierCache;
+	}
+
+	public boolean isSnapshotIdentifiers() {
+		return snapshotIdentifiers;
+	}
+
+	public void setSnapshotIdentifiers(boolean snapshotIdentifiers) {
+		this.snapshotIdentifiers = snapshotIdentifiers;
+	}
+
+	public String getDataSourceName() {
+		return dataSourceName;
+	}
+
+	public void setDataSourceName(String dataSourceName) {
+		this.dataSourceName = dataSourceName;
+	}
+
+	public CodegenDataSourceRegistry getDataSourceRegistry() {
+		return dataSourceRegistry != null ? dataSourceRegistry : CodegenDataSourceRegistry.getDefault();
+	}
+
+	public void setDataSourceRegistry(CodegenDataSourceRegistry dataSourceRegistry) {
+		this.dataSourceRegistry = dataSourceRegistry;
+	}
+
+	/** 設定外部連線池, 例如測試時使用內嵌資料庫 */
+	public synchronized void setConnectionPool(CodegenConnectionPool connectionPool) {
+		this.connectionPool = connectionPool;
+	}
 	
 }
 
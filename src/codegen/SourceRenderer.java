@@ -0,0 +1,29 @@
+package codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ *	作 業 代 碼 ：SourceRenderer<br>
+ *	作 業 名 稱 ：Source Renderer<br>
+ *	程 式 代 號 ：SourceRenderer.java<br>
+ *	描 述 ：輸出產製原始碼至 {@link Writer} 的函式介面, 由輸出位置(CodegenOutputSink)決定寫入目的地<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+@FunctionalInterface
+interface SourceRenderer {
+
+	/**
+	 * render 說明：輸出產製原始碼<br>
+	 *
+	 * @param Writer out
+	 * @author Alan Hsu
+	 * @throws IOException
+	 */
+	public void render( Writer out ) throws IOException;
+
+}
@@ -0,0 +1,190 @@
+package codegen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *	作 業 代 碼 ：CodegenConnectionPoolTest<br>
+ *	作 業 名 稱 ：Codegen Connection Pool Test<br>
+ *	程 式 代 號 ：CodegenConnectionPoolTest.java<br>
+ *	描 述 ：CodegenConnectionPool 以 H2 記憶體資料庫測試借出、歸還、逾時及關閉<br>
+ *			jdbc:counting: 轉接 H2 並記錄建立的連線, 可指定第幾條連線建立失敗, 用以檢查啟動失敗時已建立的連線皆關閉<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenConnectionPoolTest {
+
+	private final static String H2_URL = "jdbc:h2:mem:codegen_pool;DB_CLOSE_DELAY=-1";
+
+	private final static String COUNTING_URL = "jdbc:counting:" + H2_URL;
+
+	/** 轉接 H2 的 Driver, 記錄建立的連線, failAt 大於 0 時第 failAt 條連線建立失敗 */
+	static class CountingDriver implements Driver {
+
+		private final Driver h2 = new org.h2.Driver();
+
+		private final List<Connection> created = new ArrayList<>();
+
+		private int failAt;
+
+		@Override
+		public synchronized Connection connect( String url, Properties info ) throws SQLException {
+			if( !acceptsURL( url ) ) {
+				return null;
+			}
+			if( failAt > 0 && created.size() + 1 == failAt ) {
+				throw new SQLException( "Connection " + failAt + " refused" );
+			}
+			Connection connection = h2.connect( url.substring( "jdbc:counting:".length() ), info );
+			created.add( connection );
+			return connection;
+		}
+
+		@Override
+		public boolean acceptsURL( String url ) {
+			return url != null && url.startsWith( "jdbc:counting:" );
+		}
+
+		@Override
+		public DriverPropertyInfo[] getPropertyInfo( String url, Properties info ) {
+			return new DriverPropertyInfo[0];
+		}
+
+		@Override
+		public int getMajorVersion() {
+			return 1;
+		}
+
+		@Override
+		public int getMinorVersion() {
+			return 0;
+		}
+
+		@Override
+		public boolean jdbcCompliant() {
+			return false;
+		}
+
+		@Override
+		public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+	}
+
+	private CountingDriver driver;
+
+	@BeforeEach
+	public void registerDriver() throws SQLException {
+		driver = new CountingDriver();
+		DriverManager.registerDriver( driver );
+	}
+
+	@AfterEach
+	public void deregisterDriver() throws SQLException {
+		DriverManager.deregisterDriver( driver );
+	}
+
+	@Test
+	public void returnedConnectionIsReused() throws SQLException {
+		try( CodegenConnectionPool pool = new CodegenConnectionPool( H2_URL, "sa", "", "org.h2.Driver" ) ) {
+			Connection first;
+			try( Connection connection = pool.getConnection() ) {
+				first = connection.unwrap( Connection.class );
+				assertEquals( 1, pool.getActiveCount() );
+				assertEquals( 0, pool.getIdleCount() );
+			}
+			assertEquals( 0, pool.getActiveCount() );
+			assertEquals( 1, pool.getIdleCount() );
+			try( Connection connection = pool.getConnection() ) {
+				assertSame( first, connection.unwrap( Connection.class ) );
+			}
+		}
+	}
+
+	@Test
+	public void returnedProxyRejectsFurtherUse() throws SQLException {
+		try( CodegenConnectionPool pool = new CodegenConnectionPool( H2_URL, "sa", "", null ) ) {
+			Connection connection = pool.getConnection();
+			connection.close();
+			connection.close();
+			assertTrue( connection.isClosed() );
+			assertThrows( SQLException.class, () -> connection.createStatement() );
+			assertEquals( 1, pool.getIdleCount() );
+		}
+	}
+
+	@Test
+	public void borrowTimesOutAtMaxSize() throws SQLException {
+		try( CodegenConnectionPool pool = new CodegenConnectionPool( H2_URL, "sa", "", null ) ) {
+			pool.setMaxSize( 1 );
+			pool.setBorrowTimeoutMillis( 100L );
+			try( Connection connection = pool.getConnection() ) {
+				assertThrows( SQLException.class, pool::getConnection );
+			}
+			try( Connection connection = pool.getConnection() ) {
+				assertFalse( connection.isClosed() );
+			}
+		}
+	}
+
+	@Test
+	public void startFailureClosesCreatedConnections() throws SQLException {
+		driver.failAt = 3;
+		try( CodegenConnectionPool pool = new CodegenConnectionPool( COUNTING_URL, "sa", "", null ) ) {
+			pool.setMinSize( 4 );
+			assertThrows( SQLException.class, pool::getConnection );
+			assertEquals( 2, driver.created.size() );
+			for( Connection connection : driver.created ) {
+				assertTrue( connection.isClosed() );
+			}
+			assertEquals( 0, pool.getIdleCount() );
+
+			/** 未啟動成功, 下次借出時重新建立最小連線數 */
+			driver.failAt = 0;
+			try( Connection connection = pool.getConnection() ) {
+				assertFalse( connection.isClosed() );
+			}
+			assertEquals( 4, pool.getIdleCount() );
+		}
+	}
+
+	@Test
+	public void releaseAfterCloseClosesConnection() throws SQLException {
+		CodegenConnectionPool pool = new CodegenConnectionPool( COUNTING_URL, "sa", "", null );
+		Connection connection = pool.getConnection();
+		Connection physical = connection.unwrap( Connection.class );
+		pool.close();
+		assertTrue( pool.isClosed() );
+		connection.close();
+		assertTrue( physical.isClosed() );
+		assertEquals( 0, pool.getIdleCount() );
+		assertEquals( 0, pool.getActiveCount() );
+		for( Connection created : driver.created ) {
+			assertTrue( created.isClosed() );
+		}
+		assertThrows( SQLException.class, pool::getConnection );
+	}
+
+}
@@ -0,0 +1,208 @@
+package codegen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *	作 業 代 碼 ：CodegenNamingTest<br>
+ *	作 業 名 稱 ：Codegen Naming Test<br>
+ *	程 式 代 號 ：CodegenNamingTest.java<br>
+ *	描 述 ：CodegenNaming 與原 split("[\\W_]+") 實作的比對, 含各 convertCase 模式(camal, pascal, snake, capitalize, capitalizeOnlyFirst)<br>
+ *			固定案例檢查結果值; 所有案例另於各預設語系(含 tr, az, lt)下與原實作比對, 原實作拋出例外時新實作須拋出相同例外<br>
+ *	公 司 ： Tenpastten Studio<br>
+ *	【 資 料 來 源】 ：<br>
+ *	【 異 動 紀 錄】 ：<br>
+ *	@author : Alan Hsu<br>
+ *	@version : 1.0.0 2022-05-10<br>
+ */
+public class CodegenNamingTest {
+
+	private final static String[] MODES = { "camal", "pascal", "snake", "capitalize", "capitalizeOnlyFirst" };
+
+	/** 開頭、結尾、連續分隔, 數字, 非ASCII字元及大小寫規則特殊的 I / i */
+	private final static String[] CASES = { "", "x", "X", "ID", "id", "CREATE_USER", "create_user", "menu_parent_id",
+			"camelCase", "PascalCase", "mixedCASE_value", "_LEADING", "__LEADING_TWICE", "TRAILING_", "TRAILING__",
+			"A__B", "a--b  c", "a.b.c", "$amount", "tab\tsep", "_", "___", "-", "COL_1", "COL1_2X", "1ST_COLUMN", "9",
+			"ORDER_DETAIL_AMOUNT_TWD", "ÄNDERUNG_DATUM", "straße_name", "欄位_名稱", "NAME_欄位", "ﬁeld_ﬂag", "ǅ_x",
+			"TITLE_ID", "IIS_ITEM", "İSTANBUL_İL", "ıd_ınfo", "ÌTEM_Ì", "i̇d" };
+
+	private final static Locale[] LOCALES = { Locale.ROOT, Locale.ENGLISH, Locale.GERMAN, new Locale( "tr", "TR" ),
+			new Locale( "az" ), new Locale( "lt", "LT" ) };
+
+	/** 模式, 輸入, 預期結果; null 表示拋出例外 */
+	private final static String[][] GOLDEN = {
+			{ "camal", "CREATE_USER", "createUser" },
+			{ "camal", "_LEADING", "Leading" },
+			{ "camal", "__LEADING_TWICE", "LeadingTwice" },
+			{ "camal", "TRAILING__", "trailing" },
+			{ "camal", "A__B", "aB" },
+			{ "camal", "a--b  c", "aBC" },
+			{ "camal", "1ST_COLUMN", "1stColumn" },
+			{ "camal", "ÄNDERUNG_DATUM", "NderungDatum" },
+			{ "camal", "欄位_名稱", "" },
+			{ "camal", "___", "" },
+			{ "camal", "", "" },
+			{ "pascal", "menu_parent_id", "MenuParentId" },
+			{ "pascal", "_LEADING", "Leading" },
+			{ "pascal", "COL1_2X", "Col12x" },
+			{ "pascal", "NAME_欄位", "Name" },
+			{ "snake", "ORDER_DETAIL_AMOUNT_TWD", "order_detail_amount_twd" },
+			{ "snake", "ÄNDERUNG_DATUM", "änderung_datum" },
+			{ "snake", "id", "id" },
+			{ "capitalize", "mixedCASE_value", "Mixedcase_value" },
+			{ "capitalize", "straße_name", "Straße_name" },
+			{ "capitalize", "", null },
+			{ "capitalizeOnlyFirst", "camelCase", "CamelCase" },
+			{ "capitalizeOnlyFirst", "ǅ_x", "Ǆ_x" },
+			{ "capitalizeOnlyFirst", "", null } };
+
+	/** tr 語系 I 轉小寫為 ı, i 轉大寫為 İ */
+	private final static String[][] GOLDEN_TR = {
+			{ "camal", "TITLE_ID", "tıtleId" },
+			{ "pascal", "TITLE_ID", "TıtleId" },
+			{ "snake", "TITLE_ID", "tıtle_ıd" },
+			{ "capitalize", "id", "İd" },
+			{ "capitalizeOnlyFirst", "id", "İd" } };
+
+	private Locale defaultLocale;
+
+	@BeforeEach
+	public void saveLocale() {
+		defaultLocale = Locale.getDefault();
+	}
+
+	@AfterEach
+	public void restoreLocale() {
+		Locale.setDefault( defaultLocale );
+	}
+
+	@Test
+	public void goldenCases() {
+		Locale.setDefault( Locale.ENGLISH );
+		for( String[] golden : GOLDEN ) {
+			assertEquals( golden[2] == null ? StringIndexOutOfBoundsException.class.getName() : golden[2],
+					current( golden[0], golden[1] ), golden[0] + " [" + golden[1] + "]" );
+		}
+	}
+
+	@Test
+	public void goldenCasesTurkish() {
+		Locale.setDefault( new Locale( "tr", "TR" ) );
+		for( String[] golden : GOLDEN_TR ) {
+			assertEquals( golden[2], current( golden[0], golden[1] ), golden[0] + " [" + golden[1] + "]" );
+		}
+	}
+
+	@Test
+	public void sameAsLegacyInEveryLocale() {
+		for( Locale locale : LOCALES ) {
+			Locale.setDefault( locale );
+			for( String mode : MODES ) {
+				for( String text : CASES ) {
+					assertEquals( legacy( mode, text ), current( mode, text ), locale + " " + mode + " [" + text + "]" );
+				}
+			}
+		}
+	}
+
+	@Test
+	public void convertCaseSameAsLegacyInEveryLocale() {
+		for( Locale locale : LOCALES ) {
+			Locale.setDefault( locale );
+			/** 轉換結果依語系快取, 每個語系使用新的設定 */
+			CustomCodegen gen = new CustomCodegen();
+			for( String mode : MODES ) {
+				for( String text : CASES ) {
+					assertEquals( legacy( mode, text ), convert( gen, mode, text ), locale + " " + mode + " [" + text + "]" );
+				}
+			}
+		}
+	}
+
+	@Test
+	public void longTextGrowsBuffer() {
+		Locale.setDefault( Locale.ENGLISH );
+		StringBuilder sb = new StringBuilder();
+		for( int i = 0; i < 100; i++ ) {
+			sb.append( "_COLUMN_" ).append( i );
+		}
+		for( String mode : MODES ) {
+			assertEquals( legacy( mode, sb.toString() ), current( mode, sb.toString() ), mode );
+		}
+		assertEquals( "createUser", current( "camal", "CREATE_USER" ) );
+	}
+
+	private static String current( String mode, String text ) {
+		try {
+			switch( mode ) {
+				case "camal":
+					return CodegenNaming.toCamelCase( text );
+				case "pascal":
+					return CodegenNaming.toPascalCase( text );
+				case "snake":
+					return CodegenNaming.toSnakeCase( text );
+				case "capitalize":
+					return CodegenNaming.capitalizeFirst( text );
+				default:
+					return CodegenNaming.capitalizeOnlyFirst( text );
+			}
+		} catch( RuntimeException e ) {
+			return e.getClass().getName();
+		}
+	}
+
+	private static String convert( CustomCodegen gen, String mode, String text ) {
+		try {
+			return gen.convertCase( text, mode );
+		} catch( RuntimeException e ) {
+			return e.getClass().getName();
+		}
+	}
+
+	/**
+	 * legacy 說明：原 CustomCodegen 以 split("[\\W_]+") 斷字的實作, 作為比對基準<br>
+	 *
+	 * @param String mode
+	 * @param String text
+	 * @return String result 拋出例外時為例外類別名稱
+	 * @author Alan Hsu
+	 */
+	private static String legacy( String mode, String text ) {
+		try {
+			switch( mode ) {
+				case "camal":
+				case "pascal":
+					String[] words = text.split("[\\W_]+");
+					StringBuilder sb = new StringBuilder();
+					for( int i = 0; i < words.length; i++ ) {
+						String word = words[i];
+						if( i == 0 ) {
+							word = word.isEmpty() ? word : "pascal".equals( mode ) ? legacyCapitalizeFirst( word ) : word.toLowerCase();
+						} else {
+							word = word.isEmpty() ? word : Character.toUpperCase( word.charAt(0) ) + word.substring(1).toLowerCase();
+						}
+						sb.append( word );
+					}
+					return sb.toString();
+				case "snake":
+					return text.toLowerCase();
+				case "capitalize":
+					return legacyCapitalizeFirst( text );
+				default:
+					return text.substring(0, 1).toUpperCase() + text.substring(1);
+			}
+		} catch( RuntimeException e ) {
+			return e.getClass().getName();
+		}
+	}
+
+	private static String legacyCapitalizeFirst( String word ) {
+		return word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase();
+	}
+
+}